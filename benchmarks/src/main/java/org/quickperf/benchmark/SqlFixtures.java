@@ -0,0 +1,100 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.benchmark;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL executions as recorded by datasource-proxy, built without database.
+ */
+public class SqlFixtures {
+
+    public static final String PARENT_SELECT = "select u1_0.id,u1_0.name from users u1_0";
+
+    public static final String CHILD_SELECT =
+            "select a1_0.user_id,a1_0.id,a1_0.city from address a1_0 where a1_0.user_id=?";
+
+    public static final String JOIN_SELECT = "select o1_0.id,o1_0.total,c1_0.name from orders o1_0"
+                                           + " join customer c1_0 on c1_0.id=o1_0.customer_id"
+                                           + " left join invoice i1_0 on i1_0.order_id=o1_0.id where o1_0.status=?";
+
+    public static final String INSERT = "insert into address (city,user_id,id) values (?,?,?)";
+
+    private static final Method SET_LONG = findPreparedStatementMethod("setLong", int.class, long.class);
+
+    private static final Method SET_STRING = findPreparedStatementMethod("setString", int.class, String.class);
+
+    private SqlFixtures() { }
+
+    private static Method findPreparedStatementMethod(String name, Class<?>... parameterTypes) {
+        try {
+            return PreparedStatement.class.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static ExecutionInfo executionInfo() {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setDataSourceName("dataSource");
+        executionInfo.setConnectionId("1");
+        executionInfo.setStatementType(StatementType.PREPARED);
+        executionInfo.setElapsedTime(1);
+        executionInfo.setSuccess(true);
+        return executionInfo;
+    }
+
+    public static QueryInfo queryInfo(String sql, Object... longOrStringParameters) {
+        QueryInfo queryInfo = new QueryInfo(sql);
+        List<ParameterSetOperation> parameters = new ArrayList<>();
+        for (int i = 0; i < longOrStringParameters.length; i++) {
+            Object parameter = longOrStringParameters[i];
+            Method setMethod = parameter instanceof String ? SET_STRING : SET_LONG;
+            parameters.add(new ParameterSetOperation(setMethod, new Object[]{i + 1, parameter}));
+        }
+        List<List<ParameterSetOperation>> parametersList = new ArrayList<>();
+        parametersList.add(parameters);
+        queryInfo.setParametersList(parametersList);
+        return queryInfo;
+    }
+
+    public static SqlExecution sqlExecution(QueryInfo queryInfo) {
+        SqlExecution sqlExecution = new SqlExecution(executionInfo(), Collections.singletonList(queryInfo), 3);
+        sqlExecution.setCallStack(Collections.emptyList());
+        return sqlExecution;
+    }
+
+    /**
+     * @return a select of parent rows followed by a select per parent row: the N+1 pattern
+     */
+    public static SqlExecutions nPlusOneSelects(int executionCount) {
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(sqlExecution(queryInfo(PARENT_SELECT)));
+        for (long userId = 1; userId < executionCount; userId++) {
+            sqlExecutions.add(sqlExecution(queryInfo(CHILD_SELECT, userId)));
+        }
+        return sqlExecutions;
+    }
+
+}
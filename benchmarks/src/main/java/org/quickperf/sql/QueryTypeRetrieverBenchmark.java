@@ -0,0 +1,54 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.sql;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import org.openjdk.jmh.annotations.*;
+import org.quickperf.benchmark.SqlFixtures;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryTypeRetrieverBenchmark {
+
+    @Param({"select", "insert", "commented-select"})
+    public String queryKind;
+
+    private QueryInfo queryInfo;
+
+    @Setup
+    public void setUp() {
+        switch (queryKind) {
+            case "select":
+                queryInfo = new QueryInfo(SqlFixtures.CHILD_SELECT);
+                break;
+            case "insert":
+                queryInfo = new QueryInfo(SqlFixtures.INSERT);
+                break;
+            default:
+                queryInfo = new QueryInfo("/* load the user addresses */\n   " + SqlFixtures.CHILD_SELECT);
+        }
+    }
+
+    @Benchmark
+    public QueryType typeOf() {
+        return QueryTypeRetriever.INSTANCE.typeOf(queryInfo);
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.sql;
+
+import org.openjdk.jmh.annotations.*;
+import org.quickperf.benchmark.SqlFixtures;
+import org.quickperf.sql.repository.SqlExecutionsBinaryReader;
+import org.quickperf.sql.repository.SqlExecutionsBinaryWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the SQL executions exchanged with the JVM executing a test method: one execution with its own
+ * object stream, and a whole sql.ser file of many executions with Java serialization or with the binary format.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlExecutionSerializationBenchmark {
+
+    private SqlExecution sqlExecution;
+
+    private byte[] serializedSqlExecution;
+
+    private static final int SQL_FILE_EXECUTION_COUNT = 1_000;
+
+    private static final int SQL_FILE_INITIAL_SIZE = 256 * 1024;
+
+    // The content of a sql.ser file: the same few statements executed many times with different parameters
+    private SqlExecutions sqlFileExecutions;
+
+    private byte[] serializedSqlFile;
+
+    private byte[] binarySqlFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        sqlExecution = SqlFixtures.sqlExecution(SqlFixtures.queryInfo(SqlFixtures.JOIN_SELECT, "SHIPPED"));
+        serializedSqlExecution = writeExternal();
+        sqlFileExecutions = new SqlExecutions();
+        for (int i = 0; i < SQL_FILE_EXECUTION_COUNT; i++) {
+            String sql = i % 2 == 0 ? SqlFixtures.JOIN_SELECT : SqlFixtures.INSERT;
+            sqlFileExecutions.add(SqlFixtures.sqlExecution(SqlFixtures.queryInfo(sql, "STATUS-" + i)));
+        }
+        serializedSqlFile = writeSqlFileWithJavaSerialization();
+        binarySqlFile = writeSqlFileWithBinaryFormat();
+    }
+
+    @Benchmark
+    public byte[] writeExternal() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            sqlExecution.writeExternal(out);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public SqlExecution readExternal() throws IOException, ClassNotFoundException {
+        SqlExecution readSqlExecution = new SqlExecution();
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serializedSqlExecution))) {
+            readSqlExecution.readExternal(in);
+        }
+        return readSqlExecution;
+    }
+
+    @Benchmark
+    public byte[] writeSqlFileWithJavaSerialization() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(SQL_FILE_INITIAL_SIZE);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(sqlFileExecutions);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Object readSqlFileWithJavaSerialization() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serializedSqlFile))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public byte[] writeSqlFileWithBinaryFormat() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(SQL_FILE_INITIAL_SIZE);
+        try (SqlExecutionsBinaryWriter writer = new SqlExecutionsBinaryWriter(bytes)) {
+            writer.write(sqlFileExecutions);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public SqlExecutions readSqlFileWithBinaryFormat() throws IOException {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(binarySqlFile);
+        try (SqlExecutionsBinaryReader reader = new SqlExecutionsBinaryReader(Channels.newChannel(bytes))) {
+            return reader.readAll();
+        }
+    }
+
+}
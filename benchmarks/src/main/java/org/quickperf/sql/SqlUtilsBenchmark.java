@@ -0,0 +1,44 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.sql;
+
+import org.openjdk.jmh.annotations.*;
+import org.quickperf.benchmark.SqlFixtures;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlUtilsBenchmark {
+
+    @Param({"single-table", "joins"})
+    public String queryKind;
+
+    private String sql;
+
+    @Setup
+    public void setUp() {
+        sql = "joins".equals(queryKind) ? SqlFixtures.JOIN_SELECT : SqlFixtures.CHILD_SELECT;
+    }
+
+    @Benchmark
+    public List<String> extractTableNames() {
+        return SqlUtils.extractTableNames(sql);
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.sql.connection;
+
+import org.openjdk.jmh.annotations.*;
+import org.quickperf.benchmark.SqlFixtures;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link QuickPerfDatabaseConnection} wrapper around an H2 in-memory connection: a call only delegated,
+ * and a statement preparation notified to the connection listeners.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuickPerfDatabaseConnectionBenchmark {
+
+    @Param({"direct", "quickperf", "quickperf-with-listener"})
+    public String connectionKind;
+
+    private Connection h2Connection;
+
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        h2Connection = DriverManager.getConnection("jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        h2Connection.createStatement().execute("create table if not exists address"
+                                             + " (id bigint primary key, city varchar(255), user_id bigint)");
+        ConnectionListenerRegistry.INSTANCE.clear();
+        if ("quickperf-with-listener".equals(connectionKind)) {
+            ConnectionListenerRegistry.INSTANCE.register(new StatementPreparationListener());
+        }
+        connection = "direct".equals(connectionKind) ? h2Connection
+                                                     : QuickPerfDatabaseConnection.buildFrom(h2Connection);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        ConnectionListenerRegistry.INSTANCE.clear();
+        h2Connection.close();
+    }
+
+    @Benchmark
+    public boolean getAutoCommit() throws SQLException {
+        return connection.getAutoCommit();
+    }
+
+    @Benchmark
+    public void prepareStatement() throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SqlFixtures.INSERT)) {
+            preparedStatement.clearParameters();
+        }
+    }
+
+}
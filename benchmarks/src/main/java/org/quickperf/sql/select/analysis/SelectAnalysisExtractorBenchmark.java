@@ -0,0 +1,44 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.analysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.quickperf.benchmark.SqlFixtures;
+import org.quickperf.sql.SqlExecutions;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SelectAnalysisExtractorBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int executionCount;
+
+    private SqlExecutions sqlExecutions;
+
+    @Setup
+    public void setUp() {
+        sqlExecutions = SqlFixtures.nPlusOneSelects(executionCount);
+    }
+
+    @Benchmark
+    public SelectAnalysis extractPerfMeasureFrom() {
+        return SelectAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+    }
+
+}
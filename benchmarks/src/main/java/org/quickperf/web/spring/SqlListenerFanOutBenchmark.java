@@ -0,0 +1,80 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.quickperf.benchmark.SqlFixtures;
+import org.quickperf.sql.SqlRecorderRegistry;
+import org.quickperf.sql.config.QuickPerfSqlDataSourceBuilder;
+import org.quickperf.sql.select.rows.RowMultiplicationRecorder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out of an executed query to the recorders registered for an HTTP call, through the listener that QuickPerf
+ * adds to the proxy datasource. An operation registers the recorders then notifies a request of 100 queries, so that
+ * the recorded executions do not pile up from one operation to another.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlListenerFanOutBenchmark {
+
+    private static final int QUERY_COUNT_PER_REQUEST = 100;
+
+    @Param({"0", "1", "4"})
+    public int recorderCount;
+
+    private QueryExecutionListener quickPerfListener;
+
+    private ExecutionInfo executionInfo;
+
+    private List<QueryInfo> queries;
+
+    @Setup
+    public void setUp() {
+        ProxyDataSource proxyDataSource = QuickPerfSqlDataSourceBuilder.aDataSourceBuilder()
+                                                                       .buildProxy(new JdbcDataSource());
+        quickPerfListener = proxyDataSource.getProxyConfig().getQueryListener();
+        executionInfo = SqlFixtures.executionInfo();
+        queries = Collections.singletonList(SqlFixtures.queryInfo(SqlFixtures.CHILD_SELECT, 1L));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERY_COUNT_PER_REQUEST)
+    public void afterQuery() {
+        SqlRecorderRegistry.INSTANCE.clear();
+        if (recorderCount >= 1) {
+            SqlRecorderRegistry.INSTANCE.register(new SqlExecutionsRecorder());
+        }
+        if (recorderCount >= 4) {
+            SqlRecorderRegistry.INSTANCE.register(new LongDbRequestsListener(100));
+            SqlRecorderRegistry.INSTANCE.register(new UnbatchedWritesListener(10));
+            SqlRecorderRegistry.INSTANCE.register(new RowMultiplicationRecorder());
+        }
+        for (int i = 0; i < QUERY_COUNT_PER_REQUEST; i++) {
+            quickPerfListener.afterQuery(executionInfo, queries);
+        }
+    }
+
+}
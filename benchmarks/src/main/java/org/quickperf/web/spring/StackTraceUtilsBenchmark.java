@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call stack capture done for each SQL execution, with additional frames standing for the frames of a web
+ * application (servlet container, filters, Spring MVC, repositories).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StackTraceUtilsBenchmark {
+
+    @Param({"0", "100"})
+    public int additionalFrameCount;
+
+    @Benchmark
+    public List<String> getCallStack() {
+        return getCallStackAfter(additionalFrameCount);
+    }
+
+    private static List<String> getCallStackAfter(int frameCount) {
+        if (frameCount == 0) {
+            return StackTraceUtils.getCallStack();
+        }
+        return getCallStackAfter(frameCount - 1);
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlConfigBenchmark {
+
+    @Param({"http://localhost:8080/api/users/42/orders", "http://localhost:8080/actuator/health"})
+    public String url;
+
+    private UrlConfig urlConfig;
+
+    @Setup
+    public void setUp() {
+        urlConfig = new UrlConfig();
+        urlConfig.setExcludedUrls("/actuator,/favicon.ico,/swagger-ui");
+    }
+
+    @Benchmark
+    public boolean checkIfExcluded() {
+        return urlConfig.checkIfExcluded(url);
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.overhead;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load: each thread sends a request as soon as it receives the previous response.
+ *
+ * The requests of the warm-up are not measured. The allocation per request is the heap allocated by the Tomcat
+ * request threads during the measurement, divided by the number of measured requests, so the allocation of the load
+ * generator is not counted.
+ */
+class LoadGenerator {
+
+    private static final String SERVER_THREAD_NAME_PREFIX = "http-nio-";
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final int threadCount;
+
+    private final long warmUpInMs;
+
+    private final long durationInMs;
+
+    LoadGenerator(int threadCount, long warmUpInMs, long durationInMs) {
+        this.threadCount = threadCount;
+        this.warmUpInMs = warmUpInMs;
+        this.durationInMs = durationInMs;
+    }
+
+    LoadResult run(String scenarioName, URI uri) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+        long startNanoTime = System.nanoTime();
+        long measurementStartNanoTime = startNanoTime + warmUpInMs * 1_000_000;
+        long measurementEndNanoTime = measurementStartNanoTime + durationInMs * 1_000_000;
+
+        AtomicLong errorCount = new AtomicLong();
+        long[][] latenciesByThread = new long[threadCount][];
+        int[] measuredCountByThread = new int[threadCount];
+        CountDownLatch endLatch = new CountDownLatch(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            int threadIndex = i;
+            Thread loadThread = new Thread(() -> {
+                LatencyRecording latencies = new LatencyRecording();
+                try {
+                    sendUntil(httpClient, request, measurementStartNanoTime, measurementEndNanoTime
+                            , latencies, errorCount);
+                } finally {
+                    latenciesByThread[threadIndex] = latencies.values;
+                    measuredCountByThread[threadIndex] = latencies.count;
+                    endLatch.countDown();
+                }
+            }, "overhead-load-" + i);
+            loadThread.start();
+        }
+
+        sleepUntil(measurementStartNanoTime);
+        Map<Long, Long> startAllocatedBytes = serverThreadAllocatedBytes();
+        sleepUntil(measurementEndNanoTime);
+        Map<Long, Long> endAllocatedBytes = serverThreadAllocatedBytes();
+        endLatch.await();
+
+        long allocatedBytes = 0;
+        for (Map.Entry<Long, Long> threadAllocation : endAllocatedBytes.entrySet()) {
+            allocatedBytes += threadAllocation.getValue()
+                            - startAllocatedBytes.getOrDefault(threadAllocation.getKey(), 0L);
+        }
+
+        int requestCount = 0;
+        for (int measuredCount : measuredCountByThread) {
+            requestCount += measuredCount;
+        }
+        long[] latencies = new long[requestCount];
+        int offset = 0;
+        for (int i = 0; i < threadCount; i++) {
+            System.arraycopy(latenciesByThread[i], 0, latencies, offset, measuredCountByThread[i]);
+            offset += measuredCountByThread[i];
+        }
+        Arrays.sort(latencies);
+
+        return new LoadResult(scenarioName, requestCount, errorCount.get(), durationInMs, latencies
+                            , requestCount == 0 ? 0 : allocatedBytes / requestCount);
+    }
+
+    private void sendUntil(HttpClient httpClient, HttpRequest request, long measurementStartNanoTime
+                         , long measurementEndNanoTime, LatencyRecording latencies, AtomicLong errorCount) {
+        while (true) {
+            long requestStartNanoTime = System.nanoTime();
+            if (requestStartNanoTime >= measurementEndNanoTime) {
+                return;
+            }
+            boolean success;
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() == 200;
+            } catch (Exception e) {
+                success = false;
+            }
+            long requestEndNanoTime = System.nanoTime();
+            if (requestStartNanoTime >= measurementStartNanoTime && requestEndNanoTime <= measurementEndNanoTime) {
+                if (success) {
+                    latencies.add(requestEndNanoTime - requestStartNanoTime);
+                } else {
+                    errorCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remainingInNs = nanoTime - System.nanoTime();
+        if (remainingInNs > 0) {
+            Thread.sleep(remainingInNs / 1_000_000, (int) (remainingInNs % 1_000_000));
+        }
+    }
+
+    private static Map<Long, Long> serverThreadAllocatedBytes() {
+        List<Long> serverThreadIds = new ArrayList<>();
+        for (ThreadInfo threadInfo : THREAD_MX_BEAN.dumpAllThreads(false, false)) {
+            if (threadInfo.getThreadName().startsWith(SERVER_THREAD_NAME_PREFIX)) {
+                serverThreadIds.add(threadInfo.getThreadId());
+            }
+        }
+        long[] threadIds = serverThreadIds.stream().mapToLong(Long::longValue).toArray();
+        long[] allocatedBytes = THREAD_MX_BEAN.getThreadAllocatedBytes(threadIds);
+        Map<Long, Long> allocatedBytesByThreadId = new HashMap<>();
+        for (int i = 0; i < threadIds.length; i++) {
+            if (allocatedBytes[i] >= 0) {
+                allocatedBytesByThreadId.put(threadIds[i], allocatedBytes[i]);
+            }
+        }
+        return allocatedBytesByThreadId;
+    }
+
+    private static class LatencyRecording {
+
+        private long[] values = new long[16 * 1024];
+
+        private int count;
+
+        private void add(long latencyInNs) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[count++] = latencyInNs;
+        }
+
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.overhead;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Throughput, latency percentiles and allocation per request measured for a scenario.
+ */
+class LoadResult {
+
+    private final String scenarioName;
+
+    private final long requestCount;
+
+    private final long errorCount;
+
+    private final double throughputPerSecond;
+
+    private final long p50InUs;
+
+    private final long p99InUs;
+
+    private final long p999InUs;
+
+    private final long allocationPerRequestInBytes;
+
+    LoadResult(String scenarioName, long requestCount, long errorCount, long durationInMs
+             , long[] sortedLatenciesInNs, long allocationPerRequestInBytes) {
+        this.scenarioName = scenarioName;
+        this.requestCount = requestCount;
+        this.errorCount = errorCount;
+        this.throughputPerSecond = requestCount * 1000d / durationInMs;
+        this.p50InUs = percentileInUs(sortedLatenciesInNs, 50);
+        this.p99InUs = percentileInUs(sortedLatenciesInNs, 99);
+        this.p999InUs = percentileInUs(sortedLatenciesInNs, 99.9);
+        this.allocationPerRequestInBytes = allocationPerRequestInBytes;
+    }
+
+    private LoadResult(String scenarioName, long requestCount, long errorCount, double throughputPerSecond
+                     , long p50InUs, long p99InUs, long p999InUs, long allocationPerRequestInBytes) {
+        this.scenarioName = scenarioName;
+        this.requestCount = requestCount;
+        this.errorCount = errorCount;
+        this.throughputPerSecond = throughputPerSecond;
+        this.p50InUs = p50InUs;
+        this.p99InUs = p99InUs;
+        this.p999InUs = p999InUs;
+        this.allocationPerRequestInBytes = allocationPerRequestInBytes;
+    }
+
+    /**
+     * @return the total of the request counts and the mean of the other figures
+     */
+    static LoadResult mean(String scenarioName, Collection<LoadResult> results) {
+        int resultCount = results.size();
+        return new LoadResult(scenarioName
+                            , results.stream().mapToLong(LoadResult::getRequestCount).sum() / resultCount
+                            , results.stream().mapToLong(LoadResult::getErrorCount).sum() / resultCount
+                            , results.stream().mapToDouble(LoadResult::getThroughputPerSecond).sum() / resultCount
+                            , results.stream().mapToLong(LoadResult::getP50InUs).sum() / resultCount
+                            , results.stream().mapToLong(LoadResult::getP99InUs).sum() / resultCount
+                            , results.stream().mapToLong(LoadResult::getP999InUs).sum() / resultCount
+                            , results.stream().mapToLong(LoadResult::getAllocationPerRequestInBytes).sum() / resultCount);
+    }
+
+    private static long percentileInUs(long[] sortedLatenciesInNs, double percentile) {
+        if (sortedLatenciesInNs.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatenciesInNs.length);
+        return sortedLatenciesInNs[Math.max(rank, 1) - 1] / 1_000;
+    }
+
+    Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("request_count", requestCount);
+        json.put("error_count", errorCount);
+        json.put("throughput_per_s", Math.round(throughputPerSecond));
+        json.put("p50_us", p50InUs);
+        json.put("p99_us", p99InUs);
+        json.put("p999_us", p999InUs);
+        json.put("allocation_per_request_bytes", allocationPerRequestInBytes);
+        return json;
+    }
+
+    String getScenarioName() {
+        return scenarioName;
+    }
+
+    long getRequestCount() {
+        return requestCount;
+    }
+
+    long getErrorCount() {
+        return errorCount;
+    }
+
+    double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    long getP50InUs() {
+        return p50InUs;
+    }
+
+    long getP99InUs() {
+        return p99InUs;
+    }
+
+    long getP999InUs() {
+        return p999InUs;
+    }
+
+    long getAllocationPerRequestInBytes() {
+        return allocationPerRequestInBytes;
+    }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.overhead;
+
+import com.example.testapp.TestApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load tests the verification app with QuickPerf enabled without detector, with each detector enabled alone and with
+ * all the detectors enabled, each scenario being preceded by a run with QuickPerf disabled, then compares the overhead
+ * of each scenario to the baseline.
+ *
+ * Run with <code>mvn verify -Poverhead -pl overhead-load-test -am</code>. The load can be set with the
+ * <code>overhead.threads</code>, <code>overhead.warm-up-in-s</code>, <code>overhead.duration-in-s</code>,
+ * <code>overhead.global-warm-up-in-s</code> and <code>overhead.scenarios</code> system properties. The table and
+ * the JSON report are written to <code>target/overhead</code>; the JSON report can be copied to
+ * <code>src/test/resources/overhead-baseline.json</code> to become the new baseline.
+ *
+ * The throughput and allocation regressions only fail the test if the baseline has been measured on the reference
+ * machine, run with <code>-Doverhead.reference-machine=true</code>. Otherwise they are only logged: a baseline
+ * measured on another machine, with another number of CPUs, is not comparable. Without baseline, nothing is gated.
+ */
+public class OverheadRegressionTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OverheadRegressionTest.class);
+
+    private static final String BASELINE_RESOURCE = "/overhead-baseline.json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Test public void
+    should_not_increase_the_overhead_of_quickperf() throws Exception {
+
+        // GIVEN
+        int threadCount = Integer.getInteger("overhead.threads", 8);
+        int warmUpInS = Integer.getInteger("overhead.warm-up-in-s", 3);
+        int durationInS = Integer.getInteger("overhead.duration-in-s", 7);
+        LoadGenerator loadGenerator = new LoadGenerator(threadCount, warmUpInS * 1000L, durationInS * 1000L);
+
+        // WHEN
+        List<OverheadScenario> scenarios = selectedScenarios();
+        OverheadScenario disabledScenario = OverheadScenario.disabled();
+        // Warms up the code of all the scenarios, so that the first ones are not penalized by the JIT compilation
+        int globalWarmUpInS = Integer.getInteger("overhead.global-warm-up-in-s", 60);
+        runScenario(OverheadScenario.allDetectors(), new LoadGenerator(threadCount, globalWarmUpInS * 1000L, 1000));
+        List<LoadResult> results = new ArrayList<>();
+        Map<String, LoadResult> referenceByScenarioName = new LinkedHashMap<>();
+        for (OverheadScenario scenario : scenarios) {
+            referenceByScenarioName.put(scenario.getName(), runScenario(disabledScenario, loadGenerator));
+            results.add(runScenario(scenario, loadGenerator));
+        }
+
+        // THEN
+        OverheadReport report = new OverheadReport(results, referenceByScenarioName);
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("threads", threadCount);
+        settings.put("warm_up_s", warmUpInS);
+        settings.put("duration_s", durationInS);
+        settings.put("available_processors", Runtime.getRuntime().availableProcessors());
+        settings.put("reference_machine", Boolean.getBoolean("overhead.reference-machine"));
+        writeReport(report, settings);
+
+        for (LoadResult result : results) {
+            assertThat(result.getErrorCount()).as("Errors of scenario " + result.getScenarioName()).isZero();
+            assertThat(result.getRequestCount()).as("Requests of scenario " + result.getScenarioName()).isPositive();
+        }
+
+        JsonNode baseline = readBaseline();
+        if (baseline != null) {
+            List<String> regressions = report.findRegressions(baseline
+                                                            , Long.getLong("overhead.tolerance.throughput-loss-points", 10)
+                                                            , Long.getLong("overhead.tolerance.allocation-percent", 20));
+            if (baseline.path("settings").path("reference_machine").asBoolean()) {
+                assertThat(regressions).as("Overhead regressions").isEmpty();
+            } else if (!regressions.isEmpty()) {
+                LOGGER.warn("Baseline not measured on the reference machine, overhead regressions not enforced: {}"
+                          , regressions);
+            }
+        }
+
+    }
+
+    private List<OverheadScenario> selectedScenarios() {
+        String scenarioNames = System.getProperty("overhead.scenarios", "");
+        if (scenarioNames.isEmpty()) {
+            return OverheadScenario.enabled();
+        }
+        Set<String> selectedNames = Arrays.stream(scenarioNames.split(","))
+                                          .map(String::trim)
+                                          .collect(Collectors.toSet());
+        return OverheadScenario.enabled().stream()
+                                         .filter(scenario -> selectedNames.contains(scenario.getName()))
+                                         .collect(Collectors.toList());
+    }
+
+    private LoadResult runScenario(OverheadScenario scenario, LoadGenerator loadGenerator) throws InterruptedException {
+        Map<String, Object> properties = new LinkedHashMap<>(scenario.getProperties());
+        properties.put("server.port", 0);
+        properties.put("spring.main.banner-mode", "off");
+        // Passed as command line arguments to take precedence over the application.properties of the app
+        String[] args = properties.entrySet().stream()
+                                  .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                                  .toArray(String[]::new);
+        ServletWebServerApplicationContext context = (ServletWebServerApplicationContext)
+                new SpringApplicationBuilder(TestApplication.class).run(args);
+        try {
+            URI uri = URI.create("http://localhost:" + context.getWebServer().getPort() + "/users");
+            LoadResult result = loadGenerator.run(scenario.getName(), uri);
+            LOGGER.info("{}: {}", scenario.getName(), result.toJson());
+            return result;
+        } finally {
+            context.close();
+            System.gc();
+        }
+    }
+
+    private void writeReport(OverheadReport report, Map<String, Object> settings) throws IOException {
+        String table = report.toTable();
+        LOGGER.info("Overhead per scenario{}{}", System.lineSeparator(), table);
+        Path outputFolder = Paths.get(System.getProperty("overhead.output-folder", "target/overhead"));
+        Files.createDirectories(outputFolder);
+        Files.write(outputFolder.resolve("overhead-report.txt"), table.getBytes(StandardCharsets.UTF_8));
+        objectMapper.writeValue(outputFolder.resolve("overhead-report.json").toFile(), report.toJson(settings));
+    }
+
+    private JsonNode readBaseline() throws IOException {
+        try (InputStream baselineStream = getClass().getResourceAsStream(BASELINE_RESOURCE)) {
+            if (baselineStream == null) {
+                LOGGER.warn("No overhead baseline: the overhead regressions are not checked");
+                return null;
+            }
+            return objectMapper.readTree(baselineStream);
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.overhead;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jakewharton.fliptables.FlipTable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Overhead of each scenario compared to a run with QuickPerf disabled executed just before it, so that the JIT
+ * compilation and the other drifts of the JVM over the test do not bias the comparison, and so that the figures can
+ * be compared from one machine to another. The reference throughput of each scenario is reported with it; the
+ * disabled line is the mean of these reference runs.
+ */
+class OverheadReport {
+
+    private static final String[] HEADERS = {"Scenario", "Throughput (req/s)", "Reference (req/s)", "p50 (µs)"
+                                           , "p99 (µs)", "p999 (µs)", "Allocation/request (bytes)", "Throughput loss"
+                                           , "p99 increase", "Allocation overhead (bytes)"};
+
+    private final List<LoadResult> results;
+
+    private final Map<String, LoadResult> referenceByScenarioName;
+
+    private final LoadResult disabledResult;
+
+    /**
+     * @param referenceByScenarioName the run with QuickPerf disabled preceding each scenario
+     */
+    OverheadReport(List<LoadResult> results, Map<String, LoadResult> referenceByScenarioName) {
+        this.results = results;
+        this.referenceByScenarioName = referenceByScenarioName;
+        this.disabledResult = LoadResult.mean(OverheadScenario.DISABLED, referenceByScenarioName.values());
+    }
+
+    private LoadResult referenceOf(LoadResult result) {
+        return referenceByScenarioName.getOrDefault(result.getScenarioName(), disabledResult);
+    }
+
+    long throughputLossPercent(LoadResult result) {
+        LoadResult reference = referenceOf(result);
+        return Math.round((1 - result.getThroughputPerSecond() / reference.getThroughputPerSecond()) * 100);
+    }
+
+    long p99IncreasePercent(LoadResult result) {
+        LoadResult reference = referenceOf(result);
+        return Math.round(((double) result.getP99InUs() / Math.max(reference.getP99InUs(), 1) - 1) * 100);
+    }
+
+    long allocationOverheadInBytes(LoadResult result) {
+        return result.getAllocationPerRequestInBytes() - referenceOf(result).getAllocationPerRequestInBytes();
+    }
+
+    private List<LoadResult> allResults() {
+        List<LoadResult> allResults = new ArrayList<>();
+        allResults.add(disabledResult);
+        allResults.addAll(results);
+        return allResults;
+    }
+
+    String toTable() {
+        List<String[]> lines = new ArrayList<>();
+        for (LoadResult result : allResults()) {
+            lines.add(new String[]{result.getScenarioName()
+                                 , String.valueOf(Math.round(result.getThroughputPerSecond()))
+                                 , String.valueOf(Math.round(referenceOf(result).getThroughputPerSecond()))
+                                 , String.valueOf(result.getP50InUs())
+                                 , String.valueOf(result.getP99InUs())
+                                 , String.valueOf(result.getP999InUs())
+                                 , String.valueOf(result.getAllocationPerRequestInBytes())
+                                 , throughputLossPercent(result) + " %"
+                                 , p99IncreasePercent(result) + " %"
+                                 , String.valueOf(allocationOverheadInBytes(result))});
+        }
+        return FlipTable.of(HEADERS, lines.toArray(new String[0][]));
+    }
+
+    Map<String, Object> toJson(Map<String, Object> settings) {
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        for (LoadResult result : allResults()) {
+            Map<String, Object> scenarioJson = result.toJson();
+            scenarioJson.put("reference_throughput_per_s", Math.round(referenceOf(result).getThroughputPerSecond()));
+            scenarioJson.put("throughput_loss_percent", throughputLossPercent(result));
+            scenarioJson.put("p99_increase_percent", p99IncreasePercent(result));
+            scenarioJson.put("allocation_overhead_bytes", allocationOverheadInBytes(result));
+            scenarios.put(result.getScenarioName(), scenarioJson);
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("scenarios", scenarios);
+        return json;
+    }
+
+    /**
+     * A scenario regresses when its throughput loss exceeds the one of the baseline by more than the tolerated
+     * points, or when its allocation overhead exceeds the one of the baseline by more than the tolerated percentage.
+     * The latencies are reported but not compared: their percentiles are too noisy on a shared machine.
+     */
+    List<String> findRegressions(JsonNode baseline, long toleratedThroughputLossPoints
+                               , long toleratedAllocationIncreasePercent) {
+        List<String> regressions = new ArrayList<>();
+        JsonNode baselineScenarios = baseline.path("scenarios");
+        for (LoadResult result : results) {
+            JsonNode baselineScenario = baselineScenarios.path(result.getScenarioName());
+            if (baselineScenario.isMissingNode()) {
+                continue;
+            }
+            long baselineThroughputLoss = baselineScenario.path("throughput_loss_percent").asLong();
+            long throughputLoss = throughputLossPercent(result);
+            if (throughputLoss > baselineThroughputLoss + toleratedThroughputLossPoints) {
+                regressions.add(result.getScenarioName() + ": throughput loss of " + throughputLoss
+                              + " % instead of " + baselineThroughputLoss + " %");
+            }
+            long baselineAllocationOverhead = Math.max(baselineScenario.path("allocation_overhead_bytes").asLong(), 0);
+            long allocationOverhead = allocationOverheadInBytes(result);
+            // A few hundred bytes of slack for the allocation noise of Tomcat and Spring MVC
+            long maxAllocationOverhead = baselineAllocationOverhead * (100 + toleratedAllocationIncreasePercent) / 100
+                                       + 512;
+            if (allocationOverhead > maxAllocationOverhead) {
+                regressions.add(result.getScenarioName() + ": allocation overhead of " + allocationOverhead
+                              + " bytes per request instead of " + baselineAllocationOverhead + " bytes");
+            }
+        }
+        return regressions;
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.overhead;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * QuickPerf configuration of a load test run: QuickPerf disabled, QuickPerf enabled without detector, each detector
+ * enabled alone, or all the detectors enabled.
+ */
+class OverheadScenario {
+
+    static final String DISABLED = "disabled";
+
+    private static final Map<String, String> DETECTOR_PROPERTIES = new LinkedHashMap<>();
+
+    static {
+        DETECTOR_PROPERTIES.put("n-plus-one", "quickperf.database.n+1.detected");
+        DETECTOR_PROPERTIES.put("sql-execution", "quickperf.database.sql.execution.detected");
+        DETECTOR_PROPERTIES.put("sql-execution-time", "quickperf.database.sql.execution-time.detected");
+        DETECTOR_PROPERTIES.put("sql-without-bind-param", "quickperf.database.sql.without-bind-param.detected");
+        DETECTOR_PROPERTIES.put("sql-displayed", "quickperf.database.sql.displayed");
+        DETECTOR_PROPERTIES.put("selected-columns", "quickperf.database.sql.displayed.selected-columns");
+        DETECTOR_PROPERTIES.put("cache-candidate", "quickperf.database.cache-candidate.detected");
+        DETECTOR_PROPERTIES.put("top-sql", "quickperf.database.top-sql.recorded");
+        DETECTOR_PROPERTIES.put("in-list-variants", "quickperf.database.in-list-variants.detected");
+        DETECTOR_PROPERTIES.put("pagination", "quickperf.database.pagination.detected");
+        DETECTOR_PROPERTIES.put("row-multiplication", "quickperf.database.row-multiplication.detected");
+        DETECTOR_PROPERTIES.put("jdbc-batching", "quickperf.database.jdbc-batching.detected");
+        DETECTOR_PROPERTIES.put("statement-preparation", "quickperf.database.statement-preparation.measured");
+        DETECTOR_PROPERTIES.put("connection-profiled", "quickperf.database.connection.profiled");
+        DETECTOR_PROPERTIES.put("connection-hold-time", "quickperf.database.connection.hold-time.measured");
+        DETECTOR_PROPERTIES.put("heap-allocation", "quickperf.jvm.heap-allocation.measured");
+        DETECTOR_PROPERTIES.put("cpu-time", "quickperf.jvm.cpu-time.measured");
+        DETECTOR_PROPERTIES.put("thread-contention", "quickperf.jvm.thread-contention.measured");
+        DETECTOR_PROPERTIES.put("gc-pause", "quickperf.jvm.gc-pause.measured");
+        DETECTOR_PROPERTIES.put("response-body-write", "quickperf.jvm.response-body-write.measured");
+    }
+
+    private final String name;
+
+    private final Map<String, Object> properties;
+
+    private OverheadScenario(String name, Map<String, Object> properties) {
+        this.name = name;
+        this.properties = Collections.unmodifiableMap(properties);
+    }
+
+    static OverheadScenario disabled() {
+        Map<String, Object> disabledProperties = new LinkedHashMap<>();
+        disabledProperties.put("quickperf.enabled", false);
+        return new OverheadScenario(DISABLED, disabledProperties);
+    }
+
+    static List<OverheadScenario> enabled() {
+        List<OverheadScenario> scenarios = new ArrayList<>();
+        scenarios.add(new OverheadScenario("no-detector", detectorProperties(Collections.emptyList())));
+
+        for (String detector : DETECTOR_PROPERTIES.keySet()) {
+            scenarios.add(new OverheadScenario(detector, detectorProperties(Collections.singletonList(detector))));
+        }
+
+        scenarios.add(allDetectors());
+        return scenarios;
+    }
+
+    static OverheadScenario allDetectors() {
+        return new OverheadScenario("all", detectorProperties(DETECTOR_PROPERTIES.keySet()));
+    }
+
+    private static Map<String, Object> detectorProperties(Iterable<String> enabledDetectors) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("quickperf.enabled", true);
+        for (String property : DETECTOR_PROPERTIES.values()) {
+            properties.put(property, false);
+        }
+        for (String enabledDetector : enabledDetectors) {
+            properties.put(DETECTOR_PROPERTIES.get(enabledDetector), true);
+        }
+        // The verification app reports every query as slow by default
+        properties.put("quickperf.database.sql.execution-time.thresholdInMs", 100);
+        properties.put("quickperf.jvm.heap-allocation.threshold.detected", false);
+        return properties;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Map<String, Object> getProperties() {
+        return properties;
+    }
+
+}
@@ -18,7 +18,9 @@ import org.quickperf.sql.config.QuickPerfSqlDataSourceBuilder;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.aop.scope.ScopedProxyUtils;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
 import org.springframework.util.ReflectionUtils;
 
 import javax.sql.DataSource;
@@ -28,7 +30,14 @@ import java.lang.reflect.Method;
 Inspiration from https://blog.arnoldgalovics.com/configuring-a-datasource-proxy-in-spring-boot/
 and https://github.com/gavlyukovskiy/spring-boot-data-source-decorator
 */
-public class QuickPerfProxyBeanPostProcessor implements BeanPostProcessor, Ordered {
+public class QuickPerfProxyBeanPostProcessor implements BeanPostProcessor, EnvironmentAware, Ordered {
+
+    private boolean fetchedRowsCounted;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        fetchedRowsCounted = environment.getProperty("quickperf.sql.fetched-rows.counted", Boolean.class, false);
+    }
 
     @Override
     public Object postProcessBeforeInitialization(Object bean, String beanName) {
@@ -40,7 +49,7 @@ public class QuickPerfProxyBeanPostProcessor implements BeanPostProcessor, Order
         if (bean instanceof DataSource && !ScopedProxyUtils.isScopedTarget(beanName)) {
             final ProxyFactory factory = new ProxyFactory(bean);
             factory.setProxyTargetClass(true);
-            factory.addAdvice(new ProxyDataSourceInterceptor((DataSource) bean));
+            factory.addAdvice(new ProxyDataSourceInterceptor((DataSource) bean, beanName, fetchedRowsCounted));
             return factory.getProxy();
         }
         return bean;
@@ -55,10 +64,13 @@ public class QuickPerfProxyBeanPostProcessor implements BeanPostProcessor, Order
 
         private final DataSource datasourceProxy;
 
-        public ProxyDataSourceInterceptor(final DataSource dataSource) {
-            this.datasourceProxy =
-                    QuickPerfSqlDataSourceBuilder.aDataSourceBuilder()
-                    .buildProxy(dataSource);
+        public ProxyDataSourceInterceptor(final DataSource dataSource, String beanName, boolean fetchedRowsCounted) {
+            QuickPerfSqlDataSourceBuilder dataSourceBuilder = QuickPerfSqlDataSourceBuilder.aDataSourceBuilder()
+                                                                                   .withDataSourceName(beanName);
+            if (fetchedRowsCounted) {
+                dataSourceBuilder.withFetchedRowsCounting();
+            }
+            this.datasourceProxy = dataSourceBuilder.buildProxy(dataSource);
         }
 
         @Override
@@ -0,0 +1,42 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql;
+
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class GlobalSqlListenerRegistry {
+
+    public static final GlobalSqlListenerRegistry INSTANCE = new GlobalSqlListenerRegistry();
+
+    private final Collection<GlobalSqlListener> globalSqlListeners = new CopyOnWriteArrayList<>();
+
+    private GlobalSqlListenerRegistry() { }
+
+    public void register(GlobalSqlListener globalSqlListener) {
+        globalSqlListeners.add(globalSqlListener);
+    }
+
+    public void unregister(GlobalSqlListener globalSqlListener) {
+        globalSqlListeners.remove(globalSqlListener);
+    }
+
+    public Collection<GlobalSqlListener> getGlobalSqlListeners() {
+        return globalSqlListeners;
+    }
+
+    public void clear() {
+        globalSqlListeners.clear();
+    }
+
+}
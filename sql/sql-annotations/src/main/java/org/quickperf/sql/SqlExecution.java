@@ -279,6 +279,14 @@ public class SqlExecution implements Externalizable {
         return executionInfo;
     }
 
+    /**
+     * @return the name of the datasource proxy the execution went through, empty if the proxy is not named
+     */
+    public String getDataSourceName() {
+        String dataSourceName = executionInfo.getDataSourceName();
+        return dataSourceName == null ? "" : dataSourceName;
+    }
+
     public List<String> getCallStack() {
         return callStack;
     }
@@ -52,7 +52,7 @@ public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecord
     public SqlExecutions filterByQueryType(QueryType queryType) {
         SqlExecutions filteredSqlExecutions = new SqlExecutions();
 
-        for (SqlExecution execution : this.sqlExecutions) {
+        for (SqlExecution execution : this) {
             List<QueryInfo> queries = new ArrayList<>();
             boolean added = false;
 
@@ -73,7 +73,7 @@ public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecord
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (SqlExecution sqlExecution : sqlExecutions) {
+        for (SqlExecution sqlExecution : this) {
             sb.append("\t").append(sqlExecution.toString());
             sb.append(System.lineSeparator());
             sb.append(System.lineSeparator());
@@ -82,13 +82,13 @@ public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecord
     }
 
     public boolean isEmpty() {
-        return this == NONE || sqlExecutions.isEmpty();
+        return this == NONE || getNumberOfExecutions() == 0;
     }
 
     public int retrieveQueryNumberOfType(QueryType queryType) {
         int queryNumber = 0;
         QueryTypeRetriever queryTypeRetriever = QueryTypeRetriever.INSTANCE;
-        for (SqlExecution sqlExecution : sqlExecutions) {
+        for (SqlExecution sqlExecution : this) {
             for (QueryInfo query : sqlExecution.getQueries()) {
                 if (queryType.equals(queryTypeRetriever.typeOf(query))) {
                     queryNumber++;
@@ -98,12 +98,28 @@ public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecord
         return queryNumber;
     }
 
+    /**
+     * @return the number of queries of this type per datasource name, the name being empty if the proxy is not named
+     */
+    public Map<String, Long> retrieveQueryNumberByDataSourceOfType(QueryType queryType) {
+        Map<String, Long> queryNumberByDataSource = new HashMap<>();
+        QueryTypeRetriever queryTypeRetriever = QueryTypeRetriever.INSTANCE;
+        for (SqlExecution sqlExecution : this) {
+            for (QueryInfo query : sqlExecution.getQueries()) {
+                if (queryType.equals(queryTypeRetriever.typeOf(query))) {
+                    queryNumberByDataSource.merge(sqlExecution.getDataSourceName(), 1L, Long::sum);
+                }
+            }
+        }
+        return queryNumberByDataSource;
+    }
+
     public NumberOfUpdatedColumnsStatistics getUpdatedColumnsStatistics() {
 
         long minColumnCount = 0;
         long maxColumnCount = 0;
 
-        for (SqlExecution sqlExecution : sqlExecutions) {
+        for (SqlExecution sqlExecution : this) {
             for (QueryInfo query : sqlExecution.getQueries()) {
                 QueryTypeRetriever queryTypeRetriever = QueryTypeRetriever.INSTANCE;
                 if (queryTypeRetriever.typeOf(query) == QueryType.UPDATE) {
@@ -153,7 +169,7 @@ public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecord
 
     public long getMaxNumberOfSelectedColumns() {
         long maxNumberOfColumnsForAllExecs = 0;
-        for (SqlExecution sqlExecution : sqlExecutions) {
+        for (SqlExecution sqlExecution : this) {
             long columnCount = sqlExecution.getColumnCount();
             if (columnCount > maxNumberOfColumnsForAllExecs) {
                 maxNumberOfColumnsForAllExecs = columnCount;
@@ -180,7 +196,7 @@ public class SqlExecutions implements Iterable<SqlExecution>, ViewablePerfRecord
     }
 
     private boolean noJdbcExecution() {
-        return sqlExecutions.size() == 0;
+        return getNumberOfExecutions() == 0;
     }
 
     @Override
@@ -24,20 +24,41 @@ public class SqlStatementPerfIssueBuilder {
     }
 
     public PerfIssue buildNotEqualNumberOfStatements(Count measuredCount, Count expectedCount, String requestType) {
+        return buildNotEqualNumberOfStatements(measuredCount, expectedCount, requestType, "");
+    }
+
+    /**
+     * @param dataSourceName the datasource the statements are counted on, all the datasources if empty
+     */
+    public PerfIssue buildNotEqualNumberOfStatements(Count measuredCount, Count expectedCount, String requestType,
+                                                     String dataSourceName) {
         String description = "Expected number of " + requestType + " statements "
+                           + (dataSourceName.isEmpty() ? "" : "sent to the " + databaseDesc(dataSourceName) + " ")
                            + "<" + expectedCount.getValue() + ">"
                            + " but is " + "<" + measuredCount.getValue() + ">" + ".";
         return new PerfIssue(description);
     }
 
     public String buildMaxOfStatementsDesc(Count measuredCount, Count expectedCount, String statementName) {
+        return buildMaxOfStatementsDesc(measuredCount, expectedCount, statementName, "");
+    }
+
+    /**
+     * @param dataSourceName the datasource the statements are counted on, all the datasources if empty
+     */
+    public String buildMaxOfStatementsDesc(Count measuredCount, Count expectedCount, String statementName,
+                                           String dataSourceName) {
         boolean severalExpectedStatements = expectedCount.getValue() > 1;
         boolean severalExecutedStatements = measuredCount.getValue() > 1;
         return    "You may think that at most <" + expectedCount.getValue() + "> " + statementName + " statement"
                 + (severalExpectedStatements ? "s were" : " was" )
-                + " sent to the database"
+                + " sent to the " + databaseDesc(dataSourceName)
                 + System.lineSeparator()
                 + "       " + "But there " + (severalExecutedStatements ? "are" : "is" ) + " in fact <" + measuredCount.getValue() + ">...";
     }
 
+    public String databaseDesc(String dataSourceName) {
+        return dataSourceName.isEmpty() ? "database" : "<" + dataSourceName + "> datasource";
+    }
+
 }
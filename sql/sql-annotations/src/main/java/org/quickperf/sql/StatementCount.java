@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql;
+
+import org.quickperf.measure.PerfMeasure;
+import org.quickperf.unit.Count;
+import org.quickperf.unit.NoUnit;
+
+import java.util.Map;
+
+/**
+ * Number of statements of a type sent to the databases, in total and per datasource.
+ */
+public class StatementCount implements PerfMeasure {
+
+    private final Count count;
+
+    private final Map<String, Long> countByDataSource;
+
+    public StatementCount(Map<String, Long> countByDataSource) {
+        this(countByDataSource, "");
+    }
+
+    public StatementCount(Map<String, Long> countByDataSource, String comment) {
+        long totalCount = 0;
+        for (Long dataSourceCount : countByDataSource.values()) {
+            totalCount += dataSourceCount;
+        }
+        this.count = new Count(totalCount, comment);
+        this.countByDataSource = countByDataSource;
+    }
+
+    /**
+     * @param dataSourceName all the datasources if empty
+     */
+    public Count getCount(String dataSourceName) {
+        if (dataSourceName.isEmpty()) {
+            return count;
+        }
+        Long dataSourceCount = countByDataSource.get(dataSourceName);
+        return new Count(dataSourceCount == null ? 0L : dataSourceCount);
+    }
+
+    @Override
+    public StatementCount getValue() {
+        return this;
+    }
+
+    @Override
+    public NoUnit getUnit() {
+        return NoUnit.INSTANCE;
+    }
+
+    @Override
+    public String getComment() {
+        return count.getComment();
+    }
+
+}
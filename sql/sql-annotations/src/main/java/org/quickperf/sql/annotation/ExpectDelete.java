@@ -40,4 +40,10 @@ public @interface ExpectDelete {
      */
     int value() default 1;
 
+    /**
+     * Specifies the name of the <code>dataSource</code> on which the delete statements are counted, the name of the
+     * datasource bean with Spring. Note that if left empty, the delete statements of all the datasources are counted.
+     */
+    String dataSource() default "";
+
 }
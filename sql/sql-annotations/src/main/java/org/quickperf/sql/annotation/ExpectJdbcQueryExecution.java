@@ -40,4 +40,11 @@ public @interface ExpectJdbcQueryExecution {
      */
     int value() default 1;
 
+    /**
+     * Specifies the name of the <code>dataSource</code> on which the JDBC query executions are counted, the name of the
+     * datasource bean with Spring. Note that if left empty, the JDBC query executions of all the datasources are
+     * counted.
+     */
+    String dataSource() default "";
+
 }
@@ -39,5 +39,11 @@ public @interface ExpectMaxDelete {
      * statements is greater. Note that if left empty, the assumed value will be zero.
      */
     int value() default 0;
+
+    /**
+     * Specifies the name of the <code>dataSource</code> on which the delete statements are counted, the name of the
+     * datasource bean with Spring. Note that if left empty, the delete statements of all the datasources are counted.
+     */
+    String dataSource() default "";
 	
 }
@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The <code>ExpectMaxInListVariants</code> annotation verifies that a same query is not executed with more
+ * <code>IN</code> list sizes than the specified value.
+ *
+ * <br><br>
+ * Queries differing only in the number of elements of their <code>IN</code> lists are distinct statements for
+ * the database, each one being parsed, planned and stored in the statement cache.
+ *
+ * <br><br>
+ * <h3>Example:</h3>
+ * <pre>
+ *      <b>&#064;ExpectMaxInListVariants(2)</b>
+ *      public void find_books_by_ids() {
+ *          <code>..</code>
+ *      }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ExpectMaxInListVariants {
+
+    /**
+     * Specifies a <code>value</code> (integer) to cause test method to fail if a same query is executed with more
+     * <code>IN</code> list sizes. Note that if left empty, the assumed value will be one.
+     */
+    int value() default 1;
+
+}
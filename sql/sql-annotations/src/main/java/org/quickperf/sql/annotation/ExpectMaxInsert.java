@@ -40,4 +40,10 @@ public @interface ExpectMaxInsert {
      */
     int value() default 0;
 
+    /**
+     * Specifies the name of the <code>dataSource</code> on which the insert statements are counted, the name of the
+     * datasource bean with Spring. Note that if left empty, the insert statements of all the datasources are counted.
+     */
+    String dataSource() default "";
+
 }
@@ -38,4 +38,11 @@ public @interface ExpectMaxJdbcQueryExecution {
      */
     int value() default 0;
 
+    /**
+     * Specifies the name of the <code>dataSource</code> on which the JDBC query executions are counted, the name of the
+     * datasource bean with Spring. Note that if left empty, the JDBC query executions of all the datasources are
+     * counted.
+     */
+    String dataSource() default "";
+
 }
@@ -41,4 +41,10 @@ public @interface ExpectMaxQueryExecutionTime {
      */
     int thresholdInMilliSeconds() default 0;
 
+    /**
+     * Specifies the name of the <code>dataSource</code> on which the query execution times are verified, the name of
+     * the datasource bean with Spring. Note that if left empty, the queries of all the datasources are verified.
+     */
+    String dataSource() default "";
+
 }
@@ -0,0 +1,52 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The <code>ExpectMaxRowMultiplication</code> annotation verifies that a SELECT does not return more rows per root
+ * entity than the specified value. The root entity is identified by the first column of the SELECT, read by index or
+ * by label. The test fails if a SELECT returns more rows than the specified value without its first column being read.
+ *
+ * <br><br>
+ * Fetching several collections with joins returns the Cartesian product of the collections for each root entity.
+ *
+ * <br><br>
+ * The fetched rows are counted by the result sets of a datasource proxy built with
+ * <code>QuickPerfSqlDataSourceBuilder.aDataSourceBuilder().withFetchedRowsCounting()</code>, or with the
+ * <code>quickperf.sql.fetched-rows.counted</code> property with Spring.
+ *
+ * <br><br>
+ * <h3>Example:</h3>
+ * <pre>
+ *      <b>&#064;ExpectMaxRowMultiplication(10)</b>
+ *      public void find_authors_with_books_and_awards() {
+ *          <code>..</code>
+ *      }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ExpectMaxRowMultiplication {
+
+    /**
+     * Specifies a <code>value</code> (integer) to cause test method to fail if a SELECT returns more rows per
+     * root entity. Note that if left empty, the assumed value will be ten.
+     */
+    int value() default 10;
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The <code>ExpectMaxStatementPreparations</code> annotation verifies the number of prepared and callable statements
+ * created on the database connections is not greater than the specified value. If so, the test will fail.
+ *
+ * <br><br>
+ * The failure message gives the preparations of a SQL text already prepared on the same connection: a statement
+ * cache of the JDBC driver or of the connection pool could save them.
+ * The same connection is the physical one with HikariCP, the Tomcat JDBC pool, Commons DBCP 2 or without a pool;
+ * with another connection pool, each checkout is seen as a new connection.
+ *
+ * <br><br>
+ * <h3>Example:</h3>
+ * <pre>
+ *      <b>&#064;ExpectMaxStatementPreparations(3)</b>
+ *      public void insert_three_books() {
+ *          <code>..</code>
+ *      }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ExpectMaxStatementPreparations {
+
+    /**
+     * Specifies a <code>value</code> (integer) to cause test method to fail if the number of statement
+     * preparations is greater. Note that if left empty, the assumed value will be zero.
+     */
+    int value() default 0;
+
+}
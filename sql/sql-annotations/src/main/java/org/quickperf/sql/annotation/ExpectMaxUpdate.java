@@ -40,4 +40,10 @@ public @interface ExpectMaxUpdate {
      */
     int value() default 0;
 
+    /**
+     * Specifies the name of the <code>dataSource</code> on which the update statements are counted, the name of the
+     * datasource bean with Spring. Note that if left empty, the update statements of all the datasources are counted.
+     */
+    String dataSource() default "";
+
 }
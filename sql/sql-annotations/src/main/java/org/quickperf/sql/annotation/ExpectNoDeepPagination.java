@@ -0,0 +1,53 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The <code>ExpectNoDeepPagination</code> annotation verifies that no SELECT statement has an <code>OFFSET</code>
+ * greater than the specified value, and that no count query is executed with a page other than the first one.
+ *
+ * <br><br>
+ * The database reads and discards the rows before the offset. With a count on every page, as done by a
+ * <code>Page</code> of Spring Data, each page also counts all the rows. Both costs grow with the table size and are
+ * not visible with test data.
+ *
+ * <br><br>
+ * <h3>Example:</h3>
+ * <pre>
+ *      <b>&#064;ExpectNoDeepPagination(maxOffset = 500)</b>
+ *      public void read_the_tenth_page_of_books() {
+ *          <code>..</code>
+ *      }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface ExpectNoDeepPagination {
+
+    /**
+     * Specifies the maximum <code>OFFSET</code> value. The offset is read from the SQL text or from the bound
+     * parameters.
+     */
+    int maxOffset() default 1000;
+
+    /**
+     * Allows the count queries executed with pages other than the first one.
+     */
+    boolean perPageCountAllowed() default false;
+
+}
@@ -125,6 +125,14 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectJdbcQueryExecution} annotation.
      */
     public static ExpectJdbcQueryExecution expectJdbcQueryExecution(final int value) {
+        return expectJdbcQueryExecution(value, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectJdbcQueryExecution} annotation counting the JDBC query
+     * executions of a datasource.
+     */
+    public static ExpectJdbcQueryExecution expectJdbcQueryExecution(final int value, final String dataSource) {
         return new ExpectJdbcQueryExecution() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -134,6 +142,10 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
         };
     }
 
@@ -141,6 +153,14 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxJdbcQueryExecution} annotation.
      */
     public static ExpectMaxJdbcQueryExecution expectMaxJdbcQueryExecution(final int value) {
+        return expectMaxJdbcQueryExecution(value, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxJdbcQueryExecution} annotation counting the JDBC
+     * query executions of a datasource.
+     */
+    public static ExpectMaxJdbcQueryExecution expectMaxJdbcQueryExecution(final int value, final String dataSource) {
         return new ExpectMaxJdbcQueryExecution() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -150,6 +170,10 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
         };
     }
 
@@ -170,6 +194,38 @@ public class SqlAnnotationBuilder {
         };
     }
 
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxInListVariants} annotation.
+     */
+    public static ExpectMaxInListVariants expectMaxInListVariants(final int value) {
+        return new ExpectMaxInListVariants() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ExpectMaxInListVariants.class;
+            }
+            @Override
+            public int value() {
+                return value;
+            }
+        };
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxStatementPreparations} annotation.
+     */
+    public static ExpectMaxStatementPreparations expectMaxStatementPreparations(final int value) {
+        return new ExpectMaxStatementPreparations() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ExpectMaxStatementPreparations.class;
+            }
+            @Override
+            public int value() {
+                return value;
+            }
+        };
+    }
+
     /**
      *Allows to build {@link org.quickperf.sql.annotation.ExpectSelectedColumn} annotation.
      */
@@ -190,6 +246,14 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxInsert} annotation.
      */
     public static ExpectMaxInsert expectMaxInsert(final int value) {
+        return expectMaxInsert(value, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxInsert} annotation counting the insert statements of
+     * a datasource.
+     */
+    public static ExpectMaxInsert expectMaxInsert(final int value, final String dataSource) {
         return new ExpectMaxInsert() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -199,6 +263,10 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
         };
     }
 
@@ -206,6 +274,14 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxSelect} annotation.
      */
     public static ExpectMaxSelect expectMaxSelect(final int value) {
+        return expectMaxSelect(value, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxSelect} annotation counting the select statements of
+     * a datasource.
+     */
+    public static ExpectMaxSelect expectMaxSelect(final int value, final String dataSource) {
         return new ExpectMaxSelect() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -215,6 +291,10 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
         };
     }
 
@@ -222,6 +302,14 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectDelete} annotation.
      */
     public static ExpectDelete expectDelete(final int value) {
+        return expectDelete(value, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectDelete} annotation counting the delete statements of a
+     * datasource.
+     */
+    public static ExpectDelete expectDelete(final int value, final String dataSource) {
         return new ExpectDelete() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -231,6 +319,10 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
         };
     }
 
@@ -238,6 +330,14 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectInsert} annotation.
      */
     public static ExpectInsert expectInsert(final int value) {
+        return expectInsert(value, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectInsert} annotation counting the insert statements of a
+     * datasource.
+     */
+    public static ExpectInsert expectInsert(final int value, final String dataSource) {
         return new ExpectInsert() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -247,6 +347,10 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
         };
     }
 
@@ -254,6 +358,14 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectSelect} annotation.
      */
     public static ExpectSelect expectSelect(final int value) {
+        return expectSelect(value, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectSelect} annotation counting the select statements of a
+     * datasource.
+     */
+    public static ExpectSelect expectSelect(final int value, final String dataSource) {
         return new ExpectSelect() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -263,6 +375,10 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
         };
     }
 
@@ -270,6 +386,14 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectUpdate} annotation.
      */
     public static ExpectUpdate expectUpdate(final int value) {
+        return expectUpdate(value, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectUpdate} annotation counting the update statements of a
+     * datasource.
+     */
+    public static ExpectUpdate expectUpdate(final int value, final String dataSource) {
         return new ExpectUpdate() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -279,6 +403,10 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
         };
     }
 
@@ -286,6 +414,14 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxUpdate} annotation.
      */
     public static ExpectMaxUpdate expectMaxUpdate(final int value) {
+        return expectMaxUpdate(value, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxUpdate} annotation counting the update statements of
+     * a datasource.
+     */
+    public static ExpectMaxUpdate expectMaxUpdate(final int value, final String dataSource) {
         return new ExpectMaxUpdate() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -295,6 +431,10 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
         };
     }
 
@@ -318,6 +458,15 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxQueryExecutionTime} annotation.
      */
     public static ExpectMaxQueryExecutionTime expectMaxQueryExecutionTime(final int thresholdInMilliSeconds) {
+        return expectMaxQueryExecutionTime(thresholdInMilliSeconds, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxQueryExecutionTime} annotation verifying the queries
+     * of a datasource.
+     */
+    public static ExpectMaxQueryExecutionTime expectMaxQueryExecutionTime(final int thresholdInMilliSeconds,
+                                                                          final String dataSource) {
         return new ExpectMaxQueryExecutionTime() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -328,6 +477,10 @@ public class SqlAnnotationBuilder {
             public int thresholdInMilliSeconds() {
                 return thresholdInMilliSeconds;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
         };
     }
 
@@ -375,6 +528,14 @@ public class SqlAnnotationBuilder {
      *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxDelete} annotation.
      */
     public static ExpectMaxDelete expectMaxDelete(final int value) {
+        return expectMaxDelete(value, "");
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxDelete} annotation counting the delete statements of
+     * a datasource.
+     */
+    public static ExpectMaxDelete expectMaxDelete(final int value, final String dataSource) {
         return new ExpectMaxDelete() {
             @Override
             public Class<? extends Annotation> annotationType() {
@@ -384,6 +545,46 @@ public class SqlAnnotationBuilder {
             public int value() {
                 return value;
             }
+            @Override
+            public String dataSource() {
+                return dataSource;
+            }
+        };
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectNoDeepPagination} annotation.
+     */
+    public static ExpectNoDeepPagination expectNoDeepPagination(final int maxOffset) {
+        return new ExpectNoDeepPagination() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ExpectNoDeepPagination.class;
+            }
+            @Override
+            public int maxOffset() {
+                return maxOffset;
+            }
+            @Override
+            public boolean perPageCountAllowed() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     *Allows to build {@link org.quickperf.sql.annotation.ExpectMaxRowMultiplication} annotation.
+     */
+    public static ExpectMaxRowMultiplication expectMaxRowMultiplication(final int value) {
+        return new ExpectMaxRowMultiplication() {
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return ExpectMaxRowMultiplication.class;
+            }
+            @Override
+            public int value() {
+                return value;
+            }
         };
     }
 
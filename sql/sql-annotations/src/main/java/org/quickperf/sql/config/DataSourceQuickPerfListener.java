@@ -15,6 +15,8 @@ package org.quickperf.sql.config;
 import net.ttddyy.dsproxy.ExecutionInfo;
 import net.ttddyy.dsproxy.QueryInfo;
 import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.quickperf.sql.GlobalSqlListener;
+import org.quickperf.sql.GlobalSqlListenerRegistry;
 import org.quickperf.sql.SqlRecorder;
 import org.quickperf.sql.SqlRecorderRegistry;
 
@@ -36,8 +38,24 @@ class DataSourceQuickPerfListener implements QueryExecutionListener {
 
         Collection<SqlRecorder> sqlRecorders = SqlRecorderRegistry.INSTANCE.getSqlRecorders();
 
+        // A recorder failing the execution (a budget exceeded...) must not hide it from the other listeners
+        RuntimeException recorderException = null;
         for (SqlRecorder sqlRecorder : sqlRecorders) {
-            sqlRecorder.addQueryExecution(executionInfo, queries, listenerIdentifier);
+            try {
+                sqlRecorder.addQueryExecution(executionInfo, queries, listenerIdentifier);
+            } catch (RuntimeException e) {
+                if (recorderException == null) {
+                    recorderException = e;
+                }
+            }
+        }
+
+        for (GlobalSqlListener globalSqlListener : GlobalSqlListenerRegistry.INSTANCE.getGlobalSqlListeners()) {
+            globalSqlListener.afterQuery(executionInfo, queries);
+        }
+
+        if (recorderException != null) {
+            throw recorderException;
         }
 
     }
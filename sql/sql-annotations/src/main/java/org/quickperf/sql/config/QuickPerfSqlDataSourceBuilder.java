@@ -13,8 +13,10 @@
 package org.quickperf.sql.config;
 
 import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
 import net.ttddyy.dsproxy.support.ProxyDataSource;
 import org.quickperf.sql.config.library.QuickPerfProxyDataSource;
+import org.quickperf.sql.select.rows.FetchedRowsCountingProxyLogicFactory;
 
 import javax.sql.DataSource;
 
@@ -24,12 +26,47 @@ public class QuickPerfSqlDataSourceBuilder {
         return new QuickPerfSqlDataSourceBuilder();
     }
 
+    private boolean fetchedRowsCounted;
+
+    private String dataSourceName;
+
     private QuickPerfSqlDataSourceBuilder() {}
 
+    /**
+     * Proxies the result sets to count the fetched rows, used by the
+     * {@link org.quickperf.sql.annotation.ExpectMaxRowMultiplication} annotation. Each call on a result set then goes
+     * through a proxy.
+     */
+    public QuickPerfSqlDataSourceBuilder withFetchedRowsCounting() {
+        this.fetchedRowsCounted = true;
+        return this;
+    }
+
+    /**
+     * Names the proxied datasource, so that the SQL executions can be counted per datasource, for example with
+     * <code>&#064;ExpectSelect(value = 2, dataSource = "replica")</code>.
+     */
+    public QuickPerfSqlDataSourceBuilder withDataSourceName(String dataSourceName) {
+        this.dataSourceName = dataSourceName;
+        return this;
+    }
+
     public ProxyDataSource buildProxy(DataSource dataSource) {
 
         QuickPerfProxyDataSource proxyDataSource = new QuickPerfProxyDataSource();
 
+        if (fetchedRowsCounted) {
+            ProxyConfig proxyConfig = ProxyConfig.Builder.create()
+                                     .resultSetProxyLogicFactory(FetchedRowsCountingProxyLogicFactory.INSTANCE)
+                                     .build();
+            proxyDataSource.setProxyConfig(proxyConfig);
+        }
+
+        // Set after the proxy config, which is rebuilt with the name
+        if (dataSourceName != null) {
+            proxyDataSource.setDataSourceName(dataSourceName);
+        }
+
         ChainListener chainListener = new ChainListener();
 
         DataSourceQuickPerfListener dataSourceQuickPerfListener = new DataSourceQuickPerfListener();
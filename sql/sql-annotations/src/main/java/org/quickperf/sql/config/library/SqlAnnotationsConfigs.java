@@ -22,6 +22,8 @@ import org.quickperf.sql.bindparams.AllParametersAreBoundExtractor;
 import org.quickperf.sql.bindparams.DisableQueriesWithoutBindParametersVerifier;
 import org.quickperf.sql.connection.ConnectionLeakListener;
 import org.quickperf.sql.connection.ConnectionLeakVerifier;
+import org.quickperf.sql.connection.MaxStatementPreparationsVerifier;
+import org.quickperf.sql.connection.StatementPreparationListener;
 import org.quickperf.sql.connection.TestConnectionProfiler;
 import org.quickperf.sql.connection.ProfilingParamsExtractor;
 import org.quickperf.sql.delete.DeleteCountMeasureExtractor;
@@ -30,6 +32,8 @@ import org.quickperf.sql.delete.NumberOfSqlDeletePerfIssueVerifier;
 import org.quickperf.sql.display.DisplaySqlOfTestMethodBodyRecorder;
 import org.quickperf.sql.display.DisplaySqlRecorder;
 import org.quickperf.sql.execution.*;
+import org.quickperf.sql.inlist.InListVariantsMeasureExtractor;
+import org.quickperf.sql.inlist.MaxInListVariantsPerfIssueVerifier;
 import org.quickperf.sql.insert.InsertCountMeasureExtractor;
 import org.quickperf.sql.insert.InsertNumberPerfIssueVerifier;
 import org.quickperf.sql.insert.MaxOfInsertsPerfIssueVerifier;
@@ -44,6 +48,10 @@ import org.quickperf.sql.select.columns.MaxSelectedColumnsPerMeasureExtractor;
 import org.quickperf.sql.select.columns.MaxSelectedColumnsPerfIssueVerifier;
 import org.quickperf.sql.select.columns.SelectedColumnNumberPerfIssueVerifier;
 import org.quickperf.sql.select.columns.SelectedColumnNumberPerfMeasureExtractor;
+import org.quickperf.sql.select.pagination.NoDeepPaginationVerifier;
+import org.quickperf.sql.select.pagination.PaginationAnalysisExtractor;
+import org.quickperf.sql.select.rows.MaxRowMultiplicationVerifier;
+import org.quickperf.sql.select.rows.RowMultiplicationRecorder;
 import org.quickperf.sql.statement.NoStatementExtractor;
 import org.quickperf.sql.statement.NoStatementVerifier;
 import org.quickperf.sql.time.SqlQueryExecutionTimeExtractor;
@@ -163,6 +171,23 @@ class SqlAnnotationsConfigs {
             .perfIssueVerifier(MaxSelectedColumnsPerfIssueVerifier.INSTANCE)
             .build(ExpectMaxSelectedColumn.class);
 
+    static final AnnotationConfig MAX_IN_LIST_VARIANTS = new AnnotationConfig.Builder()
+            .perfRecorderClass(PersistenceSqlRecorder.class)
+            .perfMeasureExtractor(InListVariantsMeasureExtractor.INSTANCE)
+            .perfIssueVerifier(MaxInListVariantsPerfIssueVerifier.INSTANCE)
+            .build(ExpectMaxInListVariants.class);
+
+    static final AnnotationConfig NO_DEEP_PAGINATION = new AnnotationConfig.Builder()
+            .perfRecorderClass(PersistenceSqlRecorder.class)
+            .perfMeasureExtractor(PaginationAnalysisExtractor.INSTANCE)
+            .perfIssueVerifier(NoDeepPaginationVerifier.INSTANCE)
+            .build(ExpectNoDeepPagination.class);
+
+    static final AnnotationConfig MAX_ROW_MULTIPLICATION = new AnnotationConfig.Builder()
+            .perfRecorderClass(RowMultiplicationRecorder.class)
+            .perfIssueVerifier(MaxRowMultiplicationVerifier.INSTANCE)
+            .build(ExpectMaxRowMultiplication.class);
+
 	static final AnnotationConfig MAX_UPDATED_COLUMNS = new AnnotationConfig.Builder()
 			.perfRecorderClass(PersistenceSqlRecorder.class)
 			.perfMeasureExtractor(MaxUpdatedColumnsPerMeasureExtractor.INSTANCE)
@@ -218,6 +243,11 @@ class SqlAnnotationsConfigs {
 			.perfIssueVerifier(ConnectionLeakVerifier.INSTANCE)
 			.build(ExpectNoConnectionLeak.class);
 
+	static final AnnotationConfig MAX_STATEMENT_PREPARATIONS = new AnnotationConfig.Builder()
+			.perfRecorderClass(StatementPreparationListener.class)
+			.perfIssueVerifier(MaxStatementPreparationsVerifier.INSTANCE)
+			.build(ExpectMaxStatementPreparations.class);
+
 	static final AnnotationConfig PROFILE_CONNECTION = new AnnotationConfig.Builder()
 			.perfRecorderParamsExtractorFromAnnot(new ProfilingParamsExtractor())
 			.perfRecorderClass(TestConnectionProfiler.class)
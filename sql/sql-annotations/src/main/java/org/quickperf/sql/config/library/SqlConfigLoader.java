@@ -18,9 +18,11 @@ import org.quickperf.config.library.QuickPerfConfigLoader;
 import org.quickperf.sql.PersistenceSqlRecorder;
 import org.quickperf.sql.batch.SqlStatementBatchRecorder;
 import org.quickperf.sql.connection.ConnectionLeakListener;
+import org.quickperf.sql.connection.StatementPreparationListener;
 import org.quickperf.sql.connection.TestConnectionProfiler;
 import org.quickperf.sql.display.DisplaySqlOfTestMethodBodyRecorder;
 import org.quickperf.sql.display.DisplaySqlRecorder;
+import org.quickperf.sql.select.rows.RowMultiplicationRecorder;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -41,6 +43,9 @@ public class SqlConfigLoader implements QuickPerfConfigLoader {
                 , SqlAnnotationsConfigs.MAX_SQL_UPDATE
                 , SqlAnnotationsConfigs.MAX_SQL_DELETE
                 , SqlAnnotationsConfigs.MAX_SELECTED_COLUMNS
+                , SqlAnnotationsConfigs.MAX_IN_LIST_VARIANTS
+                , SqlAnnotationsConfigs.NO_DEEP_PAGINATION
+                , SqlAnnotationsConfigs.MAX_ROW_MULTIPLICATION
                 , SqlAnnotationsConfigs.MAX_UPDATED_COLUMNS
                 , SqlAnnotationsConfigs.NUMBER_OF_SELECTED_COLUMNS
                 , SqlAnnotationsConfigs.DISABLE_LIKE_STARTING_WITH_WILDCARD
@@ -59,6 +64,7 @@ public class SqlConfigLoader implements QuickPerfConfigLoader {
                 , SqlAnnotationsConfigs.DISABLE_STATEMENTS
                 , SqlAnnotationsConfigs.ENABLE_STATEMENTS
                 , SqlAnnotationsConfigs.EXPECT_NO_CONNECTION_LEAK
+                , SqlAnnotationsConfigs.MAX_STATEMENT_PREPARATIONS
                 , SqlAnnotationsConfigs.PROFILE_CONNECTION
                 , SqlAnnotationsConfigs.ANALYZE_SQL
         );
@@ -73,6 +79,8 @@ public class SqlConfigLoader implements QuickPerfConfigLoader {
                 , new RecorderExecutionOrder(DisplaySqlRecorder.class, 2001)
                 , new RecorderExecutionOrder(DisplaySqlOfTestMethodBodyRecorder.class, 2002)
                 , new RecorderExecutionOrder(SqlStatementBatchRecorder.class, 2003)
+                , new RecorderExecutionOrder(StatementPreparationListener.class, 2004)
+                , new RecorderExecutionOrder(RowMultiplicationRecorder.class, 2005)
 
         );
     }
@@ -86,6 +94,8 @@ public class SqlConfigLoader implements QuickPerfConfigLoader {
                 , new RecorderExecutionOrder(DisplaySqlRecorder.class, 7001)
                 , new RecorderExecutionOrder(DisplaySqlOfTestMethodBodyRecorder.class, 7002)
                 , new RecorderExecutionOrder(SqlStatementBatchRecorder.class, 7003)
+                , new RecorderExecutionOrder(StatementPreparationListener.class, 7004)
+                , new RecorderExecutionOrder(RowMultiplicationRecorder.class, 7005)
         );
     }
 
@@ -0,0 +1,58 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.connection;
+
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.annotation.ExpectMaxStatementPreparations;
+
+public class MaxStatementPreparationsVerifier
+        implements VerifiablePerformanceIssue<ExpectMaxStatementPreparations, StatementPreparations> {
+
+    public static final MaxStatementPreparationsVerifier INSTANCE = new MaxStatementPreparationsVerifier();
+
+    private MaxStatementPreparationsVerifier() { }
+
+    @Override
+    public PerfIssue verifyPerfIssue(ExpectMaxStatementPreparations annotation,
+                                     StatementPreparations statementPreparations) {
+
+        int expectedMaxPreparations = annotation.value();
+
+        if (statementPreparations.getValue() > expectedMaxPreparations) {
+            return buildPerfIssue(statementPreparations, expectedMaxPreparations);
+        }
+
+        return PerfIssue.NONE;
+
+    }
+
+    private PerfIssue buildPerfIssue(StatementPreparations statementPreparations, int expectedMaxPreparations) {
+        String description =
+                    "Maximum expected number of statement preparations "
+                  + "<" + expectedMaxPreparations + ">"
+                  + " but is "
+                  + "<" + statementPreparations.getValue() + ">" + "."
+                  + statementPreparations.getComment();
+        if (statementPreparations.getRePreparationCount() > 0) {
+            description += System.lineSeparator()
+                         + System.lineSeparator()
+                         + "Perhaps enable a statement cache in the JDBC driver or in the connection pool"
+                         + System.lineSeparator()
+                         + "(examples: cachePrepStmts=true for MySQL, prepareThreshold for PostgreSQL,"
+                         + " implicitCachingEnabled for Oracle)";
+        }
+        return new PerfIssue(description);
+    }
+
+}
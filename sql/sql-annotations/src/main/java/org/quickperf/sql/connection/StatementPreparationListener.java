@@ -0,0 +1,222 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.connection;
+
+import org.quickperf.TestExecutionContext;
+import org.quickperf.WorkingFolder;
+import org.quickperf.perfrecording.RecordablePerformance;
+import org.quickperf.repository.ObjectFileRepository;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+public class StatementPreparationListener extends ConnectionListener
+        implements RecordablePerformance<StatementPreparations> {
+
+    private static final String STATEMENT_PREPARATIONS_FILE_NAME = "statement-preparations.ser";
+
+    // DelegatingConnection of Commons DBCP 2, then of Commons DBCP 1
+    private static final String[] INNERMOST_DELEGATE_METHOD_NAMES = {"getInnermostDelegateInternal", "getInnermostDelegate"};
+
+    // Keyed by the physical connection: a pool returns a new wrapper each time the connection is checked out
+    private final Map<Connection, Set<String>> preparedSqlByConnection = new IdentityHashMap<>();
+
+    // The physical connection is looked up once per checkout, not on each preparation
+    private final Map<Connection, Connection> physicalConnectionByLogicalConnection = new IdentityHashMap<>();
+
+    private final Map<Class<?>, Method> innermostDelegateMethodByClass = new HashMap<>();
+
+    private final Map<String, Integer> preparationCountBySql = new HashMap<>();
+
+    private long preparationCount;
+
+    private long rePreparationCount;
+
+    private StatementPreparations statementPreparations;
+
+    @Override
+    public void prepareStatement(Connection connection, String sql) {
+        recordPreparation(connection, sql);
+    }
+
+    @Override
+    public void prepareStatement(Connection connection, String sql, int resultSetType, int resultSetConcurrency) {
+        recordPreparation(connection, sql);
+    }
+
+    @Override
+    public void prepareStatement(Connection connection, String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) {
+        recordPreparation(connection, sql);
+    }
+
+    @Override
+    public void prepareStatement(Connection connection, String sql, int autoGeneratedKeys) {
+        recordPreparation(connection, sql);
+    }
+
+    @Override
+    public void prepareStatement(Connection connection, String sql, int[] columnIndexes) {
+        recordPreparation(connection, sql);
+    }
+
+    @Override
+    public void prepareStatement(Connection connection, String sql, String[] columnNames) {
+        recordPreparation(connection, sql);
+    }
+
+    @Override
+    public void prepareCall(Connection connection, String sql) {
+        recordPreparation(connection, sql);
+    }
+
+    @Override
+    public void prepareCall(Connection connection, String sql, int resultSetType, int resultSetConcurrency) {
+        recordPreparation(connection, sql);
+    }
+
+    @Override
+    public void prepareCall(Connection connection, String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) {
+        recordPreparation(connection, sql);
+    }
+
+    private void recordPreparation(Connection connection, String sql) {
+        preparationCount++;
+        Integer sqlPreparationCount = preparationCountBySql.get(sql);
+        preparationCountBySql.put(sql, sqlPreparationCount == null ? 1 : sqlPreparationCount + 1);
+        Connection physicalConnection = physicalConnectionOf(connection);
+        Set<String> preparedSql = preparedSqlByConnection.get(physicalConnection);
+        if (preparedSql == null) {
+            preparedSql = new HashSet<>();
+            preparedSqlByConnection.put(physicalConnection, preparedSql);
+        }
+        if (!preparedSql.add(sql)) {
+            rePreparationCount++;
+        }
+    }
+
+    private Connection physicalConnectionOf(Connection connection) {
+        Connection physicalConnection = physicalConnectionByLogicalConnection.get(connection);
+        if (physicalConnection == null) {
+            physicalConnection = findPhysicalConnectionOf(connection);
+            physicalConnectionByLogicalConnection.put(connection, physicalConnection);
+        }
+        return physicalConnection;
+    }
+
+    /*
+     * How the physical connection is found, per pool:
+     * - HikariCP, Tomcat JDBC pool: unwrap(Connection.class) returns the driver connection.
+     * - Commons DBCP: unwrap(Connection.class) returns the DelegatingConnection itself, so its innermost delegate is
+     *   read. With DBCP 1, the guard wrapper of PoolingDataSource gives it only if accessToUnderlyingConnectionAllowed
+     *   is set.
+     * - No pool (e.g. H2 driver connection): unwrap(Connection.class) returns the connection itself, which is the
+     *   physical one.
+     * Otherwise, the connection returned by the pool is kept, so a checkout is seen as a new connection and the
+     * re-preparations are under-estimated. The datasource-proxy connection id can't replace it: it is generated for
+     * each checkout too.
+     */
+    private Connection findPhysicalConnectionOf(Connection connection) {
+        Connection unwrappedConnection = unwrap(connection);
+        Connection innermostDelegate = innermostDelegateOf(unwrappedConnection);
+        return innermostDelegate == null ? unwrappedConnection : innermostDelegate;
+    }
+
+    private static Connection unwrap(Connection connection) {
+        try {
+            Connection unwrappedConnection = connection.unwrap(Connection.class);
+            return unwrappedConnection == null ? connection : unwrappedConnection;
+        } catch (SQLException e) {
+            return connection;
+        }
+    }
+
+    private Connection innermostDelegateOf(Connection connection) {
+        Method innermostDelegateMethod = findInnermostDelegateMethod(connection.getClass());
+        if (innermostDelegateMethod == null) {
+            return null;
+        }
+        try {
+            Object innermostDelegate = innermostDelegateMethod.invoke(connection);
+            return innermostDelegate instanceof Connection ? (Connection) innermostDelegate : null;
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    private Method findInnermostDelegateMethod(Class<?> connectionClass) {
+        if (innermostDelegateMethodByClass.containsKey(connectionClass)) {
+            return innermostDelegateMethodByClass.get(connectionClass);
+        }
+        Method innermostDelegateMethod = null;
+        for (String methodName : INNERMOST_DELEGATE_METHOD_NAMES) {
+            try {
+                innermostDelegateMethod = connectionClass.getMethod(methodName);
+                break;
+            } catch (NoSuchMethodException e) {
+                // Not a DBCP connection or an older DBCP version
+            }
+        }
+        innermostDelegateMethodByClass.put(connectionClass, innermostDelegateMethod);
+        return innermostDelegateMethod;
+    }
+
+    public StatementPreparations getStatementPreparations() {
+        return new StatementPreparations(preparationCount, rePreparationCount, preparationCountBySql);
+    }
+
+    @Override
+    public void startRecording(TestExecutionContext testExecutionContext) {
+        clear();
+        ConnectionListenerRegistry.INSTANCE.register(this);
+    }
+
+    @Override
+    public void stopRecording(TestExecutionContext testExecutionContext) {
+        ConnectionListenerRegistry.unregister(this);
+        statementPreparations = getStatementPreparations();
+        clear();
+        if (testExecutionContext.testExecutionUsesTwoJVMs()) {
+            WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
+            ObjectFileRepository.INSTANCE.save(workingFolder, STATEMENT_PREPARATIONS_FILE_NAME, statementPreparations);
+        }
+    }
+
+    private void clear() {
+        preparedSqlByConnection.clear();
+        physicalConnectionByLogicalConnection.clear();
+        preparationCountBySql.clear();
+        preparationCount = 0;
+        rePreparationCount = 0;
+    }
+
+    @Override
+    public StatementPreparations findRecord(TestExecutionContext testExecutionContext) {
+        if (testExecutionContext.testExecutionUsesTwoJVMs()) {
+            WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
+            return (StatementPreparations) ObjectFileRepository.INSTANCE.find(workingFolder.getPath()
+                                                                            , STATEMENT_PREPARATIONS_FILE_NAME);
+        }
+        return statementPreparations;
+    }
+
+    @Override
+    public void cleanResources() { }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.connection;
+
+import org.quickperf.measure.PerfMeasure;
+import org.quickperf.unit.CountUnit;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Statement preparations, counted on the connections obtained from the datasource.
+ *
+ * A preparation of a SQL text already prepared on the same connection could have been served by a statement cache
+ * of the driver or of the connection pool: these statement caches are per connection.
+ */
+public class StatementPreparations implements PerfMeasure<Long, CountUnit>, Serializable {
+
+    private static final int MAX_FORMATTED_HOT_STATEMENTS = 10;
+
+    private final long preparationCount;
+
+    private final long rePreparationCount;
+
+    private final Map<String, Integer> preparationCountBySql;
+
+    StatementPreparations(long preparationCount, long rePreparationCount, Map<String, Integer> preparationCountBySql) {
+        this.preparationCount = preparationCount;
+        this.rePreparationCount = rePreparationCount;
+        this.preparationCountBySql = new HashMap<>(preparationCountBySql);
+    }
+
+    @Override
+    public Long getValue() {
+        return preparationCount;
+    }
+
+    @Override
+    public CountUnit getUnit() {
+        return CountUnit.COUNT;
+    }
+
+    /**
+     * Number of preparations of a SQL text already prepared on the same connection. It estimates the preparations
+     * that a per-connection statement cache large enough would save.
+     */
+    public long getRePreparationCount() {
+        return rePreparationCount;
+    }
+
+    public int getDistinctSqlCount() {
+        return preparationCountBySql.size();
+    }
+
+    /**
+     * SQL texts prepared at least <code>minPreparationCount</code> times, the most prepared first.
+     */
+    public List<Map.Entry<String, Integer>> findHotStatements(int minPreparationCount) {
+        List<Map.Entry<String, Integer>> hotStatements = new ArrayList<>();
+        for (Map.Entry<String, Integer> sqlPreparationCount : preparationCountBySql.entrySet()) {
+            if (sqlPreparationCount.getValue() >= minPreparationCount) {
+                hotStatements.add(sqlPreparationCount);
+            }
+        }
+        Collections.sort(hotStatements, new Comparator<Map.Entry<String, Integer>>() {
+            @Override
+            public int compare(Map.Entry<String, Integer> e1, Map.Entry<String, Integer> e2) {
+                return e2.getValue().compareTo(e1.getValue());
+            }
+        });
+        return hotStatements;
+    }
+
+    @Override
+    public String getComment() {
+        StringBuilder comment = new StringBuilder();
+        comment.append(System.lineSeparator())
+               .append("\t").append(preparationCount).append(" preparations of ")
+               .append(getDistinctSqlCount()).append(" distinct SQL, ")
+               .append(rePreparationCount).append(" on a connection having already prepared the same SQL");
+        List<Map.Entry<String, Integer>> hotStatements = findHotStatements(2);
+        int formattedCount = Math.min(hotStatements.size(), MAX_FORMATTED_HOT_STATEMENTS);
+        for (Map.Entry<String, Integer> hotStatement : hotStatements.subList(0, formattedCount)) {
+            comment.append(System.lineSeparator())
+                   .append("\t\t").append(hotStatement.getValue()).append(" x ").append(hotStatement.getKey());
+        }
+        return comment.toString();
+    }
+
+}
@@ -15,18 +15,20 @@ package org.quickperf.sql.delete;
 import net.ttddyy.dsproxy.QueryType;
 import org.quickperf.ExtractablePerformanceMeasure;
 import org.quickperf.sql.SqlExecutions;
-import org.quickperf.unit.Count;
+import org.quickperf.sql.StatementCount;
 
-public class DeleteCountMeasureExtractor implements ExtractablePerformanceMeasure<SqlExecutions, Count> {
+import java.util.Map;
+
+public class DeleteCountMeasureExtractor implements ExtractablePerformanceMeasure<SqlExecutions, StatementCount> {
 
     public static final DeleteCountMeasureExtractor INSTANCE = new DeleteCountMeasureExtractor();
 
     private DeleteCountMeasureExtractor() {}
 
     @Override
-    public Count extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
-        long deleteCount = sqlExecutions.retrieveQueryNumberOfType(QueryType.DELETE);
-        return new Count(deleteCount);
+    public StatementCount extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
+        Map<String, Long> deleteCountByDataSource = sqlExecutions.retrieveQueryNumberByDataSourceOfType(QueryType.DELETE);
+        return new StatementCount(deleteCountByDataSource);
     }
 
 }
@@ -14,35 +14,38 @@ package org.quickperf.sql.delete;
 
 import org.quickperf.issue.PerfIssue;
 import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.StatementCount;
 import org.quickperf.sql.annotation.ExpectMaxDelete;
 import org.quickperf.unit.Count;
 
 import static org.quickperf.sql.SqlStatementPerfIssueBuilder.aSqlPerfIssue;
 
-public class MaxOfDeletesPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectMaxDelete, Count> {
+public class MaxOfDeletesPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectMaxDelete, StatementCount> {
 	
     public static final MaxOfDeletesPerfIssueVerifier INSTANCE = new MaxOfDeletesPerfIssueVerifier();
 
     private MaxOfDeletesPerfIssueVerifier() {}
 
     @Override
-    public PerfIssue verifyPerfIssue(ExpectMaxDelete annotation, Count measuredCount) {
+    public PerfIssue verifyPerfIssue(ExpectMaxDelete annotation, StatementCount statementCount) {
 
         Count expectedCount = new Count(annotation.value());
+        Count measuredCount = statementCount.getCount(annotation.dataSource());
 
         if(measuredCount.isGreaterThan(expectedCount)) {
-            return buildPerfIssue(measuredCount, expectedCount);
+            return buildPerfIssue(measuredCount, expectedCount, annotation.dataSource());
         }
 
         return PerfIssue.NONE;
 
     }
 
-    private PerfIssue buildPerfIssue(Count measuredCount, Count expectedCount) {
+    private PerfIssue buildPerfIssue(Count measuredCount, Count expectedCount, String dataSourceName) {
 
         String description = aSqlPerfIssue().buildMaxOfStatementsDesc(measuredCount
                                                                     , expectedCount
-                                                                    , "delete");
+                                                                    , "delete"
+                                                                    , dataSourceName);
 
         return new PerfIssue(description);
 
@@ -14,26 +14,29 @@ package org.quickperf.sql.delete;
 
 import org.quickperf.issue.PerfIssue;
 import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.StatementCount;
 import org.quickperf.sql.annotation.ExpectDelete;
 import org.quickperf.unit.Count;
 
 import static org.quickperf.sql.SqlStatementPerfIssueBuilder.aSqlPerfIssue;
 
-public class NumberOfSqlDeletePerfIssueVerifier implements VerifiablePerformanceIssue<ExpectDelete, Count> {
+public class NumberOfSqlDeletePerfIssueVerifier implements VerifiablePerformanceIssue<ExpectDelete, StatementCount> {
 
     public static final NumberOfSqlDeletePerfIssueVerifier INSTANCE = new NumberOfSqlDeletePerfIssueVerifier();
 
     private NumberOfSqlDeletePerfIssueVerifier() { }
 
     @Override
-    public PerfIssue verifyPerfIssue(ExpectDelete annotation, Count measuredCount) {
+    public PerfIssue verifyPerfIssue(ExpectDelete annotation, StatementCount statementCount) {
 
         Count expectedCount = new Count(annotation.value());
+        Count measuredCount = statementCount.getCount(annotation.dataSource());
 
         if (!measuredCount.isEqualTo(expectedCount)) {
             return aSqlPerfIssue().buildNotEqualNumberOfStatements(measuredCount
                                                                  , expectedCount
-                                                                 , "DELETE");
+                                                                 , "DELETE"
+                                                                 , annotation.dataSource());
         }
 
         return PerfIssue.NONE;
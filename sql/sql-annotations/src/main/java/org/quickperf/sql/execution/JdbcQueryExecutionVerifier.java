@@ -18,6 +18,8 @@ import org.quickperf.sql.annotation.ExpectJdbcQueryExecution;
 import org.quickperf.sql.select.analysis.SelectAnalysis;
 import org.quickperf.unit.Count;
 
+import static org.quickperf.sql.SqlStatementPerfIssueBuilder.aSqlPerfIssue;
+
 public class JdbcQueryExecutionVerifier implements VerifiablePerformanceIssue<ExpectJdbcQueryExecution, SqlAnalysis> {
 
     public static final JdbcQueryExecutionVerifier INSTANCE = new JdbcQueryExecutionVerifier();
@@ -28,10 +30,10 @@ public class JdbcQueryExecutionVerifier implements VerifiablePerformanceIssue<Ex
     public PerfIssue verifyPerfIssue(ExpectJdbcQueryExecution annotation, SqlAnalysis sqlAnalysis) {
 
         Count expectedExecutionNumber = new Count(annotation.value());
-        Count executionNumber = sqlAnalysis.getJdbcQueryExecutionNumber();
+        Count executionNumber = sqlAnalysis.getJdbcQueryExecutionNumber(annotation.dataSource());
 
         if (!executionNumber.isEqualTo(expectedExecutionNumber)) {
-            String description =   buildBaseDescription(executionNumber, expectedExecutionNumber)
+            String description =   buildBaseDescription(executionNumber, expectedExecutionNumber, annotation.dataSource())
                                  + buildPotentialSuggestionToFix(sqlAnalysis, executionNumber
                                                                , expectedExecutionNumber);
             return new PerfIssue(description);
@@ -41,12 +43,13 @@ public class JdbcQueryExecutionVerifier implements VerifiablePerformanceIssue<Ex
 
     }
 
-    private String buildBaseDescription(Count executionNumber, Count expectedExecutionNumber) {
+    private String buildBaseDescription(Count executionNumber, Count expectedExecutionNumber, String dataSourceName) {
         boolean severalExpectedExecutions = expectedExecutionNumber.getValue() > 1;
         boolean severalExecutions = executionNumber.getValue() > 1;
         return    "You may think that there " + (severalExpectedExecutions ? "were" : "was")
                 + " <" + expectedExecutionNumber.getValue() + ">"
                 + " JDBC query execution" + (severalExpectedExecutions ? "s" : "" ) + " (execute, executeQuery, executeBatch, ...)"
+                + (dataSourceName.isEmpty() ? "" : " sent to the " + aSqlPerfIssue().databaseDesc(dataSourceName))
                 + System.lineSeparator()
                 + "       " + "But there " + (severalExecutions ? "are" : "is") + " <" + executionNumber.getValue() + ">...";
     }
@@ -18,6 +18,8 @@ import org.quickperf.sql.annotation.ExpectMaxJdbcQueryExecution;
 import org.quickperf.sql.select.analysis.SelectAnalysis;
 import org.quickperf.unit.Count;
 
+import static org.quickperf.sql.SqlStatementPerfIssueBuilder.aSqlPerfIssue;
+
 public class MaxJdbcQueryExecutionVerifier implements VerifiablePerformanceIssue<ExpectMaxJdbcQueryExecution, SqlAnalysis>  {
 
     public static final MaxJdbcQueryExecutionVerifier INSTANCE = new MaxJdbcQueryExecutionVerifier();
@@ -28,10 +30,10 @@ public class MaxJdbcQueryExecutionVerifier implements VerifiablePerformanceIssue
     public PerfIssue verifyPerfIssue(ExpectMaxJdbcQueryExecution annotation, SqlAnalysis sqlAnalysis) {
 
         Count expectedExpectJdbcQueryExecution = new Count(annotation.value());
-        Count jdbcQueryExecution = sqlAnalysis.getJdbcQueryExecutionNumber();
+        Count jdbcQueryExecution = sqlAnalysis.getJdbcQueryExecutionNumber(annotation.dataSource());
 
         if(jdbcQueryExecution.isGreaterThan(expectedExpectJdbcQueryExecution)) {
-            String description = buildBaseDescription(jdbcQueryExecution, expectedExpectJdbcQueryExecution)
+            String description = buildBaseDescription(jdbcQueryExecution, expectedExpectJdbcQueryExecution, annotation.dataSource())
                                + buildPotentialSuggestionToFix(sqlAnalysis, jdbcQueryExecution
                                                              , expectedExpectJdbcQueryExecution);
             return new PerfIssue(description);
@@ -41,12 +43,13 @@ public class MaxJdbcQueryExecutionVerifier implements VerifiablePerformanceIssue
 
     }
 
-    private String buildBaseDescription(Count executionNumber, Count expectedExecutionNumber) {
+    private String buildBaseDescription(Count executionNumber, Count expectedExecutionNumber, String dataSourceName) {
         boolean severalExpectedExecutions = expectedExecutionNumber.getValue() > 1;
         boolean severalExecutions = executionNumber.getValue() > 1;
         return    "You may think that there " + (severalExpectedExecutions ? "were" : "was")
                 + " at most <" + expectedExecutionNumber.getValue() + ">"
                 + " JDBC query execution" + (severalExpectedExecutions ? "s" : "" ) + " (execute, executeQuery, executeBatch, ...)"
+                + (dataSourceName.isEmpty() ? "" : " sent to the " + aSqlPerfIssue().databaseDesc(dataSourceName))
                 + System.lineSeparator()
                 + "       " + "But there " + (severalExecutions ? "are" : "is") + " <" + executionNumber.getValue() + ">...";
     }
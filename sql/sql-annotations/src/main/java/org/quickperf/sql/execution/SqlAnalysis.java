@@ -18,6 +18,9 @@ import org.quickperf.sql.select.analysis.SelectAnalysis;
 import org.quickperf.unit.Count;
 import org.quickperf.unit.NoUnit;
 
+import java.util.Collections;
+import java.util.Map;
+
 public class SqlAnalysis implements PerfMeasure {
 
     private final Count jdbcQueryExecutionNumber;
@@ -26,10 +29,18 @@ public class SqlAnalysis implements PerfMeasure {
 
     private final SqlExecutions sqlExecutions;
 
+    private final Map<String, Long> jdbcQueryExecutionNumberByDataSource;
+
     public SqlAnalysis(Count jdbcQueryExecutionNumber, SelectAnalysis selectAnalysis, SqlExecutions sqlExecutions) {
+        this(jdbcQueryExecutionNumber, selectAnalysis, sqlExecutions, Collections.<String, Long>emptyMap());
+    }
+
+    public SqlAnalysis(Count jdbcQueryExecutionNumber, SelectAnalysis selectAnalysis, SqlExecutions sqlExecutions,
+                       Map<String, Long> jdbcQueryExecutionNumberByDataSource) {
         this.jdbcQueryExecutionNumber = jdbcQueryExecutionNumber;
         this.selectAnalysis = selectAnalysis;
         this.sqlExecutions = sqlExecutions;
+        this.jdbcQueryExecutionNumberByDataSource = jdbcQueryExecutionNumberByDataSource;
     }
 
     @Override
@@ -51,6 +62,17 @@ public class SqlAnalysis implements PerfMeasure {
         return jdbcQueryExecutionNumber;
     }
 
+    /**
+     * @param dataSourceName all the datasources if empty
+     */
+    public Count getJdbcQueryExecutionNumber(String dataSourceName) {
+        if (dataSourceName.isEmpty()) {
+            return jdbcQueryExecutionNumber;
+        }
+        Long dataSourceExecutionNumber = jdbcQueryExecutionNumberByDataSource.get(dataSourceName);
+        return new Count(dataSourceExecutionNumber == null ? 0L : dataSourceExecutionNumber);
+    }
+
     public SelectAnalysis getSelectAnalysis() {
         return selectAnalysis;
     }
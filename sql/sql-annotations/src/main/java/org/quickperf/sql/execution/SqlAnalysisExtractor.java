@@ -13,11 +13,15 @@
 package org.quickperf.sql.execution;
 
 import org.quickperf.ExtractablePerformanceMeasure;
+import org.quickperf.sql.SqlExecution;
 import org.quickperf.sql.SqlExecutions;
 import org.quickperf.sql.select.analysis.SelectAnalysis;
 import org.quickperf.sql.select.analysis.SelectAnalysisExtractor;
 import org.quickperf.unit.Count;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class SqlAnalysisExtractor implements ExtractablePerformanceMeasure<SqlExecutions, SqlAnalysis> {
 
     public static final SqlAnalysisExtractor INSTANCE = new SqlAnalysisExtractor();
@@ -28,7 +32,11 @@ public class SqlAnalysisExtractor implements ExtractablePerformanceMeasure<SqlEx
     public SqlAnalysis extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
         SelectAnalysis selectAnalysis = SelectAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
         Count queriesSendingNumber = new Count(sqlExecutions.getNumberOfExecutions());
-        return new SqlAnalysis(queriesSendingNumber, selectAnalysis, sqlExecutions);
+        Map<String, Long> executionNumberByDataSource = new HashMap<>();
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            executionNumberByDataSource.merge(sqlExecution.getDataSourceName(), 1L, Long::sum);
+        }
+        return new SqlAnalysis(queriesSendingNumber, selectAnalysis, sqlExecutions, executionNumberByDataSource);
     }
 
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.inlist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A SQL query whose <code>IN</code> lists of bind parameters or literals are collapsed to a single element.
+ *
+ * Two queries having the same shape but a different number of elements in their <code>IN</code> lists are two
+ * distinct statements for the database: each of them is parsed, planned and cached on its own.
+ */
+public class InListQuery {
+
+    private static final String IN_LIST_ELEMENT = "(?:\\?|'(?:[^']|'')*'|[-+]?\\d+(?:\\.\\d+)?)";
+
+    private static final Pattern IN_LIST_PATTERN = Pattern.compile(
+            "\\bin\\s*\\(\\s*" + IN_LIST_ELEMENT + "(?:\\s*,\\s*" + IN_LIST_ELEMENT + ")*\\s*\\)"
+          , Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern IN_LIST_ELEMENT_PATTERN = Pattern.compile(IN_LIST_ELEMENT);
+
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    private final String shape;
+
+    private final List<Integer> inListSizes;
+
+    private InListQuery(String shape, List<Integer> inListSizes) {
+        this.shape = shape;
+        this.inListSizes = inListSizes;
+    }
+
+    public static InListQuery parse(String sql) {
+        Matcher inListMatcher = IN_LIST_PATTERN.matcher(sql);
+        if (!inListMatcher.find()) {
+            return new InListQuery(sql, Collections.<Integer>emptyList());
+        }
+        List<Integer> inListSizes = new ArrayList<>();
+        StringBuffer shape = new StringBuffer();
+        do {
+            inListSizes.add(countElements(inListMatcher.group()));
+            inListMatcher.appendReplacement(shape, "in (?)");
+        } while (inListMatcher.find());
+        inListMatcher.appendTail(shape);
+        String normalizedShape = WHITESPACES.matcher(shape).replaceAll(" ").trim();
+        return new InListQuery(normalizedShape, inListSizes);
+    }
+
+    private static int countElements(String inList) {
+        String elements = inList.substring(inList.indexOf('(') + 1);
+        Matcher elementMatcher = IN_LIST_ELEMENT_PATTERN.matcher(elements);
+        int elementCount = 0;
+        while (elementMatcher.find()) {
+            elementCount++;
+        }
+        return elementCount;
+    }
+
+    public boolean hasInList() {
+        return !inListSizes.isEmpty();
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public List<Integer> getInListSizes() {
+        return inListSizes;
+    }
+
+}
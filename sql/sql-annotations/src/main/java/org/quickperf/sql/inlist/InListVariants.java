@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.inlist;
+
+import java.util.*;
+
+/**
+ * Distinct <code>IN</code> list sizes with which each query shape has been executed.
+ */
+public class InListVariants {
+
+    private final Map<String, Set<List<Integer>>> variantsByShape = new LinkedHashMap<>();
+
+    public void add(String sql) {
+        InListQuery inListQuery = InListQuery.parse(sql);
+        if (inListQuery.hasInList()) {
+            Set<List<Integer>> variants = variantsByShape.get(inListQuery.getShape());
+            if (variants == null) {
+                variants = new LinkedHashSet<>();
+                variantsByShape.put(inListQuery.getShape(), variants);
+            }
+            variants.add(inListQuery.getInListSizes());
+        }
+    }
+
+    public int getMaxVariantCount() {
+        int maxVariantCount = 0;
+        for (Set<List<Integer>> variants : variantsByShape.values()) {
+            maxVariantCount = Math.max(maxVariantCount, variants.size());
+        }
+        return maxVariantCount;
+    }
+
+    public Map<String, Set<List<Integer>>> getVariantsByShape() {
+        return variantsByShape;
+    }
+
+    public String format() {
+        StringBuilder description = new StringBuilder();
+        for (Map.Entry<String, Set<List<Integer>>> shapeVariants : variantsByShape.entrySet()) {
+            Set<List<Integer>> variants = shapeVariants.getValue();
+            if (variants.size() > 1) {
+                description.append(System.lineSeparator())
+                           .append("\t").append(shapeVariants.getKey())
+                           .append(System.lineSeparator())
+                           .append("\t\t").append(variants.size()).append(" IN list sizes: ")
+                           .append(formatSizes(variants));
+            }
+        }
+        return description.toString();
+    }
+
+    private String formatSizes(Set<List<Integer>> variants) {
+        StringBuilder sizes = new StringBuilder();
+        for (List<Integer> variant : variants) {
+            if (sizes.length() > 0) {
+                sizes.append(", ");
+            }
+            sizes.append(variant.size() == 1 ? variant.get(0).toString() : variant.toString());
+        }
+        return sizes.toString();
+    }
+
+}
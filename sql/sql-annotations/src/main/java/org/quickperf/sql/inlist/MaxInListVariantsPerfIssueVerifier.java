@@ -0,0 +1,56 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.inlist;
+
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.annotation.ExpectMaxInListVariants;
+import org.quickperf.unit.Count;
+
+public class MaxInListVariantsPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectMaxInListVariants, Count> {
+
+    public static final MaxInListVariantsPerfIssueVerifier INSTANCE = new MaxInListVariantsPerfIssueVerifier();
+
+    private MaxInListVariantsPerfIssueVerifier() {}
+
+    @Override
+    public PerfIssue verifyPerfIssue(ExpectMaxInListVariants annotation, Count inListVariantCount) {
+
+        Count expectedCount = new Count(annotation.value());
+
+        if(inListVariantCount.isGreaterThan(expectedCount)) {
+            return buildPerfIssue(inListVariantCount, expectedCount);
+        }
+
+        return PerfIssue.NONE;
+
+    }
+
+    private PerfIssue buildPerfIssue(Count inListVariantCount, Count expectedCount) {
+        String description =
+                    "Maximum expected number of IN list sizes for a same query "
+                  + "<" + expectedCount.getValue() + ">"
+                  + " but is "
+                  + "<" + inListVariantCount.getValue() + ">" + "."
+                  + inListVariantCount.getComment()
+                  + System.lineSeparator()
+                  + System.lineSeparator()
+                  + "Each IN list size is a distinct statement for the database and for its plan cache."
+                  + System.lineSeparator()
+                  + "Perhaps pad the IN lists to a few sizes (Hibernate: hibernate.query.in_clause_parameter_padding=true)"
+                  + System.lineSeparator()
+                  + "or bind a single array parameter (PostgreSQL: WHERE id = ANY(?))";
+        return new PerfIssue(description);
+    }
+
+}
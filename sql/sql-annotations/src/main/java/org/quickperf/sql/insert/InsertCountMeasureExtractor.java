@@ -15,18 +15,21 @@ package org.quickperf.sql.insert;
 import net.ttddyy.dsproxy.QueryType;
 import org.quickperf.ExtractablePerformanceMeasure;
 import org.quickperf.sql.SqlExecutions;
-import org.quickperf.unit.Count;
+import org.quickperf.sql.StatementCount;
 
-public class InsertCountMeasureExtractor implements ExtractablePerformanceMeasure<SqlExecutions, Count> {
+import java.util.Map;
+
+public class InsertCountMeasureExtractor implements ExtractablePerformanceMeasure<SqlExecutions, StatementCount> {
 
     public static final InsertCountMeasureExtractor INSTANCE = new InsertCountMeasureExtractor();
 
     private InsertCountMeasureExtractor() {}
 
     @Override
-    public Count extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
-        long insertCount = sqlExecutions.retrieveQueryNumberOfType(QueryType.INSERT);
+    public StatementCount extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
+        Map<String, Long> insertCountByDataSource = sqlExecutions.retrieveQueryNumberByDataSourceOfType(QueryType.INSERT);
         String comment = sqlExecutions.toString();
-        return new Count(insertCount, comment);
+        return new StatementCount(insertCountByDataSource, comment);
     }
+
 }
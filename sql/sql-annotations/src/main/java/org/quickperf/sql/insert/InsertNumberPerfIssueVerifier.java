@@ -14,26 +14,29 @@ package org.quickperf.sql.insert;
 
 import org.quickperf.issue.PerfIssue;
 import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.StatementCount;
 import org.quickperf.sql.annotation.ExpectInsert;
 import org.quickperf.unit.Count;
 
 import static org.quickperf.sql.SqlStatementPerfIssueBuilder.aSqlPerfIssue;
 
-public class InsertNumberPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectInsert, Count> {
+public class InsertNumberPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectInsert, StatementCount> {
 
     public static final InsertNumberPerfIssueVerifier INSTANCE = new InsertNumberPerfIssueVerifier();
 
     private InsertNumberPerfIssueVerifier() {}
 
     @Override
-    public PerfIssue verifyPerfIssue(ExpectInsert annotation, Count measuredCount) {
+    public PerfIssue verifyPerfIssue(ExpectInsert annotation, StatementCount statementCount) {
 
         Count expectedCount = new Count(annotation.value());
+        Count measuredCount = statementCount.getCount(annotation.dataSource());
 
         if (!measuredCount.isEqualTo(expectedCount)) {
             return aSqlPerfIssue().buildNotEqualNumberOfStatements(measuredCount
                                                                  , expectedCount
-                                                                 , "INSERT");
+                                                                 , "INSERT"
+                                                                 , annotation.dataSource());
         }
 
         return PerfIssue.NONE;
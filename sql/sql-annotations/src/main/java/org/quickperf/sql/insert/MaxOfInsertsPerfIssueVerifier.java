@@ -14,35 +14,38 @@ package org.quickperf.sql.insert;
 
 import org.quickperf.issue.PerfIssue;
 import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.StatementCount;
 import org.quickperf.sql.annotation.ExpectMaxInsert;
 import org.quickperf.unit.Count;
 
 import static org.quickperf.sql.SqlStatementPerfIssueBuilder.aSqlPerfIssue;
 
-public class MaxOfInsertsPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectMaxInsert, Count> {
+public class MaxOfInsertsPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectMaxInsert, StatementCount> {
 
     public static final MaxOfInsertsPerfIssueVerifier INSTANCE = new MaxOfInsertsPerfIssueVerifier();
 
     private MaxOfInsertsPerfIssueVerifier() {}
 
     @Override
-    public PerfIssue verifyPerfIssue(ExpectMaxInsert annotation, Count measuredCount) {
+    public PerfIssue verifyPerfIssue(ExpectMaxInsert annotation, StatementCount statementCount) {
 
         Count expectedCount = new Count(annotation.value());
+        Count measuredCount = statementCount.getCount(annotation.dataSource());
 
         if(measuredCount.isGreaterThan(expectedCount)) {
-            return buildPerfIssue(measuredCount, expectedCount);
+            return buildPerfIssue(measuredCount, expectedCount, annotation.dataSource());
         }
 
         return PerfIssue.NONE;
 
     }
 
-    private PerfIssue buildPerfIssue(Count measuredCount, Count expectedCount) {
+    private PerfIssue buildPerfIssue(Count measuredCount, Count expectedCount, String dataSourceName) {
 
         String description = aSqlPerfIssue().buildMaxOfStatementsDesc(measuredCount
                                                                     , expectedCount
-                                                                    , "insert");
+                                                                    , "insert"
+                                                                    , dataSourceName);
         return new PerfIssue(description);
 
     }
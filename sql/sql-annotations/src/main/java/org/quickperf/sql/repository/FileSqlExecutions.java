@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * SQL executions read from a file written by a {@link SqlExecutionsBinaryWriter}, without keeping them in memory
+ * between two passes: each iteration reads the file again into a list that is released after the pass.
+ */
+class FileSqlExecutions extends SqlExecutions {
+
+    private final String filePath;
+
+    private final int numberOfExecutions;
+
+    private FileSqlExecutions(String filePath, int numberOfExecutions) {
+        this.filePath = filePath;
+        this.numberOfExecutions = numberOfExecutions;
+    }
+
+    /**
+     * @return {@link SqlExecutions#NONE} if the file has no execution
+     */
+    static SqlExecutions open(Path filePath) throws IOException {
+        int numberOfExecutions = 0;
+        try (SqlExecutionsBinaryReader reader = openReader(filePath)) {
+            while (reader.readNext() != null) {
+                numberOfExecutions++;
+            }
+        }
+        if (numberOfExecutions == 0) {
+            return SqlExecutions.NONE;
+        }
+        return new FileSqlExecutions(filePath.toString(), numberOfExecutions);
+    }
+
+    private static SqlExecutionsBinaryReader openReader(Path filePath) throws IOException {
+        return new SqlExecutionsBinaryReader(FileChannel.open(filePath, StandardOpenOption.READ));
+    }
+
+    @Override
+    public void add(ExecutionInfo execInfo, List<QueryInfo> queries) {
+        throw new UnsupportedOperationException("The SQL executions read from a file can't be modified");
+    }
+
+    @Override
+    public void add(SqlExecution sqlExecution) {
+        throw new UnsupportedOperationException("The SQL executions read from a file can't be modified");
+    }
+
+    @Override
+    public int getNumberOfExecutions() {
+        return numberOfExecutions;
+    }
+
+    // Each pass reads the whole file into a list released with the iterator, so a loop left early never
+    // keeps the file open
+    @Override
+    public Iterator<SqlExecution> iterator() {
+        List<SqlExecution> sqlExecutions = new ArrayList<>(numberOfExecutions);
+        try (SqlExecutionsBinaryReader reader = openReader(Paths.get(filePath))) {
+            SqlExecution sqlExecution;
+            while ((sqlExecution = reader.readNext()) != null) {
+                sqlExecutions.add(sqlExecution);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the SQL executions.", e);
+        }
+        return sqlExecutions.iterator();
+    }
+
+}
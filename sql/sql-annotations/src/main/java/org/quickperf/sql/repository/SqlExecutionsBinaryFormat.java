@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.repository;
+
+/**
+ * Binary format of the SQL executions exchanged between the JVM executing a test method and the JVM verifying it.
+ *
+ * After a header, the file is a stream of executions, each one starting with {@link #EXECUTION_TAG}, and ends with
+ * {@link #END_TAG}. The lengths and counts are unsigned varints. The strings (SQL, datasource names, class and method
+ * names) are written once: a string reference is <code>0</code> for <code>null</code>, the index in the table plus
+ * two for a string already written, and the table size plus two followed by the UTF-8 bytes for a new string. Once
+ * the table is full, the new strings are written after the reference <code>1</code>, without being added to the
+ * table, so that the memory of the writer does not grow with the number of distinct SQL statements. The
+ * <code>set*</code> methods of the bound parameters have their own table, built the same way. Each argument of a
+ * parameter starts with its type tag.
+ */
+final class SqlExecutionsBinaryFormat {
+
+    static final int MAGIC = 0x51505351; // QPSQ
+
+    static final byte VERSION = 1;
+
+    static final byte EXECUTION_TAG = 1;
+
+    static final byte END_TAG = 0;
+
+    static final byte NULL = 0;
+    static final byte INTEGER = 1;
+    static final byte LONG = 2;
+    static final byte SHORT = 3;
+    static final byte BYTE = 4;
+    static final byte BOOLEAN = 5;
+    static final byte FLOAT = 6;
+    static final byte DOUBLE = 7;
+    static final byte STRING = 8;
+    static final byte BIG_DECIMAL = 9;
+    static final byte DATE = 10;
+    static final byte TIME = 11;
+    static final byte TIMESTAMP = 12;
+    static final byte BYTES = 13;
+    // Any other argument, with Java serialization
+    static final byte SERIALIZED = 14;
+
+    static final int NULL_STRING = 0;
+
+    static final int UNSHARED_STRING = 1;
+
+    static final int FIRST_SHARED_STRING = 2;
+
+    static final int MAX_STRING_TABLE_SIZE = 10_000;
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private SqlExecutionsBinaryFormat() {}
+
+}
@@ -0,0 +1,308 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.quickperf.sql.repository.SqlExecutionsBinaryFormat.*;
+
+/**
+ * Reads the SQL executions written by a {@link SqlExecutionsBinaryWriter} one by one, through a buffer refilled from
+ * the channel. The <code>set*</code> methods of the bound parameters are looked up once per file.
+ */
+public class SqlExecutionsBinaryReader implements Closeable {
+
+    private static final StatementType[] STATEMENT_TYPES = StatementType.values();
+
+    private final ReadableByteChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private final List<String> strings = new ArrayList<>();
+
+    private final List<Method> methods = new ArrayList<>();
+
+    private boolean ended;
+
+    public SqlExecutionsBinaryReader(ReadableByteChannel channel) throws IOException {
+        this.channel = channel;
+        buffer.flip();
+        require(5);
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a QuickPerf SQL executions file");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported QuickPerf SQL executions file version: " + version);
+        }
+    }
+
+    public SqlExecutions readAll() throws IOException {
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        for (SqlExecution sqlExecution = readNext(); sqlExecution != null; sqlExecution = readNext()) {
+            sqlExecutions.add(sqlExecution);
+        }
+        return sqlExecutions;
+    }
+
+    /**
+     * @return the next execution, <code>null</code> at the end of the stream
+     */
+    public SqlExecution readNext() throws IOException {
+        if (ended) {
+            return null;
+        }
+        byte tag = readByte();
+        if (tag == END_TAG) {
+            ended = true;
+            return null;
+        }
+        if (tag != EXECUTION_TAG) {
+            throw new IOException("Corrupted QuickPerf SQL executions file, unexpected tag: " + tag);
+        }
+        ExecutionInfo executionInfo = readExecutionInfo();
+        long columnCount = readVarLong();
+        int numberOfQueries = readVarInt();
+        List<QueryInfo> queries = new ArrayList<>(numberOfQueries);
+        for (int i = 0; i < numberOfQueries; i++) {
+            queries.add(readQuery());
+        }
+        return new SqlExecution(executionInfo, queries, columnCount);
+    }
+
+    private ExecutionInfo readExecutionInfo() throws IOException {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setDataSourceName(readString());
+        executionInfo.setConnectionId(readString());
+        executionInfo.setStatementType(STATEMENT_TYPES[readByte()]);
+        executionInfo.setBatch(readByte() != 0);
+        executionInfo.setBatchSize(readVarInt());
+        executionInfo.setElapsedTime(readVarLong());
+        return executionInfo;
+    }
+
+    private QueryInfo readQuery() throws IOException {
+        QueryInfo query = new QueryInfo();
+        query.setQuery(readString());
+        int numberOfParametersList = readVarInt();
+        List<List<ParameterSetOperation>> parametersList = new ArrayList<>(numberOfParametersList);
+        for (int i = 0; i < numberOfParametersList; i++) {
+            int numberOfParams = readVarInt();
+            List<ParameterSetOperation> parameters = new ArrayList<>(numberOfParams);
+            for (int j = 0; j < numberOfParams; j++) {
+                ParameterSetOperation parameterSetOperation = new ParameterSetOperation();
+                parameterSetOperation.setMethod(readMethod());
+                Object[] args = new Object[readVarInt()];
+                for (int k = 0; k < args.length; k++) {
+                    args[k] = readArg();
+                }
+                parameterSetOperation.setArgs(args);
+                parameters.add(parameterSetOperation);
+            }
+            parametersList.add(parameters);
+        }
+        query.setParametersList(parametersList);
+        return query;
+    }
+
+    private Method readMethod() throws IOException {
+        int index = readVarInt();
+        if (index < methods.size()) {
+            return methods.get(index);
+        }
+        String declaringClassName = readString();
+        String methodName = readString();
+        Class<?>[] parameterTypes = new Class<?>[readVarInt()];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypes[i] = loadClass(readString());
+        }
+        Method method;
+        try {
+            method = loadClass(declaringClassName).getMethod(methodName, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+        methods.add(method);
+        return method;
+    }
+
+    private static Class<?> loadClass(String className) throws IOException {
+        switch (className) {
+            case "boolean": return boolean.class;
+            case "byte": return byte.class;
+            case "short": return short.class;
+            case "int": return int.class;
+            case "long": return long.class;
+            case "float": return float.class;
+            case "double": return double.class;
+            case "char": return char.class;
+            default:
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = SqlExecutionsBinaryReader.class.getClassLoader();
+        }
+        try {
+            return Class.forName(className, false, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private Object readArg() throws IOException {
+        byte type = readByte();
+        switch (type) {
+            case NULL: return null;
+            case INTEGER: return (int) unZigZag(readVarLong());
+            case LONG: return unZigZag(readVarLong());
+            case SHORT: return (short) unZigZag(readVarLong());
+            case BYTE: return readByte();
+            case BOOLEAN: return readByte() != 0;
+            case FLOAT: require(4); return Float.intBitsToFloat(buffer.getInt());
+            case DOUBLE: require(8); return Double.longBitsToDouble(buffer.getLong());
+            case STRING: return readUtf8();
+            case BIG_DECIMAL: return new BigDecimal(readUtf8());
+            case DATE: return new Date(unZigZag(readVarLong()));
+            case TIME: return new Time(unZigZag(readVarLong()));
+            case TIMESTAMP:
+                Timestamp timestamp = new Timestamp(unZigZag(readVarLong()));
+                timestamp.setNanos(readVarInt());
+                return timestamp;
+            case BYTES: return readByteArray();
+            case SERIALIZED: return deserialize(readByteArray());
+            default: throw new IOException("Corrupted QuickPerf SQL executions file, unexpected argument type: " + type);
+        }
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException {
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return objectInputStream.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private String readString() throws IOException {
+        int reference = readVarInt();
+        if (reference == NULL_STRING) {
+            return null;
+        }
+        if (reference == UNSHARED_STRING) {
+            return readUtf8();
+        }
+        int index = reference - FIRST_SHARED_STRING;
+        if (index < strings.size()) {
+            return strings.get(index);
+        }
+        String string = readUtf8();
+        strings.add(string);
+        return string;
+    }
+
+    private String readUtf8() throws IOException {
+        int length = readVarInt();
+        if (length <= buffer.capacity()) {
+            require(length);
+            String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length
+                                     , StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return string;
+        }
+        return new String(readBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private byte[] readByteArray() throws IOException {
+        return readBytes(readVarInt());
+    }
+
+    private byte[] readBytes(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            if (!buffer.hasRemaining()) {
+                require(1);
+            }
+            int chunkLength = Math.min(buffer.remaining(), length - offset);
+            buffer.get(bytes, offset, chunkLength);
+            offset += chunkLength;
+        }
+        return bytes;
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readVarInt() throws IOException {
+        return (int) readVarLong();
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupted QuickPerf SQL executions file, malformed varint");
+    }
+
+    private byte readByte() throws IOException {
+        if (!buffer.hasRemaining()) {
+            require(1);
+        }
+        return buffer.get();
+    }
+
+    private void require(int byteCount) throws IOException {
+        if (buffer.remaining() >= byteCount) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < byteCount) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Truncated QuickPerf SQL executions file");
+            }
+        }
+        buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.quickperf.sql.repository.SqlExecutionsBinaryFormat.*;
+
+/**
+ * Writes SQL executions in the {@link SqlExecutionsBinaryFormat}, through a buffer. The stream is ended by
+ * {@link #close()}.
+ */
+public class SqlExecutionsBinaryWriter implements Closeable {
+
+    private final OutputStream out;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+
+    private int position;
+
+    private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+    private final Map<Method, Integer> methodIndexes = new HashMap<>();
+
+    public SqlExecutionsBinaryWriter(OutputStream out) throws IOException {
+        this.out = out;
+        writeInt(MAGIC);
+        writeByte(VERSION);
+    }
+
+    public void write(SqlExecutions sqlExecutions) throws IOException {
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            write(sqlExecution);
+        }
+    }
+
+    public void write(SqlExecution sqlExecution) throws IOException {
+        writeByte(EXECUTION_TAG);
+        writeExecutionInfo(sqlExecution.getExecutionInfo());
+        writeVarLong(sqlExecution.getColumnCount());
+        List<QueryInfo> queries = sqlExecution.getQueries();
+        writeVarInt(queries.size());
+        for (QueryInfo query : queries) {
+            writeQuery(query);
+        }
+    }
+
+    private void writeExecutionInfo(ExecutionInfo executionInfo) throws IOException {
+        writeString(executionInfo.getDataSourceName());
+        writeString(executionInfo.getConnectionId());
+        writeByte(executionInfo.getStatementType().ordinal());
+        writeByte(executionInfo.isBatch() ? 1 : 0);
+        writeVarInt(executionInfo.getBatchSize());
+        writeVarLong(executionInfo.getElapsedTime());
+    }
+
+    private void writeQuery(QueryInfo query) throws IOException {
+        writeString(query.getQuery());
+        List<List<ParameterSetOperation>> parametersList = query.getParametersList();
+        writeVarInt(parametersList.size());
+        for (List<ParameterSetOperation> parameters : parametersList) {
+            writeVarInt(parameters.size());
+            for (ParameterSetOperation parameter : parameters) {
+                writeMethod(parameter.getMethod());
+                Object[] args = parameter.getArgs();
+                writeVarInt(args.length);
+                for (Object arg : args) {
+                    writeArg(arg);
+                }
+            }
+        }
+    }
+
+    private void writeMethod(Method method) throws IOException {
+        Integer index = methodIndexes.get(method);
+        if (index != null) {
+            writeVarInt(index);
+            return;
+        }
+        int newIndex = methodIndexes.size();
+        methodIndexes.put(method, newIndex);
+        writeVarInt(newIndex);
+        writeString(method.getDeclaringClass().getName());
+        writeString(method.getName());
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        writeVarInt(parameterTypes.length);
+        for (Class<?> parameterType : parameterTypes) {
+            writeString(parameterType.getName());
+        }
+    }
+
+    private void writeArg(Object arg) throws IOException {
+        if (arg == null) {
+            writeByte(NULL);
+        } else if (arg instanceof Integer) {
+            writeByte(INTEGER);
+            writeVarLong(zigZag((Integer) arg));
+        } else if (arg instanceof Long) {
+            writeByte(LONG);
+            writeVarLong(zigZag((Long) arg));
+        } else if (arg instanceof String) {
+            writeByte(STRING);
+            writeUtf8((String) arg);
+        } else if (arg instanceof Short) {
+            writeByte(SHORT);
+            writeVarLong(zigZag((Short) arg));
+        } else if (arg instanceof Byte) {
+            writeByte(BYTE);
+            writeByte((Byte) arg);
+        } else if (arg instanceof Boolean) {
+            writeByte(BOOLEAN);
+            writeByte((Boolean) arg ? 1 : 0);
+        } else if (arg instanceof Float) {
+            writeByte(FLOAT);
+            writeInt(Float.floatToIntBits((Float) arg));
+        } else if (arg instanceof Double) {
+            writeByte(DOUBLE);
+            writeLong(Double.doubleToLongBits((Double) arg));
+        } else if (arg instanceof BigDecimal) {
+            writeByte(BIG_DECIMAL);
+            writeUtf8(arg.toString());
+        } else if (arg.getClass() == Timestamp.class) {
+            Timestamp timestamp = (Timestamp) arg;
+            writeByte(TIMESTAMP);
+            writeVarLong(zigZag(timestamp.getTime()));
+            writeVarInt(timestamp.getNanos());
+        } else if (arg.getClass() == Date.class) {
+            writeByte(DATE);
+            writeVarLong(zigZag(((Date) arg).getTime()));
+        } else if (arg.getClass() == Time.class) {
+            writeByte(TIME);
+            writeVarLong(zigZag(((Time) arg).getTime()));
+        } else if (arg instanceof byte[]) {
+            writeByte(BYTES);
+            writeByteArray((byte[]) arg);
+        } else {
+            writeByte(SERIALIZED);
+            writeByteArray(serialize(arg));
+        }
+    }
+
+    private static byte[] serialize(Object arg) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(arg);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeString(String string) throws IOException {
+        if (string == null) {
+            writeVarInt(NULL_STRING);
+            return;
+        }
+        Integer index = stringIndexes.get(string);
+        if (index != null) {
+            writeVarInt(FIRST_SHARED_STRING + index);
+            return;
+        }
+        int newIndex = stringIndexes.size();
+        if (newIndex < MAX_STRING_TABLE_SIZE) {
+            stringIndexes.put(string, newIndex);
+            writeVarInt(FIRST_SHARED_STRING + newIndex);
+        } else {
+            writeVarInt(UNSHARED_STRING);
+        }
+        writeUtf8(string);
+    }
+
+    private void writeUtf8(String string) throws IOException {
+        writeByteArray(string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeByteArray(byte[] bytes) throws IOException {
+        writeVarInt(bytes.length);
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+        }
+        if (bytes.length > buffer.length) {
+            out.write(bytes);
+        } else {
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeInt(int value) throws IOException {
+        ensureCapacity(4);
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeLong(long value) throws IOException {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void writeByte(int value) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(int byteCount) throws IOException {
+        if (buffer.length - position < byteCount) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        out.write(buffer, 0, position);
+        position = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writeByte(END_TAG);
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+}
@@ -15,33 +15,61 @@ package org.quickperf.sql.repository;
 import net.ttddyy.dsproxy.ExecutionInfo;
 import net.ttddyy.dsproxy.QueryInfo;
 import org.quickperf.WorkingFolder;
-import org.quickperf.repository.ObjectFileRepository;
+import org.quickperf.sql.SqlExecution;
 import org.quickperf.sql.SqlExecutions;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
+/**
+ * Repository of a test method executed in a specific JVM. This JVM appends each SQL execution to a file of the
+ * working folder as soon as it happens, so that the heap does not grow with the number of executions. The JVM
+ * verifying the test method streams them from the file.
+ */
 class SqlFileRepository implements SqlRepository {
 
     private static final String SQL_FILE_NAME = "sql.ser";
 
-    private final SqlMemoryRepository sqlMemoryRepository = new SqlMemoryRepository();
+    private final Path sqlFilePath;
+
+    private SqlExecutionsBinaryWriter writer;
 
     private boolean flushed;
 
-    private final ObjectFileRepository objectFileRepository = ObjectFileRepository.getInstance();
+    private SqlExecutions sqlExecutionsFromFile;
+
+    SqlFileRepository(WorkingFolder workingFolder) {
+        this.sqlFilePath = Paths.get(workingFolder.getPath(), SQL_FILE_NAME);
+    }
 
     @Override
-    public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries) {
-        sqlMemoryRepository.addQueryExecution(execInfo, queries);
+    public synchronized void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries) {
+        if (flushed) {
+            return;
+        }
+        SqlExecution sqlExecution = new SqlExecution(execInfo, queries);
+        try {
+            if (writer == null) {
+                writer = new SqlExecutionsBinaryWriter(Files.newOutputStream(sqlFilePath));
+            }
+            writer.write(sqlExecution);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save the SQL executions.", e);
+        }
     }
 
     @Override
-    public void flush(WorkingFolder workingFolder) {
+    public synchronized void flush(WorkingFolder workingFolder) {
         if(!flushed) {
-            SqlExecutions executedQueries = sqlMemoryRepository.findExecutedQueries(workingFolder);
-            if(!executedQueries.isEmpty()) {
-                objectFileRepository.save(workingFolder, SQL_FILE_NAME, executedQueries);
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unable to save the SQL executions.", e);
+                }
             }
             flushed = true;
         }
@@ -49,30 +77,21 @@ class SqlFileRepository implements SqlRepository {
 
     @Override
     public SqlExecutions findExecutedQueries(WorkingFolder workingFolder) {
-        SqlExecutions sqlExecutionsFromMemory = sqlMemoryRepository.findExecutedQueries(workingFolder);
-        if(sqlExecutionsFromMemory.isEmpty()) {
-            SqlExecutions sqlExecutionsFromFile = retrieveExecutedQueriesFromFile(workingFolder);
-            sqlMemoryRepository.saveSqlExecutions(sqlExecutionsFromFile);
-            return sqlExecutionsFromFile;
+        if (sqlExecutionsFromFile == null) {
+            sqlExecutionsFromFile = retrieveExecutedQueriesFromFile();
         }
-        return sqlExecutionsFromMemory;
+        return sqlExecutionsFromFile;
     }
 
-    private SqlExecutions retrieveExecutedQueriesFromFile(WorkingFolder workingFolder) {
-        if(!sqlFileExists(workingFolder)) {
+    private SqlExecutions retrieveExecutedQueriesFromFile() {
+        if(!Files.exists(sqlFilePath)) {
             return SqlExecutions.NONE;
         }
-        Object sqlExecutionsAsObject = objectFileRepository.find(workingFolder.getPath(), SQL_FILE_NAME);
-        if(sqlExecutionsAsObject == null) {
-            return SqlExecutions.NONE;
+        try {
+            return FileSqlExecutions.open(sqlFilePath);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read the SQL executions.", e);
         }
-        return (SqlExecutions) sqlExecutionsAsObject;
-    }
-
-    private boolean sqlFileExists(WorkingFolder workingFolder) {
-        String workingFolderPath = workingFolder.getPath();
-        File sqlFile = new File(workingFolderPath + File.separator + SQL_FILE_NAME);
-        return sqlFile.exists();
     }
 
 }
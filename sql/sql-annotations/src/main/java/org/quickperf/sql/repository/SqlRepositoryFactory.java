@@ -20,7 +20,7 @@ public class SqlRepositoryFactory {
 
     public static SqlRepository getSqlRepository(TestExecutionContext testExecutionContext) {
         if(testExecutionContext.testExecutionUsesTwoJVMs()) {
-            return new SqlFileRepository();
+            return new SqlFileRepository(testExecutionContext.getWorkingFolder());
         }
         return new SqlMemoryRepository();
     }
@@ -31,21 +31,23 @@ public class MaxOfSelectsPerfIssueVerifier implements VerifiablePerformanceIssue
 
         Count maxExpectedSelect = new Count(annotation.value());
 
-        Count executedSelectNumber = selectAnalysis.getSelectNumber();
+        Count executedSelectNumber = selectAnalysis.getSelectNumber(annotation.dataSource());
 
         if(executedSelectNumber.isGreaterThan(maxExpectedSelect)) {
-            return buildPerfIssue(executedSelectNumber, maxExpectedSelect, selectAnalysis);
+            return buildPerfIssue(executedSelectNumber, maxExpectedSelect, annotation.dataSource(), selectAnalysis);
         }
 
         return PerfIssue.NONE;
 
     }
 
-    private PerfIssue buildPerfIssue(Count measuredCount, Count expectedCount, SelectAnalysis selectAnalysis) {
+    private PerfIssue buildPerfIssue(Count measuredCount, Count expectedCount, String dataSourceName,
+                                     SelectAnalysis selectAnalysis) {
 
         String description = aSqlPerfIssue().buildMaxOfStatementsDesc(measuredCount
                                                                     , expectedCount
-                                                                    , "select");
+                                                                    , "select"
+                                                                    , dataSourceName);
 
         if (measuredCount.isGreaterThan(Count.ONE) && !selectAnalysis.hasOnlySameSelects()) {
             description += SelectAnalysis.getNPlusOneSelectAlert();
@@ -18,6 +18,8 @@ import org.quickperf.sql.annotation.ExpectSelect;
 import org.quickperf.sql.select.analysis.SelectAnalysis;
 import org.quickperf.unit.Count;
 
+import static org.quickperf.sql.SqlStatementPerfIssueBuilder.aSqlPerfIssue;
+
 public class SelectNumberPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectSelect, SelectAnalysis> {
 
     public static final SelectNumberPerfIssueVerifier INSTANCE = new SelectNumberPerfIssueVerifier();
@@ -29,19 +31,20 @@ public class SelectNumberPerfIssueVerifier implements VerifiablePerformanceIssue
 
         Count expectedSelectNumber = new Count(annotation.value());
 
-        Count executedSelectNumber = selectAnalysis.getSelectNumber();
+        Count executedSelectNumber = selectAnalysis.getSelectNumber(annotation.dataSource());
 
         if (!executedSelectNumber.isEqualTo(expectedSelectNumber)) {
-            return buildPerfIssue(executedSelectNumber, expectedSelectNumber, selectAnalysis);
+            return buildPerfIssue(executedSelectNumber, expectedSelectNumber, annotation.dataSource(), selectAnalysis);
         }
 
         return PerfIssue.NONE;
 
     }
 
-    private PerfIssue buildPerfIssue(Count executedSelectNumber, Count expectedSelectNumber, SelectAnalysis selectAnalysis) {
+    private PerfIssue buildPerfIssue(Count executedSelectNumber, Count expectedSelectNumber, String dataSourceName,
+                                     SelectAnalysis selectAnalysis) {
 
-        String description = buildBaseDescription(executedSelectNumber, expectedSelectNumber);
+        String description = buildBaseDescription(executedSelectNumber, expectedSelectNumber, dataSourceName);
 
         if(   executedSelectNumber.isGreaterThan(Count.ONE)
            && executedSelectNumber.isGreaterThan(expectedSelectNumber)
@@ -54,12 +57,12 @@ public class SelectNumberPerfIssueVerifier implements VerifiablePerformanceIssue
 
     }
 
-    private String buildBaseDescription(Count measuredCount, Count expectedCount) {
+    private String buildBaseDescription(Count measuredCount, Count expectedCount, String dataSourceName) {
         boolean severalExpectedStatements = expectedCount.getValue() > 1;
         boolean severalExecutedStatements = measuredCount.getValue() > 1;
         return "You may think that <" + expectedCount.getValue() + "> select statement"
                + (severalExpectedStatements ? "s were" : " was" )
-               + " sent to the database"
+               + " sent to the " + aSqlPerfIssue().databaseDesc(dataSourceName)
                + System.lineSeparator()
                + "       " + "But there " + (severalExecutedStatements ? "are" : "is" ) + " in fact <" + measuredCount.getValue() + ">...";
     }
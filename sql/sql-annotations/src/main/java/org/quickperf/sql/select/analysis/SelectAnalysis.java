@@ -20,7 +20,9 @@ import org.quickperf.sql.framework.JdbcSuggestion;
 import org.quickperf.sql.framework.MicronautSuggestion;
 import org.quickperf.unit.Count;
 import org.quickperf.unit.NoUnit;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static java.lang.System.*;
 
@@ -38,6 +40,10 @@ public class SelectAnalysis implements PerfMeasure {
 
     private final List<String> nPlusOneImpactedTables;
 
+    private final Map<String, Integer> selectNumberByDataSource;
+
+    private final String nPlusOneDataSourceName;
+
     public static class SameSelectTypesWithDifferentParamValues {
 
         private final boolean value;
@@ -81,6 +87,13 @@ public class SelectAnalysis implements PerfMeasure {
 
     public SelectAnalysis(int selectNumber, int sameSelectsNumber, boolean sameSelectTypesWithDifferentParamValues,
             List<String> nPlusOneCallStack, String nPlusOneQuery, List<String> nPlusOneImpactedTables) {
+        this(selectNumber, sameSelectsNumber, sameSelectTypesWithDifferentParamValues, nPlusOneCallStack,
+                nPlusOneQuery, nPlusOneImpactedTables, Collections.<String, Integer>emptyMap(), null);
+    }
+
+    public SelectAnalysis(int selectNumber, int sameSelectsNumber, boolean sameSelectTypesWithDifferentParamValues,
+            List<String> nPlusOneCallStack, String nPlusOneQuery, List<String> nPlusOneImpactedTables,
+            Map<String, Integer> selectNumberByDataSource, String nPlusOneDataSourceName) {
         this.selectNumber = new Count(selectNumber);
         this.sameSelectsNumber = new Count(sameSelectsNumber);
         this.sameSelectTypesWithDifferentParamValues = new SameSelectTypesWithDifferentParamValues(
@@ -88,12 +101,29 @@ public class SelectAnalysis implements PerfMeasure {
         this.nPlusOneCallStack = nPlusOneCallStack;
         this.nPlusOneQuery = nPlusOneQuery;
         this.nPlusOneImpactedTables = nPlusOneImpactedTables;
+        this.selectNumberByDataSource = selectNumberByDataSource;
+        this.nPlusOneDataSourceName = nPlusOneDataSourceName;
     }
 
     public Count getSelectNumber() {
         return selectNumber;
     }
 
+    /**
+     * @param dataSourceName all the datasources if empty
+     */
+    public Count getSelectNumber(String dataSourceName) {
+        if (dataSourceName.isEmpty()) {
+            return selectNumber;
+        }
+        Integer dataSourceSelectNumber = selectNumberByDataSource.get(dataSourceName);
+        return new Count(dataSourceSelectNumber == null ? 0 : dataSourceSelectNumber);
+    }
+
+    public Map<String, Integer> getSelectNumberByDataSource() {
+        return selectNumberByDataSource;
+    }
+
     public boolean hasOnlySameSelects() {
         return selectNumber.isEqualTo(sameSelectsNumber);
     }
@@ -118,6 +148,13 @@ public class SelectAnalysis implements PerfMeasure {
         return nPlusOneQuery;
     }
 
+    /**
+     * @return the datasource of the N+1 selects, empty if the datasource proxy is not named
+     */
+    public String getNPlusOneDataSourceName() {
+        return nPlusOneDataSourceName;
+    }
+
     @Override
     public SelectAnalysis getValue() {
         return this;
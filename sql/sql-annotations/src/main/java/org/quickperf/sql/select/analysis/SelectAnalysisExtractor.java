@@ -41,6 +41,8 @@ public class SelectAnalysisExtractor implements ExtractablePerformanceMeasure<Sq
         List<String> nPlusOneCallStack = null;
         String nPlusOneQuery = null;
         List<String> nPlusOneImpactedTables = null;
+        String nPlusOneDataSourceName = null;
+        Map<String, Integer> selectNumberByDataSource = new HashMap<>();
 
         // Two-level call stack tracking:
         // - parentOriginCallStack: the call stack from the query BEFORE the current
@@ -51,11 +53,18 @@ public class SelectAnalysisExtractor implements ExtractablePerformanceMeasure<Sq
         List<String> currentPatternCallStack = null;
         String currentPatternQuery = null;
 
-        SqlSelects sqlSelects = new SqlSelects();
+        // The same select sent to two datasources is not an N+1 select
+        Map<String, SqlSelects> sqlSelectsByDataSource = new HashMap<>();
         for (SqlExecution sqlExecution : sqlExecutions) {
+            String dataSourceName = sqlExecution.getDataSourceName();
+            SqlSelects sqlSelects = null;
             for (QueryInfo query : sqlExecution.getQueries()) {
                 if (isSelectType(query)) {
                     String queryAsString = query.getQuery();
+                    if (sqlSelects == null) {
+                        sqlSelects = findOrCreateSqlSelects(sqlSelectsByDataSource, dataSourceName);
+                    }
+                    selectNumberByDataSource.merge(dataSourceName, 1, Integer::sum);
 
                     // When we see a NEW query pattern, save the previous pattern's stack
                     // as the "parent origin" before overwriting
@@ -76,6 +85,7 @@ public class SelectAnalysisExtractor implements ExtractablePerformanceMeasure<Sq
 
                         nPlusOneQuery = queryAsString;
                         nPlusOneImpactedTables = org.quickperf.sql.SqlUtils.extractTableNames(nPlusOneQuery);
+                        nPlusOneDataSourceName = dataSourceName;
                     }
                     if (sqlSelects.exactlySameSqlQueryExists(query)) {
                         if (sameSelectsNumber == 0) {
@@ -90,8 +100,18 @@ public class SelectAnalysisExtractor implements ExtractablePerformanceMeasure<Sq
         }
 
         return new SelectAnalysis(selectNumber, sameSelectsNumber, sameSelectTypesWithDifferentParamValues,
-                nPlusOneCallStack, nPlusOneQuery, nPlusOneImpactedTables);
+                nPlusOneCallStack, nPlusOneQuery, nPlusOneImpactedTables, selectNumberByDataSource,
+                nPlusOneDataSourceName);
+
+    }
 
+    private SqlSelects findOrCreateSqlSelects(Map<String, SqlSelects> sqlSelectsByDataSource, String dataSourceName) {
+        SqlSelects sqlSelects = sqlSelectsByDataSource.get(dataSourceName);
+        if (sqlSelects == null) {
+            sqlSelects = new SqlSelects();
+            sqlSelectsByDataSource.put(dataSourceName, sqlSelects);
+        }
+        return sqlSelects;
     }
 
     /**
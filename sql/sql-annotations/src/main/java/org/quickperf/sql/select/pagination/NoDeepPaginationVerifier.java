@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.pagination;
+
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.annotation.ExpectNoDeepPagination;
+
+import java.util.List;
+
+public class NoDeepPaginationVerifier implements VerifiablePerformanceIssue<ExpectNoDeepPagination, PaginationAnalysis> {
+
+    public static final NoDeepPaginationVerifier INSTANCE = new NoDeepPaginationVerifier();
+
+    private NoDeepPaginationVerifier() {}
+
+    @Override
+    public PerfIssue verifyPerfIssue(ExpectNoDeepPagination annotation, PaginationAnalysis paginationAnalysis) {
+
+        StringBuilder description = new StringBuilder();
+
+        List<PagedSelect> deepPagedSelects = paginationAnalysis.findDeepPagedSelects(annotation.maxOffset());
+        if (!deepPagedSelects.isEmpty()) {
+            description.append("OFFSET greater than ").append(annotation.maxOffset()).append(":");
+            for (PagedSelect deepPagedSelect : deepPagedSelects) {
+                description.append(System.lineSeparator())
+                           .append("\t").append(deepPagedSelect.getOffset())
+                           .append(" for ").append(deepPagedSelect.getSql());
+            }
+            description.append(System.lineSeparator())
+                       .append("The rows before the offset are read and discarded by the database.")
+                       .append(System.lineSeparator())
+                       .append("Perhaps use keyset pagination (WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY).");
+        }
+
+        List<String> perPageCountQueries = paginationAnalysis.getPerPageCountQueries();
+        if (!annotation.perPageCountAllowed() && !perPageCountQueries.isEmpty()) {
+            if (description.length() > 0) {
+                description.append(System.lineSeparator()).append(System.lineSeparator());
+            }
+            description.append("Count query executed with a page other than the first one:");
+            for (String perPageCountQuery : perPageCountQueries) {
+                description.append(System.lineSeparator()).append("\t").append(perPageCountQuery);
+            }
+            description.append(System.lineSeparator())
+                       .append("Perhaps return a Slice instead of a Page with Spring Data, or compute the total once.");
+        }
+
+        if (description.length() == 0) {
+            return PerfIssue.NONE;
+        }
+        return new PerfIssue(description.toString());
+
+    }
+
+}
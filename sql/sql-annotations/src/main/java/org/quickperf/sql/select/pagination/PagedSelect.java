@@ -0,0 +1,57 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.pagination;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * A SELECT reading a page of rows with an <code>OFFSET</code>. The database reads and discards all the rows before
+ * the offset, so the cost of a page grows with its number.
+ */
+public class PagedSelect implements Serializable {
+
+    static final long UNKNOWN_OFFSET = -1;
+
+    private final String sql;
+
+    private final long offset;
+
+    private final List<String> tableNames;
+
+    PagedSelect(String sql, long offset, List<String> tableNames) {
+        this.sql = sql;
+        this.offset = offset;
+        this.tableNames = tableNames;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * The offset value, or -1 if it is neither a literal nor a bound number.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public List<String> getTableNames() {
+        return tableNames;
+    }
+
+    public boolean isFirstPage() {
+        return offset == 0;
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.pagination;
+
+import org.quickperf.measure.PerfMeasure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PaginationAnalysis implements PerfMeasure {
+
+    private final List<PagedSelect> pagedSelects;
+
+    private final List<String> perPageCountQueries;
+
+    PaginationAnalysis(List<PagedSelect> pagedSelects, List<String> perPageCountQueries) {
+        this.pagedSelects = pagedSelects;
+        this.perPageCountQueries = perPageCountQueries;
+    }
+
+    public List<PagedSelect> getPagedSelects() {
+        return pagedSelects;
+    }
+
+    public List<PagedSelect> findDeepPagedSelects(long maxOffset) {
+        List<PagedSelect> deepPagedSelects = new ArrayList<>();
+        for (PagedSelect pagedSelect : pagedSelects) {
+            if (pagedSelect.getOffset() > maxOffset) {
+                deepPagedSelects.add(pagedSelect);
+            }
+        }
+        return deepPagedSelects;
+    }
+
+    /**
+     * Count queries executed with a page other than the first one of the same table, as a
+     * <code>Page</code> of Spring Data does to compute the total number of elements.
+     */
+    public List<String> getPerPageCountQueries() {
+        return perPageCountQueries;
+    }
+
+    @Override
+    public Object getValue() {
+        return this;
+    }
+
+    @Override
+    public Object getUnit() {
+        return null;
+    }
+
+    @Override
+    public String getComment() {
+        return "";
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.pagination;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import org.quickperf.ExtractablePerformanceMeasure;
+import org.quickperf.sql.QueryTypeRetriever;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.sql.SqlUtils;
+import org.quickperf.sql.select.analysis.QueryParamsExtractor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the SELECT statements having an <code>OFFSET</code>, resolving the offset from the bound parameters, and the
+ * count queries executed with pages other than the first one.
+ */
+public class PaginationAnalysisExtractor implements ExtractablePerformanceMeasure<SqlExecutions, PaginationAnalysis> {
+
+    public static final PaginationAnalysisExtractor INSTANCE = new PaginationAnalysisExtractor();
+
+    // LIMIT ? OFFSET ?, OFFSET ? ROWS FETCH FIRST ? ROWS ONLY
+    private static final Pattern OFFSET_PATTERN = Pattern.compile("\\boffset\\s+(\\?|\\d+)"
+                                                                , Pattern.CASE_INSENSITIVE);
+
+    // MySQL: LIMIT offset, row_count
+    private static final Pattern MYSQL_LIMIT_PATTERN = Pattern.compile("\\blimit\\s+(\\?|\\d+)\\s*,\\s*(?:\\?|\\d+)"
+                                                                     , Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern COUNT_PATTERN = Pattern.compile("^\\s*select\\s+count\\s*\\("
+                                                               , Pattern.CASE_INSENSITIVE);
+
+    private PaginationAnalysisExtractor() {}
+
+    @Override
+    public PaginationAnalysis extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
+        List<PagedSelect> pagedSelects = new ArrayList<>();
+        List<String> countQueries = new ArrayList<>();
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            for (QueryInfo query : sqlExecution.getQueries()) {
+                if (QueryTypeRetriever.INSTANCE.typeOf(query) != QueryType.SELECT) {
+                    continue;
+                }
+                String sql = query.getQuery();
+                if (COUNT_PATTERN.matcher(sql).find()) {
+                    countQueries.add(sql);
+                } else {
+                    PagedSelect pagedSelect = findPagedSelect(query);
+                    if (pagedSelect != null) {
+                        pagedSelects.add(pagedSelect);
+                    }
+                }
+            }
+        }
+        List<String> perPageCountQueries = findPerPageCountQueries(countQueries, pagedSelects);
+        return new PaginationAnalysis(pagedSelects, perPageCountQueries);
+    }
+
+    private PagedSelect findPagedSelect(QueryInfo query) {
+        String sql = query.getQuery();
+        Matcher offsetMatcher = OFFSET_PATTERN.matcher(sql);
+        if (!offsetMatcher.find()) {
+            offsetMatcher = MYSQL_LIMIT_PATTERN.matcher(sql);
+            if (!offsetMatcher.find()) {
+                return null;
+            }
+        }
+        long offset = resolveOffset(query, offsetMatcher);
+        return new PagedSelect(sql, offset, SqlUtils.extractTableNames(sql));
+    }
+
+    private long resolveOffset(QueryInfo query, Matcher offsetMatcher) {
+        String offsetExpression = offsetMatcher.group(1);
+        if (!"?".equals(offsetExpression)) {
+            return Long.parseLong(offsetExpression);
+        }
+        // A SELECT executed in a batch has one parameter set per execution, so several offsets
+        if (query.getParametersList().size() > 1) {
+            return PagedSelect.UNKNOWN_OFFSET;
+        }
+        int paramIndex = countBindMarkersBefore(query.getQuery(), offsetMatcher.start(1));
+        List<Object> params = QueryParamsExtractor.INSTANCE.getParamsOf(query);
+        if (paramIndex < params.size() && params.get(paramIndex) instanceof Number) {
+            Number offset = (Number) params.get(paramIndex);
+            return offset.longValue();
+        }
+        return PagedSelect.UNKNOWN_OFFSET;
+    }
+
+    private int countBindMarkersBefore(String sql, int position) {
+        int bindMarkerCount = 0;
+        boolean isBetweenQuotes = false;
+        for (int i = 0; i < position; i++) {
+            char character = sql.charAt(i);
+            if (character == '\'') {
+                isBetweenQuotes = !isBetweenQuotes;
+            } else if (character == '?' && !isBetweenQuotes) {
+                bindMarkerCount++;
+            }
+        }
+        return bindMarkerCount;
+    }
+
+    private List<String> findPerPageCountQueries(List<String> countQueries, List<PagedSelect> pagedSelects) {
+        if (countQueries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> perPageCountQueries = new ArrayList<>();
+        for (String countQuery : countQueries) {
+            List<String> countedTables = SqlUtils.extractTableNames(countQuery);
+            for (PagedSelect pagedSelect : pagedSelects) {
+                if (!pagedSelect.isFirstPage() && !Collections.disjoint(countedTables, pagedSelect.getTableNames())) {
+                    perPageCountQueries.add(countQuery);
+                    break;
+                }
+            }
+        }
+        return perPageCountQueries;
+    }
+
+}
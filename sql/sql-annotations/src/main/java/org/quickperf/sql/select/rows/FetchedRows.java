@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.rows;
+
+import java.io.Serializable;
+
+/**
+ * Rows fetched from the result set of a SELECT.
+ */
+public class FetchedRows implements Serializable {
+
+    public static final long UNKNOWN_ROW_MULTIPLICATION = -1;
+
+    private final String sql;
+
+    private final long rowCount;
+
+    private final long sampledRowCount;
+
+    private final int distinctFirstColumnValueCount;
+
+    private final int tableCount;
+
+    FetchedRows(String sql, long rowCount, long sampledRowCount, int distinctFirstColumnValueCount, int tableCount) {
+        this.sql = sql;
+        this.rowCount = rowCount;
+        this.sampledRowCount = sampledRowCount;
+        this.distinctFirstColumnValueCount = distinctFirstColumnValueCount;
+        this.tableCount = tableCount;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Number of distinct values of the first column, usually the identifier of the root entity. The values are
+     * sampled on the first rows.
+     */
+    public int getDistinctFirstColumnValueCount() {
+        return distinctFirstColumnValueCount;
+    }
+
+    /**
+     * Number of tables read by the query, from its FROM and JOIN clauses.
+     */
+    public int getTableCount() {
+        return tableCount;
+    }
+
+    /**
+     * @return <code>false</code> if the first column has been read on no row, by the application nor by the ORM
+     */
+    public boolean isFirstColumnRead() {
+        return distinctFirstColumnValueCount > 0;
+    }
+
+    /**
+     * Average number of rows per distinct value of the first column, {@link #UNKNOWN_ROW_MULTIPLICATION} if the first
+     * column has not been read.
+     */
+    public long getRowMultiplication() {
+        if (!isFirstColumnRead()) {
+            return UNKNOWN_ROW_MULTIPLICATION;
+        }
+        return sampledRowCount / distinctFirstColumnValueCount;
+    }
+
+}
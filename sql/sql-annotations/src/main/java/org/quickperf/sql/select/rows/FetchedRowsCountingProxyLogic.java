@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.rows;
+
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Counts the rows read with <code>next()</code> and samples the values of the first column, read by the application
+ * or by the ORM: the first column of a SELECT generated by an ORM is the identifier of the root entity. The first
+ * column is read by index or by label. No value is read from the driver by QuickPerf, only the label of the first
+ * column from the result set metadata.
+ */
+class FetchedRowsCountingProxyLogic implements ResultSetProxyLogic {
+
+    private static final int MAX_SAMPLED_VALUES = 10_000;
+
+    private final ResultSet resultSet;
+
+    private final ResultSetProxyLogic delegate;
+
+    private final List<RowMultiplicationRecorder> recorders;
+
+    private final Set<Object> firstColumnValues = new HashSet<>();
+
+    private long rowCount;
+
+    private long sampledRowCount;
+
+    private boolean firstColumnReadOnCurrentRow;
+
+    private boolean closed;
+
+    private String firstColumnLabel;
+
+    FetchedRowsCountingProxyLogic(ResultSet resultSet, ResultSetProxyLogic delegate,
+                                  List<RowMultiplicationRecorder> recorders) {
+        this.resultSet = resultSet;
+        this.delegate = delegate;
+        this.recorders = recorders;
+    }
+
+    @Override
+    public Object invoke(Method method, Object[] args) throws Throwable {
+        String methodName = method.getName();
+        if ("close".equals(methodName)) {
+            notifyRecorders();
+            return delegate.invoke(method, args);
+        }
+        Object result = delegate.invoke(method, args);
+        if ("next".equals(methodName)) {
+            if (Boolean.TRUE.equals(result)) {
+                rowCount++;
+                firstColumnReadOnCurrentRow = false;
+            }
+        } else if (!firstColumnReadOnCurrentRow && isFirstColumnGetter(methodName, args)) {
+            firstColumnReadOnCurrentRow = true;
+            sampleFirstColumnValue(result);
+        }
+        return result;
+    }
+
+    private boolean isFirstColumnGetter(String methodName, Object[] args) {
+        if (args == null || args.length == 0 || !methodName.startsWith("get")) {
+            return false;
+        }
+        Object column = args[0];
+        if (column instanceof String) {
+            return ((String) column).equalsIgnoreCase(findFirstColumnLabel());
+        }
+        return Integer.valueOf(1).equals(column);
+    }
+
+    private String findFirstColumnLabel() {
+        if (firstColumnLabel == null) {
+            try {
+                firstColumnLabel = resultSet.getMetaData().getColumnLabel(1);
+            } catch (SQLException e) {
+                firstColumnLabel = "";
+            }
+            if (firstColumnLabel == null) {
+                firstColumnLabel = "";
+            }
+        }
+        return firstColumnLabel;
+    }
+
+    private void sampleFirstColumnValue(Object value) {
+        if (value != null && firstColumnValues.size() < MAX_SAMPLED_VALUES) {
+            firstColumnValues.add(value);
+            sampledRowCount++;
+        }
+    }
+
+    private void notifyRecorders() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (RowMultiplicationRecorder recorder : recorders) {
+            recorder.addFetchedRows(resultSet, rowCount, sampledRowCount, firstColumnValues.size());
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.rows;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.proxy.SimpleResultSetProxyLogic;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the rows fetched from the result sets created while a {@link RowMultiplicationRecorder} is registered.
+ * The other result sets are proxied without counting.
+ */
+public class FetchedRowsCountingProxyLogicFactory implements ResultSetProxyLogicFactory {
+
+    public static final FetchedRowsCountingProxyLogicFactory INSTANCE = new FetchedRowsCountingProxyLogicFactory();
+
+    private FetchedRowsCountingProxyLogicFactory() { }
+
+    @Override
+    public ResultSetProxyLogic create(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        SimpleResultSetProxyLogic resultSetProxyLogic = new SimpleResultSetProxyLogic(resultSet, connectionInfo, proxyConfig);
+        List<RowMultiplicationRecorder> recorders = findRowMultiplicationRecorders();
+        if (recorders.isEmpty()) {
+            return resultSetProxyLogic;
+        }
+        for (RowMultiplicationRecorder recorder : recorders) {
+            recorder.countingResultSetCreated();
+        }
+        return new FetchedRowsCountingProxyLogic(resultSet, resultSetProxyLogic, recorders);
+    }
+
+    private List<RowMultiplicationRecorder> findRowMultiplicationRecorders() {
+        List<RowMultiplicationRecorder> recorders = new ArrayList<>(1);
+        for (SqlRecorder sqlRecorder : SqlRecorderRegistry.INSTANCE.getSqlRecorders()) {
+            if (sqlRecorder instanceof RowMultiplicationRecorder) {
+                recorders.add((RowMultiplicationRecorder) sqlRecorder);
+            }
+        }
+        return recorders;
+    }
+
+}
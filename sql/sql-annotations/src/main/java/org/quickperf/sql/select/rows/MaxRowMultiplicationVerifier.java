@@ -0,0 +1,85 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.rows;
+
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.annotation.ExpectMaxRowMultiplication;
+
+import java.util.List;
+
+public class MaxRowMultiplicationVerifier implements VerifiablePerformanceIssue<ExpectMaxRowMultiplication, RowMultiplications> {
+
+    public static final MaxRowMultiplicationVerifier INSTANCE = new MaxRowMultiplicationVerifier();
+
+    private MaxRowMultiplicationVerifier() {}
+
+    @Override
+    public PerfIssue verifyPerfIssue(ExpectMaxRowMultiplication annotation, RowMultiplications rowMultiplications) {
+
+        if (!rowMultiplications.isFetchedRowsCounted()) {
+            return new PerfIssue("The fetched rows are not counted."
+                               + System.lineSeparator()
+                               + "Build the datasource proxy with QuickPerfSqlDataSourceBuilder.aDataSourceBuilder()"
+                               + ".withFetchedRowsCounting()"
+                               + System.lineSeparator()
+                               + "or, with Spring, set the quickperf.sql.fetched-rows.counted property to true.");
+        }
+
+        List<FetchedRows> multipliedRows = rowMultiplications.findGreaterThan(annotation.value(), 0);
+        if (multipliedRows.isEmpty()) {
+            return verifyFirstColumnsRead(annotation, rowMultiplications);
+        }
+
+        StringBuilder description = new StringBuilder();
+        description.append("Maximum expected number of rows per root entity <").append(annotation.value())
+                   .append("> but is <").append(rowMultiplications.getValue()).append(">.");
+        for (FetchedRows fetchedRows : multipliedRows) {
+            description.append(System.lineSeparator())
+                       .append("\t").append(fetchedRows.getRowCount()).append(" rows for ")
+                       .append(fetchedRows.getDistinctFirstColumnValueCount()).append(" root entities from ")
+                       .append(fetchedRows.getTableCount()).append(" tables: ")
+                       .append(fetchedRows.getSql());
+        }
+        description.append(System.lineSeparator())
+                   .append(System.lineSeparator())
+                   .append("Joining several collections multiplies the rows (Cartesian product).")
+                   .append(System.lineSeparator())
+                   .append("Perhaps fetch the collections in separate queries"
+                         + " (Hibernate: @BatchSize or @Fetch(FetchMode.SUBSELECT)).");
+        return new PerfIssue(description.toString());
+
+    }
+
+    // More rows than the maximum row multiplication may hide a Cartesian product that can not be measured
+    private PerfIssue verifyFirstColumnsRead(ExpectMaxRowMultiplication annotation,
+                                             RowMultiplications rowMultiplications) {
+        List<FetchedRows> unknownRows = rowMultiplications.findUnknownGreaterThan(annotation.value());
+        if (unknownRows.isEmpty()) {
+            return PerfIssue.NONE;
+        }
+        StringBuilder description = new StringBuilder();
+        description.append("Unable to verify the maximum number of rows per root entity <").append(annotation.value())
+                   .append(">: the first column of these SELECT has not been read.");
+        for (FetchedRows fetchedRows : unknownRows) {
+            description.append(System.lineSeparator())
+                       .append("\t").append(fetchedRows.getRowCount()).append(" rows: ")
+                       .append(fetchedRows.getSql());
+        }
+        description.append(System.lineSeparator())
+                   .append(System.lineSeparator())
+                   .append("Perhaps select the identifier of the root entity as first column.");
+        return new PerfIssue(description.toString());
+    }
+
+}
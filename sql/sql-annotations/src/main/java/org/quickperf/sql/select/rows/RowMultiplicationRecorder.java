@@ -0,0 +1,113 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.rows;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.WorkingFolder;
+import org.quickperf.repository.ObjectFileRepository;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+import org.quickperf.sql.SqlUtils;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the rows fetched per SELECT. The rows are counted by the result sets created by
+ * {@link FetchedRowsCountingProxyLogicFactory} and notified when they are closed.
+ */
+public class RowMultiplicationRecorder implements SqlRecorder<RowMultiplications> {
+
+    private static final String ROW_MULTIPLICATION_FILE_NAME = "row-multiplication.ser";
+
+    private final Map<Object, String> sqlByOpenResultSet = new IdentityHashMap<>();
+
+    private final List<FetchedRows> fetchedRowsList = new ArrayList<>();
+
+    private int resultSetCount;
+
+    private int countingResultSetCount;
+
+    private RowMultiplications rowMultiplications;
+
+    @Override
+    public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+        Object result = execInfo.getResult();
+        if (result instanceof ProxyJdbcObject) {
+            result = ((ProxyJdbcObject) result).getTarget();
+        }
+        if (result instanceof ResultSet && queries.size() == 1) {
+            sqlByOpenResultSet.put(result, queries.get(0).getQuery());
+            resultSetCount++;
+        }
+    }
+
+    void countingResultSetCreated() {
+        countingResultSetCount++;
+    }
+
+    void addFetchedRows(ResultSet resultSet, long rowCount, long sampledRowCount, int distinctFirstColumnValueCount) {
+        String sql = sqlByOpenResultSet.remove(resultSet);
+        if (sql != null) {
+            int tableCount = SqlUtils.extractTableNames(sql).size();
+            fetchedRowsList.add(new FetchedRows(sql, rowCount, sampledRowCount
+                                              , distinctFirstColumnValueCount, tableCount));
+        }
+    }
+
+    public RowMultiplications getRowMultiplications() {
+        // Without a counting result set, the SELECT statements have been executed by a datasource not counting the rows
+        boolean fetchedRowsCounted = resultSetCount == 0 || countingResultSetCount > 0;
+        return new RowMultiplications(fetchedRowsList, fetchedRowsCounted);
+    }
+
+    @Override
+    public void startRecording(TestExecutionContext testExecutionContext) {
+        SqlRecorderRegistry.INSTANCE.register(this);
+    }
+
+    @Override
+    public void stopRecording(TestExecutionContext testExecutionContext) {
+        SqlRecorderRegistry.unregister(this);
+        rowMultiplications = getRowMultiplications();
+        if (testExecutionContext.testExecutionUsesTwoJVMs()) {
+            WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
+            ObjectFileRepository.INSTANCE.save(workingFolder, ROW_MULTIPLICATION_FILE_NAME, rowMultiplications);
+        }
+    }
+
+    @Override
+    public RowMultiplications findRecord(TestExecutionContext testExecutionContext) {
+        if (testExecutionContext.testExecutionUsesTwoJVMs()) {
+            WorkingFolder workingFolder = testExecutionContext.getWorkingFolder();
+            return (RowMultiplications) ObjectFileRepository.INSTANCE.find(workingFolder.getPath()
+                                                                         , ROW_MULTIPLICATION_FILE_NAME);
+        }
+        return rowMultiplications;
+    }
+
+    @Override
+    public void cleanResources() {
+        sqlByOpenResultSet.clear();
+        fetchedRowsList.clear();
+        resultSetCount = 0;
+        countingResultSetCount = 0;
+    }
+
+}
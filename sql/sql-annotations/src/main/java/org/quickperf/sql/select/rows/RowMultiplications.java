@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.rows;
+
+import org.quickperf.measure.PerfMeasure;
+import org.quickperf.unit.CountUnit;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RowMultiplications implements PerfMeasure<Long, CountUnit>, Serializable {
+
+    private final List<FetchedRows> fetchedRowsList;
+
+    private final boolean fetchedRowsCounted;
+
+    RowMultiplications(List<FetchedRows> fetchedRowsList, boolean fetchedRowsCounted) {
+        this.fetchedRowsList = new ArrayList<>(fetchedRowsList);
+        this.fetchedRowsCounted = fetchedRowsCounted;
+    }
+
+    public List<FetchedRows> getFetchedRowsList() {
+        return fetchedRowsList;
+    }
+
+    /**
+     * @return <code>false</code> if the SELECT statements of the recording have been executed by a datasource proxy
+     * not counting the fetched rows
+     */
+    public boolean isFetchedRowsCounted() {
+        return fetchedRowsCounted;
+    }
+
+    /**
+     * @return the fetched rows whose row multiplication is unknown because their first column has not been read
+     */
+    public List<FetchedRows> findUnknownGreaterThan(long minRowCount) {
+        List<FetchedRows> unknownRows = new ArrayList<>();
+        for (FetchedRows fetchedRows : fetchedRowsList) {
+            if (!fetchedRows.isFirstColumnRead() && fetchedRows.getRowCount() > minRowCount) {
+                unknownRows.add(fetchedRows);
+            }
+        }
+        return unknownRows;
+    }
+
+    public List<FetchedRows> findGreaterThan(long maxRowMultiplication, long minRowCount) {
+        List<FetchedRows> multipliedRows = new ArrayList<>();
+        for (FetchedRows fetchedRows : fetchedRowsList) {
+            if (fetchedRows.getRowMultiplication() > maxRowMultiplication
+                    && fetchedRows.getRowCount() >= minRowCount) {
+                multipliedRows.add(fetchedRows);
+            }
+        }
+        return multipliedRows;
+    }
+
+    @Override
+    public Long getValue() {
+        long maxRowMultiplication = 0;
+        for (FetchedRows fetchedRows : fetchedRowsList) {
+            maxRowMultiplication = Math.max(maxRowMultiplication, fetchedRows.getRowMultiplication());
+        }
+        return maxRowMultiplication;
+    }
+
+    @Override
+    public CountUnit getUnit() {
+        return CountUnit.COUNT;
+    }
+
+    @Override
+    public String getComment() {
+        return "";
+    }
+
+}
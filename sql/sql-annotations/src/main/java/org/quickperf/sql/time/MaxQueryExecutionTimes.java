@@ -0,0 +1,63 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.time;
+
+import org.quickperf.measure.PerfMeasure;
+import org.quickperf.time.ExecutionTime;
+import org.quickperf.unit.NoUnit;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Greatest query execution time, among all the queries and per datasource.
+ */
+public class MaxQueryExecutionTimes implements PerfMeasure {
+
+    private final ExecutionTime maxExecutionTime;
+
+    private final Map<String, Long> maxExecutionTimeInMsByDataSource;
+
+    public MaxQueryExecutionTimes(ExecutionTime maxExecutionTime, Map<String, Long> maxExecutionTimeInMsByDataSource) {
+        this.maxExecutionTime = maxExecutionTime;
+        this.maxExecutionTimeInMsByDataSource = maxExecutionTimeInMsByDataSource;
+    }
+
+    /**
+     * @param dataSourceName all the datasources if empty
+     */
+    public ExecutionTime getMaxExecutionTime(String dataSourceName) {
+        if (dataSourceName.isEmpty()) {
+            return maxExecutionTime;
+        }
+        Long dataSourceMaxExecutionTime = maxExecutionTimeInMsByDataSource.get(dataSourceName);
+        return new ExecutionTime(dataSourceMaxExecutionTime == null ? 0L : dataSourceMaxExecutionTime
+                               , TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public MaxQueryExecutionTimes getValue() {
+        return this;
+    }
+
+    @Override
+    public NoUnit getUnit() {
+        return NoUnit.INSTANCE;
+    }
+
+    @Override
+    public String getComment() {
+        return null;
+    }
+
+}
@@ -17,30 +17,32 @@ import org.quickperf.sql.SqlExecution;
 import org.quickperf.sql.SqlExecutions;
 import org.quickperf.time.ExecutionTime;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-public class SqlQueryExecutionTimeExtractor implements ExtractablePerformanceMeasure<SqlExecutions, ExecutionTime> {
+public class SqlQueryExecutionTimeExtractor implements ExtractablePerformanceMeasure<SqlExecutions, MaxQueryExecutionTimes> {
 
 	public static final SqlQueryExecutionTimeExtractor INSTANCE = new SqlQueryExecutionTimeExtractor();
 	
 	private SqlQueryExecutionTimeExtractor() {}
 
 	@Override
-	public ExecutionTime extractPerfMeasureFrom(SqlExecutions perfRecord) {
+	public MaxQueryExecutionTimes extractPerfMeasureFrom(SqlExecutions perfRecord) {
 		
 		long maxExecutionTime = 0;
+		Map<String, Long> maxExecutionTimeByDataSource = new HashMap<>();
 		
 		for (SqlExecution execution : perfRecord) {
-
 			long executionTime = execution.getElapsedTime();
-
 			if(executionTime > maxExecutionTime) {
 				maxExecutionTime = executionTime;
 			}
-
+			maxExecutionTimeByDataSource.merge(execution.getDataSourceName(), executionTime, Math::max);
 		}
 		
-		return new ExecutionTime(maxExecutionTime, TimeUnit.MILLISECONDS);
+		return new MaxQueryExecutionTimes(new ExecutionTime(maxExecutionTime, TimeUnit.MILLISECONDS)
+		                                , maxExecutionTimeByDataSource);
 	}
 
 }
@@ -19,28 +19,33 @@ import org.quickperf.time.ExecutionTime;
 
 import java.util.concurrent.TimeUnit;
 
-public class SqlQueryMaxExecutionTimeVerifier implements VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, ExecutionTime> {
+import static org.quickperf.sql.SqlStatementPerfIssueBuilder.aSqlPerfIssue;
+
+public class SqlQueryMaxExecutionTimeVerifier implements VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, MaxQueryExecutionTimes> {
 	
 	public static final SqlQueryMaxExecutionTimeVerifier INSTANCE = new SqlQueryMaxExecutionTimeVerifier();
 
 	private SqlQueryMaxExecutionTimeVerifier() {}
 
 	@Override
-	public PerfIssue verifyPerfIssue(ExpectMaxQueryExecutionTime annotation, ExecutionTime measure) {
+	public PerfIssue verifyPerfIssue(ExpectMaxQueryExecutionTime annotation, MaxQueryExecutionTimes maxQueryExecutionTimes) {
 		
 		ExecutionTime maxExpectedSqlExecutionTime = new ExecutionTime(annotation.thresholdInMilliSeconds(), TimeUnit.MILLISECONDS);
+		ExecutionTime measure = maxQueryExecutionTimes.getMaxExecutionTime(annotation.dataSource());
 		
 		if(measure.isGreaterThan(maxExpectedSqlExecutionTime)) {
-			return buildPerfIssue(measure, maxExpectedSqlExecutionTime);
+			return buildPerfIssue(measure, maxExpectedSqlExecutionTime, annotation.dataSource());
 		}
 		
 		return PerfIssue.NONE;
 	}
 
-	private PerfIssue buildPerfIssue(ExecutionTime effectiveExecutionTime, ExecutionTime maxExecutionTime) {
+	private PerfIssue buildPerfIssue(ExecutionTime effectiveExecutionTime, ExecutionTime maxExecutionTime, String dataSourceName) {
 		String description =
 				"Query execution time expected to be less than <" +maxExecutionTime.toString() + ">"
-						+ "\n	At least one query has a greater execution time. The greater query execution time is <" + effectiveExecutionTime.toString() + ">";
+						+ "\n	At least one query"
+						+ (dataSourceName.isEmpty() ? "" : " sent to the " + aSqlPerfIssue().databaseDesc(dataSourceName))
+						+ " has a greater execution time. The greater query execution time is <" + effectiveExecutionTime.toString() + ">";
 		return new PerfIssue(description);
 	}
 
@@ -14,34 +14,37 @@ package org.quickperf.sql.update;
 
 import org.quickperf.issue.PerfIssue;
 import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.StatementCount;
 import org.quickperf.sql.annotation.ExpectMaxUpdate;
 import org.quickperf.unit.Count;
 
 import static org.quickperf.sql.SqlStatementPerfIssueBuilder.aSqlPerfIssue;
 
-public class MaxOfUpdatesPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectMaxUpdate, Count> {
+public class MaxOfUpdatesPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectMaxUpdate, StatementCount> {
 
     public static final MaxOfUpdatesPerfIssueVerifier INSTANCE = new MaxOfUpdatesPerfIssueVerifier();
 
     private MaxOfUpdatesPerfIssueVerifier() { }
 
     @Override
-    public PerfIssue verifyPerfIssue(ExpectMaxUpdate annotation, Count measuredCount) {
+    public PerfIssue verifyPerfIssue(ExpectMaxUpdate annotation, StatementCount statementCount) {
 
         Count expectedCount = new Count(annotation.value());
+        Count measuredCount = statementCount.getCount(annotation.dataSource());
 
         if (measuredCount.isGreaterThan(expectedCount)) {
-            return buildPerfIssue(measuredCount, expectedCount);
+            return buildPerfIssue(measuredCount, expectedCount, annotation.dataSource());
         }
 
         return PerfIssue.NONE;
     }
 
-    private PerfIssue buildPerfIssue(Count measuredCount, Count expectedCount) {
+    private PerfIssue buildPerfIssue(Count measuredCount, Count expectedCount, String dataSourceName) {
 
         String description = aSqlPerfIssue().buildMaxOfStatementsDesc(measuredCount
                                                                     , expectedCount
-                                                                    , "update");
+                                                                    , "update"
+                                                                    , dataSourceName);
 
         return new PerfIssue(description);
 
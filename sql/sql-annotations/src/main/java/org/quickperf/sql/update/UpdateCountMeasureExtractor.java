@@ -15,18 +15,20 @@ package org.quickperf.sql.update;
 import net.ttddyy.dsproxy.QueryType;
 import org.quickperf.ExtractablePerformanceMeasure;
 import org.quickperf.sql.SqlExecutions;
-import org.quickperf.unit.Count;
+import org.quickperf.sql.StatementCount;
 
-public class UpdateCountMeasureExtractor implements ExtractablePerformanceMeasure<SqlExecutions, Count> {
+import java.util.Map;
+
+public class UpdateCountMeasureExtractor implements ExtractablePerformanceMeasure<SqlExecutions, StatementCount> {
 
     public static final UpdateCountMeasureExtractor INSTANCE = new UpdateCountMeasureExtractor();
 
     private UpdateCountMeasureExtractor() {}
 
     @Override
-    public Count extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
-        long updateCount = sqlExecutions.retrieveQueryNumberOfType(QueryType.UPDATE);
-        return new Count(updateCount);
+    public StatementCount extractPerfMeasureFrom(SqlExecutions sqlExecutions) {
+        Map<String, Long> updateCountByDataSource = sqlExecutions.retrieveQueryNumberByDataSourceOfType(QueryType.UPDATE);
+        return new StatementCount(updateCountByDataSource);
     }
 
 }
@@ -14,26 +14,29 @@ package org.quickperf.sql.update;
 
 import org.quickperf.issue.PerfIssue;
 import org.quickperf.issue.VerifiablePerformanceIssue;
+import org.quickperf.sql.StatementCount;
 import org.quickperf.sql.annotation.ExpectUpdate;
 import org.quickperf.unit.Count;
 
 import static org.quickperf.sql.SqlStatementPerfIssueBuilder.aSqlPerfIssue;
 
-public class UpdateNumberPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectUpdate, Count> {
+public class UpdateNumberPerfIssueVerifier implements VerifiablePerformanceIssue<ExpectUpdate, StatementCount> {
 
     public static final UpdateNumberPerfIssueVerifier INSTANCE = new UpdateNumberPerfIssueVerifier();
 
     private UpdateNumberPerfIssueVerifier() { }
 
     @Override
-    public PerfIssue verifyPerfIssue(ExpectUpdate annotation, Count measuredCount) {
+    public PerfIssue verifyPerfIssue(ExpectUpdate annotation, StatementCount statementCount) {
 
         Count expectedCount = new Count(annotation.value());
+        Count measuredCount = statementCount.getCount(annotation.dataSource());
 
         if (!measuredCount.isEqualTo(expectedCount)) {
             return aSqlPerfIssue().buildNotEqualNumberOfStatements(measuredCount
                                                                  , expectedCount
-                                                                 , "UPDATE");
+                                                                 , "UPDATE"
+                                                                 , annotation.dataSource());
         }
 
         return PerfIssue.NONE;
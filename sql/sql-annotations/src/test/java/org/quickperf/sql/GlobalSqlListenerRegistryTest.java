@@ -0,0 +1,70 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GlobalSqlListenerRegistryTest {
+
+    @Test public void
+    should_get_the_registered_global_sql_listeners_from_another_thread() throws InterruptedException {
+
+        // GIVEN
+        GlobalSqlListener globalSqlListener = new NoOpGlobalSqlListener();
+        GlobalSqlListenerRegistry.INSTANCE.register(globalSqlListener);
+
+        // WHEN
+        final Collection<GlobalSqlListener> listenersSeenFromOtherThread = new ArrayList<>();
+        Thread otherThread = new Thread(() -> listenersSeenFromOtherThread.addAll(GlobalSqlListenerRegistry.INSTANCE
+                                                                                 .getGlobalSqlListeners()));
+        otherThread.start();
+        otherThread.join();
+
+        // THEN
+        assertThat(listenersSeenFromOtherThread).contains(globalSqlListener);
+        GlobalSqlListenerRegistry.INSTANCE.unregister(globalSqlListener);
+
+    }
+
+    @Test public void
+    should_unregister_a_global_sql_listener() {
+
+        // GIVEN
+        GlobalSqlListener globalSqlListener = new NoOpGlobalSqlListener();
+        GlobalSqlListenerRegistry.INSTANCE.register(globalSqlListener);
+
+        // WHEN
+        GlobalSqlListenerRegistry.INSTANCE.unregister(globalSqlListener);
+
+        // THEN
+        assertThat(GlobalSqlListenerRegistry.INSTANCE.getGlobalSqlListeners()).doesNotContain(globalSqlListener);
+
+    }
+
+    private static class NoOpGlobalSqlListener implements GlobalSqlListener {
+
+        @Override
+        public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        }
+
+    }
+
+}
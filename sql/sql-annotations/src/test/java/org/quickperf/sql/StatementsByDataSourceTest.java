@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.Test;
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.sql.execution.JdbcQueryExecutionVerifier;
+import org.quickperf.sql.execution.SqlAnalysis;
+import org.quickperf.sql.execution.SqlAnalysisExtractor;
+import org.quickperf.sql.insert.InsertCountMeasureExtractor;
+import org.quickperf.sql.insert.InsertNumberPerfIssueVerifier;
+import org.quickperf.sql.insert.MaxOfInsertsPerfIssueVerifier;
+import org.quickperf.sql.time.MaxQueryExecutionTimes;
+import org.quickperf.sql.time.SqlQueryExecutionTimeExtractor;
+import org.quickperf.sql.time.SqlQueryMaxExecutionTimeVerifier;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.quickperf.sql.annotation.SqlAnnotationBuilder.*;
+
+public class StatementsByDataSourceTest {
+
+    private static final String INSERT_BOOK = "INSERT INTO Book (id) VALUES (1)";
+
+    @Test public void
+    should_verify_the_inserts_of_a_datasource() {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(anExecution("primary", INSERT_BOOK, 1));
+        sqlExecutions.add(anExecution("primary", INSERT_BOOK, 1));
+        sqlExecutions.add(anExecution("audit", INSERT_BOOK, 1));
+        StatementCount insertCount = InsertCountMeasureExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // WHEN
+        PerfIssue auditIssue = InsertNumberPerfIssueVerifier.INSTANCE.verifyPerfIssue(expectInsert(1, "audit"), insertCount);
+        PerfIssue primaryIssue = MaxOfInsertsPerfIssueVerifier.INSTANCE
+                                .verifyPerfIssue(expectMaxInsert(1, "primary"), insertCount);
+        PerfIssue allDataSourcesIssue = InsertNumberPerfIssueVerifier.INSTANCE.verifyPerfIssue(expectInsert(3), insertCount);
+
+        // THEN
+        assertThat(auditIssue).isEqualTo(PerfIssue.NONE);
+        assertThat(primaryIssue.getDescription()).contains("<primary> datasource").contains("<2>");
+        assertThat(allDataSourcesIssue).isEqualTo(PerfIssue.NONE);
+
+    }
+
+    @Test public void
+    should_verify_the_jdbc_query_executions_of_a_datasource() {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(anExecution("primary", INSERT_BOOK, 1));
+        sqlExecutions.add(anExecution("audit", INSERT_BOOK, 1));
+        SqlAnalysis sqlAnalysis = SqlAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // WHEN
+        PerfIssue auditIssue = JdbcQueryExecutionVerifier.INSTANCE
+                              .verifyPerfIssue(expectJdbcQueryExecution(1, "audit"), sqlAnalysis);
+        PerfIssue reportingIssue = JdbcQueryExecutionVerifier.INSTANCE
+                                  .verifyPerfIssue(expectJdbcQueryExecution(1, "reporting"), sqlAnalysis);
+
+        // THEN
+        assertThat(auditIssue).isEqualTo(PerfIssue.NONE);
+        assertThat(reportingIssue.getDescription()).contains("<reporting> datasource").contains("<0>");
+
+    }
+
+    @Test public void
+    should_verify_the_query_execution_time_of_a_datasource() {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(anExecution("primary", INSERT_BOOK, 3));
+        sqlExecutions.add(anExecution("reporting", INSERT_BOOK, 50));
+        MaxQueryExecutionTimes maxQueryExecutionTimes = SqlQueryExecutionTimeExtractor.INSTANCE
+                                                       .extractPerfMeasureFrom(sqlExecutions);
+
+        // WHEN
+        PerfIssue primaryIssue = SqlQueryMaxExecutionTimeVerifier.INSTANCE
+                                .verifyPerfIssue(expectMaxQueryExecutionTime(10, "primary"), maxQueryExecutionTimes);
+        PerfIssue allDataSourcesIssue = SqlQueryMaxExecutionTimeVerifier.INSTANCE
+                                       .verifyPerfIssue(expectMaxQueryExecutionTime(10), maxQueryExecutionTimes);
+
+        // THEN
+        assertThat(primaryIssue).isEqualTo(PerfIssue.NONE);
+        assertThat(allDataSourcesIssue.getDescription()).contains("<50 ms>");
+
+    }
+
+    private SqlExecution anExecution(String dataSourceName, String sql, long elapsedTimeInMs) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setDataSourceName(dataSourceName);
+        executionInfo.setElapsedTime(elapsedTimeInMs);
+        return new SqlExecution(executionInfo, singletonList(new QueryInfo(sql)), 0);
+    }
+
+}
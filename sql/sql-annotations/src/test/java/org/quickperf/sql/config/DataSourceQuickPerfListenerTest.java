@@ -0,0 +1,119 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.After;
+import org.junit.Test;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.sql.GlobalSqlListener;
+import org.quickperf.sql.GlobalSqlListenerRegistry;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.SqlRecorderRegistry;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class DataSourceQuickPerfListenerTest {
+
+    private final CountingGlobalSqlListener globalSqlListener = new CountingGlobalSqlListener();
+
+    @After
+    public void unregister_listeners() {
+        SqlRecorderRegistry.INSTANCE.clear();
+        GlobalSqlListenerRegistry.INSTANCE.unregister(globalSqlListener);
+    }
+
+    @Test public void
+    should_notify_all_the_listeners_before_rethrowing_the_exception_of_a_recorder() {
+
+        // GIVEN
+        FailingSqlRecorder failingSqlRecorder = new FailingSqlRecorder();
+        CountingSqlRecorder countingSqlRecorder = new CountingSqlRecorder();
+        SqlRecorderRegistry.INSTANCE.register(failingSqlRecorder);
+        SqlRecorderRegistry.INSTANCE.register(countingSqlRecorder);
+        GlobalSqlListenerRegistry.INSTANCE.register(globalSqlListener);
+
+        DataSourceQuickPerfListener listener = new DataSourceQuickPerfListener();
+
+        // WHEN
+        Throwable thrown = catchThrowable(() -> listener.afterQuery(new ExecutionInfo()
+                                                                  , singletonList(new QueryInfo("select 1"))));
+
+        // THEN
+        assertThat(thrown).isSameAs(failingSqlRecorder.exception);
+        assertThat(countingSqlRecorder.executionCount).isEqualTo(1);
+        assertThat(globalSqlListener.executionCount).isEqualTo(1);
+
+    }
+
+    private static class FailingSqlRecorder extends NoOpSqlRecorder {
+
+        private final IllegalStateException exception = new IllegalStateException("Budget exceeded");
+
+        @Override
+        public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+            throw exception;
+        }
+
+    }
+
+    private static class CountingSqlRecorder extends NoOpSqlRecorder {
+
+        private int executionCount;
+
+        @Override
+        public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+            executionCount++;
+        }
+
+    }
+
+    private abstract static class NoOpSqlRecorder implements SqlRecorder<SqlExecutions> {
+
+        @Override
+        public void startRecording(TestExecutionContext testExecutionContext) {
+        }
+
+        @Override
+        public void stopRecording(TestExecutionContext testExecutionContext) {
+        }
+
+        @Override
+        public SqlExecutions findRecord(TestExecutionContext testExecutionContext) {
+            return null;
+        }
+
+        @Override
+        public void cleanResources() {
+        }
+
+    }
+
+    private static class CountingGlobalSqlListener implements GlobalSqlListener {
+
+        private int executionCount;
+
+        @Override
+        public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+            executionCount++;
+        }
+
+    }
+
+}
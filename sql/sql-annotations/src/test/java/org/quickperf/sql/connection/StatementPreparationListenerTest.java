@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.connection;
+
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StatementPreparationListenerTest {
+
+    @Test public void
+    should_count_the_preparations_of_a_sql_already_prepared_on_the_same_connection() {
+
+        // GIVEN
+        StatementPreparationListener statementPreparationListener = new StatementPreparationListener();
+        Connection connection1 = mock(Connection.class);
+        Connection connection2 = mock(Connection.class);
+        String select = "SELECT * FROM Book WHERE id = ?";
+        String insert = "INSERT INTO Book (id) VALUES (?)";
+
+        // WHEN
+        statementPreparationListener.prepareStatement(connection1, select);
+        statementPreparationListener.prepareStatement(connection1, select);
+        statementPreparationListener.prepareStatement(connection1, select, 1);
+        statementPreparationListener.prepareStatement(connection2, select);
+        statementPreparationListener.prepareCall(connection2, insert);
+
+        // THEN
+        StatementPreparations statementPreparations = statementPreparationListener.getStatementPreparations();
+        assertThat(statementPreparations.getValue()).isEqualTo(5);
+        assertThat(statementPreparations.getDistinctSqlCount()).isEqualTo(2);
+        assertThat(statementPreparations.getRePreparationCount()).isEqualTo(2);
+        List<Map.Entry<String, Integer>> hotStatements = statementPreparations.findHotStatements(2);
+        assertThat(hotStatements).hasSize(1);
+        assertThat(hotStatements.get(0).getKey()).isEqualTo(select);
+        assertThat(hotStatements.get(0).getValue()).isEqualTo(4);
+
+    }
+
+    @Test public void
+    should_count_the_preparations_on_the_same_physical_connection_checked_out_twice() throws SQLException {
+
+        // GIVEN
+        StatementPreparationListener statementPreparationListener = new StatementPreparationListener();
+        Connection physicalConnection = mock(Connection.class);
+        Connection firstCheckout = mock(Connection.class);
+        when(firstCheckout.unwrap(Connection.class)).thenReturn(physicalConnection);
+        Connection secondCheckout = mock(Connection.class);
+        when(secondCheckout.unwrap(Connection.class)).thenReturn(physicalConnection);
+        String select = "SELECT * FROM Book WHERE id = ?";
+
+        // WHEN
+        statementPreparationListener.prepareStatement(firstCheckout, select);
+        statementPreparationListener.prepareStatement(secondCheckout, select);
+
+        // THEN
+        StatementPreparations statementPreparations = statementPreparationListener.getStatementPreparations();
+        assertThat(statementPreparations.getValue()).isEqualTo(2);
+        assertThat(statementPreparations.getRePreparationCount()).isEqualTo(1);
+
+    }
+
+    @Test public void
+    should_count_the_preparations_on_the_innermost_delegate_of_a_dbcp_connection() {
+
+        // GIVEN
+        StatementPreparationListener statementPreparationListener = new StatementPreparationListener();
+        Connection physicalConnection = mock(Connection.class);
+        DelegatingConnection firstCheckout = mock(DelegatingConnection.class);
+        when(firstCheckout.getInnermostDelegateInternal()).thenReturn(physicalConnection);
+        DelegatingConnection secondCheckout = mock(DelegatingConnection.class);
+        when(secondCheckout.getInnermostDelegateInternal()).thenReturn(physicalConnection);
+        String select = "SELECT * FROM Book WHERE id = ?";
+
+        // WHEN
+        statementPreparationListener.prepareStatement(firstCheckout, select);
+        statementPreparationListener.prepareStatement(secondCheckout, select);
+
+        // THEN
+        StatementPreparations statementPreparations = statementPreparationListener.getStatementPreparations();
+        assertThat(statementPreparations.getRePreparationCount()).isEqualTo(1);
+
+    }
+
+    @Test public void
+    should_look_up_the_physical_connection_once_per_checkout() throws SQLException {
+
+        // GIVEN
+        StatementPreparationListener statementPreparationListener = new StatementPreparationListener();
+        Connection checkout = mock(Connection.class);
+        when(checkout.unwrap(Connection.class)).thenReturn(mock(Connection.class));
+
+        // WHEN
+        statementPreparationListener.prepareStatement(checkout, "SELECT * FROM Book");
+        statementPreparationListener.prepareStatement(checkout, "SELECT * FROM Author");
+
+        // THEN
+        verify(checkout, times(1)).unwrap(Connection.class);
+
+    }
+
+    // Like the DelegatingConnection of Commons DBCP 2, whose unwrap(Connection.class) returns the wrapper itself
+    public abstract static class DelegatingConnection implements Connection {
+
+        public abstract Connection getInnermostDelegateInternal();
+
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.inlist;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.Test;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.unit.Count;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InListVariantsTest {
+
+    @Test public void
+    should_collapse_in_lists_of_bind_parameters_and_literals() {
+
+        // WHEN
+        InListQuery inListQuery = InListQuery.parse("SELECT * FROM Book WHERE id IN (?, ?, ?) AND isbn in ('a,b', 'c')");
+
+        // THEN
+        assertThat(inListQuery.getShape()).isEqualTo("SELECT * FROM Book WHERE id in (?) AND isbn in (?)");
+        assertThat(inListQuery.getInListSizes()).containsExactly(3, 2);
+
+    }
+
+    @Test public void
+    should_not_consider_a_sub_query_as_an_in_list() {
+
+        // WHEN
+        InListQuery inListQuery = InListQuery.parse("SELECT * FROM Book WHERE id IN (SELECT bookId FROM Author)");
+
+        // THEN
+        assertThat(inListQuery.hasInList()).isFalse();
+
+    }
+
+    @Test public void
+    should_count_the_in_list_sizes_of_a_same_query() {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(mock(ExecutionInfo.class)
+                        , asList(queryInfo("SELECT * FROM Book WHERE id IN (?)")
+                               , queryInfo("SELECT * FROM Book WHERE id IN (?, ?)")
+                               , queryInfo("SELECT * FROM Book WHERE id IN (?,?)")
+                               , queryInfo("SELECT * FROM Book WHERE id IN (?, ?, ?)")
+                               , queryInfo("SELECT * FROM Author WHERE id IN (?, ?)")));
+
+        // WHEN
+        Count inListVariantCount = InListVariantsMeasureExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // THEN
+        assertThat(inListVariantCount.getValue()).isEqualTo(3);
+        assertThat(inListVariantCount.getComment()).contains("SELECT * FROM Book WHERE id in (?)")
+                                                   .doesNotContain("Author");
+
+    }
+
+    private QueryInfo queryInfo(String sql) {
+        QueryInfo queryInfo = mock(QueryInfo.class);
+        when(queryInfo.getQuery()).thenReturn(sql);
+        return queryInfo;
+    }
+
+}
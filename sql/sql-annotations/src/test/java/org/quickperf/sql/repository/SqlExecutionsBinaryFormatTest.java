@@ -0,0 +1,209 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.Test;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlExecutionsBinaryFormatTest {
+
+    @Test public void
+    should_read_the_written_sql_executions() throws Exception {
+
+        // GIVEN
+        Timestamp timestamp = Timestamp.valueOf("2022-03-04 05:06:07.123456789");
+        UUID uuid = UUID.randomUUID();
+        QueryInfo select = queryInfo("SELECT * FROM Book WHERE id = ? AND price > ? AND published < ? AND isbn = ?"
+                                    , setParameter("setLong", long.class, 3L)
+                                    , setParameter("setBigDecimal", BigDecimal.class, new BigDecimal("12.50"))
+                                    , setParameter("setTimestamp", Timestamp.class, timestamp)
+                                    , setParameter("setObject", Object.class, uuid));
+        QueryInfo insert = queryInfo("INSERT INTO Book (title, cover) VALUES (?, ?)"
+                                    , setParameter("setString", String.class, "Pensées")
+                                    , setParameter("setBytes", byte[].class, new byte[]{1, 2, 3}));
+        QueryInfo update = queryInfo("UPDATE Book SET title = ? WHERE id = ?"
+                                    , setNull()
+                                    , setParameter("setInt", int.class, -1));
+
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(new SqlExecution(executionInfo("replica", StatementType.PREPARED), singletonList(select), 7));
+        sqlExecutions.add(new SqlExecution(executionInfo(null, StatementType.PREPARED), singletonList(insert), 0));
+        sqlExecutions.add(new SqlExecution(executionInfo("replica", StatementType.STATEMENT), singletonList(update), 0));
+
+        // WHEN
+        SqlExecutions readSqlExecutions = writeAndRead(sqlExecutions);
+
+        // THEN
+        Iterator<SqlExecution> readIterator = readSqlExecutions.iterator();
+        SqlExecution readSelectExecution = readIterator.next();
+        assertThat(readSelectExecution.getDataSourceName()).isEqualTo("replica");
+        assertThat(readSelectExecution.getColumnCount()).isEqualTo(7);
+        assertThat(readSelectExecution.getElapsedTime()).isEqualTo(42);
+        QueryInfo readSelect = readSelectExecution.getQueries().get(0);
+        assertThat(readSelect.getQuery()).isEqualTo(select.getQuery());
+        List<ParameterSetOperation> readSelectParameters = readSelect.getParametersList().get(0);
+        assertThat(readSelectParameters).extracting(ParameterSetOperation::getMethod)
+                                        .isEqualTo(methodsOf(select));
+        assertThat(readSelectParameters.get(0).getArgs()).containsExactly(1, 3L);
+        assertThat(readSelectParameters.get(1).getArgs()).containsExactly(2, new BigDecimal("12.50"));
+        assertThat(readSelectParameters.get(2).getArgs()).containsExactly(3, timestamp);
+        assertThat(readSelectParameters.get(3).getArgs()).containsExactly(4, uuid);
+
+        SqlExecution readInsertExecution = readIterator.next();
+        assertThat(readInsertExecution.getExecutionInfo().getDataSourceName()).isNull();
+        List<ParameterSetOperation> readInsertParameters = readInsertExecution.getQueries().get(0)
+                                                                              .getParametersList().get(0);
+        assertThat(readInsertParameters.get(0).getArgs()).containsExactly(1, "Pensées");
+        assertThat((byte[]) readInsertParameters.get(1).getArgs()[1]).containsExactly(1, 2, 3);
+
+        SqlExecution readUpdateExecution = readIterator.next();
+        assertThat(readUpdateExecution.withStatement()).isTrue();
+        List<ParameterSetOperation> readUpdateParameters = readUpdateExecution.getQueries().get(0)
+                                                                              .getParametersList().get(0);
+        assertThat(readUpdateParameters.get(0).getArgs()).containsExactly(1, 12);
+        assertThat(readUpdateParameters.get(1).getArgs()).containsExactly(2, -1);
+
+        assertThat(readIterator.hasNext()).isFalse();
+
+    }
+
+    @Test public void
+    should_read_a_sql_larger_than_the_buffer() throws Exception {
+
+        // GIVEN
+        StringBuilder largeIn = new StringBuilder("SELECT * FROM Book WHERE id IN (0");
+        for (int i = 1; i < 50_000; i++) {
+            largeIn.append(", ").append(i);
+        }
+        String largeSelect = largeIn.append(")").toString();
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        for (int i = 0; i < 3; i++) {
+            QueryInfo queryInfo = queryInfo(largeSelect);
+            sqlExecutions.add(new SqlExecution(executionInfo("dataSource", StatementType.STATEMENT)
+                                             , singletonList(queryInfo), 1));
+        }
+
+        // WHEN
+        SqlExecutions readSqlExecutions = writeAndRead(sqlExecutions);
+
+        // THEN
+        assertThat(largeSelect.length()).isGreaterThan(65_535);
+        assertThat(readSqlExecutions.getNumberOfExecutions()).isEqualTo(3);
+        for (SqlExecution readSqlExecution : readSqlExecutions) {
+            assertThat(readSqlExecution.getQueries().get(0).getQuery()).isEqualTo(largeSelect);
+        }
+
+    }
+
+    @Test public void
+    should_read_more_distinct_sql_than_the_string_table_size() throws Exception {
+
+        // GIVEN
+        int numberOfDistinctSql = SqlExecutionsBinaryFormat.MAX_STRING_TABLE_SIZE + 10;
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        for (int i = 0; i < numberOfDistinctSql; i++) {
+            QueryInfo queryInfo = queryInfo("SELECT * FROM Book WHERE id = " + i);
+            sqlExecutions.add(new SqlExecution(executionInfo("dataSource", StatementType.STATEMENT)
+                                             , singletonList(queryInfo), 1));
+        }
+
+        // WHEN
+        SqlExecutions readSqlExecutions = writeAndRead(sqlExecutions);
+
+        // THEN
+        int i = 0;
+        for (SqlExecution readSqlExecution : readSqlExecutions) {
+            assertThat(readSqlExecution.getQueries().get(0).getQuery()).isEqualTo("SELECT * FROM Book WHERE id = " + i);
+            assertThat(readSqlExecution.getDataSourceName()).isEqualTo("dataSource");
+            i++;
+        }
+        assertThat(i).isEqualTo(numberOfDistinctSql);
+
+    }
+
+    private static SqlExecutions writeAndRead(SqlExecutions sqlExecutions) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SqlExecutionsBinaryWriter writer = new SqlExecutionsBinaryWriter(bytes)) {
+            writer.write(sqlExecutions);
+        }
+        ByteArrayInputStream input = new ByteArrayInputStream(bytes.toByteArray());
+        try (SqlExecutionsBinaryReader reader = new SqlExecutionsBinaryReader(Channels.newChannel(input))) {
+            return reader.readAll();
+        }
+    }
+
+    private static ExecutionInfo executionInfo(String dataSourceName, StatementType statementType) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setDataSourceName(dataSourceName);
+        executionInfo.setConnectionId("1");
+        executionInfo.setStatementType(statementType);
+        executionInfo.setElapsedTime(42);
+        return executionInfo;
+    }
+
+    private static QueryInfo queryInfo(String sql, ParameterSetOperation... parameters) {
+        QueryInfo queryInfo = new QueryInfo(sql);
+        List<ParameterSetOperation> parameterSetOperations = new ArrayList<>();
+        for (int i = 0; i < parameters.length; i++) {
+            ParameterSetOperation parameter = parameters[i];
+            Object[] args = parameter.getArgs().length == 1 ? new Object[]{i + 1, parameter.getArgs()[0]}
+                                                            : parameter.getArgs();
+            parameterSetOperations.add(new ParameterSetOperation(parameter.getMethod(), args));
+        }
+        if (!parameterSetOperations.isEmpty()) {
+            queryInfo.getParametersList().add(parameterSetOperations);
+        }
+        return queryInfo;
+    }
+
+    private static ParameterSetOperation setParameter(String methodName, Class<?> type, Object value)
+            throws NoSuchMethodException {
+        Method method = PreparedStatement.class.getMethod(methodName, int.class, type);
+        return new ParameterSetOperation(method, new Object[]{value});
+    }
+
+    private static ParameterSetOperation setNull() throws NoSuchMethodException {
+        Method setNull = PreparedStatement.class.getMethod("setNull", int.class, int.class);
+        return new ParameterSetOperation(setNull, new Object[]{1, 12});
+    }
+
+    private static List<Method> methodsOf(QueryInfo queryInfo) {
+        List<Method> methods = new ArrayList<>();
+        for (ParameterSetOperation parameter : queryInfo.getParametersList().get(0)) {
+            methods.add(parameter.getMethod());
+        }
+        return methods;
+    }
+
+}
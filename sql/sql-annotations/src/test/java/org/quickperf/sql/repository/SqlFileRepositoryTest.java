@@ -0,0 +1,126 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.StatementType;
+import org.junit.Test;
+import org.quickperf.WorkingFolder;
+import org.quickperf.measure.BooleanMeasure;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.sql.statement.NoStatementExtractor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlFileRepositoryTest {
+
+    @Test public void
+    should_stream_the_sql_executions_recorded_by_the_jvm_executing_the_test_method() {
+
+        // GIVEN
+        WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(true);
+        SqlFileRepository testMethodJvmRepository = new SqlFileRepository(workingFolder);
+        testMethodJvmRepository.addQueryExecution(executionInfo(), singletonList(new QueryInfo("SELECT * FROM Book")));
+        testMethodJvmRepository.addQueryExecution(executionInfo(), singletonList(new QueryInfo("SELECT * FROM Author")));
+        testMethodJvmRepository.addQueryExecution(executionInfo(), singletonList(new QueryInfo("DELETE FROM Book")));
+        testMethodJvmRepository.flush(workingFolder);
+
+        // WHEN
+        SqlFileRepository verificationJvmRepository = new SqlFileRepository(workingFolder);
+        SqlExecutions sqlExecutions = verificationJvmRepository.findExecutedQueries(workingFolder);
+
+        // THEN
+        assertThat(sqlExecutions.isEmpty()).isFalse();
+        assertThat(sqlExecutions.getNumberOfExecutions()).isEqualTo(3);
+        assertThat(sqlExecutions.retrieveQueryNumberOfType(QueryType.SELECT)).isEqualTo(2);
+        assertThat(sqlsOf(sqlExecutions)).containsExactly("SELECT * FROM Book", "SELECT * FROM Author"
+                                                        , "DELETE FROM Book");
+        // Each iteration reads the file again
+        assertThat(sqlsOf(sqlExecutions)).hasSize(3);
+
+    }
+
+    @Test public void
+    should_close_the_sql_file_when_a_loop_on_the_executions_is_left_early() throws IOException {
+
+        // GIVEN
+        WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(true);
+        SqlFileRepository testMethodJvmRepository = new SqlFileRepository(workingFolder);
+        testMethodJvmRepository.addQueryExecution(executionInfo(), singletonList(new QueryInfo("SELECT * FROM Book")));
+        testMethodJvmRepository.addQueryExecution(executionInfo(), singletonList(new QueryInfo("SELECT * FROM Author")));
+        testMethodJvmRepository.flush(workingFolder);
+        SqlExecutions sqlExecutions = new SqlFileRepository(workingFolder).findExecutedQueries(workingFolder);
+
+        // WHEN
+        BooleanMeasure noStatement = NoStatementExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+        String firstSql = null;
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            firstSql = sqlExecution.getQueries().get(0).getQuery();
+            break;
+        }
+        Iterator<SqlExecution> pass = sqlExecutions.iterator();
+        Files.delete(Paths.get(workingFolder.getPath(), "sql.ser"));
+
+        // THEN
+        assertThat(noStatement.getValue()).isFalse();
+        assertThat(firstSql).isEqualTo("SELECT * FROM Book");
+        assertThat(pass.next().getQueries().get(0).getQuery()).isEqualTo("SELECT * FROM Book");
+        assertThat(pass.next().getQueries().get(0).getQuery()).isEqualTo("SELECT * FROM Author");
+        assertThat(pass.hasNext()).isFalse();
+
+    }
+
+    @Test public void
+    should_find_no_sql_execution_if_the_test_method_has_not_executed_sql() {
+
+        // GIVEN
+        WorkingFolder workingFolder = WorkingFolder.createOrRetrieveWorkingFolder(true);
+        SqlFileRepository testMethodJvmRepository = new SqlFileRepository(workingFolder);
+        testMethodJvmRepository.flush(workingFolder);
+
+        // WHEN
+        SqlExecutions sqlExecutions = new SqlFileRepository(workingFolder).findExecutedQueries(workingFolder);
+
+        // THEN
+        assertThat(sqlExecutions).isSameAs(SqlExecutions.NONE);
+
+    }
+
+    private static ExecutionInfo executionInfo() {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setDataSourceName("dataSource");
+        executionInfo.setConnectionId("1");
+        executionInfo.setStatementType(StatementType.STATEMENT);
+        return executionInfo;
+    }
+
+    private static List<String> sqlsOf(SqlExecutions sqlExecutions) {
+        List<String> sqls = new ArrayList<>();
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            sqls.add(sqlExecution.getQueries().get(0).getQuery());
+        }
+        return sqls;
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.Test;
+import org.quickperf.issue.PerfIssue;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.sql.select.analysis.SelectAnalysis;
+import org.quickperf.sql.select.analysis.SelectAnalysisExtractor;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.quickperf.sql.annotation.SqlAnnotationBuilder.expectMaxSelect;
+import static org.quickperf.sql.annotation.SqlAnnotationBuilder.expectSelect;
+
+public class SelectsByDataSourceTest {
+
+    private static final String SELECT_BOOK_BY_ID = "SELECT * FROM Book WHERE id = ?";
+
+    @Test public void
+    should_count_the_selects_of_each_datasource() throws NoSuchMethodException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(aSelectExecution("primary", 1L));
+        sqlExecutions.add(aSelectExecution("replica", 1L));
+        sqlExecutions.add(aSelectExecution("replica", 2L));
+
+        // WHEN
+        SelectAnalysis selectAnalysis = SelectAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // THEN
+        assertThat(selectAnalysis.getSelectNumber("").getValue()).isEqualTo(3);
+        assertThat(selectAnalysis.getSelectNumber("primary").getValue()).isEqualTo(1);
+        assertThat(selectAnalysis.getSelectNumber("replica").getValue()).isEqualTo(2);
+        assertThat(selectAnalysis.getSelectNumber("reporting").getValue()).isZero();
+
+    }
+
+    @Test public void
+    should_not_detect_n_plus_one_selects_when_the_same_select_is_sent_to_two_datasources() throws NoSuchMethodException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(aSelectExecution("primary", 1L));
+        sqlExecutions.add(aSelectExecution("replica", 2L));
+
+        // WHEN
+        SelectAnalysis selectAnalysis = SelectAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // THEN
+        assertThat(selectAnalysis.getSameSelectTypesWithDifferentParamValues().evaluate()).isFalse();
+
+    }
+
+    @Test public void
+    should_detect_n_plus_one_selects_on_a_datasource() throws NoSuchMethodException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(aSelectExecution("primary", 1L));
+        sqlExecutions.add(aSelectExecution("replica", 1L));
+        sqlExecutions.add(aSelectExecution("replica", 2L));
+
+        // WHEN
+        SelectAnalysis selectAnalysis = SelectAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // THEN
+        assertThat(selectAnalysis.getSameSelectTypesWithDifferentParamValues().evaluate()).isTrue();
+        assertThat(selectAnalysis.getNPlusOneDataSourceName()).isEqualTo("replica");
+
+    }
+
+    @Test public void
+    should_verify_the_expected_selects_of_a_datasource() throws NoSuchMethodException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(aSelectExecution("primary", 1L));
+        sqlExecutions.add(aSelectExecution("replica", 2L));
+        SelectAnalysis selectAnalysis = SelectAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // WHEN
+        PerfIssue replicaIssue = SelectNumberPerfIssueVerifier.INSTANCE
+                                .verifyPerfIssue(expectSelect(1, "replica"), selectAnalysis);
+        PerfIssue primaryIssue = SelectNumberPerfIssueVerifier.INSTANCE
+                                .verifyPerfIssue(expectSelect(0, "primary"), selectAnalysis);
+
+        // THEN
+        assertThat(replicaIssue).isEqualTo(PerfIssue.NONE);
+        assertThat(primaryIssue.getDescription()).contains("<primary> datasource");
+
+    }
+
+    @Test public void
+    should_verify_the_max_selects_of_a_datasource() throws NoSuchMethodException {
+
+        // GIVEN
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(aSelectExecution("primary", 1L));
+        sqlExecutions.add(aSelectExecution("primary", 2L));
+        sqlExecutions.add(aSelectExecution("replica", 3L));
+        SelectAnalysis selectAnalysis = SelectAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // WHEN
+        PerfIssue replicaIssue = MaxOfSelectsPerfIssueVerifier.INSTANCE
+                                .verifyPerfIssue(expectMaxSelect(1, "replica"), selectAnalysis);
+        PerfIssue allDataSourcesIssue = MaxOfSelectsPerfIssueVerifier.INSTANCE
+                                       .verifyPerfIssue(expectMaxSelect(2), selectAnalysis);
+
+        // THEN
+        assertThat(replicaIssue).isEqualTo(PerfIssue.NONE);
+        assertThat(allDataSourcesIssue.getDescription()).contains("<3>");
+
+    }
+
+    private SqlExecution aSelectExecution(String dataSourceName, long bookId) throws NoSuchMethodException {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setDataSourceName(dataSourceName);
+        Method setLong = PreparedStatement.class.getMethod("setLong", int.class, long.class);
+        QueryInfo queryInfo = new QueryInfo(SELECT_BOOK_BY_ID);
+        queryInfo.getParametersList().add(singletonList(new ParameterSetOperation(setLong, new Object[]{1, bookId})));
+        return new SqlExecution(executionInfo, singletonList(queryInfo), 1);
+    }
+
+}
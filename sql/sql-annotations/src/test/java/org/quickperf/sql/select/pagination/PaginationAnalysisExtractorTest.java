@@ -0,0 +1,102 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.pagination;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.Test;
+import org.quickperf.sql.SqlExecutions;
+
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class PaginationAnalysisExtractorTest {
+
+    @Test public void
+    should_resolve_the_offset_from_the_bound_parameters() throws NoSuchMethodException {
+
+        // GIVEN
+        QueryInfo page = queryInfo("select b.id from book b where b.title <> '?' and b.isbn = ? order by b.id offset ? rows fetch first ? rows only"
+                                 , "isbn", 2000, 20);
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(mock(ExecutionInfo.class), singletonList(page));
+
+        // WHEN
+        PaginationAnalysis paginationAnalysis = PaginationAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // THEN
+        assertThat(paginationAnalysis.getPagedSelects()).hasSize(1);
+        assertThat(paginationAnalysis.getPagedSelects().get(0).getOffset()).isEqualTo(2000);
+        assertThat(paginationAnalysis.findDeepPagedSelects(1000)).hasSize(1);
+
+    }
+
+    @Test public void
+    should_find_a_count_query_executed_with_a_page_other_than_the_first_one() throws NoSuchMethodException {
+
+        // GIVEN
+        QueryInfo page = queryInfo("select b.id from book b limit ?, ?", 40, 20);
+        QueryInfo count = queryInfo("select count(b.id) from book b");
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(mock(ExecutionInfo.class), asList(page, count));
+
+        // WHEN
+        PaginationAnalysis paginationAnalysis = PaginationAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // THEN
+        assertThat(paginationAnalysis.getPagedSelects().get(0).getOffset()).isEqualTo(40);
+        assertThat(paginationAnalysis.findDeepPagedSelects(1000)).isEmpty();
+        assertThat(paginationAnalysis.getPerPageCountQueries()).containsExactly("select count(b.id) from book b");
+
+    }
+
+    @Test public void
+    should_not_resolve_the_offset_of_a_select_having_several_parameter_sets() throws NoSuchMethodException {
+
+        // GIVEN
+        QueryInfo page = queryInfo("select b.id from book b offset ? rows", 2000);
+        page.getParametersList().add(queryInfo("select b.id from book b offset ? rows", 4000).getParametersList().get(0));
+        SqlExecutions sqlExecutions = new SqlExecutions();
+        sqlExecutions.add(mock(ExecutionInfo.class), singletonList(page));
+
+        // WHEN
+        PaginationAnalysis paginationAnalysis = PaginationAnalysisExtractor.INSTANCE.extractPerfMeasureFrom(sqlExecutions);
+
+        // THEN
+        assertThat(paginationAnalysis.getPagedSelects()).hasSize(1);
+        assertThat(paginationAnalysis.getPagedSelects().get(0).getOffset()).isEqualTo(PagedSelect.UNKNOWN_OFFSET);
+
+    }
+
+    private QueryInfo queryInfo(String sql, Object... params) throws NoSuchMethodException {
+        Method setObject = PreparedStatement.class.getMethod("setObject", int.class, Object.class);
+        List<ParameterSetOperation> parameterSetOperations = new ArrayList<>();
+        for (int i = 0; i < params.length; i++) {
+            parameterSetOperations.add(new ParameterSetOperation(setObject, new Object[]{i + 1, params[i]}));
+        }
+        QueryInfo queryInfo = new QueryInfo(sql);
+        if (!parameterSetOperations.isEmpty()) {
+            queryInfo.getParametersList().add(parameterSetOperations);
+        }
+        return queryInfo;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2019-2022 the original author or authors.
+ */
+package org.quickperf.sql.select.rows;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RowMultiplicationRecorderTest {
+
+    @Test public void
+    should_count_the_rows_per_distinct_value_of_the_first_column() throws Throwable {
+
+        // GIVEN
+        String select = "select a.id, b.id, c.id from author a join book b on b.author_id = a.id join award c on c.author_id = a.id";
+        ResultSet resultSet = mock(ResultSet.class);
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setResult(resultSet);
+
+        RowMultiplicationRecorder recorder = new RowMultiplicationRecorder();
+        recorder.addQueryExecution(executionInfo, singletonList(new QueryInfo(select)), 0);
+
+        Method next = ResultSet.class.getMethod("next");
+        Method getLong = ResultSet.class.getMethod("getLong", int.class);
+        Method close = ResultSet.class.getMethod("close");
+        ResultSetProxyLogic delegate = mock(ResultSetProxyLogic.class);
+        when(delegate.invoke(next, null)).thenReturn(true);
+        when(delegate.invoke(getLong, new Object[]{1})).thenReturn(1L, 1L, 1L, 1L, 2L, 2L, 2L, 2L);
+        FetchedRowsCountingProxyLogic countingLogic =
+                new FetchedRowsCountingProxyLogic(resultSet, delegate, singletonList(recorder));
+
+        // WHEN
+        for (int i = 0; i < 8; i++) {
+            countingLogic.invoke(next, null);
+            countingLogic.invoke(getLong, new Object[]{1});
+            countingLogic.invoke(getLong, new Object[]{2});
+        }
+        countingLogic.invoke(close, null);
+
+        // THEN
+        List<FetchedRows> fetchedRowsList = recorder.getRowMultiplications().getFetchedRowsList();
+        assertThat(fetchedRowsList).hasSize(1);
+        FetchedRows fetchedRows = fetchedRowsList.get(0);
+        assertThat(fetchedRows.getRowCount()).isEqualTo(8);
+        assertThat(fetchedRows.getDistinctFirstColumnValueCount()).isEqualTo(2);
+        assertThat(fetchedRows.getRowMultiplication()).isEqualTo(4);
+        assertThat(fetchedRows.getTableCount()).isEqualTo(3);
+
+    }
+
+    @Test public void
+    should_sample_the_first_column_read_by_label() throws Throwable {
+
+        // GIVEN
+        String select = "select a.id, b.id from author a join book b on b.author_id = a.id";
+        ResultSet resultSet = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnLabel(1)).thenReturn("AUTHOR_ID");
+        RowMultiplicationRecorder recorder = recorderOf(resultSet, select);
+
+        Method next = ResultSet.class.getMethod("next");
+        Method getLong = ResultSet.class.getMethod("getLong", String.class);
+        Method close = ResultSet.class.getMethod("close");
+        ResultSetProxyLogic delegate = mock(ResultSetProxyLogic.class);
+        when(delegate.invoke(next, null)).thenReturn(true);
+        when(delegate.invoke(getLong, new Object[]{"author_id"})).thenReturn(1L, 1L, 1L, 2L, 2L, 2L);
+        FetchedRowsCountingProxyLogic countingLogic =
+                new FetchedRowsCountingProxyLogic(resultSet, delegate, singletonList(recorder));
+
+        // WHEN
+        for (int i = 0; i < 6; i++) {
+            countingLogic.invoke(next, null);
+            countingLogic.invoke(getLong, new Object[]{"book_id"});
+            countingLogic.invoke(getLong, new Object[]{"author_id"});
+        }
+        countingLogic.invoke(close, null);
+
+        // THEN
+        FetchedRows fetchedRows = recorder.getRowMultiplications().getFetchedRowsList().get(0);
+        assertThat(fetchedRows.getDistinctFirstColumnValueCount()).isEqualTo(2);
+        assertThat(fetchedRows.getRowMultiplication()).isEqualTo(3);
+
+    }
+
+    @Test public void
+    should_report_an_unknown_row_multiplication_if_the_first_column_is_not_read() throws Throwable {
+
+        // GIVEN
+        ResultSet resultSet = mock(ResultSet.class);
+        RowMultiplicationRecorder recorder = recorderOf(resultSet, "select a.id, a.name from author a");
+
+        Method next = ResultSet.class.getMethod("next");
+        Method getString = ResultSet.class.getMethod("getString", int.class);
+        Method close = ResultSet.class.getMethod("close");
+        ResultSetProxyLogic delegate = mock(ResultSetProxyLogic.class);
+        when(delegate.invoke(next, null)).thenReturn(true);
+        FetchedRowsCountingProxyLogic countingLogic =
+                new FetchedRowsCountingProxyLogic(resultSet, delegate, singletonList(recorder));
+
+        // WHEN
+        for (int i = 0; i < 20; i++) {
+            countingLogic.invoke(next, null);
+            countingLogic.invoke(getString, new Object[]{2});
+        }
+        countingLogic.invoke(close, null);
+
+        // THEN
+        RowMultiplications rowMultiplications = recorder.getRowMultiplications();
+        FetchedRows fetchedRows = rowMultiplications.getFetchedRowsList().get(0);
+        assertThat(fetchedRows.isFirstColumnRead()).isFalse();
+        assertThat(fetchedRows.getRowMultiplication()).isEqualTo(FetchedRows.UNKNOWN_ROW_MULTIPLICATION);
+        assertThat(rowMultiplications.findGreaterThan(10, 0)).isEmpty();
+        assertThat(rowMultiplications.findUnknownGreaterThan(10)).containsExactly(fetchedRows);
+
+    }
+
+    @Test public void
+    should_not_consider_the_rows_counted_if_no_counting_result_set_was_created_during_the_recording() {
+
+        // GIVEN
+        RowMultiplicationRecorder countingRecorder = recorderOf(mock(ResultSet.class), "select a.id from author a");
+        countingRecorder.countingResultSetCreated();
+        RowMultiplicationRecorder notCountingRecorder = recorderOf(mock(ResultSet.class), "select a.id from author a");
+
+        // WHEN
+        boolean countedWithCountingResultSet = countingRecorder.getRowMultiplications().isFetchedRowsCounted();
+        boolean countedWithoutCountingResultSet = notCountingRecorder.getRowMultiplications().isFetchedRowsCounted();
+
+        // THEN
+        assertThat(countedWithCountingResultSet).isTrue();
+        assertThat(countedWithoutCountingResultSet).isFalse();
+        assertThat(new RowMultiplicationRecorder().getRowMultiplications().isFetchedRowsCounted()).isTrue();
+
+    }
+
+    private static RowMultiplicationRecorder recorderOf(ResultSet resultSet, String select) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setResult(resultSet);
+        RowMultiplicationRecorder recorder = new RowMultiplicationRecorder();
+        recorder.addQueryExecution(executionInfo, singletonList(new QueryInfo(select)), 0);
+        return recorder;
+    }
+
+}
@@ -20,6 +20,7 @@ import org.quickperf.sql.annotation.ExpectMaxQueryExecutionTime;
 import org.quickperf.sql.annotation.SqlAnnotationBuilder;
 import org.quickperf.time.ExecutionTime;
 
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 public class SqlQueryMaxExecutionTimeVerifierTest {
@@ -28,9 +29,9 @@ public class SqlQueryMaxExecutionTimeVerifierTest {
     public void should_return_a_perf_issue_if_query_execution_time_is_greater_than_expected() {
 
         // GIVEN
-        VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, ExecutionTime> verifier = SqlQueryMaxExecutionTimeVerifier.INSTANCE;
+        VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, MaxQueryExecutionTimes> verifier = SqlQueryMaxExecutionTimeVerifier.INSTANCE;
         ExpectMaxQueryExecutionTime expectedMaxExecutionTime = SqlAnnotationBuilder.expectMaxQueryExecutionTime(1);
-        ExecutionTime sqlExecTime = new ExecutionTime(5, TimeUnit.MILLISECONDS);
+        MaxQueryExecutionTimes sqlExecTime = maxQueryExecutionTimes(new ExecutionTime(5, TimeUnit.MILLISECONDS));
 
         // WHEN
         PerfIssue perfIssue = verifier.verifyPerfIssue(expectedMaxExecutionTime, sqlExecTime);
@@ -48,9 +49,9 @@ public class SqlQueryMaxExecutionTimeVerifierTest {
     public void should_return_no_perf_issue_if_query_execution_time_is_less_than_expected() {
 
         // GIVEN
-        VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, ExecutionTime> verifier = SqlQueryMaxExecutionTimeVerifier.INSTANCE;
+        VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, MaxQueryExecutionTimes> verifier = SqlQueryMaxExecutionTimeVerifier.INSTANCE;
         ExpectMaxQueryExecutionTime expectedMaxExecutionTime = SqlAnnotationBuilder.expectMaxQueryExecutionTime(5);
-        ExecutionTime sqlExecTime = new ExecutionTime(1, TimeUnit.MILLISECONDS);
+        MaxQueryExecutionTimes sqlExecTime = maxQueryExecutionTimes(new ExecutionTime(1, TimeUnit.MILLISECONDS));
 
         // WHEN
         PerfIssue perfIssue = verifier.verifyPerfIssue(expectedMaxExecutionTime, sqlExecTime);
@@ -65,9 +66,9 @@ public class SqlQueryMaxExecutionTimeVerifierTest {
     public void should_return_no_perf_issue_if_query_execution_time_is_same_as_expected() {
 
         // GIVEN
-        VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, ExecutionTime> verifier = SqlQueryMaxExecutionTimeVerifier.INSTANCE;
+        VerifiablePerformanceIssue<ExpectMaxQueryExecutionTime, MaxQueryExecutionTimes> verifier = SqlQueryMaxExecutionTimeVerifier.INSTANCE;
         ExpectMaxQueryExecutionTime expectedMaxExecutionTime = SqlAnnotationBuilder.expectMaxQueryExecutionTime(1);
-        ExecutionTime sqlExecTime = new ExecutionTime(1, TimeUnit.MILLISECONDS);
+        MaxQueryExecutionTimes sqlExecTime = maxQueryExecutionTimes(new ExecutionTime(1, TimeUnit.MILLISECONDS));
 
         // WHEN
         PerfIssue perfIssue = verifier.verifyPerfIssue(expectedMaxExecutionTime, sqlExecTime);
@@ -78,4 +79,8 @@ public class SqlQueryMaxExecutionTimeVerifierTest {
 
     }
 
+    private static MaxQueryExecutionTimes maxQueryExecutionTimes(ExecutionTime maxExecutionTime) {
+        return new MaxQueryExecutionTimes(maxExecutionTime, Collections.<String, Long>emptyMap());
+    }
+
 }
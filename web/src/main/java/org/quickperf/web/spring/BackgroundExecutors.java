@@ -0,0 +1,47 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class BackgroundExecutors {
+
+    private BackgroundExecutors() {
+    }
+
+    /**
+     * Executor of a single low-priority daemon thread, to keep some work out of the HTTP calls.
+     *
+     * <code>execute</code> never blocks the calling thread: it throws a {@link RejectedExecutionException} when the
+     * queue is full, so that the caller can undo what it recorded for the task.
+     *
+     * The SQL recorders are held by inheritable thread locals: the thread is started here, when the application starts,
+     * so that it does not inherit the recorders of an HTTP call and its own SQL statements are not recorded.
+     */
+    public static ThreadPoolExecutor newSingleThreadExecutor(String threadName, int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS
+                                                           , new ArrayBlockingQueue<>(queueCapacity)
+                                                           , runnable -> {
+                                                               Thread thread = new Thread(runnable, threadName);
+                                                               thread.setDaemon(true);
+                                                               thread.setPriority(Thread.MIN_PRIORITY);
+                                                               return thread;
+                                                             });
+        executor.prestartAllCoreThreads();
+        return executor;
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Growable byte buffers capturing response bodies, reused from one HTTP call to another.
+ *
+ * The pool keeps a limited number of buffers, and not the ones grown beyond a retained size, so that a few very
+ * large responses do not stay in memory.
+ */
+class CaptureBufferPool {
+
+    static final CaptureBufferPool INSTANCE = new CaptureBufferPool();
+
+    private static final int INITIAL_SIZE = 8 * 1024;
+
+    private static final int MAX_RETAINED_SIZE = 256 * 1024;
+
+    private static final int MAX_POOLED_BUFFERS = 32;
+
+    private final BlockingQueue<CaptureBuffer> pooledBuffers = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+    private CaptureBufferPool() { }
+
+    CaptureBuffer acquire(int maxSize) {
+        CaptureBuffer captureBuffer = pooledBuffers.poll();
+        if (captureBuffer == null) {
+            captureBuffer = new CaptureBuffer();
+        }
+        captureBuffer.reset(maxSize);
+        return captureBuffer;
+    }
+
+    void release(CaptureBuffer captureBuffer) {
+        if (captureBuffer.bytes.length <= MAX_RETAINED_SIZE) {
+            pooledBuffers.offer(captureBuffer);
+        }
+    }
+
+    static class CaptureBuffer {
+
+        private byte[] bytes = new byte[INITIAL_SIZE];
+
+        private int size;
+
+        private int maxSize;
+
+        private boolean truncated;
+
+        private void reset(int maxSize) {
+            this.size = 0;
+            this.maxSize = maxSize;
+            this.truncated = false;
+        }
+
+        void write(int b) {
+            if (size >= maxSize) {
+                truncated = true;
+                return;
+            }
+            ensureCapacity(size + 1);
+            bytes[size++] = (byte) b;
+        }
+
+        void write(byte[] source, int offset, int length) {
+            int capturedLength = Math.min(length, maxSize - size);
+            if (capturedLength < length) {
+                truncated = true;
+            }
+            if (capturedLength <= 0) {
+                return;
+            }
+            ensureCapacity(size + capturedLength);
+            System.arraycopy(source, offset, bytes, size, capturedLength);
+            size += capturedLength;
+        }
+
+        private void ensureCapacity(int minCapacity) {
+            if (minCapacity > bytes.length) {
+                int newCapacity = Math.max(minCapacity, Math.min(bytes.length * 2, maxSize));
+                bytes = Arrays.copyOf(bytes, newCapacity);
+            }
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+
+        int getSize() {
+            return size;
+        }
+
+        /**
+         * @return <code>true</code> if bytes were not captured because of the maximum size
+         */
+        boolean isTruncated() {
+            return truncated;
+        }
+
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import org.quickperf.sql.connection.ConnectionListener;
+
+import java.sql.Connection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Measures how long the connections gotten by an operation are held before being closed, i.e. released to the pool.
+ * A connection still held at the end of the operation is counted until the end.
+ */
+class ConnectionHoldTimeListener extends ConnectionListener {
+
+    private final Map<Connection, Long> startNanoTimeByConnection = new IdentityHashMap<>();
+
+    private long holdTimeInNs;
+
+    private int connectionCount;
+
+    @Override
+    public void theDatasourceGetsTheConnection(Connection connection) {
+        startNanoTimeByConnection.put(connection, System.nanoTime());
+        connectionCount++;
+    }
+
+    @Override
+    public void theDatasourceGetsTheConnectionWithUserNameAndPassword(Connection connection) {
+        theDatasourceGetsTheConnection(connection);
+    }
+
+    @Override
+    public void close(Connection connection) {
+        Long startNanoTime = startNanoTimeByConnection.remove(connection);
+        if (startNanoTime != null) {
+            holdTimeInNs += System.nanoTime() - startNanoTime;
+        }
+    }
+
+    long getHoldTimeInMs() {
+        long nowNanoTime = System.nanoTime();
+        long stillHeldTimeInNs = 0;
+        for (long startNanoTime : startNanoTimeByConnection.values()) {
+            stillHeldTimeInNs += nowNanoTime - startNanoTime;
+        }
+        return (holdTimeInNs + stillHeldTimeInNs) / 1_000_000;
+    }
+
+    int getConnectionCount() {
+        return connectionCount;
+    }
+
+}
@@ -16,21 +16,32 @@ import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletResponseWrapper;
-import java.io.ByteArrayOutputStream;
+import org.quickperf.web.spring.CaptureBufferPool.CaptureBuffer;
+
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.charset.Charset;
 
 //Inspiration from https://github.com/yuhuachang/java-spring-boot-samples/blob/master/spring-rest-logging/src/main/java/com/example/restlogging/logging/HttpServletResponseCopier.java
 
+/**
+ * Captures the response body while it is written, up to a maximum size.
+ *
+ * The capture buffer comes from a pool: {@link #release()} must be called once the content has been read, or
+ * {@link #discard()} if the response can still be written by another thread (asynchronous request).
+ */
 public class CopyHttpServletResponse extends HttpServletResponseWrapper {
 
+    private final int maxCapturedBytes;
+
     private ServletOutputStream outputStream;
     private PrintWriter writer;
     private ServletOutputStreamCopier copy;
 
-    public CopyHttpServletResponse(jakarta.servlet.ServletResponse response) {
+    public CopyHttpServletResponse(jakarta.servlet.ServletResponse response, int maxCapturedBytes) {
         super((HttpServletResponse) response);
+        this.maxCapturedBytes = maxCapturedBytes;
     }
 
     @Override
@@ -41,7 +52,7 @@ public class CopyHttpServletResponse extends HttpServletResponseWrapper {
 
         if (outputStream == null) {
             outputStream = getResponse().getOutputStream();
-            copy = new ServletOutputStreamCopier(outputStream);
+            copy = new ServletOutputStreamCopier(outputStream, CaptureBufferPool.INSTANCE.acquire(maxCapturedBytes));
         }
 
         return copy;
@@ -54,7 +65,8 @@ public class CopyHttpServletResponse extends HttpServletResponseWrapper {
         }
 
         if (writer == null) {
-            copy = new ServletOutputStreamCopier(getResponse().getOutputStream());
+            copy = new ServletOutputStreamCopier(getResponse().getOutputStream()
+                                               , CaptureBufferPool.INSTANCE.acquire(maxCapturedBytes));
             writer = new PrintWriter(new OutputStreamWriter(copy, getResponse().getCharacterEncoding()), true);
         }
 
@@ -70,33 +82,90 @@ public class CopyHttpServletResponse extends HttpServletResponseWrapper {
         }
     }
 
+    /**
+     * @return <code>true</code> if the body was larger than the maximum captured size
+     */
+    public boolean isContentTruncated() {
+        CaptureBuffer captureBuffer = copy == null ? null : copy.captureBuffer;
+        return captureBuffer != null && captureBuffer.isTruncated();
+    }
+
     public String extractContentAsString() {
-        byte[] contentAsByteArray = getContentAsByteArray();
-        return new String(contentAsByteArray);
+        CaptureBuffer captureBuffer = copy == null ? null : copy.captureBuffer;
+        if (captureBuffer == null) {
+            return "";
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        Charset charset = Charset.forName(getCharacterEncoding());
+        return new String(captureBuffer.getBytes(), 0, captureBuffer.getSize(), charset);
+    }
+
+    /**
+     * Gives the capture buffer back to the pool, the content is not available anymore.
+     */
+    public void release() {
+        CaptureBuffer captureBuffer = detachCaptureBuffer();
+        if (captureBuffer != null) {
+            CaptureBufferPool.INSTANCE.release(captureBuffer);
+        }
     }
 
-    private byte[] getContentAsByteArray() {
-        if (copy != null) {
-            return copy.getCopy();
-        } else {
-            return new byte[0];
+    /**
+     * Stops the capture without giving the buffer back to the pool: a write still running on another thread can not
+     * corrupt a buffer reused by another request.
+     */
+    public void discard() {
+        detachCaptureBuffer();
+    }
+
+    private CaptureBuffer detachCaptureBuffer() {
+        if (copy == null) {
+            return null;
         }
+        CaptureBuffer captureBuffer = copy.captureBuffer;
+        copy.captureBuffer = null;
+        return captureBuffer;
     }
 
     private static class ServletOutputStreamCopier extends ServletOutputStream {
 
         private final ServletOutputStream outputStream;
-        private final ByteArrayOutputStream copy;
+        // Written by the request thread on release, read by the thread writing the body
+        private volatile CaptureBuffer captureBuffer;
 
-        public ServletOutputStreamCopier(ServletOutputStream outputStream) {
+        public ServletOutputStreamCopier(ServletOutputStream outputStream, CaptureBuffer captureBuffer) {
             this.outputStream = outputStream;
-            this.copy = new ByteArrayOutputStream(1024);
+            this.captureBuffer = captureBuffer;
         }
 
         @Override
         public void write(int b) throws IOException {
             outputStream.write(b);
-            copy.write(b);
+            CaptureBuffer buffer = captureBuffer;
+            if (buffer != null) {
+                buffer.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            outputStream.write(bytes, offset, length);
+            CaptureBuffer buffer = captureBuffer;
+            if (buffer != null) {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            outputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.close();
         }
 
         @Override
@@ -109,10 +178,6 @@ public class CopyHttpServletResponse extends HttpServletResponseWrapper {
             outputStream.setWriteListener(writeListener);
         }
 
-        public byte[] getCopy() {
-            return copy.toByteArray();
-        }
-
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.quickperf.web.spring.stats.OverheadRegistry;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Measures the writing of the response body: the time and the heap allocation from the moment the body stream is
+ * requested until its last write or flush, and the number of bytes written.
+ *
+ * With a message converter such as Jackson, the serialization of the returned object happens in this window, because
+ * the object is serialized while being written to the stream.
+ *
+ * The end of the window is not measured at each single byte write, only pending: it is measured at the next array
+ * write, flush or close, or when the filter chain returns ({@link #flushWriter()}).
+ */
+public class MeasuredHttpServletResponse extends HttpServletResponseWrapper {
+
+    private MeasuredServletOutputStream measuredOutputStream;
+
+    private PrintWriter writer;
+
+    private long startNanoTime;
+
+    private long startAllocatedBytes;
+
+    private long endNanoTime;
+
+    private long endAllocatedBytes = -1;
+
+    private boolean endPending;
+
+    public MeasuredHttpServletResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response.");
+        }
+        return findOrCreateMeasuredOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (measuredOutputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response.");
+            }
+            OutputStreamWriter outputStreamWriter =
+                    new OutputStreamWriter(findOrCreateMeasuredOutputStream(), getResponse().getCharacterEncoding());
+            writer = new PrintWriter(outputStreamWriter);
+        }
+        return writer;
+    }
+
+    private MeasuredServletOutputStream findOrCreateMeasuredOutputStream() throws IOException {
+        if (measuredOutputStream == null) {
+            ServletOutputStream outputStream = getResponse().getOutputStream();
+            startNanoTime = System.nanoTime();
+            startAllocatedBytes = OverheadRegistry.currentThreadAllocatedBytes();
+            measuredOutputStream = new MeasuredServletOutputStream(outputStream);
+        }
+        return measuredOutputStream;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    private void markEnd() {
+        endNanoTime = System.nanoTime();
+        endAllocatedBytes = OverheadRegistry.currentThreadAllocatedBytes();
+        endPending = false;
+    }
+
+    /**
+     * To call when the filter chain returns. The characters written to the writer and not flushed would otherwise stay
+     * in the encoder buffer.
+     */
+    public void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (endPending) {
+            markEnd();
+        }
+    }
+
+    /**
+     * @return <code>false</code> if the body has not been written by the thread executing the HTTP call, for example
+     * for an asynchronous request
+     */
+    public boolean isBodyWritten() {
+        return endAllocatedBytes >= 0;
+    }
+
+    public long getBodyWriteTimeInNs() {
+        return endNanoTime - startNanoTime;
+    }
+
+    public long getBodyWriteAllocationInBytes() {
+        return endAllocatedBytes - startAllocatedBytes;
+    }
+
+    public long getBodySizeInBytes() {
+        return measuredOutputStream == null ? 0 : measuredOutputStream.byteCount;
+    }
+
+    private class MeasuredServletOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream outputStream;
+
+        private long byteCount;
+
+        private MeasuredServletOutputStream(ServletOutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            outputStream.write(b);
+            byteCount++;
+            // Reading the allocated bytes of the thread at each byte would cost more than the write itself
+            endPending = true;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            outputStream.write(bytes, offset, length);
+            byteCount += length;
+            markEnd();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            outputStream.flush();
+            markEnd();
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.close();
+            markEnd();
+        }
+
+        @Override
+        public boolean isReady() {
+            return outputStream.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            outputStream.setWriteListener(writeListener);
+        }
+
+    }
+
+}
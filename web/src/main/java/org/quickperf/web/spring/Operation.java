@@ -0,0 +1,55 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+/**
+ * Low-cardinality identification of an HTTP call, used as key for the events and the aggregates.
+ */
+public class Operation {
+
+    private final String method;
+
+    private final String name;
+
+    private final String handler;
+
+    Operation(String method, String name, String handler) {
+        this.method = method;
+        this.name = name;
+        this.handler = handler;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the <code>X-Operation-Name</code> response header if set, otherwise the route template
+     * (<code>/users/{id}</code>)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the controller method handling the call (<code>UserController#getUser</code>), or <code>null</code>
+     */
+    public String getHandler() {
+        return handler;
+    }
+
+    public String getEndpoint() {
+        return method + " " + name;
+    }
+
+}
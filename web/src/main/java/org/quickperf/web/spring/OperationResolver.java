@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import org.quickperf.web.spring.config.UrlConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the operation of an HTTP call from the Spring MVC best-matching pattern and handler.
+ *
+ * The calls without route template (404 responses, static resources) are gathered in an unmapped operation: their
+ * URI, possibly holding identifiers, never becomes an operation name. The number of distinct operations is also
+ * capped, the calls beyond the cap are gathered in an overflow operation.
+ */
+@Component
+public class OperationResolver {
+
+    public static final String OPERATION_NAME_HEADER = "X-Operation-Name";
+
+    static final String OVERFLOW_OPERATION_NAME = "OTHER";
+
+    static final String UNMAPPED_OPERATION_NAME = "UNMAPPED";
+
+    private final UrlConfig urlConfig;
+
+    private final Set<String> endpoints = ConcurrentHashMap.newKeySet();
+
+    public OperationResolver(UrlConfig urlConfig) {
+        this.urlConfig = urlConfig;
+    }
+
+    /**
+     * To call once the request has been dispatched, so that the Spring MVC attributes are set.
+     */
+    public Operation resolve(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse) {
+        String method = httpServletRequest.getMethod();
+        String name = httpServletResponse.getHeader(OPERATION_NAME_HEADER);
+        if (name == null) {
+            Object pattern = httpServletRequest.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            name = pattern != null ? pattern.toString() : UNMAPPED_OPERATION_NAME;
+        }
+        Operation operation = new Operation(method, name, findHandler(httpServletRequest));
+        if (isKnownOrAccepted(operation.getEndpoint())) {
+            return operation;
+        }
+        return new Operation(method, OVERFLOW_OPERATION_NAME, null);
+    }
+
+    private String findHandler(HttpServletRequest httpServletRequest) {
+        Object handler = httpServletRequest.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+        return null;
+    }
+
+    // The cap may be slightly exceeded by concurrent calls, the overflow operations are never counted
+    private boolean isKnownOrAccepted(String endpoint) {
+        if (endpoints.contains(endpoint)) {
+            return true;
+        }
+        if (endpoints.size() >= urlConfig.getMaxOperationCount()) {
+            return false;
+        }
+        endpoints.add(endpoint);
+        return true;
+    }
+
+    public int getOperationCount() {
+        return endpoints.size();
+    }
+
+}
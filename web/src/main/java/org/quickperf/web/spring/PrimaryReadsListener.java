@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.sql.QueryTypeRetriever;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.web.spring.sql.SqlFingerprint;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the SELECT statements sent to the primary datasource inside a read-only Spring transaction, that a replica
+ * could have served. The transaction state is read from the <code>TransactionSynchronizationManager</code> of the
+ * current thread, so only the transactions managed by Spring are seen.
+ *
+ * The call stack is captured once, for the first primary read.
+ */
+class PrimaryReadsListener implements SqlRecorder<SqlExecutions> {
+
+    // spring-tx is optional
+    static final boolean TRANSACTION_SUPPORT_PRESENT = ClassUtils.isPresent(
+            "org.springframework.transaction.support.TransactionSynchronizationManager",
+            PrimaryReadsListener.class.getClassLoader());
+
+    private static final int MAX_DISTINCT_SQL_COUNT = 10;
+
+    private final String primaryDataSourceName;
+
+    // The first SQL of each fingerprint, with its execution count
+    private final Map<String, String> sqlByFingerprint = new LinkedHashMap<>();
+
+    private final Map<String, Integer> executionCountByFingerprint = new LinkedHashMap<>();
+
+    private int primaryReadCount;
+
+    private List<String> callStack = Collections.emptyList();
+
+    PrimaryReadsListener(String primaryDataSourceName) {
+        this.primaryDataSourceName = primaryDataSourceName;
+    }
+
+    @Override
+    public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+        if (!primaryDataSourceName.equals(execInfo.getDataSourceName())
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        for (QueryInfo query : queries) {
+            if (QueryTypeRetriever.INSTANCE.typeOf(query) == QueryType.SELECT) {
+                addPrimaryRead(query.getQuery());
+            }
+        }
+    }
+
+    private void addPrimaryRead(String sql) {
+        if (primaryReadCount == 0) {
+            callStack = SqlExecutionsRecorder.captureCallStack();
+        }
+        primaryReadCount++;
+        String fingerprint = SqlFingerprint.of(sql);
+        Integer executionCount = executionCountByFingerprint.get(fingerprint);
+        if (executionCount != null) {
+            executionCountByFingerprint.put(fingerprint, executionCount + 1);
+        } else if (executionCountByFingerprint.size() < MAX_DISTINCT_SQL_COUNT) {
+            sqlByFingerprint.put(fingerprint, sql);
+            executionCountByFingerprint.put(fingerprint, 1);
+        }
+    }
+
+    int getPrimaryReadCount() {
+        return primaryReadCount;
+    }
+
+    /**
+     * @return the execution count of the first SQL of each fingerprint, for the first distinct fingerprints
+     */
+    Map<String, Integer> getExecutionCountBySql() {
+        Map<String, Integer> executionCountBySql = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> fingerprintCount : executionCountByFingerprint.entrySet()) {
+            executionCountBySql.put(sqlByFingerprint.get(fingerprintCount.getKey()), fingerprintCount.getValue());
+        }
+        return executionCountBySql;
+    }
+
+    List<String> getCallStack() {
+        return callStack;
+    }
+
+    @Override
+    public void startRecording(TestExecutionContext testExecutionContext) {
+
+    }
+
+    @Override
+    public void stopRecording(TestExecutionContext testExecutionContext) {
+
+    }
+
+    @Override
+    public SqlExecutions findRecord(TestExecutionContext testExecutionContext) {
+        return null;
+    }
+
+    @Override
+    public void cleanResources() {
+    }
+
+}
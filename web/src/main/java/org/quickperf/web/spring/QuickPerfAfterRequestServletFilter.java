@@ -19,11 +19,35 @@ import org.quickperf.sql.SqlExecution;
 import org.quickperf.sql.SqlExecutions;
 import org.quickperf.sql.SqlRecorderRegistry;
 import org.quickperf.sql.connection.ConnectionListenerRegistry;
+import org.quickperf.sql.connection.StatementPreparationListener;
+import org.quickperf.sql.connection.StatementPreparations;
 import org.quickperf.sql.select.analysis.SelectAnalysis;
 import org.quickperf.sql.select.analysis.SelectAnalysisExtractor;
+import org.quickperf.sql.select.pagination.PagedSelect;
+import org.quickperf.sql.select.pagination.PaginationAnalysis;
+import org.quickperf.sql.select.pagination.PaginationAnalysisExtractor;
+import org.quickperf.sql.select.rows.FetchedRows;
+import org.quickperf.sql.select.rows.RowMultiplicationRecorder;
+import org.quickperf.sql.select.rows.RowMultiplications;
 import org.quickperf.web.spring.config.*;
+import org.quickperf.web.spring.events.EventSink;
 import org.quickperf.web.spring.jvm.ByteWatcherSingleThread;
 import org.quickperf.web.spring.jvm.ByteWatcherSingleThreadRegistry;
+import org.quickperf.web.spring.jvm.GcPauseRecorder;
+import org.quickperf.web.spring.jvm.GcPauseRecorderRegistry;
+import org.quickperf.web.spring.jvm.JfrAnomalyRecorder;
+import org.quickperf.web.spring.jvm.ThreadActivity;
+import org.quickperf.web.spring.jvm.ThreadActivityWatcher;
+import org.quickperf.web.spring.jvm.ThreadActivityWatcherRegistry;
+import org.quickperf.web.spring.sql.ExplainPlan;
+import org.quickperf.web.spring.sql.ExplainPlanCapturer;
+import org.quickperf.web.spring.sql.TopSqlFingerprints;
+import org.quickperf.web.spring.sql.InListExplosion;
+import org.quickperf.web.spring.sql.InListExplosionDetector;
+import org.quickperf.web.spring.sql.SqlFingerprint;
+import org.quickperf.web.spring.stats.EndpointStatsRegistry;
+import org.quickperf.web.spring.stats.OverheadRegistry;
+import org.quickperf.web.spring.testgeneration.TestGenerationQueue;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
@@ -34,9 +58,12 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.Map;
 import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Component
@@ -45,18 +72,66 @@ public class QuickPerfAfterRequestServletFilter implements Filter {
 
     private final DatabaseConfig databaseConfig;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private final Log logger = LogFactory.getLog(this.getClass());
 
     private final JvmConfig jvmConfig;
 
     private final UrlConfig urlConfig;
 
+    private final JfrConfig jfrConfig;
+
+    private final JfrAnomalyRecorder jfrAnomalyRecorder;
+
+    private final OverheadConfig overheadConfig;
+
+    private final OperationResolver operationResolver;
+
+    private final InListExplosionDetector inListExplosionDetector;
+
+    private final ExplainPlanCapturer explainPlanCapturer;
+
+    private final TopSqlFingerprints topSqlFingerprints;
+
+    private final TestGenerationConfig testGenerationConfig;
+
+    private final TestGenerationQueue testGenerationQueue;
+
+    private final EventSink eventSink;
+
+    private final SqlBudgetConfig sqlBudgetConfig;
+
+    private final Set<String> usedDataSourceNames = ConcurrentHashMap.newKeySet();
+
     public QuickPerfAfterRequestServletFilter(DatabaseConfig databaseConfig,
             JvmConfig jvmConfig,
-            UrlConfig urlConfig) {
+            UrlConfig urlConfig,
+            JfrConfig jfrConfig,
+            JfrAnomalyRecorder jfrAnomalyRecorder,
+            OverheadConfig overheadConfig,
+            OperationResolver operationResolver,
+            InListExplosionDetector inListExplosionDetector,
+            ExplainPlanCapturer explainPlanCapturer,
+            TopSqlFingerprints topSqlFingerprints,
+            TestGenerationConfig testGenerationConfig,
+            TestGenerationQueue testGenerationQueue,
+            EventSink eventSink,
+            SqlBudgetConfig sqlBudgetConfig) {
         this.databaseConfig = databaseConfig;
         this.jvmConfig = jvmConfig;
         this.urlConfig = urlConfig;
+        this.jfrConfig = jfrConfig;
+        this.jfrAnomalyRecorder = jfrAnomalyRecorder;
+        this.overheadConfig = overheadConfig;
+        this.operationResolver = operationResolver;
+        this.inListExplosionDetector = inListExplosionDetector;
+        this.explainPlanCapturer = explainPlanCapturer;
+        this.topSqlFingerprints = topSqlFingerprints;
+        this.testGenerationConfig = testGenerationConfig;
+        this.testGenerationQueue = testGenerationQueue;
+        this.eventSink = eventSink;
+        this.sqlBudgetConfig = sqlBudgetConfig;
         logger.debug(this.getClass().getSimpleName() + "is created");
     }
 
@@ -71,37 +146,81 @@ public class QuickPerfAfterRequestServletFilter implements Filter {
         Throwable problem = null;
 
         HttpServletResponse httpServletResponse = (HttpServletResponse) servletResponse;
+        // The body is only captured for the test generation
+        CopyHttpServletResponse copyResponse = null;
+        if (testGenerationConfig.isTestGenerationEnabled()) {
+            copyResponse = new CopyHttpServletResponse(httpServletResponse,
+                    testGenerationConfig.getMaxCapturedResponseBytes());
+            httpServletResponse = copyResponse;
+        }
+        MeasuredHttpServletResponse measuredResponse = null;
+        if (jvmConfig.isResponseBodyWriteMeasured()) {
+            measuredResponse = new MeasuredHttpServletResponse(httpServletResponse);
+            httpServletResponse = measuredResponse;
+        }
 
+        long startNanoTime = System.nanoTime();
         try {
             filterChain.doFilter(servletRequest, httpServletResponse);
+            if (measuredResponse != null) {
+                measuredResponse.flushWriter();
+            }
         } catch (Throwable t) {
             problem = t;
         }
+        long requestTimeInMs = (System.nanoTime() - startNanoTime) / 1_000_000;
 
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
 
         String contentTypeAsString = httpServletResponse.getContentType();
         HttpContentType httpContentType = new HttpContentType(contentTypeAsString);
-        String url = httpServletRequest.getRequestURL().toString();
+
+        boolean processed = servletRequest.getAttribute(
+                QuickPerfBeforeRequestServletFilter.UNPROCESSED_REQUEST_ATTRIBUTE) == null;
+        long overheadStartNanoTime = System.nanoTime();
+        long overheadStartAllocatedBytes =
+                OverheadRegistry.INSTANCE.isMeasured() ? OverheadRegistry.currentThreadAllocatedBytes() : -1;
 
         try {
-            if (!urlConfig.checkIfExcluded(url)
+            // A call failed by its SQL budget has no content type
+            if (processed && !urlConfig.checkIfExcluded(httpServletRequest)
                     && (httpContentType.isHtml() || httpContentType.isJson() || httpContentType.isText()
-                            || httpContentType.isPdf() || httpContentType.isPdf())) {
-                quickPerfProcessing(httpServletRequest, httpServletResponse);
+                            || httpContentType.isPdf() || httpContentType.isPdf() || isSqlBudgetExceeded())) {
+                quickPerfProcessing(httpServletRequest, httpServletResponse, requestTimeInMs);
+            } else if (servletRequest.getAttribute(QuickPerfBeforeRequestServletFilter.SQL_BUDGET_ONLY_ATTRIBUTE) != null) {
+                Operation operation = operationResolver.resolve(httpServletRequest, httpServletResponse);
+                logSqlBudgetViolation(System.currentTimeMillis(), httpServletRequest.getRequestURI(), operation);
             }
         } catch (Exception e) {
             // Propose to create QuickPerfIssue
             logger.warn("Unexpected QuickPerf issue", e);
         } finally {
+            if (copyResponse != null) {
+                // The body of an asynchronous request is written after this filter, by another thread
+                if (servletRequest.isAsyncStarted()) {
+                    copyResponse.discard();
+                } else {
+                    copyResponse.release();
+                }
+            }
             unregisterListeners();
+            OverheadRegistry.INSTANCE.record(OverheadRegistry.AFTER_REQUEST
+                                           , overheadStartNanoTime, overheadStartAllocatedBytes);
+            OverheadRegistry.INSTANCE.endRequest(System.nanoTime() - startNanoTime, overheadConfig);
         }
 
         handleProblem(problem);
     }
 
-    private void unregisterListeners() {
+    private static boolean isSqlBudgetExceeded() {
+        SqlBudgetRecorder sqlBudgetRecorder = SqlRecorderRegistry.INSTANCE.getSqlRecorderOfType(SqlBudgetRecorder.class);
+        return sqlBudgetRecorder != null && sqlBudgetRecorder.isExceeded();
+    }
+
+    void unregisterListeners() {
         ByteWatcherSingleThreadRegistry.INSTANCE.unregister();
+        ThreadActivityWatcherRegistry.INSTANCE.unregister();
+        GcPauseRecorderRegistry.INSTANCE.unregister();
         SqlRecorderRegistry.INSTANCE.clear();
         ConnectionListenerRegistry.INSTANCE.clear();
         SynchronousHttpCallsRegistry.INSTANCE.unregisterHttpCalls();
@@ -124,8 +243,51 @@ public class QuickPerfAfterRequestServletFilter implements Filter {
         }
     }
 
-    private void quickPerfProcessing(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse)
-            throws Exception {
+    private void quickPerfProcessing(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse,
+            long requestTimeInMs) throws Exception {
+        String reqUrl = httpServletRequest.getRequestURI();
+        Operation operation = operationResolver.resolve(httpServletRequest, httpServletResponse);
+        processOperation(reqUrl, operation, httpServletResponse, requestTimeInMs);
+        if (testGenerationConfig.isTestGenerationEnabled()) {
+            submitTestGeneration(httpServletRequest, httpServletResponse, operation);
+        }
+    }
+
+    private void submitTestGeneration(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse,
+            Operation operation) {
+        CopyHttpServletResponse copyResponse = findCopyResponse(httpServletResponse);
+        SelectListener selectListener = SqlRecorderRegistry.INSTANCE.getSqlRecorderOfType(SelectListener.class);
+        int status = httpServletResponse.getStatus();
+        if (copyResponse == null || httpServletRequest.isAsyncStarted() || copyResponse.isContentTruncated()
+                || selectListener == null
+                || !"GET".equals(httpServletRequest.getMethod()) || status < 200 || status >= 300) {
+            return;
+        }
+        String relativeHttpUrl = httpServletRequest.getQueryString() == null
+                ? httpServletRequest.getRequestURI()
+                : httpServletRequest.getRequestURI() + "?" + httpServletRequest.getQueryString();
+        testGenerationQueue.submit(operation.getEndpoint(), relativeHttpUrl, selectListener.getSelectQueries(),
+                httpServletResponse.getContentType(), copyResponse.extractContentAsString());
+    }
+
+    private static CopyHttpServletResponse findCopyResponse(ServletResponse servletResponse) {
+        while (servletResponse instanceof ServletResponseWrapper) {
+            if (servletResponse instanceof CopyHttpServletResponse) {
+                return (CopyHttpServletResponse) servletResponse;
+            }
+            servletResponse = ((ServletResponseWrapper) servletResponse).getResponse();
+        }
+        return null;
+    }
+
+    /**
+     * Logs the events of an operation and records its metrics, with the listeners registered for the current thread.
+     *
+     * @param reqUrl <code>null</code> for an operation that is not an HTTP call
+     * @param httpServletResponse <code>null</code> for an operation that is not an HTTP call
+     */
+    void processOperation(String reqUrl, Operation operation, HttpServletResponse httpServletResponse,
+            long requestTimeInMs) {
 
         SqlExecutionsRecorder sqlExecutionsRecorder = SqlRecorderRegistry.INSTANCE
                 .getSqlRecorderOfType(SqlExecutionsRecorder.class);
@@ -133,44 +295,61 @@ public class QuickPerfAfterRequestServletFilter implements Filter {
         SqlExecutions sqlExecutions = null;
         if (databaseConfig.isSqlDisplayed() || databaseConfig.isNPlusOneSelectDetected()
                 || databaseConfig.isSqlExecutionDetected()
-                || databaseConfig.isSqlWithoutBindParamDetected()) {
+                || databaseConfig.isSqlWithoutBindParamDetected()
+                || databaseConfig.isInListVariantsDetected()
+                || databaseConfig.isPaginationDetected()
+                || jfrConfig.isSqlExecutionCountWatched()) {
             sqlExecutions = sqlExecutionsRecorder.findRecord(null);
         }
 
         // --- JSON Logging for OpenSearch ---
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
             long timestamp = System.currentTimeMillis();
-            String reqUrl = httpServletRequest.getRequestURI();
-            String reqMethod = httpServletRequest.getMethod();
-            String operationName = httpServletResponse.getHeader("X-Operation-Name");
+
+            String endpoint = operation.getEndpoint();
+            EndpointStatsRegistry.INSTANCE.recordRequest(endpoint);
+
+            long allocationInBytes = -1;
 
             // 1. JVM Metrics
-            if (jvmConfig.isHeapAllocationMeasured() || jvmConfig.isHeapAllocationThresholdDetected()) {
-                ByteWatcherSingleThread byteWatcherSingleThread = ByteWatcherSingleThreadRegistry.INSTANCE.get();
-                long allocationInBytes = byteWatcherSingleThread.calculateAllocations();
-
-                Map<String, Object> jvmData = new LinkedHashMap<>();
-                jvmData.put("timestamp", timestamp);
-                jvmData.put("type", "JVM_METRICS");
-                jvmData.put("url", reqUrl);
-                jvmData.put("method", reqMethod);
-                if (operationName != null) {
-                    jvmData.put("operation_name", operationName);
+            if (jvmConfig.isHeapAllocationRecorded() || jvmConfig.isThreadActivityMeasured()
+                    || jvmConfig.isGcPauseMeasured() || jvmConfig.isResponseBodyWriteMeasured()) {
+                Map<String, Object> jvmData = newEvent(timestamp, "JVM_METRICS", reqUrl, operation);
+
+                if (jvmConfig.isHeapAllocationRecorded()) {
+                    ByteWatcherSingleThread byteWatcherSingleThread = ByteWatcherSingleThreadRegistry.INSTANCE.get();
+                    allocationInBytes = byteWatcherSingleThread.calculateAllocations();
+                    jvmData.put("heap_allocation_bytes", allocationInBytes);
+                    EndpointStatsRegistry.INSTANCE.record(endpoint, "heap_allocation_bytes", allocationInBytes);
+
+                    if (jvmConfig.isHeapAllocationThresholdDetected()) {
+                        jvmData.put("threshold_bytes", jvmConfig.getHeapAllocationThresholdValueInBytes());
+                        jvmData.put("threshold_exceeded",
+                                allocationInBytes > jvmConfig.getHeapAllocationThresholdValueInBytes());
+                    }
+                }
+
+                ThreadActivityWatcher threadActivityWatcher = ThreadActivityWatcherRegistry.INSTANCE.get();
+                if (threadActivityWatcher != null) {
+                    ThreadActivity threadActivity = threadActivityWatcher.calculateActivity();
+                    addThreadActivity(jvmData, endpoint, threadActivity);
                 }
-                jvmData.put("heap_allocation_bytes", allocationInBytes);
 
-                if (jvmConfig.isHeapAllocationThresholdDetected()) {
-                    jvmData.put("threshold_bytes", jvmConfig.getHeapAllocationThresholdValueInBytes());
-                    jvmData.put("threshold_exceeded",
-                            allocationInBytes > jvmConfig.getHeapAllocationThresholdValueInBytes());
+                GcPauseRecorder gcPauseRecorder = GcPauseRecorderRegistry.INSTANCE.get();
+                if (gcPauseRecorder != null) {
+                    addGcPauses(jvmData, endpoint, gcPauseRecorder);
                 }
 
-                Log jvmLogger = LogFactory.getLog("org.quickperf.jvm");
-                jvmLogger.info(objectMapper.writeValueAsString(jvmData));
+                if (httpServletResponse instanceof MeasuredHttpServletResponse) {
+                    addResponseBodyWrite(jvmData, endpoint, (MeasuredHttpServletResponse) httpServletResponse);
+                }
+
+                eventSink.info("org.quickperf.jvm", objectMapper.writeValueAsString(jvmData));
             }
 
             if (sqlExecutions != null) {
+                recordSqlExecutions(endpoint, sqlExecutions);
+
                 // 2. Slow Queries
                 if (databaseConfig.isSqlExecutionTimeDetected()) {
                     LongDbRequestsListener longDbRequestsListener = SqlRecorderRegistry.INSTANCE
@@ -178,14 +357,7 @@ public class QuickPerfAfterRequestServletFilter implements Filter {
                     SqlExecutions slowExecutions = longDbRequestsListener.getSqlExecutionsGreaterOrEqualToThreshold();
 
                     if (!slowExecutions.isEmpty()) {
-                        Map<String, Object> slowQueryData = new LinkedHashMap<>();
-                        slowQueryData.put("timestamp", timestamp);
-                        slowQueryData.put("type", "SLOW_QUERY_DETECTED");
-                        slowQueryData.put("url", reqUrl);
-                        slowQueryData.put("method", reqMethod);
-                        if (operationName != null) {
-                            slowQueryData.put("operation_name", operationName);
-                        }
+                        Map<String, Object> slowQueryData = newEvent(timestamp, "SLOW_QUERY_DETECTED", reqUrl, operation);
                         slowQueryData.put("threshold_ms", databaseConfig.getSqlExecutionTimeThresholdInMilliseconds());
 
                         List<Map<String, Object>> queries = new ArrayList<>();
@@ -194,18 +366,24 @@ public class QuickPerfAfterRequestServletFilter implements Filter {
                                 Map<String, Object> qData = new LinkedHashMap<>();
                                 qData.put("sql", q.getQuery());
                                 qData.put("time_ms", execution.getElapsedTime());
+                                if (!execution.getDataSourceName().isEmpty()) {
+                                    qData.put("datasource", execution.getDataSourceName());
+                                }
                                 // Extract simple call stack info if available, or just first line
                                 List<String> stack = execution.getCallStack();
                                 if (stack != null && !stack.isEmpty()) {
                                     qData.put("caller", stack.get(0));
                                 }
+                                if (databaseConfig.isExplainPlanCaptured()) {
+                                    addExplainPlan(qData, operation.getEndpoint()
+                                                 , execution.getDataSourceName(), q);
+                                }
                                 queries.add(qData);
                             }
                         }
                         slowQueryData.put("queries", queries);
 
-                        Log slowQueryLogger = LogFactory.getLog("org.quickperf.slowquery");
-                        slowQueryLogger.warn(objectMapper.writeValueAsString(slowQueryData));
+                        eventSink.warn("org.quickperf.slowquery", objectMapper.writeValueAsString(slowQueryData));
                     }
                 }
 
@@ -214,29 +392,398 @@ public class QuickPerfAfterRequestServletFilter implements Filter {
                     SelectAnalysis selectAnalysis = SelectAnalysisExtractor.INSTANCE
                             .extractPerfMeasureFrom(sqlExecutions);
                     if (selectAnalysis.getSameSelectTypesWithDifferentParamValues().evaluate()) {
-                        Map<String, Object> nPlusOneData = new LinkedHashMap<>();
-                        nPlusOneData.put("timestamp", timestamp);
-                        nPlusOneData.put("type", "N_PLUS_ONE_DETECTED");
-                        nPlusOneData.put("url", reqUrl);
-                        nPlusOneData.put("method", reqMethod);
-                        if (operationName != null) {
-                            nPlusOneData.put("operation_name", operationName);
-                        }
+                        EndpointStatsRegistry.INSTANCE.record(endpoint, "n_plus_one_selects"
+                                                            , selectAnalysis.getSelectNumber().getValue());
+                        Map<String, Object> nPlusOneData = newEvent(timestamp, "N_PLUS_ONE_DETECTED", reqUrl, operation);
                         nPlusOneData.put("count", selectAnalysis.getSelectNumber().getValue());
+                        String nPlusOneDataSourceName = selectAnalysis.getNPlusOneDataSourceName();
+                        if (nPlusOneDataSourceName != null && !nPlusOneDataSourceName.isEmpty()) {
+                            nPlusOneData.put("datasource", nPlusOneDataSourceName);
+                            nPlusOneData.put("datasource_count", selectAnalysis
+                                    .getSelectNumber(nPlusOneDataSourceName).getValue());
+                        }
                         nPlusOneData.put("sample_query", selectAnalysis.getNPlusOneQuery());
                         nPlusOneData.put("impacted_tables", selectAnalysis.getNPlusOneImpactedTables());
                         nPlusOneData.put("call_stack", selectAnalysis.getNPlusOneCallStack());
 
-                        Log nPlusOneLogger = LogFactory.getLog("org.quickperf.nplusone");
-                        nPlusOneLogger.warn(objectMapper.writeValueAsString(nPlusOneData));
+                        eventSink.warn("org.quickperf.nplusone", objectMapper.writeValueAsString(nPlusOneData));
+                    }
+                }
+
+                // 4. IN list explosion
+                if (databaseConfig.isInListVariantsDetected()) {
+                    List<InListExplosion> explosions = inListExplosionDetector.detect(endpoint, sqlExecutions);
+                    for (InListExplosion explosion : explosions) {
+                        Map<String, Object> inListData = newEvent(timestamp, "IN_LIST_EXPLOSION_DETECTED", reqUrl, operation);
+                        inListData.put("threshold", databaseConfig.getInListVariantThreshold());
+                        inListData.put("sql_shape", explosion.getSqlShape());
+                        inListData.put("endpoint_variant_count", explosion.getEndpointVariantCount());
+                        inListData.put("request_variant_count", explosion.getRequestVariantCount());
+                        inListData.put("request_in_list_sizes", explosion.getRequestInListSizes());
+                        inListData.put("suggestion", "Pad the IN lists to a few sizes"
+                                + " (hibernate.query.in_clause_parameter_padding=true)"
+                                + " or bind a single array parameter (WHERE id = ANY(?))");
+
+                        eventSink.warn("org.quickperf.inlist", objectMapper.writeValueAsString(inListData));
                     }
                 }
             }
 
+            // 5. Deep pagination and count query per page
+            if (sqlExecutions != null && databaseConfig.isPaginationDetected()) {
+                PaginationAnalysis paginationAnalysis = PaginationAnalysisExtractor.INSTANCE
+                        .extractPerfMeasureFrom(sqlExecutions);
+                logPaginationIssues(timestamp, reqUrl, operation, paginationAnalysis);
+            }
+
+            // 6. Row multiplication
+            RowMultiplicationRecorder rowMultiplicationRecorder = SqlRecorderRegistry.INSTANCE
+                    .getSqlRecorderOfType(RowMultiplicationRecorder.class);
+            if (rowMultiplicationRecorder != null) {
+                RowMultiplications rowMultiplications = rowMultiplicationRecorder.getRowMultiplications();
+                logRowMultiplications(timestamp, reqUrl, operation, rowMultiplications);
+                for (FetchedRows fetchedRows : rowMultiplications.getFetchedRowsList()) {
+                    topSqlFingerprints.recordFetchedRows(fetchedRows.getSql(), fetchedRows.getRowCount());
+                }
+            }
+
+            // 7. Unbatched writes
+            UnbatchedWritesListener unbatchedWritesListener = SqlRecorderRegistry.INSTANCE
+                    .getSqlRecorderOfType(UnbatchedWritesListener.class);
+            if (unbatchedWritesListener != null) {
+                List<UnbatchedWriteRun> unbatchedWriteRuns = unbatchedWritesListener.getUnbatchedWriteRuns();
+                if (!unbatchedWriteRuns.isEmpty()) {
+                    logUnbatchedWrites(timestamp, reqUrl, operation, unbatchedWriteRuns);
+                }
+            }
+
+            // 8. Statement preparations
+            StatementPreparationListener statementPreparationListener = ConnectionListenerRegistry.INSTANCE
+                    .getConnectionListenerOfType(StatementPreparationListener.class);
+            if (statementPreparationListener != null) {
+                StatementPreparations statementPreparations = statementPreparationListener.getStatementPreparations();
+                EndpointStatsRegistry.INSTANCE.record(endpoint, "statement_preparations"
+                                                    , statementPreparations.getValue());
+                EndpointStatsRegistry.INSTANCE.record(endpoint, "statement_re_preparations"
+                                                    , statementPreparations.getRePreparationCount());
+                List<Map.Entry<String, Integer>> hotStatements = statementPreparations
+                        .findHotStatements(databaseConfig.getHotStatementPreparationThreshold());
+                if (!hotStatements.isEmpty()) {
+                    Map<String, Object> preparationData = newEvent(timestamp, "HOT_STATEMENT_PREPARATIONS_DETECTED", reqUrl, operation);
+                    preparationData.put("threshold", databaseConfig.getHotStatementPreparationThreshold());
+                    preparationData.put("preparation_count", statementPreparations.getValue());
+                    preparationData.put("distinct_sql_count", statementPreparations.getDistinctSqlCount());
+                    preparationData.put("re_preparation_count", statementPreparations.getRePreparationCount());
+                    List<Map<String, Object>> statements = new ArrayList<>();
+                    for (Map.Entry<String, Integer> hotStatement : hotStatements) {
+                        Map<String, Object> statementData = new LinkedHashMap<>();
+                        statementData.put("sql", hotStatement.getKey());
+                        statementData.put("preparation_count", hotStatement.getValue());
+                        statements.add(statementData);
+                    }
+                    preparationData.put("statements", statements);
+
+                    eventSink.warn("org.quickperf.statementpreparation"
+                                 , objectMapper.writeValueAsString(preparationData));
+                }
+            }
+
+            // 9. Connection hold time
+            ConnectionHoldTimeListener connectionHoldTimeListener = ConnectionListenerRegistry.INSTANCE
+                    .getConnectionListenerOfType(ConnectionHoldTimeListener.class);
+            if (connectionHoldTimeListener != null && connectionHoldTimeListener.getConnectionCount() > 0) {
+                EndpointStatsRegistry.INSTANCE.recordWithDistribution(endpoint, "connection_hold_time_ms"
+                                                                    , connectionHoldTimeListener.getHoldTimeInMs());
+            }
+
+            // 10. JFR recording of anomalous calls
+            jfrAnomalyRecorder.updateRecording();
+            if (jfrConfig.isAnomalyRecordingEnabled()) {
+                if (allocationInBytes < 0 && jfrConfig.isHeapAllocationWatched()) {
+                    allocationInBytes = ByteWatcherSingleThreadRegistry.INSTANCE.get().calculateAllocations();
+                }
+                Map<String, Object> anomalies = findAnomalies(requestTimeInMs, sqlExecutions, allocationInBytes);
+                if (!anomalies.isEmpty()) {
+                    Path recordingPath = jfrAnomalyRecorder.dumpRecordingIfAllowed(endpoint);
+                    if (recordingPath != null) {
+                        Map<String, Object> jfrData = newEvent(timestamp, "JFR_RECORDING_DUMPED", reqUrl, operation);
+                        jfrData.put("anomalies", anomalies);
+                        jfrData.put("recording_file", recordingPath.toString());
+                        jfrData.put("duration_s", jfrConfig.getRecordingDurationInSeconds());
+
+                        eventSink.warn("org.quickperf.jfr", objectMapper.writeValueAsString(jfrData));
+                    }
+                }
+            }
+
+            // 11. SQL budget
+            logSqlBudgetViolation(timestamp, reqUrl, operation);
+
+            // 12. Primary reads in read-only transactions
+            PrimaryReadsListener primaryReadsListener = SqlRecorderRegistry.INSTANCE
+                    .getSqlRecorderOfType(PrimaryReadsListener.class);
+            if (primaryReadsListener != null && primaryReadsListener.getPrimaryReadCount() > 0) {
+                EndpointStatsRegistry.INSTANCE.record(endpoint, "primary_reads_in_read_only_transaction"
+                                                    , primaryReadsListener.getPrimaryReadCount());
+                Map<String, Object> primaryReadData = newEvent(timestamp, "PRIMARY_READS_IN_READ_ONLY_TRANSACTION_DETECTED", reqUrl, operation);
+                primaryReadData.put("datasource", databaseConfig.getPrimaryDataSourceName());
+                primaryReadData.put("select_count", primaryReadsListener.getPrimaryReadCount());
+                List<Map<String, Object>> statements = new ArrayList<>();
+                for (Map.Entry<String, Integer> sqlCount : primaryReadsListener.getExecutionCountBySql().entrySet()) {
+                    Map<String, Object> statementData = new LinkedHashMap<>();
+                    statementData.put("sql", sqlCount.getKey());
+                    statementData.put("execution_count", sqlCount.getValue());
+                    statements.add(statementData);
+                }
+                primaryReadData.put("statements", statements);
+                primaryReadData.put("call_stack", primaryReadsListener.getCallStack());
+                primaryReadData.put("suggestion", "Route the read-only transactions to a replica"
+                        + " (e.g. with an AbstractRoutingDataSource keyed on"
+                        + " TransactionSynchronizationManager.isCurrentTransactionReadOnly())");
+
+                eventSink.warn("org.quickperf.replicareads", objectMapper.writeValueAsString(primaryReadData));
+            }
+
         } catch (Exception e) {
             logger.warn("Failed to log QuickPerf JSON data", e);
         }
 
     }
 
+    private void logSqlBudgetViolation(long timestamp, String reqUrl, Operation operation) throws Exception {
+        SqlBudgetRecorder sqlBudgetRecorder = SqlRecorderRegistry.INSTANCE.getSqlRecorderOfType(SqlBudgetRecorder.class);
+        if (sqlBudgetRecorder == null) {
+            return;
+        }
+        String exceededLimit = sqlBudgetRecorder.findExceededLimitAtEnd();
+        if (exceededLimit != null) {
+            EndpointStatsRegistry.INSTANCE.record(operation.getEndpoint(), "sql_budget_violations", 1);
+            Map<String, Object> budgetData = newEvent(timestamp, "SQL_BUDGET_EXCEEDED", reqUrl, operation);
+            budgetData.put("mode", sqlBudgetConfig.getMode().name());
+            budgetData.put("exceeded_limit", exceededLimit);
+            budgetData.put("limits", sqlBudgetRecorder.getLimits().toEventData());
+            budgetData.put("select_count", sqlBudgetRecorder.getSelectCount());
+            budgetData.put("sql_execution_count", sqlBudgetRecorder.getSqlExecutionCount());
+
+            eventSink.warn("org.quickperf.sqlbudget", objectMapper.writeValueAsString(budgetData));
+        }
+    }
+
+    private Map<String, Object> newEvent(long timestamp, String type, String reqUrl, Operation operation) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("timestamp", timestamp);
+        event.put("type", type);
+        if (reqUrl != null) {
+            event.put("url", reqUrl);
+        }
+        event.put("method", operation.getMethod());
+        event.put("operation_name", operation.getName());
+        if (operation.getHandler() != null) {
+            event.put("handler", operation.getHandler());
+        }
+        return event;
+    }
+
+    // The metrics of each datasource are also recorded once the application has used several datasources
+    private void recordSqlExecutions(String endpoint, SqlExecutions sqlExecutions) {
+        long sqlTimeInMs = 0;
+        Map<String, long[]> countAndTimeByDataSource = new LinkedHashMap<>();
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            sqlTimeInMs += sqlExecution.getElapsedTime();
+            long[] countAndTime = countAndTimeByDataSource.computeIfAbsent(sqlExecution.getDataSourceName()
+                                                                        , dataSourceName -> new long[2]);
+            countAndTime[0]++;
+            countAndTime[1] += sqlExecution.getElapsedTime();
+        }
+        EndpointStatsRegistry.INSTANCE.record(endpoint, "sql_execution_count", sqlExecutions.getNumberOfExecutions());
+        EndpointStatsRegistry.INSTANCE.recordWithDistribution(endpoint, "sql_time_ms", sqlTimeInMs);
+        usedDataSourceNames.addAll(countAndTimeByDataSource.keySet());
+        if (usedDataSourceNames.size() > 1) {
+            for (Map.Entry<String, long[]> dataSourceCountAndTime : countAndTimeByDataSource.entrySet()) {
+                String dataSourceName = dataSourceCountAndTime.getKey();
+                long[] countAndTime = dataSourceCountAndTime.getValue();
+                EndpointStatsRegistry.INSTANCE.record(endpoint
+                        , "sql_execution_count[" + dataSourceName + "]", countAndTime[0]);
+                EndpointStatsRegistry.INSTANCE.recordWithDistribution(endpoint
+                        , "sql_time_ms[" + dataSourceName + "]", countAndTime[1]);
+            }
+        }
+    }
+
+    private void logPaginationIssues(long timestamp, String reqUrl, Operation operation,
+            PaginationAnalysis paginationAnalysis) throws JsonProcessingException {
+        int maxOffset = databaseConfig.getPaginationMaxOffset();
+        List<PagedSelect> deepPagedSelects = paginationAnalysis.findDeepPagedSelects(maxOffset);
+        if (!deepPagedSelects.isEmpty()) {
+            Map<String, Object> deepPaginationData = newEvent(timestamp, "DEEP_PAGINATION_DETECTED", reqUrl, operation);
+            deepPaginationData.put("max_offset", maxOffset);
+            List<Map<String, Object>> queries = new ArrayList<>();
+            for (PagedSelect deepPagedSelect : deepPagedSelects) {
+                Map<String, Object> queryData = new LinkedHashMap<>();
+                queryData.put("sql", deepPagedSelect.getSql());
+                queryData.put("offset", deepPagedSelect.getOffset());
+                queries.add(queryData);
+            }
+            deepPaginationData.put("queries", queries);
+            deepPaginationData.put("suggestion", "Use keyset pagination (WHERE id > ? ORDER BY id)");
+            eventSink.warn("org.quickperf.pagination", objectMapper.writeValueAsString(deepPaginationData));
+        }
+
+        List<String> perPageCountQueries = paginationAnalysis.getPerPageCountQueries();
+        if (!perPageCountQueries.isEmpty()) {
+            Map<String, Object> countData = newEvent(timestamp, "COUNT_QUERY_PER_PAGE_DETECTED", reqUrl, operation);
+            countData.put("count_queries", perPageCountQueries);
+            countData.put("suggestion", "Return a Slice instead of a Page with Spring Data, or compute the total once");
+            eventSink.warn("org.quickperf.pagination", objectMapper.writeValueAsString(countData));
+        }
+    }
+
+    // The plan of the first slow executions of a query is logged later by a SLOW_QUERY_PLAN_CAPTURED event
+    private void addExplainPlan(Map<String, Object> queryData, String endpoint, String dataSourceName,
+            QueryInfo query) {
+        String fingerprint = SqlFingerprint.of(query.getQuery());
+        queryData.put("fingerprint", fingerprint);
+        ExplainPlan explainPlan = explainPlanCapturer.findPlan(fingerprint);
+        if (explainPlan != null) {
+            queryData.put("plan", explainPlan.toEventData());
+        } else if (explainPlanCapturer.submit(endpoint, fingerprint, dataSourceName, query)) {
+            queryData.put("plan_status", "pending");
+        }
+    }
+
+    private void logRowMultiplications(long timestamp, String reqUrl, Operation operation,
+            RowMultiplications rowMultiplications) throws JsonProcessingException {
+        long fetchedRowCount = 0;
+        for (FetchedRows fetchedRows : rowMultiplications.getFetchedRowsList()) {
+            fetchedRowCount += fetchedRows.getRowCount();
+        }
+        EndpointStatsRegistry.INSTANCE.record(operation.getEndpoint(), "fetched_rows", fetchedRowCount);
+
+        List<FetchedRows> multipliedRows = rowMultiplications.findGreaterThan(
+                databaseConfig.getRowMultiplicationThreshold(), databaseConfig.getRowMultiplicationMinRowCount());
+        if (multipliedRows.isEmpty()) {
+            return;
+        }
+        Map<String, Object> rowMultiplicationData = newEvent(timestamp, "ROW_MULTIPLICATION_DETECTED", reqUrl, operation);
+        rowMultiplicationData.put("threshold", databaseConfig.getRowMultiplicationThreshold());
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (FetchedRows fetchedRows : multipliedRows) {
+            Map<String, Object> queryData = new LinkedHashMap<>();
+            queryData.put("sql", fetchedRows.getSql());
+            queryData.put("row_count", fetchedRows.getRowCount());
+            queryData.put("distinct_root_count", fetchedRows.getDistinctFirstColumnValueCount());
+            queryData.put("row_multiplication", fetchedRows.getRowMultiplication());
+            queryData.put("table_count", fetchedRows.getTableCount());
+            queries.add(queryData);
+        }
+        rowMultiplicationData.put("queries", queries);
+        rowMultiplicationData.put("suggestion", "Fetch the collections in separate queries"
+                + " (Hibernate: @BatchSize or @Fetch(FetchMode.SUBSELECT)) instead of joining several of them");
+
+        eventSink.warn("org.quickperf.rowmultiplication", objectMapper.writeValueAsString(rowMultiplicationData));
+    }
+
+    private void logUnbatchedWrites(long timestamp, String reqUrl, Operation operation,
+            List<UnbatchedWriteRun> unbatchedWriteRuns) throws JsonProcessingException {
+        int batchSize = Math.max(databaseConfig.getJdbcBatchSize(), 1);
+        int savedRoundTrips = 0;
+        boolean interleaved = false;
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (UnbatchedWriteRun unbatchedWriteRun : unbatchedWriteRuns) {
+            int runSavedRoundTrips = unbatchedWriteRun.computeSavedRoundTrips(batchSize);
+            savedRoundTrips += runSavedRoundTrips;
+            Map<String, Object> runData = new LinkedHashMap<>();
+            runData.put("sql", unbatchedWriteRun.getSql());
+            runData.put("execution_count", unbatchedWriteRun.getExecutionCount());
+            runData.put("time_ms", unbatchedWriteRun.getTimeInMs());
+            runData.put("saved_round_trips", runSavedRoundTrips);
+            if (unbatchedWriteRun.isInterleaved()) {
+                runData.put("interleaved", true);
+                interleaved = true;
+            }
+            List<String> callStack = unbatchedWriteRun.getCallStack();
+            if (!callStack.isEmpty()) {
+                runData.put("caller", callStack.get(0));
+                runData.put("call_stack", callStack);
+            }
+            runs.add(runData);
+        }
+        EndpointStatsRegistry.INSTANCE.record(operation.getEndpoint(), "unbatched_write_saved_round_trips"
+                                            , savedRoundTrips);
+
+        Map<String, Object> batchingData = newEvent(timestamp, "UNBATCHED_WRITES_DETECTED", reqUrl, operation);
+        batchingData.put("batch_size", batchSize);
+        batchingData.put("saved_round_trips", savedRoundTrips);
+        batchingData.put("runs", runs);
+        if (interleaved) {
+            batchingData.put("suggestion", "Order the statements before batching them"
+                    + " (Hibernate: hibernate.order_inserts and hibernate.order_updates)");
+        }
+
+        eventSink.warn("org.quickperf.jdbcbatching", objectMapper.writeValueAsString(batchingData));
+    }
+
+    private Map<String, Object> findAnomalies(long requestTimeInMs, SqlExecutions sqlExecutions,
+            long allocationInBytes) {
+        Map<String, Object> anomalies = new LinkedHashMap<>();
+        if (jfrConfig.isLatencyWatched() && requestTimeInMs > jfrConfig.getLatencyThresholdInMs()) {
+            anomalies.put("request_time_ms", requestTimeInMs);
+        }
+        if (jfrConfig.isSqlExecutionCountWatched() && sqlExecutions != null
+                && sqlExecutions.getNumberOfExecutions() > jfrConfig.getSqlExecutionThreshold()) {
+            anomalies.put("sql_execution_count", sqlExecutions.getNumberOfExecutions());
+        }
+        if (jfrConfig.isHeapAllocationWatched() && allocationInBytes > jfrConfig.getHeapAllocationThresholdInBytes()) {
+            anomalies.put("heap_allocation_bytes", allocationInBytes);
+        }
+        return anomalies;
+    }
+
+    private void addThreadActivity(Map<String, Object> jvmData, String endpoint, ThreadActivity threadActivity) {
+        if (jvmConfig.isCpuTimeMeasured() && threadActivity.getCpuTimeInNs() >= 0) {
+            jvmData.put("cpu_time_ns", threadActivity.getCpuTimeInNs());
+            EndpointStatsRegistry.INSTANCE.record(endpoint, "cpu_time_ns", threadActivity.getCpuTimeInNs());
+        }
+        if (jvmConfig.isThreadContentionMeasured()) {
+            recordIfAvailable(jvmData, endpoint, "blocked_count", threadActivity.getBlockedCount());
+            recordIfAvailable(jvmData, endpoint, "blocked_time_ms", threadActivity.getBlockedTimeInMs());
+            recordIfAvailable(jvmData, endpoint, "waited_count", threadActivity.getWaitedCount());
+            recordIfAvailable(jvmData, endpoint, "waited_time_ms", threadActivity.getWaitedTimeInMs());
+        }
+    }
+
+    private void addGcPauses(Map<String, Object> jvmData, String endpoint, GcPauseRecorder gcPauseRecorder) {
+        long requestTimeInMs = gcPauseRecorder.getElapsedTimeInMs();
+        long gcPauseTimeInMs = gcPauseRecorder.getPauseTimeInMs();
+        jvmData.put("request_time_ms", requestTimeInMs);
+        jvmData.put("gc_pause_time_ms", gcPauseTimeInMs);
+        jvmData.put("gc_pause_count", gcPauseRecorder.getPauseCount());
+        if (requestTimeInMs > 0) {
+            jvmData.put("gc_pause_share_percent", Math.min(100, gcPauseTimeInMs * 100 / requestTimeInMs));
+        }
+        EndpointStatsRegistry.INSTANCE.record(endpoint, "request_time_ms", requestTimeInMs);
+        EndpointStatsRegistry.INSTANCE.record(endpoint, "gc_pause_time_ms", gcPauseTimeInMs);
+    }
+
+    private void addResponseBodyWrite(Map<String, Object> jvmData, String endpoint,
+            MeasuredHttpServletResponse measuredResponse) {
+        if (!measuredResponse.isBodyWritten()) {
+            return;
+        }
+        jvmData.put("response_write_time_ns", measuredResponse.getBodyWriteTimeInNs());
+        jvmData.put("response_size_bytes", measuredResponse.getBodySizeInBytes());
+        jvmData.put("response_write_allocation_bytes", measuredResponse.getBodyWriteAllocationInBytes());
+        EndpointStatsRegistry.INSTANCE.record(endpoint, "response_write_time_ns", measuredResponse.getBodyWriteTimeInNs());
+        EndpointStatsRegistry.INSTANCE.record(endpoint, "response_size_bytes", measuredResponse.getBodySizeInBytes());
+        EndpointStatsRegistry.INSTANCE.record(endpoint, "response_write_allocation_bytes",
+                measuredResponse.getBodyWriteAllocationInBytes());
+    }
+
+    private void recordIfAvailable(Map<String, Object> jvmData, String endpoint, String metricName, long value) {
+        if (value >= 0) {
+            jvmData.put(metricName, value);
+            EndpointStatsRegistry.INSTANCE.record(endpoint, metricName, value);
+        }
+    }
+
 }
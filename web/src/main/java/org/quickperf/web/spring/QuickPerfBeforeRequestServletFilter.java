@@ -19,10 +19,17 @@ import org.quickperf.sql.connection.ConnectionEventsProfiler;
 import org.quickperf.sql.connection.ConnectionListenerRegistry;
 import org.quickperf.sql.connection.Level;
 import org.quickperf.sql.connection.ProfilingParameters;
+import org.quickperf.sql.connection.StatementPreparationListener;
 import org.quickperf.sql.connection.stack.*;
+import org.quickperf.sql.select.rows.RowMultiplicationRecorder;
 import org.quickperf.web.spring.config.*;
 import org.quickperf.web.spring.jvm.ByteWatcherSingleThread;
 import org.quickperf.web.spring.jvm.ByteWatcherSingleThreadRegistry;
+import org.quickperf.web.spring.jvm.GcPauseRecorderRegistry;
+import org.quickperf.web.spring.jvm.ThreadActivityWatcher;
+import org.quickperf.web.spring.jvm.ThreadActivityWatcherRegistry;
+import org.quickperf.web.spring.sql.CacheCandidateDetector;
+import org.quickperf.web.spring.stats.OverheadRegistry;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -45,6 +52,12 @@ import static java.util.Arrays.asList;
 @Order(Ordered.LOWEST_PRECEDENCE - 10)
 public class QuickPerfBeforeRequestServletFilter implements Filter {
 
+	static final String UNPROCESSED_REQUEST_ATTRIBUTE = "org.quickperf.unprocessed";
+
+	static final String LISTENERS_REGISTERED_ATTRIBUTE = "org.quickperf.listeners-registered";
+
+	static final String SQL_BUDGET_ONLY_ATTRIBUTE = "org.quickperf.sql-budget-only";
+
 	private final Log logger = LogFactory.getLog(this.getClass());
 
 	private final DatabaseConfig databaseConfig;
@@ -57,13 +70,27 @@ public class QuickPerfBeforeRequestServletFilter implements Filter {
 
 	private final UrlConfig urlConfig;
 
+	private final JfrConfig jfrConfig;
+
+	private final OverheadConfig overheadConfig;
+
+	private final CacheCandidateDetector cacheCandidateDetector;
+
+	private final SqlBudgetConfig sqlBudgetConfig;
+
 	public QuickPerfBeforeRequestServletFilter(DatabaseConfig databaseConfig, DatabaseHttpConfig databaseHttpConfig,
-			JvmConfig jvmConfig, TestGenerationConfig testGenerationConfig, UrlConfig urlConfig) {
+			JvmConfig jvmConfig, TestGenerationConfig testGenerationConfig, UrlConfig urlConfig, JfrConfig jfrConfig,
+			OverheadConfig overheadConfig, CacheCandidateDetector cacheCandidateDetector,
+			SqlBudgetConfig sqlBudgetConfig) {
 		this.databaseConfig = databaseConfig;
 		this.databaseHttpConfig = databaseHttpConfig;
 		this.jvmConfig = jvmConfig;
 		this.testGenerationConfig = testGenerationConfig;
 		this.urlConfig = urlConfig;
+		this.jfrConfig = jfrConfig;
+		this.overheadConfig = overheadConfig;
+		this.cacheCandidateDetector = cacheCandidateDetector;
+		this.sqlBudgetConfig = sqlBudgetConfig;
 		logger.debug(this.getClass().getSimpleName() + "is created");
 	}
 
@@ -79,11 +106,28 @@ public class QuickPerfBeforeRequestServletFilter implements Filter {
 		HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
 		String url = httpServletRequest.getRequestURL().toString();
 
-		if (!httpServletResponse.isCommitted() && !urlConfig.checkIfExcluded(url)) {
-			try {
-				quickPerfProcessing();
-			} catch (Exception e) {
-				logger.warn("Unexpected QuickPerf issue", e);
+		if (!httpServletResponse.isCommitted() && !urlConfig.checkIfExcluded(httpServletRequest)) {
+			if (OverheadRegistry.INSTANCE.isRequestProcessed(overheadConfig.getSamplingRate())) {
+				long startNanoTime = System.nanoTime();
+				long startAllocatedBytes = -1;
+				if (overheadConfig.isOverheadMeasured()) {
+					OverheadRegistry.INSTANCE.startRequest();
+					startAllocatedBytes = OverheadRegistry.currentThreadAllocatedBytes();
+				}
+				try {
+					registerListeners();
+					httpServletRequest.setAttribute(LISTENERS_REGISTERED_ATTRIBUTE, Boolean.TRUE);
+				} catch (Exception e) {
+					logger.warn("Unexpected QuickPerf issue", e);
+				}
+				OverheadRegistry.INSTANCE.record(OverheadRegistry.BEFORE_REQUEST, startNanoTime, startAllocatedBytes);
+			} else {
+				httpServletRequest.setAttribute(UNPROCESSED_REQUEST_ATTRIBUTE, Boolean.TRUE);
+				// The SQL budget is a gate, not a detector: it is enforced whatever the sampling or the degradation
+				if (sqlBudgetConfig.isSqlBudgetEnabled()) {
+					clearRegistries();
+					httpServletRequest.setAttribute(SQL_BUDGET_ONLY_ATTRIBUTE, Boolean.TRUE);
+				}
 			}
 		}
 
@@ -139,10 +183,24 @@ public class QuickPerfBeforeRequestServletFilter implements Filter {
 
 	}
 
-	private void quickPerfProcessing() {
+	// The registries are inheritable thread locals: a thread may share the registry of the thread that created it (the
+	// main thread for the server and scheduler threads) until its registry is cleared once
+	private static void clearRegistries() {
+		SqlRecorderRegistry.INSTANCE.clear();
+		ConnectionListenerRegistry.INSTANCE.clear();
+	}
+
+	/**
+	 * Registers the listeners measuring an operation executed by the current thread.
+	 */
+	void registerListeners() {
+
+		clearRegistries();
 
 		if (databaseConfig.isSqlDisplayed() || databaseConfig.isNPlusOneSelectDetected()
-				|| databaseConfig.isSqlExecutionDetected() || databaseConfig.isSqlWithoutBindParamDetected()) {
+				|| databaseConfig.isSqlExecutionDetected() || databaseConfig.isSqlWithoutBindParamDetected()
+				|| databaseConfig.isInListVariantsDetected() || databaseConfig.isPaginationDetected()
+				|| jfrConfig.isSqlExecutionCountWatched()) {
 			SqlRecorderRegistry.INSTANCE.register(new SqlExecutionsRecorder());
 		}
 
@@ -162,23 +220,64 @@ public class QuickPerfBeforeRequestServletFilter implements Filter {
 			SqlRecorderRegistry.INSTANCE.register(longDbRequestsListener);
 		}
 
+		if (databaseConfig.isUnbatchedWriteDetected()) {
+			int minRunLength = databaseConfig.getUnbatchedWriteMinRunLength();
+			SqlRecorderRegistry.INSTANCE.register(new UnbatchedWritesListener(minRunLength));
+		}
+
+		if (databaseConfig.isRowMultiplicationDetected()) {
+			SqlRecorderRegistry.INSTANCE.register(new RowMultiplicationRecorder());
+		}
+
+		if (databaseConfig.isPrimaryReadInReadOnlyTransactionDetected()
+				&& PrimaryReadsListener.TRANSACTION_SUPPORT_PRESENT) {
+			String primaryDataSourceName = databaseConfig.getPrimaryDataSourceName();
+			SqlRecorderRegistry.INSTANCE.register(new PrimaryReadsListener(primaryDataSourceName));
+		}
+
+		if (databaseConfig.isCacheCandidateDetected()) {
+			SqlRecorderRegistry.INSTANCE.register(new CacheCandidateRecorder(cacheCandidateDetector));
+		}
+
 		if (databaseConfig.isDatabaseConnectionProfiled()) {
 			DiagnosticConnectionProfiler diagnosticConnectionProfiler = DiagnosticConnectionProfiler.build();
 			ConnectionListenerRegistry.INSTANCE.register(diagnosticConnectionProfiler);
 			diagnosticConnectionProfiler.start();
 		}
 
+		if (databaseConfig.isStatementPreparationMeasured()) {
+			ConnectionListenerRegistry.INSTANCE.register(new StatementPreparationListener());
+		}
+
+		if (databaseConfig.isConnectionHoldTimeMeasured()) {
+			ConnectionListenerRegistry.INSTANCE.register(new ConnectionHoldTimeListener());
+		}
+
 		if (databaseHttpConfig.isSynchronousHttpCallBetweenDbConnectionGottenAndClosedDetected()) {
 			PerfEventConnectionListener perfEventConnectionListener = PerfEventConnectionListener.INSTANCE;
 			ConnectionListenerRegistry.INSTANCE.register(perfEventConnectionListener);
 		}
 
-		if (jvmConfig.isHeapAllocationMeasured() || jvmConfig.isHeapAllocationThresholdDetected()) {
+		if (jvmConfig.isHeapAllocationMeasured() || jvmConfig.isHeapAllocationThresholdDetected()
+				|| jfrConfig.isHeapAllocationWatched()) {
 			ByteWatcherSingleThread byteWatcherSingleThread = new ByteWatcherSingleThread();
 			byteWatcherSingleThread.reset();
 			ByteWatcherSingleThreadRegistry.INSTANCE.register(byteWatcherSingleThread);
 		}
 
+		if (jvmConfig.isThreadActivityMeasured()) {
+			if (jvmConfig.isThreadContentionMeasured()) {
+				ThreadActivityWatcher.enableContentionMonitoring();
+			}
+			ThreadActivityWatcher threadActivityWatcher = new ThreadActivityWatcher();
+			threadActivityWatcher.reset();
+			ThreadActivityWatcherRegistry.INSTANCE.register(threadActivityWatcher);
+		}
+
+		if (jvmConfig.isGcPauseMeasured()) {
+			GcPauseRecorderRegistry.INSTANCE.register();
+		}
+
 	}
 
 }
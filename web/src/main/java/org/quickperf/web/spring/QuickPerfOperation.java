@@ -0,0 +1,37 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Measures each execution of the annotated method as a QuickPerf operation, like an HTTP call: the same listeners
+ * are registered and the same events are logged, keyed by the operation name.
+ *
+ * To annotate the entry points of the work executed outside HTTP calls, such as message listeners or batch steps.
+ * Methods annotated with <code>@Scheduled</code> are measured without this annotation. Requires
+ * <code>quickperf.work-units.measured=true</code>.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QuickPerfOperation {
+
+    /**
+     * @return the operation name, the class and method names (<code>OrderListener#onMessage</code>) if empty
+     */
+    String value() default "";
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import org.quickperf.web.spring.config.OverheadConfig;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+
+/**
+ * Measures the work units executed outside HTTP calls: the methods annotated with <code>@Scheduled</code> or
+ * {@link QuickPerfOperation}.
+ *
+ * The advisor is an infrastructure bean, so that it is applied by the auto-proxy creator Spring Boot registers even
+ * without AspectJ. The beans declaring work units are proxied at startup, so the property is not changeable at
+ * runtime.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(value = "quickperf.work-units.measured", havingValue = "true")
+public class QuickPerfWorkUnitConfiguration {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor quickPerfWorkUnitAdvisor(
+            ObjectProvider<QuickPerfBeforeRequestServletFilter> beforeFilterProvider,
+            ObjectProvider<QuickPerfAfterRequestServletFilter> afterFilterProvider,
+            ObjectProvider<OverheadConfig> overheadConfigProvider) {
+        ComposablePointcut workUnitPointcut =
+                new ComposablePointcut(AnnotationMatchingPointcut.forMethodAnnotation(Scheduled.class))
+                        .union(AnnotationMatchingPointcut.forMethodAnnotation(Schedules.class))
+                        .union(AnnotationMatchingPointcut.forMethodAnnotation(QuickPerfOperation.class));
+        QuickPerfWorkUnitInterceptor workUnitInterceptor =
+                new QuickPerfWorkUnitInterceptor(beforeFilterProvider, afterFilterProvider, overheadConfigProvider);
+        return new DefaultPointcutAdvisor(workUnitPointcut, workUnitInterceptor);
+    }
+
+}
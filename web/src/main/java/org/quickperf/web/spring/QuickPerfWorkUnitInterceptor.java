@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quickperf.web.spring.config.OverheadConfig;
+import org.quickperf.web.spring.stats.OverheadRegistry;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.lang.reflect.Method;
+
+/**
+ * Opens and closes a QuickPerf context around a work unit executed outside HTTP calls: a scheduled method or a method
+ * annotated with {@link QuickPerfOperation}.
+ *
+ * A work unit called by an HTTP call or by another work unit is measured as part of its caller.
+ */
+class QuickPerfWorkUnitInterceptor implements MethodInterceptor {
+
+    static final String SCHEDULED_OPERATION_METHOD = "SCHEDULED";
+
+    static final String ANNOTATED_OPERATION_METHOD = "OPERATION";
+
+    private static final ThreadLocal<Boolean> WORK_UNIT_IN_PROGRESS = new ThreadLocal<>();
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    // Resolved lazily: the interceptor is created with the auto-proxy creator, before the other beans
+    private final ObjectProvider<QuickPerfBeforeRequestServletFilter> beforeFilterProvider;
+
+    private final ObjectProvider<QuickPerfAfterRequestServletFilter> afterFilterProvider;
+
+    private final ObjectProvider<OverheadConfig> overheadConfigProvider;
+
+    QuickPerfWorkUnitInterceptor(ObjectProvider<QuickPerfBeforeRequestServletFilter> beforeFilterProvider,
+            ObjectProvider<QuickPerfAfterRequestServletFilter> afterFilterProvider,
+            ObjectProvider<OverheadConfig> overheadConfigProvider) {
+        this.beforeFilterProvider = beforeFilterProvider;
+        this.afterFilterProvider = afterFilterProvider;
+        this.overheadConfigProvider = overheadConfigProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (WORK_UNIT_IN_PROGRESS.get() != null || RequestContextHolder.getRequestAttributes() != null) {
+            return invocation.proceed();
+        }
+        OverheadConfig overheadConfig = overheadConfigProvider.getObject();
+        if (!OverheadRegistry.INSTANCE.isRequestProcessed(overheadConfig.getSamplingRate())) {
+            return invocation.proceed();
+        }
+        QuickPerfAfterRequestServletFilter afterFilter = afterFilterProvider.getObject();
+        WORK_UNIT_IN_PROGRESS.set(Boolean.TRUE);
+        try {
+            try {
+                beforeFilterProvider.getObject().registerListeners();
+            } catch (Exception e) {
+                logger.warn("Unexpected QuickPerf issue", e);
+            }
+            long startNanoTime = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                long timeInMs = (System.nanoTime() - startNanoTime) / 1_000_000;
+                try {
+                    afterFilter.processOperation(null, resolveOperation(invocation), null, timeInMs);
+                } catch (Exception e) {
+                    logger.warn("Unexpected QuickPerf issue", e);
+                }
+            }
+        } finally {
+            afterFilter.unregisterListeners();
+            WORK_UNIT_IN_PROGRESS.remove();
+        }
+    }
+
+    private static Operation resolveOperation(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : invocation.getMethod().getDeclaringClass();
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        String handler = targetClass.getSimpleName() + "#" + method.getName();
+        QuickPerfOperation quickPerfOperation = AnnotatedElementUtils.findMergedAnnotation(method, QuickPerfOperation.class);
+        if (quickPerfOperation == null) {
+            return new Operation(SCHEDULED_OPERATION_METHOD, handler, handler);
+        }
+        String name = quickPerfOperation.value().isEmpty() ? handler : quickPerfOperation.value();
+        return new Operation(ANNOTATED_OPERATION_METHOD, name, handler);
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Budget of the HTTP calls handled by the annotated controller method, enforced when
+ * <code>quickperf.sql-budget.enabled=true</code>.
+ *
+ * The budget is checked at each SQL execution: the first execution exceeding it marks the response with the
+ * <code>X-QuickPerf-Sql-Budget-Exceeded</code> header and, in <code>FAIL</code> mode, throws a
+ * {@link SqlBudgetExceededException}. A limit set for the route with <code>quickperf.sql-budget.routes</code> takes
+ * precedence over the annotation. A negative limit is not checked.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface SqlBudget {
+
+    int maxSelects() default -1;
+
+    int maxSqlExecutions() default -1;
+
+    long maxConnectionHoldTimeInMs() default -1;
+
+    long maxAllocationInBytes() default -1;
+
+}
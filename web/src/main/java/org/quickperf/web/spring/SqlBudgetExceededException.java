@@ -0,0 +1,25 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+/**
+ * Thrown by the SQL execution exceeding the budget of an HTTP call, in the <code>FAIL</code> mode of the SQL budget
+ * enforcement.
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    SqlBudgetExceededException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quickperf.sql.SqlRecorderRegistry;
+import org.quickperf.sql.connection.ConnectionListenerRegistry;
+import org.quickperf.web.spring.config.SqlBudgetConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Registers the {@link SqlBudgetRecorder} of an HTTP call once the handler is known, before it is executed.
+ *
+ * The limits of a call are the default limits, overridden by the {@link SqlBudget} annotation of the controller
+ * method, overridden by the limits configured for the route (<code>GET /users/{id}</code>). The budget is enforced on
+ * all the calls but the excluded ones, even when QuickPerf samples the calls or is degraded.
+ */
+@Component
+public class SqlBudgetInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final SqlBudgetConfig sqlBudgetConfig;
+
+    private volatile String parsedRouteBudgets;
+
+    private volatile Map<String, SqlBudgetLimits> limitsByRoute = Collections.emptyMap();
+
+    public SqlBudgetInterceptor(SqlBudgetConfig sqlBudgetConfig) {
+        this.sqlBudgetConfig = sqlBudgetConfig;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!sqlBudgetConfig.isSqlBudgetEnabled() || request.getDispatcherType() != DispatcherType.REQUEST
+                || !areRegistriesCleared(request)) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        SqlBudgetLimits limits = findLimits(endpoint, handler);
+        if (limits.isEmpty()) {
+            return true;
+        }
+        if (limits.getMaxConnectionHoldTimeInMs() >= 0 && ConnectionListenerRegistry.INSTANCE
+                .getConnectionListenerOfType(ConnectionHoldTimeListener.class) == null) {
+            ConnectionListenerRegistry.INSTANCE.register(new ConnectionHoldTimeListener());
+        }
+        SqlRecorderRegistry.INSTANCE.register(
+                new SqlBudgetRecorder(endpoint, limits, sqlBudgetConfig.getMode(), response));
+        return true;
+    }
+
+    // Otherwise the recorder would be registered in a registry shared with other threads
+    private static boolean areRegistriesCleared(HttpServletRequest request) {
+        return request.getAttribute(QuickPerfBeforeRequestServletFilter.LISTENERS_REGISTERED_ATTRIBUTE) != null
+            || request.getAttribute(QuickPerfBeforeRequestServletFilter.SQL_BUDGET_ONLY_ATTRIBUTE) != null;
+    }
+
+    private SqlBudgetLimits findLimits(String endpoint, Object handler) {
+        SqlBudgetLimits limits = new SqlBudgetLimits(sqlBudgetConfig.getDefaultMaxSelects()
+                                                   , sqlBudgetConfig.getDefaultMaxSqlExecutions()
+                                                   , sqlBudgetConfig.getDefaultMaxConnectionHoldTimeInMs()
+                                                   , sqlBudgetConfig.getDefaultMaxAllocationInBytes());
+        if (handler instanceof HandlerMethod) {
+            SqlBudget sqlBudget = ((HandlerMethod) handler).getMethodAnnotation(SqlBudget.class);
+            if (sqlBudget != null) {
+                limits = limits.overriddenBy(SqlBudgetLimits.of(sqlBudget));
+            }
+        }
+        SqlBudgetLimits routeLimits = findLimitsByRoute().get(endpoint);
+        if (routeLimits != null) {
+            limits = limits.overriddenBy(routeLimits);
+        }
+        return limits;
+    }
+
+    // The route budgets are parsed again only when they are changed, with the MBean
+    private Map<String, SqlBudgetLimits> findLimitsByRoute() {
+        String routeBudgets = sqlBudgetConfig.getRouteBudgets();
+        if (!routeBudgets.equals(parsedRouteBudgets)) {
+            synchronized (this) {
+                if (!routeBudgets.equals(parsedRouteBudgets)) {
+                    try {
+                        limitsByRoute = SqlBudgetLimits.parseRouteBudgets(routeBudgets);
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Invalid quickperf.sql-budget.routes property, the route budgets are ignored", e);
+                        limitsByRoute = Collections.emptyMap();
+                    }
+                    parsedRouteBudgets = routeBudgets;
+                }
+            }
+        }
+        return limitsByRoute;
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Limits of an SQL budget, a negative limit being not checked.
+ */
+class SqlBudgetLimits {
+
+    static final SqlBudgetLimits NONE = new SqlBudgetLimits(-1, -1, -1, -1);
+
+    private final int maxSelects;
+
+    private final int maxSqlExecutions;
+
+    private final long maxConnectionHoldTimeInMs;
+
+    private final long maxAllocationInBytes;
+
+    SqlBudgetLimits(int maxSelects, int maxSqlExecutions, long maxConnectionHoldTimeInMs, long maxAllocationInBytes) {
+        this.maxSelects = maxSelects;
+        this.maxSqlExecutions = maxSqlExecutions;
+        this.maxConnectionHoldTimeInMs = maxConnectionHoldTimeInMs;
+        this.maxAllocationInBytes = maxAllocationInBytes;
+    }
+
+    static SqlBudgetLimits of(SqlBudget sqlBudget) {
+        return new SqlBudgetLimits(sqlBudget.maxSelects(), sqlBudget.maxSqlExecutions()
+                                 , sqlBudget.maxConnectionHoldTimeInMs(), sqlBudget.maxAllocationInBytes());
+    }
+
+    /**
+     * @param routeBudgets <code>GET /users/{id}: maxSelects=2, maxSqlExecutions=3; POST /orders: maxSelects=1</code>
+     */
+    static Map<String, SqlBudgetLimits> parseRouteBudgets(String routeBudgets) {
+        Map<String, SqlBudgetLimits> limitsByRoute = new HashMap<>();
+        for (String routeBudget : routeBudgets.split(";")) {
+            if (routeBudget.isBlank()) {
+                continue;
+            }
+            // The limits are after the last colon, a route template may contain colons (/users/{id:\d+})
+            int limitsStart = routeBudget.lastIndexOf(':');
+            if (limitsStart < 0) {
+                throw new IllegalArgumentException("No limit in the SQL budget " + routeBudget.trim());
+            }
+            String route = routeBudget.substring(0, limitsStart).trim().replaceAll("\\s+", " ");
+            limitsByRoute.put(route, parseLimits(routeBudget.substring(limitsStart + 1)));
+        }
+        return limitsByRoute;
+    }
+
+    private static SqlBudgetLimits parseLimits(String limits) {
+        int maxSelects = -1;
+        int maxSqlExecutions = -1;
+        long maxConnectionHoldTimeInMs = -1;
+        long maxAllocationInBytes = -1;
+        for (String limit : limits.split(",")) {
+            String[] nameAndValue = limit.split("=");
+            if (nameAndValue.length != 2) {
+                throw new IllegalArgumentException("Invalid SQL budget limit " + limit.trim());
+            }
+            String name = nameAndValue[0].trim();
+            long value = Long.parseLong(nameAndValue[1].trim());
+            switch (name) {
+                case "maxSelects":
+                    maxSelects = (int) value;
+                    break;
+                case "maxSqlExecutions":
+                    maxSqlExecutions = (int) value;
+                    break;
+                case "maxConnectionHoldTimeInMs":
+                    maxConnectionHoldTimeInMs = value;
+                    break;
+                case "maxAllocationInBytes":
+                    maxAllocationInBytes = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown SQL budget limit " + name);
+            }
+        }
+        return new SqlBudgetLimits(maxSelects, maxSqlExecutions, maxConnectionHoldTimeInMs, maxAllocationInBytes);
+    }
+
+    /**
+     * @return these limits, overridden by the limits of the given budget that are checked
+     */
+    SqlBudgetLimits overriddenBy(SqlBudgetLimits overridingLimits) {
+        return new SqlBudgetLimits(
+                overridingLimits.maxSelects >= 0 ? overridingLimits.maxSelects : maxSelects
+              , overridingLimits.maxSqlExecutions >= 0 ? overridingLimits.maxSqlExecutions : maxSqlExecutions
+              , overridingLimits.maxConnectionHoldTimeInMs >= 0 ? overridingLimits.maxConnectionHoldTimeInMs
+                                                                : maxConnectionHoldTimeInMs
+              , overridingLimits.maxAllocationInBytes >= 0 ? overridingLimits.maxAllocationInBytes : maxAllocationInBytes);
+    }
+
+    boolean isEmpty() {
+        return maxSelects < 0 && maxSqlExecutions < 0 && maxConnectionHoldTimeInMs < 0 && maxAllocationInBytes < 0;
+    }
+
+    int getMaxSelects() {
+        return maxSelects;
+    }
+
+    int getMaxSqlExecutions() {
+        return maxSqlExecutions;
+    }
+
+    long getMaxConnectionHoldTimeInMs() {
+        return maxConnectionHoldTimeInMs;
+    }
+
+    long getMaxAllocationInBytes() {
+        return maxAllocationInBytes;
+    }
+
+    Map<String, Object> toEventData() {
+        Map<String, Object> limitsData = new LinkedHashMap<>();
+        if (maxSelects >= 0) {
+            limitsData.put("max_selects", maxSelects);
+        }
+        if (maxSqlExecutions >= 0) {
+            limitsData.put("max_sql_executions", maxSqlExecutions);
+        }
+        if (maxConnectionHoldTimeInMs >= 0) {
+            limitsData.put("max_connection_hold_time_ms", maxConnectionHoldTimeInMs);
+        }
+        if (maxAllocationInBytes >= 0) {
+            limitsData.put("max_allocation_bytes", maxAllocationInBytes);
+        }
+        return limitsData;
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.sql.QueryTypeRetriever;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.sql.connection.ConnectionListenerRegistry;
+import org.quickperf.web.spring.config.SqlBudgetMode;
+import org.quickperf.web.spring.stats.OverheadRegistry;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
+
+/**
+ * Checks the SQL budget of an HTTP call at each SQL execution, so that a call exceeding its budget is caught at the
+ * first execution over the limit.
+ *
+ * The connection hold time is the one measured by the {@link ConnectionHoldTimeListener} of the call, the allocation
+ * is the allocation of the current thread since the handler start.
+ */
+class SqlBudgetRecorder implements SqlRecorder<SqlExecutions> {
+
+    static final String EXCEEDED_BUDGET_HEADER = "X-QuickPerf-Sql-Budget-Exceeded";
+
+    private final String endpoint;
+
+    private final SqlBudgetLimits limits;
+
+    private final SqlBudgetMode mode;
+
+    private final HttpServletResponse httpServletResponse;
+
+    private final long startAllocatedBytes;
+
+    private int selectCount;
+
+    private int sqlExecutionCount;
+
+    private String exceededLimit;
+
+    SqlBudgetRecorder(String endpoint, SqlBudgetLimits limits, SqlBudgetMode mode,
+                      HttpServletResponse httpServletResponse) {
+        this.endpoint = endpoint;
+        this.limits = limits;
+        this.mode = mode;
+        this.httpServletResponse = httpServletResponse;
+        this.startAllocatedBytes = limits.getMaxAllocationInBytes() >= 0
+                                 ? OverheadRegistry.currentThreadAllocatedBytes() : -1;
+    }
+
+    @Override
+    public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+        sqlExecutionCount++;
+        for (QueryInfo query : queries) {
+            if (QueryTypeRetriever.INSTANCE.typeOf(query) == QueryType.SELECT) {
+                selectCount++;
+            }
+        }
+        if (exceededLimit != null) {
+            return;
+        }
+        exceededLimit = findExceededLimit();
+        if (exceededLimit != null) {
+            if (!httpServletResponse.isCommitted()) {
+                httpServletResponse.setHeader(EXCEEDED_BUDGET_HEADER, exceededLimit);
+            }
+            // Rethrown by the datasource listener once all the SQL recorders and global listeners have been notified
+            if (mode == SqlBudgetMode.FAIL) {
+                throw new SqlBudgetExceededException("SQL budget of " + endpoint + " exceeded: " + exceededLimit);
+            }
+        }
+    }
+
+    private String findExceededLimit() {
+        if (limits.getMaxSelects() >= 0 && selectCount > limits.getMaxSelects()) {
+            return "maxSelects=" + limits.getMaxSelects() + " (" + selectCount + " selects)";
+        }
+        if (limits.getMaxSqlExecutions() >= 0 && sqlExecutionCount > limits.getMaxSqlExecutions()) {
+            return "maxSqlExecutions=" + limits.getMaxSqlExecutions() + " (" + sqlExecutionCount + " executions)";
+        }
+        if (limits.getMaxConnectionHoldTimeInMs() >= 0) {
+            ConnectionHoldTimeListener connectionHoldTimeListener = ConnectionListenerRegistry.INSTANCE
+                    .getConnectionListenerOfType(ConnectionHoldTimeListener.class);
+            long holdTimeInMs = connectionHoldTimeListener == null ? 0 : connectionHoldTimeListener.getHoldTimeInMs();
+            if (holdTimeInMs > limits.getMaxConnectionHoldTimeInMs()) {
+                return "maxConnectionHoldTimeInMs=" + limits.getMaxConnectionHoldTimeInMs()
+                     + " (" + holdTimeInMs + " ms)";
+            }
+        }
+        if (limits.getMaxAllocationInBytes() >= 0 && startAllocatedBytes >= 0) {
+            long allocationInBytes = OverheadRegistry.currentThreadAllocatedBytes() - startAllocatedBytes;
+            if (allocationInBytes > limits.getMaxAllocationInBytes()) {
+                return "maxAllocationInBytes=" + limits.getMaxAllocationInBytes()
+                     + " (" + allocationInBytes + " bytes)";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * To call at the end of the HTTP call: the connection hold time and the allocation may have exceeded the budget
+     * after the last SQL execution. The response is then no longer marked.
+     *
+     * @return the first exceeded limit, <code>null</code> if the budget is respected
+     */
+    String findExceededLimitAtEnd() {
+        if (exceededLimit == null) {
+            exceededLimit = findExceededLimit();
+        }
+        return exceededLimit;
+    }
+
+    boolean isExceeded() {
+        return exceededLimit != null;
+    }
+
+    SqlBudgetLimits getLimits() {
+        return limits;
+    }
+
+    int getSelectCount() {
+        return selectCount;
+    }
+
+    int getSqlExecutionCount() {
+        return sqlExecutionCount;
+    }
+
+    @Override
+    public void startRecording(TestExecutionContext testExecutionContext) {
+
+    }
+
+    @Override
+    public void stopRecording(TestExecutionContext testExecutionContext) {
+
+    }
+
+    @Override
+    public SqlExecutions findRecord(TestExecutionContext testExecutionContext) {
+        return null;
+    }
+
+    @Override
+    public void cleanResources() {
+    }
+
+}
@@ -19,7 +19,9 @@ import org.quickperf.sql.SqlExecution;
 import org.quickperf.sql.SqlExecutions;
 import org.quickperf.sql.SqlRecorder;
 import org.quickperf.sql.SqlRecorderRegistry;
+import org.quickperf.web.spring.stats.OverheadRegistry;
 
+import java.util.Collections;
 import java.util.List;
 
 class SqlExecutionsRecorder implements SqlRecorder<SqlExecutions> {
@@ -28,12 +30,26 @@ class SqlExecutionsRecorder implements SqlRecorder<SqlExecutions> {
 
     @Override
     public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
-        List<String> callStack = StackTraceUtils.getCallStack();
+        List<String> callStack = captureCallStack();
         SqlExecution sqlExecution = new SqlExecution(execInfo, queries);
         sqlExecution.setCallStack(callStack);
         sqlExecutions.add(sqlExecution);
     }
 
+    static List<String> captureCallStack() {
+        if (!OverheadRegistry.INSTANCE.isStackCaptureAllowed()) {
+            return Collections.emptyList();
+        }
+        if (!OverheadRegistry.INSTANCE.isMeasured()) {
+            return StackTraceUtils.getCallStack();
+        }
+        long startNanoTime = System.nanoTime();
+        long startAllocatedBytes = OverheadRegistry.currentThreadAllocatedBytes();
+        List<String> callStack = StackTraceUtils.getCallStack();
+        OverheadRegistry.INSTANCE.record(OverheadRegistry.STACK_CAPTURE, startNanoTime, startAllocatedBytes);
+        return callStack;
+    }
+
     @Override
     public void startRecording(TestExecutionContext testExecutionContext) {
 
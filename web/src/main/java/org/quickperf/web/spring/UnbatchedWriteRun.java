@@ -0,0 +1,70 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import java.util.List;
+
+/**
+ * Executions of a same INSERT, UPDATE or DELETE fingerprint on a connection, each one in its own database round trip,
+ * possibly interleaved with the executions of other INSERT, UPDATE or DELETE fingerprints.
+ */
+class UnbatchedWriteRun {
+
+    private final String sql;
+
+    private final int executionCount;
+
+    private final long timeInMs;
+
+    private final List<String> callStack;
+
+    private final boolean interleaved;
+
+    UnbatchedWriteRun(String sql, int executionCount, long timeInMs, List<String> callStack, boolean interleaved) {
+        this.sql = sql;
+        this.executionCount = executionCount;
+        this.timeInMs = timeInMs;
+        this.callStack = callStack;
+        this.interleaved = interleaved;
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    int getExecutionCount() {
+        return executionCount;
+    }
+
+    long getTimeInMs() {
+        return timeInMs;
+    }
+
+    List<String> getCallStack() {
+        return callStack;
+    }
+
+    /**
+     * @return <code>true</code> if other INSERT, UPDATE or DELETE statements have been executed between the executions
+     * of this run, a batch would also need the statements to be ordered
+     */
+    boolean isInterleaved() {
+        return interleaved;
+    }
+
+    int computeSavedRoundTrips(int batchSize) {
+        int batchedRoundTrips = (executionCount + batchSize - 1) / batchSize;
+        return executionCount - batchedRoundTrips;
+    }
+
+}
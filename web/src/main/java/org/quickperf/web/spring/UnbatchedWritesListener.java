@@ -0,0 +1,148 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import org.quickperf.TestExecutionContext;
+import org.quickperf.sql.QueryTypeRetriever;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.sql.SqlRecorder;
+import org.quickperf.web.spring.sql.SqlFingerprint;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Finds the runs of a same INSERT, UPDATE or DELETE fingerprint executed one at a time on a connection, that JDBC
+ * batching would have grouped. A run is tracked per fingerprint: the executions of other INSERT, UPDATE or DELETE
+ * fingerprints in between (parent and child rows inserted in the same loop) do not end it. The runs end with another
+ * statement, a batch execution or a connection change.
+ *
+ * The call stack is captured once per run, when the run reaches the minimum length.
+ */
+class UnbatchedWritesListener implements SqlRecorder<SqlExecutions> {
+
+    private final int minRunLength;
+
+    private final List<UnbatchedWriteRun> unbatchedWriteRuns = new ArrayList<>();
+
+    private final Map<String, Run> runByFingerprint = new LinkedHashMap<>();
+
+    private String runConnectionId;
+
+    private String previousFingerprint;
+
+    UnbatchedWritesListener(int minRunLength) {
+        this.minRunLength = Math.max(2, minRunLength);
+    }
+
+    @Override
+    public void addQueryExecution(ExecutionInfo execInfo, List<QueryInfo> queries, int listenerIdentifier) {
+        if (execInfo.isBatch() || queries.size() != 1) {
+            endRuns();
+            return;
+        }
+        QueryInfo query = queries.get(0);
+        if (!isInsertOrUpdateOrDelete(query)) {
+            endRuns();
+            return;
+        }
+        if (!Objects.equals(execInfo.getConnectionId(), runConnectionId)) {
+            endRuns();
+            runConnectionId = execInfo.getConnectionId();
+        }
+        String fingerprint = SqlFingerprint.of(query.getQuery());
+        Run run = runByFingerprint.get(fingerprint);
+        if (run == null) {
+            run = new Run(query.getQuery());
+            runByFingerprint.put(fingerprint, run);
+        } else if (!fingerprint.equals(previousFingerprint)) {
+            // The run resumes after another fingerprint, not only follows it
+            run.interleaved = true;
+        }
+        previousFingerprint = fingerprint;
+        run.length++;
+        run.timeInMs += execInfo.getElapsedTime();
+        if (run.length == minRunLength) {
+            run.callStack = SqlExecutionsRecorder.captureCallStack();
+        }
+    }
+
+    private boolean isInsertOrUpdateOrDelete(QueryInfo query) {
+        QueryType queryType = QueryTypeRetriever.INSTANCE.typeOf(query);
+        return queryType == QueryType.INSERT
+            || queryType == QueryType.UPDATE
+            || queryType == QueryType.DELETE;
+    }
+
+    private void endRuns() {
+        for (Run run : runByFingerprint.values()) {
+            if (run.length >= minRunLength) {
+                unbatchedWriteRuns.add(new UnbatchedWriteRun(run.sql, run.length, run.timeInMs, run.callStack
+                                                           , run.interleaved));
+            }
+        }
+        runByFingerprint.clear();
+        runConnectionId = null;
+        previousFingerprint = null;
+    }
+
+    public List<UnbatchedWriteRun> getUnbatchedWriteRuns() {
+        endRuns();
+        return unbatchedWriteRuns;
+    }
+
+    @Override
+    public void startRecording(TestExecutionContext testExecutionContext) {
+
+    }
+
+    @Override
+    public void stopRecording(TestExecutionContext testExecutionContext) {
+
+    }
+
+    @Override
+    public SqlExecutions findRecord(TestExecutionContext testExecutionContext) {
+        return null;
+    }
+
+    @Override
+    public void cleanResources() {
+    }
+
+    private static class Run {
+
+        private final String sql;
+
+        private int length;
+
+        private long timeInMs;
+
+        private boolean interleaved;
+
+        private List<String> callStack = Collections.emptyList();
+
+        private Run(String sql) {
+            this.sql = sql;
+        }
+
+    }
+
+}
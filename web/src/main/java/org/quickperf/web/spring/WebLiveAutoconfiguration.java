@@ -15,6 +15,16 @@ package org.quickperf.web.spring;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.quickperf.web.spring.config.*;
+import org.quickperf.web.spring.events.EventSink;
+import org.quickperf.web.spring.jvm.JfrAnomalyRecorder;
+import org.quickperf.web.spring.sql.CacheCandidateDetector;
+import org.quickperf.web.spring.sql.ExplainPlanCapturer;
+import org.quickperf.web.spring.sql.InListExplosionDetector;
+import org.quickperf.web.spring.sql.TopSqlFingerprints;
+import org.quickperf.web.spring.stats.DashboardController;
+import org.quickperf.web.spring.stats.EndpointStatistics;
+import org.quickperf.web.spring.stats.OverheadStatistics;
+import org.quickperf.web.spring.testgeneration.TestGenerationQueue;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
@@ -24,7 +34,12 @@ import org.springframework.context.annotation.Import;
 @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Import({ DatabaseConfig.class, JvmConfig.class, DatabaseHttpConfig.class, TestGenerationConfig.class,
 		QuickPerfBeforeRequestServletFilter.class, QuickPerfAfterRequestServletFilter.class,
-		ExternalHttCallInterceptionConfig.class, UrlConfig.class
+		ExternalHttCallInterceptionConfig.class, UrlConfig.class, EndpointStatistics.class,
+		JfrConfig.class, JfrAnomalyRecorder.class, OverheadConfig.class, OverheadStatistics.class,
+		OperationResolver.class, CacheCandidateDetector.class, TopSqlFingerprints.class,
+		InListExplosionDetector.class, ExplainPlanCapturer.class, QuickPerfWorkUnitConfiguration.class,
+		TestGenerationQueue.class, DashboardController.class, EventFileConfig.class, EventSink.class,
+		SqlBudgetConfig.class, SqlBudgetInterceptor.class
 })
 @ConditionalOnProperty(value = "quickperf.enabled", matchIfMissing = true)
 public class WebLiveAutoconfiguration {
@@ -54,6 +54,87 @@ public class DatabaseConfig {
 	@Value("${quickperf.database.sql.without-bind-param.detected:false}")
 	private boolean sqlWithoutBindParamDetected;
 
+	@Value("${quickperf.database.cache-candidate.detected:false}")
+	private boolean cacheCandidateDetected;
+
+	@Value("${quickperf.database.cache-candidate.min-execution-count:100}")
+	private int cacheCandidateMinExecutionCount;
+
+	@Value("${quickperf.database.cache-candidate.max-count:20}")
+	private int cacheCandidateMaxCount;
+
+	@Value("${quickperf.database.cache-candidate.report-interval-in-s:60}")
+	private int cacheCandidateReportIntervalInSeconds;
+
+	@Value("${quickperf.database.top-sql.recorded:true}")
+	private boolean topSqlRecorded;
+
+	@Value("${quickperf.database.top-sql.capacity:200}")
+	private int topSqlCapacity;
+
+	@Value("${quickperf.database.top-sql.reported-count:10}")
+	private int topSqlReportedCount;
+
+	@Value("${quickperf.database.top-sql.report-interval-in-s:300}")
+	private int topSqlReportIntervalInSeconds;
+
+	@Value("${quickperf.database.in-list-variants.detected:false}")
+	private boolean inListVariantsDetected;
+
+	@Value("${quickperf.database.in-list-variants.threshold:10}")
+	private int inListVariantThreshold;
+
+	@Value("${quickperf.database.statement-preparation.measured:false}")
+	private boolean statementPreparationMeasured;
+
+	@Value("${quickperf.database.statement-preparation.hot-threshold:10}")
+	private int hotStatementPreparationThreshold;
+
+	@Value("${quickperf.database.jdbc-batching.detected:false}")
+	private boolean unbatchedWriteDetected;
+
+	@Value("${quickperf.database.jdbc-batching.min-run-length:10}")
+	private int unbatchedWriteMinRunLength;
+
+	@Value("${quickperf.database.jdbc-batching.batch-size:50}")
+	private int jdbcBatchSize;
+
+	@Value("${quickperf.database.pagination.detected:false}")
+	private boolean paginationDetected;
+
+	@Value("${quickperf.database.pagination.max-offset:1000}")
+	private int paginationMaxOffset;
+
+	@Value("${quickperf.database.row-multiplication.detected:false}")
+	private boolean rowMultiplicationDetected;
+
+	@Value("${quickperf.database.row-multiplication.threshold:10}")
+	private int rowMultiplicationThreshold;
+
+	@Value("${quickperf.database.row-multiplication.min-row-count:100}")
+	private int rowMultiplicationMinRowCount;
+
+	@Value("${quickperf.database.explain-plan.captured:false}")
+	private boolean explainPlanCaptured;
+
+	@Value("${quickperf.database.explain-plan.cooldown-in-s:600}")
+	private int explainPlanCooldownInSeconds;
+
+	@Value("${quickperf.database.explain-plan.max-per-minute:6}")
+	private int explainPlanMaxPerMinute;
+
+	@Value("${quickperf.database.explain-plan.timeout-in-s:5}")
+	private int explainPlanTimeoutInSeconds;
+
+	@Value("${quickperf.database.connection.hold-time.measured:false}")
+	private boolean connectionHoldTimeMeasured;
+
+	@Value("${quickperf.database.replica-reads.detected:false}")
+	private boolean primaryReadInReadOnlyTransactionDetected;
+
+	@Value("${quickperf.database.replica-reads.primary-datasource-name:dataSource}")
+	private String primaryDataSourceName;
+
 	@ManagedAttribute
 	public boolean isNPlusOneSelectDetected() {
 		return nPlusOneSelectDetected;
@@ -150,4 +231,274 @@ public class DatabaseConfig {
 	public void setSqlWithoutBindParamDetected(boolean sqlWithoutBindParamDetected) {
 		this.sqlWithoutBindParamDetected = sqlWithoutBindParamDetected;
 	}
+
+	@ManagedAttribute
+	public boolean isCacheCandidateDetected() {
+		return cacheCandidateDetected;
+	}
+
+	@ManagedOperation
+	public void setCacheCandidateDetected(boolean cacheCandidateDetected) {
+		this.cacheCandidateDetected = cacheCandidateDetected;
+	}
+
+	@ManagedAttribute
+	public int getCacheCandidateMinExecutionCount() {
+		return cacheCandidateMinExecutionCount;
+	}
+
+	@ManagedOperation
+	public void setCacheCandidateMinExecutionCount(int cacheCandidateMinExecutionCount) {
+		this.cacheCandidateMinExecutionCount = cacheCandidateMinExecutionCount;
+	}
+
+	@ManagedAttribute
+	public int getCacheCandidateMaxCount() {
+		return cacheCandidateMaxCount;
+	}
+
+	@ManagedOperation
+	public void setCacheCandidateMaxCount(int cacheCandidateMaxCount) {
+		this.cacheCandidateMaxCount = cacheCandidateMaxCount;
+	}
+
+	@ManagedAttribute
+	public int getCacheCandidateReportIntervalInSeconds() {
+		return cacheCandidateReportIntervalInSeconds;
+	}
+
+	@ManagedOperation
+	public void setCacheCandidateReportIntervalInSeconds(int cacheCandidateReportIntervalInSeconds) {
+		this.cacheCandidateReportIntervalInSeconds = cacheCandidateReportIntervalInSeconds;
+	}
+
+	@ManagedAttribute
+	public boolean isTopSqlRecorded() {
+		return topSqlRecorded;
+	}
+
+	@ManagedOperation
+	public void setTopSqlRecorded(boolean topSqlRecorded) {
+		this.topSqlRecorded = topSqlRecorded;
+	}
+
+	@ManagedAttribute
+	public int getTopSqlCapacity() {
+		return topSqlCapacity;
+	}
+
+	@ManagedOperation
+	public void setTopSqlCapacity(int topSqlCapacity) {
+		this.topSqlCapacity = topSqlCapacity;
+	}
+
+	@ManagedAttribute
+	public int getTopSqlReportedCount() {
+		return topSqlReportedCount;
+	}
+
+	@ManagedOperation
+	public void setTopSqlReportedCount(int topSqlReportedCount) {
+		this.topSqlReportedCount = topSqlReportedCount;
+	}
+
+	@ManagedAttribute
+	public int getTopSqlReportIntervalInSeconds() {
+		return topSqlReportIntervalInSeconds;
+	}
+
+	@ManagedOperation
+	public void setTopSqlReportIntervalInSeconds(int topSqlReportIntervalInSeconds) {
+		this.topSqlReportIntervalInSeconds = topSqlReportIntervalInSeconds;
+	}
+
+	@ManagedAttribute
+	public boolean isInListVariantsDetected() {
+		return inListVariantsDetected;
+	}
+
+	@ManagedOperation
+	public void setInListVariantsDetected(boolean inListVariantsDetected) {
+		this.inListVariantsDetected = inListVariantsDetected;
+	}
+
+	@ManagedAttribute
+	public int getInListVariantThreshold() {
+		return inListVariantThreshold;
+	}
+
+	@ManagedOperation
+	public void setInListVariantThreshold(int inListVariantThreshold) {
+		this.inListVariantThreshold = inListVariantThreshold;
+	}
+
+	@ManagedAttribute
+	public boolean isStatementPreparationMeasured() {
+		return statementPreparationMeasured;
+	}
+
+	@ManagedOperation
+	public void setStatementPreparationMeasured(boolean statementPreparationMeasured) {
+		this.statementPreparationMeasured = statementPreparationMeasured;
+	}
+
+	@ManagedAttribute
+	public int getHotStatementPreparationThreshold() {
+		return hotStatementPreparationThreshold;
+	}
+
+	@ManagedOperation
+	public void setHotStatementPreparationThreshold(int hotStatementPreparationThreshold) {
+		this.hotStatementPreparationThreshold = hotStatementPreparationThreshold;
+	}
+
+	@ManagedAttribute
+	public boolean isUnbatchedWriteDetected() {
+		return unbatchedWriteDetected;
+	}
+
+	@ManagedOperation
+	public void setUnbatchedWriteDetected(boolean unbatchedWriteDetected) {
+		this.unbatchedWriteDetected = unbatchedWriteDetected;
+	}
+
+	@ManagedAttribute
+	public int getUnbatchedWriteMinRunLength() {
+		return unbatchedWriteMinRunLength;
+	}
+
+	@ManagedOperation
+	public void setUnbatchedWriteMinRunLength(int unbatchedWriteMinRunLength) {
+		this.unbatchedWriteMinRunLength = unbatchedWriteMinRunLength;
+	}
+
+	@ManagedAttribute
+	public int getJdbcBatchSize() {
+		return jdbcBatchSize;
+	}
+
+	@ManagedOperation
+	public void setJdbcBatchSize(int jdbcBatchSize) {
+		this.jdbcBatchSize = Math.max(jdbcBatchSize, 1);
+	}
+
+	@ManagedAttribute
+	public boolean isPaginationDetected() {
+		return paginationDetected;
+	}
+
+	@ManagedOperation
+	public void setPaginationDetected(boolean paginationDetected) {
+		this.paginationDetected = paginationDetected;
+	}
+
+	@ManagedAttribute
+	public int getPaginationMaxOffset() {
+		return paginationMaxOffset;
+	}
+
+	@ManagedOperation
+	public void setPaginationMaxOffset(int paginationMaxOffset) {
+		this.paginationMaxOffset = paginationMaxOffset;
+	}
+
+	@ManagedAttribute
+	public boolean isRowMultiplicationDetected() {
+		return rowMultiplicationDetected;
+	}
+
+	@ManagedOperation
+	public void setRowMultiplicationDetected(boolean rowMultiplicationDetected) {
+		this.rowMultiplicationDetected = rowMultiplicationDetected;
+	}
+
+	@ManagedAttribute
+	public int getRowMultiplicationThreshold() {
+		return rowMultiplicationThreshold;
+	}
+
+	@ManagedOperation
+	public void setRowMultiplicationThreshold(int rowMultiplicationThreshold) {
+		this.rowMultiplicationThreshold = rowMultiplicationThreshold;
+	}
+
+	@ManagedAttribute
+	public int getRowMultiplicationMinRowCount() {
+		return rowMultiplicationMinRowCount;
+	}
+
+	@ManagedOperation
+	public void setRowMultiplicationMinRowCount(int rowMultiplicationMinRowCount) {
+		this.rowMultiplicationMinRowCount = rowMultiplicationMinRowCount;
+	}
+
+	@ManagedAttribute
+	public boolean isExplainPlanCaptured() {
+		return explainPlanCaptured;
+	}
+
+	@ManagedOperation
+	public void setExplainPlanCaptured(boolean explainPlanCaptured) {
+		this.explainPlanCaptured = explainPlanCaptured;
+	}
+
+	@ManagedAttribute
+	public int getExplainPlanCooldownInSeconds() {
+		return explainPlanCooldownInSeconds;
+	}
+
+	@ManagedOperation
+	public void setExplainPlanCooldownInSeconds(int explainPlanCooldownInSeconds) {
+		this.explainPlanCooldownInSeconds = explainPlanCooldownInSeconds;
+	}
+
+	@ManagedAttribute
+	public int getExplainPlanMaxPerMinute() {
+		return explainPlanMaxPerMinute;
+	}
+
+	@ManagedOperation
+	public void setExplainPlanMaxPerMinute(int explainPlanMaxPerMinute) {
+		this.explainPlanMaxPerMinute = explainPlanMaxPerMinute;
+	}
+
+	@ManagedAttribute
+	public int getExplainPlanTimeoutInSeconds() {
+		return explainPlanTimeoutInSeconds;
+	}
+
+	@ManagedOperation
+	public void setExplainPlanTimeoutInSeconds(int explainPlanTimeoutInSeconds) {
+		this.explainPlanTimeoutInSeconds = explainPlanTimeoutInSeconds;
+	}
+
+	@ManagedAttribute
+	public boolean isConnectionHoldTimeMeasured() {
+		return connectionHoldTimeMeasured;
+	}
+
+	@ManagedOperation
+	public void setConnectionHoldTimeMeasured(boolean connectionHoldTimeMeasured) {
+		this.connectionHoldTimeMeasured = connectionHoldTimeMeasured;
+	}
+
+	@ManagedAttribute
+	public boolean isPrimaryReadInReadOnlyTransactionDetected() {
+		return primaryReadInReadOnlyTransactionDetected;
+	}
+
+	@ManagedOperation
+	public void setPrimaryReadInReadOnlyTransactionDetected(boolean primaryReadInReadOnlyTransactionDetected) {
+		this.primaryReadInReadOnlyTransactionDetected = primaryReadInReadOnlyTransactionDetected;
+	}
+
+	@ManagedAttribute
+	public String getPrimaryDataSourceName() {
+		return primaryDataSourceName;
+	}
+
+	@ManagedOperation
+	public void setPrimaryDataSourceName(String primaryDataSourceName) {
+		this.primaryDataSourceName = primaryDataSourceName;
+	}
 }
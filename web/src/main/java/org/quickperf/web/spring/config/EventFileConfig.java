@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=Event file",
+        description="QuickPerf Live MBeans")
+public class EventFileConfig {
+
+    @Value("${quickperf.events.logged:true}")
+    boolean eventLogged;
+
+    @Value("${quickperf.events.file.enabled:false}")
+    boolean eventFileEnabled;
+
+    @Value("${quickperf.events.file.folder-path:${java.io.tmpdir}/quickperf-events}")
+    String folderPath;
+
+    @Value("${quickperf.events.file.segment-size-in-mb:64}")
+    int segmentSizeInMb;
+
+    @Value("${quickperf.events.file.rotation-interval-in-min:60}")
+    int rotationIntervalInMinutes;
+
+    @Value("${quickperf.events.file.compressed:true}")
+    boolean compressed;
+
+    @Value("${quickperf.events.file.max-disk-usage-in-mb:1024}")
+    long maxDiskUsageInMb;
+
+    @ManagedAttribute
+    public boolean isEventLogged() {
+        return eventLogged;
+    }
+
+    @ManagedOperation
+    public void setEventLogged(boolean eventLogged) {
+        this.eventLogged = eventLogged;
+    }
+
+    @ManagedAttribute
+    public boolean isEventFileEnabled() {
+        return eventFileEnabled;
+    }
+
+    @ManagedAttribute
+    public String getFolderPath() {
+        return folderPath;
+    }
+
+    @ManagedAttribute
+    public int getSegmentSizeInMb() {
+        return segmentSizeInMb;
+    }
+
+    @ManagedAttribute
+    public int getRotationIntervalInMinutes() {
+        return rotationIntervalInMinutes;
+    }
+
+    @ManagedAttribute
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    @ManagedAttribute
+    public long getMaxDiskUsageInMb() {
+        return maxDiskUsageInMb;
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=JFR",
+        description="QuickPerf Live MBeans")
+public class JfrConfig {
+
+    @Value("${quickperf.jfr.anomaly-recording.enabled:false}")
+    boolean anomalyRecordingEnabled;
+
+    @Value("${quickperf.jfr.anomaly-recording.latency-threshold-in-ms:1000}")
+    long latencyThresholdInMs;
+
+    @Value("${quickperf.jfr.anomaly-recording.sql-execution-threshold:0}")
+    int sqlExecutionThreshold;
+
+    @Value("${quickperf.jfr.anomaly-recording.heap-allocation-threshold-in-bytes:0}")
+    long heapAllocationThresholdInBytes;
+
+    @Value("${quickperf.jfr.anomaly-recording.duration-in-s:30}")
+    int recordingDurationInSeconds;
+
+    @Value("${quickperf.jfr.anomaly-recording.max-size-in-mb:64}")
+    int maxSizeInMb;
+
+    @Value("${quickperf.jfr.anomaly-recording.min-interval-in-s:300}")
+    int minIntervalInSeconds;
+
+    @Value("${quickperf.jfr.anomaly-recording.settings:profile}")
+    String settings;
+
+    @Value("${quickperf.jfr.anomaly-recording.folder-path:${java.io.tmpdir}/quickperf-jfr}")
+    String folderPath;
+
+    @Value("${quickperf.jfr.anomaly-recording.max-files:10}")
+    int maxFiles;
+
+    @ManagedAttribute
+    public boolean isAnomalyRecordingEnabled() {
+        return anomalyRecordingEnabled;
+    }
+
+    @ManagedOperation
+    public void setAnomalyRecordingEnabled(boolean anomalyRecordingEnabled) {
+        this.anomalyRecordingEnabled = anomalyRecordingEnabled;
+    }
+
+    @ManagedAttribute
+    public long getLatencyThresholdInMs() {
+        return latencyThresholdInMs;
+    }
+
+    @ManagedOperation
+    public void setLatencyThresholdInMs(long latencyThresholdInMs) {
+        this.latencyThresholdInMs = latencyThresholdInMs;
+    }
+
+    @ManagedAttribute
+    public int getSqlExecutionThreshold() {
+        return sqlExecutionThreshold;
+    }
+
+    @ManagedOperation
+    public void setSqlExecutionThreshold(int sqlExecutionThreshold) {
+        this.sqlExecutionThreshold = sqlExecutionThreshold;
+    }
+
+    @ManagedAttribute
+    public long getHeapAllocationThresholdInBytes() {
+        return heapAllocationThresholdInBytes;
+    }
+
+    @ManagedOperation
+    public void setHeapAllocationThresholdInBytes(long heapAllocationThresholdInBytes) {
+        this.heapAllocationThresholdInBytes = heapAllocationThresholdInBytes;
+    }
+
+    @ManagedAttribute
+    public int getRecordingDurationInSeconds() {
+        return recordingDurationInSeconds;
+    }
+
+    @ManagedOperation
+    public void setRecordingDurationInSeconds(int recordingDurationInSeconds) {
+        this.recordingDurationInSeconds = recordingDurationInSeconds;
+    }
+
+    @ManagedAttribute
+    public int getMaxSizeInMb() {
+        return maxSizeInMb;
+    }
+
+    @ManagedOperation
+    public void setMaxSizeInMb(int maxSizeInMb) {
+        this.maxSizeInMb = maxSizeInMb;
+    }
+
+    @ManagedAttribute
+    public int getMinIntervalInSeconds() {
+        return minIntervalInSeconds;
+    }
+
+    @ManagedOperation
+    public void setMinIntervalInSeconds(int minIntervalInSeconds) {
+        this.minIntervalInSeconds = minIntervalInSeconds;
+    }
+
+    @ManagedAttribute
+    public String getSettings() {
+        return settings;
+    }
+
+    @ManagedOperation
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+
+    @ManagedAttribute
+    public String getFolderPath() {
+        return folderPath;
+    }
+
+    @ManagedOperation
+    public void setFolderPath(String folderPath) {
+        this.folderPath = folderPath;
+    }
+
+    @ManagedAttribute
+    public int getMaxFiles() {
+        return maxFiles;
+    }
+
+    @ManagedOperation
+    public void setMaxFiles(int maxFiles) {
+        this.maxFiles = maxFiles;
+    }
+
+    public boolean isLatencyWatched() {
+        return anomalyRecordingEnabled && latencyThresholdInMs > 0;
+    }
+
+    public boolean isSqlExecutionCountWatched() {
+        return anomalyRecordingEnabled && sqlExecutionThreshold > 0;
+    }
+
+    public boolean isHeapAllocationWatched() {
+        return anomalyRecordingEnabled && heapAllocationThresholdInBytes > 0;
+    }
+
+}
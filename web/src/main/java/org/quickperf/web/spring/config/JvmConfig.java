@@ -33,6 +33,18 @@ public class JvmConfig {
     @Value("${quickperf.jvm.heap-allocation.threshold.value-in-bytes:10 000 000}")
     int heapAllocationThresholdValueInBytes;
 
+    @Value("${quickperf.jvm.cpu-time.measured:false}")
+    boolean cpuTimeMeasured;
+
+    @Value("${quickperf.jvm.thread-contention.measured:false}")
+    boolean threadContentionMeasured;
+
+    @Value("${quickperf.jvm.gc-pause.measured:false}")
+    boolean gcPauseMeasured;
+
+    @Value("${quickperf.jvm.response-body-write.measured:false}")
+    boolean responseBodyWriteMeasured;
+
     @ManagedAttribute
     public boolean isHeapAllocationThresholdDetected() {
         return heapAllocationThresholdDetected;
@@ -63,4 +75,52 @@ public class JvmConfig {
         this.heapAllocationMeasured = heapAllocationMeasured;
     }
 
+    @ManagedAttribute
+    public boolean isCpuTimeMeasured() {
+        return cpuTimeMeasured;
+    }
+
+    @ManagedOperation
+    public void setCpuTimeMeasured(boolean cpuTimeMeasured) {
+        this.cpuTimeMeasured = cpuTimeMeasured;
+    }
+
+    @ManagedAttribute
+    public boolean isThreadContentionMeasured() {
+        return threadContentionMeasured;
+    }
+
+    @ManagedOperation
+    public void setThreadContentionMeasured(boolean threadContentionMeasured) {
+        this.threadContentionMeasured = threadContentionMeasured;
+    }
+
+    @ManagedAttribute
+    public boolean isGcPauseMeasured() {
+        return gcPauseMeasured;
+    }
+
+    @ManagedOperation
+    public void setGcPauseMeasured(boolean gcPauseMeasured) {
+        this.gcPauseMeasured = gcPauseMeasured;
+    }
+
+    public boolean isThreadActivityMeasured() {
+        return cpuTimeMeasured || threadContentionMeasured;
+    }
+
+    public boolean isHeapAllocationRecorded() {
+        return heapAllocationMeasured || heapAllocationThresholdDetected;
+    }
+
+    @ManagedAttribute
+    public boolean isResponseBodyWriteMeasured() {
+        return responseBodyWriteMeasured;
+    }
+
+    @ManagedOperation
+    public void setResponseBodyWriteMeasured(boolean responseBodyWriteMeasured) {
+        this.responseBodyWriteMeasured = responseBodyWriteMeasured;
+    }
+
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=Overhead",
+        description="QuickPerf Live MBeans")
+public class OverheadConfig {
+
+    @Value("${quickperf.overhead.measured:false}")
+    boolean overheadMeasured;
+
+    @Value("${quickperf.overhead.budget.percent:2}")
+    int budgetInPercent;
+
+    @Value("${quickperf.overhead.budget.per-request-in-us:0}")
+    long budgetPerRequestInMicroseconds;
+
+    @Value("${quickperf.overhead.auto-degradation.enabled:false}")
+    boolean autoDegradationEnabled;
+
+    @Value("${quickperf.overhead.evaluation-window:100}")
+    int evaluationWindow;
+
+    @Value("${quickperf.overhead.sampling-rate:10}")
+    int samplingRate;
+
+    @Value("${quickperf.overhead.recovery-windows:10}")
+    int recoveryWindows;
+
+    @ManagedAttribute
+    public boolean isOverheadMeasured() {
+        return overheadMeasured;
+    }
+
+    @ManagedOperation
+    public void setOverheadMeasured(boolean overheadMeasured) {
+        this.overheadMeasured = overheadMeasured;
+    }
+
+    @ManagedAttribute
+    public int getBudgetInPercent() {
+        return budgetInPercent;
+    }
+
+    @ManagedOperation
+    public void setBudgetInPercent(int budgetInPercent) {
+        this.budgetInPercent = budgetInPercent;
+    }
+
+    @ManagedAttribute
+    public long getBudgetPerRequestInMicroseconds() {
+        return budgetPerRequestInMicroseconds;
+    }
+
+    @ManagedOperation
+    public void setBudgetPerRequestInMicroseconds(long budgetPerRequestInMicroseconds) {
+        this.budgetPerRequestInMicroseconds = budgetPerRequestInMicroseconds;
+    }
+
+    @ManagedAttribute
+    public boolean isAutoDegradationEnabled() {
+        return autoDegradationEnabled;
+    }
+
+    @ManagedOperation
+    public void setAutoDegradationEnabled(boolean autoDegradationEnabled) {
+        this.autoDegradationEnabled = autoDegradationEnabled;
+    }
+
+    @ManagedAttribute
+    public int getEvaluationWindow() {
+        return evaluationWindow;
+    }
+
+    @ManagedOperation
+    public void setEvaluationWindow(int evaluationWindow) {
+        this.evaluationWindow = evaluationWindow;
+    }
+
+    @ManagedAttribute
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    @ManagedOperation
+    public void setSamplingRate(int samplingRate) {
+        this.samplingRate = samplingRate;
+    }
+
+    @ManagedAttribute
+    public int getRecoveryWindows() {
+        return recoveryWindows;
+    }
+
+    @ManagedOperation
+    public void setRecoveryWindows(int recoveryWindows) {
+        this.recoveryWindows = recoveryWindows;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=SQL budget",
+        description="QuickPerf Live MBeans")
+public class SqlBudgetConfig {
+
+    @Value("${quickperf.sql-budget.enabled:false}")
+    boolean sqlBudgetEnabled;
+
+    @Value("${quickperf.sql-budget.mode:HEADER}")
+    SqlBudgetMode mode;
+
+    @Value("${quickperf.sql-budget.routes:}")
+    String routeBudgets;
+
+    @Value("${quickperf.sql-budget.default.max-selects:-1}")
+    int defaultMaxSelects;
+
+    @Value("${quickperf.sql-budget.default.max-sql-executions:-1}")
+    int defaultMaxSqlExecutions;
+
+    @Value("${quickperf.sql-budget.default.max-connection-hold-time-in-ms:-1}")
+    long defaultMaxConnectionHoldTimeInMs;
+
+    @Value("${quickperf.sql-budget.default.max-allocation-in-bytes:-1}")
+    long defaultMaxAllocationInBytes;
+
+    @ManagedAttribute
+    public boolean isSqlBudgetEnabled() {
+        return sqlBudgetEnabled;
+    }
+
+    @ManagedOperation
+    public void setSqlBudgetEnabled(boolean sqlBudgetEnabled) {
+        this.sqlBudgetEnabled = sqlBudgetEnabled;
+    }
+
+    public SqlBudgetMode getMode() {
+        return mode;
+    }
+
+    @ManagedAttribute(description = "HEADER or FAIL")
+    public String getModeName() {
+        return mode.name();
+    }
+
+    @ManagedOperation(description = "HEADER or FAIL")
+    public void setModeName(String modeName) {
+        this.mode = SqlBudgetMode.valueOf(modeName.trim().toUpperCase());
+    }
+
+    /**
+     * @return the budgets by route, separated by semicolons:
+     * <code>GET /users/{id}: maxSelects=2, maxSqlExecutions=3; POST /orders: maxConnectionHoldTimeInMs=200</code>
+     */
+    @ManagedAttribute
+    public String getRouteBudgets() {
+        return routeBudgets;
+    }
+
+    @ManagedOperation
+    public void setRouteBudgets(String routeBudgets) {
+        this.routeBudgets = routeBudgets;
+    }
+
+    @ManagedAttribute
+    public int getDefaultMaxSelects() {
+        return defaultMaxSelects;
+    }
+
+    @ManagedOperation
+    public void setDefaultMaxSelects(int defaultMaxSelects) {
+        this.defaultMaxSelects = defaultMaxSelects;
+    }
+
+    @ManagedAttribute
+    public int getDefaultMaxSqlExecutions() {
+        return defaultMaxSqlExecutions;
+    }
+
+    @ManagedOperation
+    public void setDefaultMaxSqlExecutions(int defaultMaxSqlExecutions) {
+        this.defaultMaxSqlExecutions = defaultMaxSqlExecutions;
+    }
+
+    @ManagedAttribute
+    public long getDefaultMaxConnectionHoldTimeInMs() {
+        return defaultMaxConnectionHoldTimeInMs;
+    }
+
+    @ManagedOperation
+    public void setDefaultMaxConnectionHoldTimeInMs(long defaultMaxConnectionHoldTimeInMs) {
+        this.defaultMaxConnectionHoldTimeInMs = defaultMaxConnectionHoldTimeInMs;
+    }
+
+    @ManagedAttribute
+    public long getDefaultMaxAllocationInBytes() {
+        return defaultMaxAllocationInBytes;
+    }
+
+    @ManagedOperation
+    public void setDefaultMaxAllocationInBytes(long defaultMaxAllocationInBytes) {
+        this.defaultMaxAllocationInBytes = defaultMaxAllocationInBytes;
+    }
+
+}
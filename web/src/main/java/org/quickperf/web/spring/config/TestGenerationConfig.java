@@ -35,6 +35,9 @@ public class TestGenerationConfig {
     @Value("${quickperf.test-generation.java-folder-path:}")
     private String javaClassFolder;
 
+    @Value("${quickperf.test-generation.max-captured-response-bytes:1048576}")
+    private int maxCapturedResponseBytes;
+
     @ManagedOperation
     public void setJunit5GenerationEnabled(boolean junit5GenerationEnabled) {
         this.junit5GenerationEnabled = junit5GenerationEnabled;
@@ -59,6 +62,16 @@ public class TestGenerationConfig {
         return javaClassFolder;
     }
 
+    @ManagedAttribute
+    public int getMaxCapturedResponseBytes() {
+        return maxCapturedResponseBytes;
+    }
+
+    @ManagedOperation
+    public void setMaxCapturedResponseBytes(int maxCapturedResponseBytes) {
+        this.maxCapturedResponseBytes = maxCapturedResponseBytes;
+    }
+
     @ManagedOperation
     public void setTestResourceFolder(String testResourceFolder) {
         this.testResourceFolder = testResourceFolder;
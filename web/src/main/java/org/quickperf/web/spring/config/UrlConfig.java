@@ -18,6 +18,7 @@ import org.springframework.jmx.export.annotation.ManagedOperation;
 import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.stereotype.Component;
 
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.Arrays;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -29,9 +30,16 @@ import java.util.stream.Collectors;
         description="QuickPerf Live MBeans")
 public class UrlConfig {
 
+    public static final String DASHBOARD_PATH = "/quickperf";
+
     @Value("${quickperf.exclude-urls:/actuator}")
     private String excludedUrls;
 
+    @Value("${quickperf.operation.max-count:500}")
+    private int maxOperationCount;
+
+    @Value("${quickperf.dashboard.enabled:false}")
+    private boolean dashboardEnabled;
 
     @ManagedAttribute
     public String getExcludedUrls() {
@@ -43,14 +51,36 @@ public class UrlConfig {
         this.excludedUrls = excludedUrls;
     }
 
+    @ManagedAttribute
+    public int getMaxOperationCount() {
+        return maxOperationCount;
+    }
+
+    @ManagedOperation
+    public void setMaxOperationCount(int maxOperationCount) {
+        this.maxOperationCount = maxOperationCount;
+    }
+
     private Set<String> extractedExcludedUrlsSet(){
         return Arrays.stream(this.getExcludedUrls().split(",")).collect(Collectors.toSet());
     }
 
-    public boolean checkIfExcluded(String url) {
+    public boolean checkIfExcluded(HttpServletRequest request) {
+        String url = request.getRequestURL().toString();
         Predicate<Set<String>> checkExcludedUrls = excludedUrls -> {
              return   excludedUrls.stream().anyMatch(excludedUrl -> url.contains(excludedUrl));
         };
-     return checkExcludedUrls.test(extractedExcludedUrlsSet());
+     return isDashboardRequest(request) || checkExcludedUrls.test(extractedExcludedUrlsSet());
     }
+
+    // An application path such as /api/quickperf is measured, and so is /quickperf when the dashboard is disabled
+    private boolean isDashboardRequest(HttpServletRequest request) {
+        if (!dashboardEnabled) {
+            return false;
+        }
+        String dashboardPath = request.getContextPath() + DASHBOARD_PATH;
+        String requestUri = request.getRequestURI();
+        return requestUri.equals(dashboardPath) || requestUri.startsWith(dashboardPath + "/");
+    }
+
 }
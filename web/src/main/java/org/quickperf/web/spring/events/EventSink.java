@@ -0,0 +1,172 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.events;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quickperf.web.spring.config.EventFileConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Destination of the JSON events of QuickPerf Live: the logger of the event category and, when enabled, a
+ * {@link SegmentedNdjsonFile} that a shipper can tail without touching the application log.
+ *
+ * The file is flushed every second by a background thread, which also rotates, compresses and deletes the segments.
+ */
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=Events",
+        description="QuickPerf Live MBeans")
+public class EventSink implements InitializingBean, DisposableBean {
+
+    private static final long FLUSH_INTERVAL_IN_MS = 1000;
+
+    private static final long BYTES_PER_MB = 1024 * 1024;
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final EventFileConfig eventFileConfig;
+
+    private final AtomicLong fileEventCount = new AtomicLong();
+
+    private final AtomicLong fileWriteFailureCount = new AtomicLong();
+
+    private volatile boolean fileWriteFailing;
+
+    private volatile SegmentedNdjsonFile eventFile;
+
+    private ScheduledExecutorService scheduler;
+
+    public EventSink(EventFileConfig eventFileConfig) {
+        this.eventFileConfig = eventFileConfig;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!eventFileConfig.isEventFileEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quickperf-event-file");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Path folder = Paths.get(eventFileConfig.getFolderPath());
+        long segmentSizeInBytes = Math.max(eventFileConfig.getSegmentSizeInMb(), 1) * BYTES_PER_MB;
+        long rotationIntervalInMs = TimeUnit.MINUTES.toMillis(Math.max(eventFileConfig.getRotationIntervalInMinutes(), 1));
+        try {
+            eventFile = new SegmentedNdjsonFile(folder, segmentSizeInBytes, rotationIntervalInMs
+                                              , eventFileConfig.isCompressed()
+                                              , eventFileConfig.getMaxDiskUsageInMb() * BYTES_PER_MB
+                                              , scheduler);
+        } catch (IOException e) {
+            logger.warn("Unable to open the QuickPerf event file in " + folder, e);
+            scheduler.shutdown();
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::flushEventFile, FLUSH_INTERVAL_IN_MS, FLUSH_INTERVAL_IN_MS
+                                       , TimeUnit.MILLISECONDS);
+        logger.info("QuickPerf events are written to " + eventFile.getActiveSegmentPath());
+    }
+
+    @Override
+    public void destroy() {
+        SegmentedNdjsonFile closedEventFile = eventFile;
+        if (closedEventFile == null) {
+            return;
+        }
+        eventFile = null;
+        try {
+            closedEventFile.close();
+        } catch (IOException e) {
+            logger.warn("Unable to close the QuickPerf event file", e);
+        }
+        // The compressions already submitted are still executed
+        scheduler.shutdown();
+    }
+
+    public void info(String loggerName, String event) {
+        if (eventFileConfig.isEventLogged()) {
+            LogFactory.getLog(loggerName).info(event);
+        }
+        writeToFile(event);
+    }
+
+    public void warn(String loggerName, String event) {
+        if (eventFileConfig.isEventLogged()) {
+            LogFactory.getLog(loggerName).warn(event);
+        }
+        writeToFile(event);
+    }
+
+    private void writeToFile(String event) {
+        SegmentedNdjsonFile currentEventFile = eventFile;
+        if (currentEventFile == null) {
+            return;
+        }
+        try {
+            currentEventFile.append(event);
+            fileEventCount.incrementAndGet();
+        } catch (IOException e) {
+            logFailure("Unable to write the QuickPerf events to " + currentEventFile.getActiveSegmentPath(), e);
+        }
+    }
+
+    private void flushEventFile() {
+        SegmentedNdjsonFile currentEventFile = eventFile;
+        if (currentEventFile == null) {
+            return;
+        }
+        try {
+            currentEventFile.flushAndRotateIfDue();
+            if (fileWriteFailing) {
+                fileWriteFailing = false;
+                logger.info("QuickPerf events written again to " + currentEventFile.getActiveSegmentPath());
+            }
+        } catch (IOException e) {
+            logFailure("Unable to flush the QuickPerf events to " + currentEventFile.getActiveSegmentPath(), e);
+        }
+    }
+
+    // Only the first failure of a series is logged, not to flood the application log
+    private void logFailure(String message, IOException e) {
+        fileWriteFailureCount.incrementAndGet();
+        if (!fileWriteFailing) {
+            fileWriteFailing = true;
+            logger.warn(message, e);
+        }
+    }
+
+    @ManagedAttribute
+    public long getFileEventCount() {
+        return fileEventCount.get();
+    }
+
+    @ManagedAttribute
+    public long getFileWriteFailureCount() {
+        return fileWriteFailureCount.get();
+    }
+
+}
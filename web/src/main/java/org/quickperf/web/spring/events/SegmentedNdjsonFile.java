@@ -0,0 +1,298 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.events;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only NDJSON file made of segments: one event per line, written through a large buffer to a
+ * <code>FileChannel</code>.
+ *
+ * The active segment is <code>quickperf-events.ndjson</code>. When it reaches the segment size or the rotation
+ * interval, it is renamed to <code>quickperf-events-&lt;time&gt;-&lt;sequence&gt;.ndjson</code> and a new active
+ * segment is opened. The rotation, the compression of the closed segments and the deletion of the oldest ones to stay
+ * under the disk usage cap are all done by the given executor, never by the thread writing the events: the segment
+ * size may be exceeded until the executor rotates the segment.
+ *
+ * The segments are not preallocated: a tailing shipper would read the zero-filled space as content. The buffered
+ * events are written to the channel by {@link #flushAndRotateIfDue()}, without fsync. The buffered events are dropped
+ * if they cannot be written, and a failed rotation keeps writing to the active segment, reopened if needed.
+ */
+public class SegmentedNdjsonFile implements Closeable {
+
+    static final String ACTIVE_SEGMENT_NAME = "quickperf-events.ndjson";
+
+    static final String CLOSED_SEGMENT_PREFIX = "quickperf-events-";
+
+    private static final String NDJSON_EXTENSION = ".ndjson";
+
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private static final String PARTIAL_EXTENSION = ".part";
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private static final DateTimeFormatter SEGMENT_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneId.systemDefault());
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final Path folder;
+
+    private final Path activeSegmentPath;
+
+    private final long segmentSizeInBytes;
+
+    private final long rotationIntervalInMs;
+
+    private final boolean compressed;
+
+    private final long maxDiskUsageInBytes;
+
+    private final Executor closedSegmentExecutor;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private FileChannel channel;
+
+    private long segmentLength;
+
+    private long segmentStartInMs;
+
+    private long closedSegmentCount;
+
+    private boolean rotationRequested;
+
+    public SegmentedNdjsonFile(Path folder, long segmentSizeInBytes, long rotationIntervalInMs, boolean compressed,
+                               long maxDiskUsageInBytes, Executor closedSegmentExecutor) throws IOException {
+        this.folder = folder;
+        this.activeSegmentPath = folder.resolve(ACTIVE_SEGMENT_NAME);
+        this.segmentSizeInBytes = segmentSizeInBytes;
+        this.rotationIntervalInMs = rotationIntervalInMs;
+        this.compressed = compressed;
+        this.maxDiskUsageInBytes = maxDiskUsageInBytes;
+        this.closedSegmentExecutor = closedSegmentExecutor;
+        Files.createDirectories(folder);
+        closeSegmentsOfPreviousRun();
+        openActiveSegment();
+    }
+
+    // The active segment left by a previous run is closed, and the segments it did not have time to compress are
+    // compressed now
+    private void closeSegmentsOfPreviousRun() throws IOException {
+        if (Files.exists(activeSegmentPath)) {
+            if (Files.size(activeSegmentPath) == 0) {
+                Files.delete(activeSegmentPath);
+            } else {
+                Files.move(activeSegmentPath, nextClosedSegmentPath());
+            }
+        }
+        for (Path closedSegment : findClosedSegments()) {
+            if (closedSegment.getFileName().toString().endsWith(NDJSON_EXTENSION)) {
+                submit(closedSegment);
+            }
+        }
+        closedSegmentExecutor.execute(this::enforceDiskUsageCap);
+    }
+
+    // The active segment may not be empty, if its rotation failed
+    private void openActiveSegment() throws IOException {
+        channel = FileChannel.open(activeSegmentPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE
+                                                    , StandardOpenOption.APPEND);
+        segmentLength = channel.size();
+        segmentStartInMs = System.currentTimeMillis();
+    }
+
+    public synchronized void append(String event) throws IOException {
+        if (!channel.isOpen()) {
+            throw new ClosedChannelException();
+        }
+        byte[] eventBytes = event.getBytes(StandardCharsets.UTF_8);
+        int lineLength = eventBytes.length + 1;
+        if (!rotationRequested && segmentLength > 0 && segmentLength + lineLength > segmentSizeInBytes) {
+            rotationRequested = true;
+            try {
+                closedSegmentExecutor.execute(this::rotateIfRequested);
+            } catch (RejectedExecutionException e) {
+                rotationRequested = false;
+            }
+        }
+        if (lineLength > buffer.remaining()) {
+            writeBuffer();
+        }
+        if (lineLength > buffer.capacity()) {
+            writeFully(ByteBuffer.wrap(eventBytes));
+            writeFully(ByteBuffer.wrap(new byte[]{'\n'}));
+        } else {
+            buffer.put(eventBytes).put((byte) '\n');
+        }
+        segmentLength += lineLength;
+    }
+
+    /**
+     * Flushes the buffered events and closes the active segment if it is older than the rotation interval.
+     */
+    public synchronized void flushAndRotateIfDue() throws IOException {
+        if (!channel.isOpen()) {
+            openActiveSegment();
+        }
+        writeBuffer();
+        if (segmentLength > 0 && System.currentTimeMillis() - segmentStartInMs >= rotationIntervalInMs) {
+            rotate();
+        }
+    }
+
+    private synchronized void rotateIfRequested() {
+        try {
+            if (rotationRequested && channel.isOpen()) {
+                rotate();
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to rotate the QuickPerf event segment " + activeSegmentPath, e);
+        }
+    }
+
+    private void rotate() throws IOException {
+        rotationRequested = false;
+        writeBuffer();
+        channel.close();
+        Path closedSegment = nextClosedSegmentPath();
+        try {
+            Files.move(activeSegmentPath, closedSegment);
+        } finally {
+            openActiveSegment();
+        }
+        submit(closedSegment);
+    }
+
+    private Path nextClosedSegmentPath() {
+        closedSegmentCount++;
+        String time = SEGMENT_TIME_FORMAT.format(Instant.now());
+        String fileName = CLOSED_SEGMENT_PREFIX + time + "-" + String.format("%06d", closedSegmentCount)
+                        + NDJSON_EXTENSION;
+        return folder.resolve(fileName);
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        try {
+            writeFully(buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private void submit(Path closedSegment) {
+        closedSegmentExecutor.execute(() -> {
+            if (compressed) {
+                compress(closedSegment);
+            }
+            enforceDiskUsageCap();
+        });
+    }
+
+    private void compress(Path closedSegment) {
+        Path compressedSegment = closedSegment.resolveSibling(closedSegment.getFileName() + GZIP_EXTENSION);
+        Path partialSegment = closedSegment.resolveSibling(compressedSegment.getFileName() + PARTIAL_EXTENSION);
+        try {
+            try (InputStream input = Files.newInputStream(closedSegment);
+                 OutputStream output = new GZIPOutputStream(Files.newOutputStream(partialSegment), BUFFER_SIZE)) {
+                input.transferTo(output);
+            }
+            Files.move(partialSegment, compressedSegment, StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(closedSegment);
+        } catch (IOException e) {
+            logger.warn("Unable to compress the QuickPerf event segment " + closedSegment, e);
+        }
+    }
+
+    // The active segment is counted at its maximum size, so that the cap holds until the next rotation. The closed
+    // segment names start with their closing time, so the oldest segments come first.
+    private void enforceDiskUsageCap() {
+        try {
+            List<Path> closedSegments = findClosedSegments();
+            long diskUsageInBytes = segmentSizeInBytes;
+            List<Long> segmentSizes = new ArrayList<>(closedSegments.size());
+            for (Path closedSegment : closedSegments) {
+                long segmentSize = Files.size(closedSegment);
+                segmentSizes.add(segmentSize);
+                diskUsageInBytes += segmentSize;
+            }
+            for (int i = 0; i < closedSegments.size() && diskUsageInBytes > maxDiskUsageInBytes; i++) {
+                Files.deleteIfExists(closedSegments.get(i));
+                diskUsageInBytes -= segmentSizes.get(i);
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to enforce the disk usage cap of the QuickPerf events in " + folder, e);
+        }
+    }
+
+    private List<Path> findClosedSegments() throws IOException {
+        List<Path> closedSegments = new ArrayList<>();
+        try (DirectoryStream<Path> folderContent = Files.newDirectoryStream(folder, CLOSED_SEGMENT_PREFIX + "*")) {
+            for (Path path : folderContent) {
+                if (!path.getFileName().toString().endsWith(PARTIAL_EXTENSION)) {
+                    closedSegments.add(path);
+                }
+            }
+        }
+        closedSegments.sort((p1, p2) -> p1.getFileName().toString().compareTo(p2.getFileName().toString()));
+        return closedSegments;
+    }
+
+    public Path getActiveSegmentPath() {
+        return activeSegmentPath;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            writeBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+
+}
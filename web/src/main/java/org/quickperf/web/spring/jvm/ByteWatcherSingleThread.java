@@ -35,6 +35,7 @@ public class ByteWatcherSingleThread {
             new String[]{long.class.getName()};
     private static final MBeanServer mBeanServer;
     private static final ObjectName name;
+    private static volatile long measuringCostInBytes = -1;
 
     private final String threadName;
     private final Thread thread;
@@ -70,13 +71,27 @@ public class ByteWatcherSingleThread {
         this.thread = thread;
         threadName = thread.getName();
         PARAMS = new Object[]{tid};
+        MEASURING_COST_IN_BYTES = measuringCostInBytes(PARAMS);
+        reset();
+    }
+
+    // The calibration takes about 500 ms, it is done once instead of for each HTTP call
+    private static long measuringCostInBytes(Object[] params) {
+        long measuringCost = measuringCostInBytes;
+        if (measuringCost < 0) {
+            measuringCost = calibrate(params);
+            measuringCostInBytes = measuringCost;
+        }
+        return measuringCost;
+    }
 
-        long calibrate = threadAllocatedBytes();
+    private static long calibrate(Object[] params) {
+        long calibrate = threadAllocatedBytes(params);
         // calibrate
         for (int repeats = 0; repeats < 10; repeats++) {
             for (int i = 0; i < 10_000; i++) {
                 // run a few loops to allow for startup anomalies
-                calibrate = threadAllocatedBytes();
+                calibrate = threadAllocatedBytes(params);
             }
             try {
                 Thread.sleep(50);
@@ -85,8 +100,7 @@ public class ByteWatcherSingleThread {
                 break;
             }
         }
-        MEASURING_COST_IN_BYTES = threadAllocatedBytes() - calibrate;
-        reset();
+        return threadAllocatedBytes(params) - calibrate;
     }
 
     public long getMeasuringCostInBytes() {
@@ -98,11 +112,15 @@ public class ByteWatcherSingleThread {
     }
 
     long threadAllocatedBytes() {
+        return threadAllocatedBytes(PARAMS);
+    }
+
+    private static long threadAllocatedBytes(Object[] params) {
         try {
             return (long) mBeanServer.invoke(
                     name,
                     GET_THREAD_ALLOCATED_BYTES,
-                    PARAMS,
+                    params,
                     SIGNATURE
             );
         } catch (Exception e) {
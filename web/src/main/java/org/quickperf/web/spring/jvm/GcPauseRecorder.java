@@ -0,0 +1,59 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.jvm;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stop-the-world pauses that happened while an HTTP call was in flight.
+ *
+ * The recorder is updated by the thread delivering the GC notifications, so its counters are atomic.
+ */
+public class GcPauseRecorder {
+
+    private final long startUptimeInMs;
+
+    private final long startNanoTime;
+
+    private final AtomicLong pauseTimeInMs = new AtomicLong();
+
+    private final AtomicInteger pauseCount = new AtomicInteger();
+
+    GcPauseRecorder(long startUptimeInMs) {
+        this.startUptimeInMs = startUptimeInMs;
+        this.startNanoTime = System.nanoTime();
+    }
+
+    void recordPause(long pauseStartUptimeInMs, long pauseEndUptimeInMs) {
+        long overlapStart = Math.max(pauseStartUptimeInMs, startUptimeInMs);
+        long overlapInMs = pauseEndUptimeInMs - overlapStart;
+        if (overlapInMs >= 0) {
+            pauseTimeInMs.addAndGet(overlapInMs);
+            pauseCount.incrementAndGet();
+        }
+    }
+
+    public long getPauseTimeInMs() {
+        return pauseTimeInMs.get();
+    }
+
+    public int getPauseCount() {
+        return pauseCount.get();
+    }
+
+    public long getElapsedTimeInMs() {
+        return (System.nanoTime() - startNanoTime) / 1_000_000;
+    }
+
+}
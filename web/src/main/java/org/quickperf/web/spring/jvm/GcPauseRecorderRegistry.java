@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.jvm;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Attributes the stop-the-world pauses notified by the garbage collector MXBeans to the HTTP calls in flight.
+ *
+ * GC notifications are delivered asynchronously, so a pause ending just before the end of an HTTP call may be
+ * notified after the call has been unregistered. In this case, the pause is not attributed to the call.
+ */
+public class GcPauseRecorderRegistry {
+
+    public static final GcPauseRecorderRegistry INSTANCE = new GcPauseRecorderRegistry();
+
+    private static final RuntimeMXBean RUNTIME_MX_BEAN = ManagementFactory.getRuntimeMXBean();
+
+    private static final String CONCURRENT_CYCLE_GC_ACTION = "end of GC cycle";
+
+    private static final ThreadLocal<GcPauseRecorder> GC_PAUSE_RECORDER = new ThreadLocal<>();
+
+    private final Set<GcPauseRecorder> inFlightRecorders = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean gcListenerInstalled;
+
+    private GcPauseRecorderRegistry() { }
+
+    public void register() {
+        installGcListenerIfNeeded();
+        GcPauseRecorder gcPauseRecorder = new GcPauseRecorder(RUNTIME_MX_BEAN.getUptime());
+        inFlightRecorders.add(gcPauseRecorder);
+        GC_PAUSE_RECORDER.set(gcPauseRecorder);
+    }
+
+    public void unregister() {
+        GcPauseRecorder gcPauseRecorder = GC_PAUSE_RECORDER.get();
+        if (gcPauseRecorder != null) {
+            inFlightRecorders.remove(gcPauseRecorder);
+            GC_PAUSE_RECORDER.remove();
+        }
+    }
+
+    public GcPauseRecorder get() {
+        return GC_PAUSE_RECORDER.get();
+    }
+
+    public int getInFlightCount() {
+        return inFlightRecorders.size();
+    }
+
+    private void installGcListenerIfNeeded() {
+        if (gcListenerInstalled) {
+            return;
+        }
+        synchronized (this) {
+            if (!gcListenerInstalled) {
+                installGcListener();
+                gcListenerInstalled = true;
+            }
+        }
+    }
+
+    private void installGcListener() {
+        NotificationListener gcListener = new StopTheWorldPauseListener();
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gcBean instanceof NotificationEmitter) {
+                NotificationEmitter notificationEmitter = (NotificationEmitter) gcBean;
+                notificationEmitter.addNotificationListener(gcListener, null, null);
+            }
+        }
+    }
+
+    private class StopTheWorldPauseListener implements NotificationListener {
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo gcNotificationInfo =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if (isConcurrentCycle(gcNotificationInfo)) {
+                return;
+            }
+            GcInfo gcInfo = gcNotificationInfo.getGcInfo();
+            for (GcPauseRecorder inFlightRecorder : inFlightRecorders) {
+                inFlightRecorder.recordPause(gcInfo.getStartTime(), gcInfo.getEndTime());
+            }
+        }
+
+        // Notified by the "ZGC Cycles" or "Shenandoah Cycles" beans, whose pauses are notified by the "Pauses" beans.
+        // The "G1 Concurrent GC" bean notifies the Remark and Cleanup pauses ("end of concurrent GC pause" action).
+        private boolean isConcurrentCycle(GarbageCollectionNotificationInfo gcNotificationInfo) {
+            return CONCURRENT_CYCLE_GC_ACTION.equals(gcNotificationInfo.getGcAction());
+        }
+
+    }
+
+}
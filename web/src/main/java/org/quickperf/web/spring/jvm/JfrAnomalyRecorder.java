@@ -0,0 +1,207 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.jvm;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quickperf.web.spring.BackgroundExecutors;
+import org.quickperf.web.spring.config.JfrConfig;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a continuous JFR recording of the last seconds and dumps it to a file when an HTTP call is anomalous.
+ *
+ * The anomaly is only known at the end of the call: the recording is kept in memory and on disk with a maximum age
+ * and size, so that the dumped file covers the seconds before the end of the call, the call included. The dumps are
+ * rate limited, written by a background thread, and the recording folder keeps the most recent files only.
+ */
+@Component
+public class JfrAnomalyRecorder implements InitializingBean, DisposableBean {
+
+    private static final String FILE_PREFIX = "quickperf-";
+
+    private static final String FILE_EXTENSION = ".jfr";
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final JfrConfig jfrConfig;
+
+    private final AtomicLong nextAllowedDumpInMs = new AtomicLong();
+
+    private ThreadPoolExecutor dumpExecutor;
+
+    // Written while holding the lock of this recorder
+    private volatile Recording recording;
+
+    private volatile String recordingSettings;
+
+    private volatile long recordingMaxAgeInSeconds;
+
+    private volatile long recordingMaxSizeInBytes;
+
+    public JfrAnomalyRecorder(JfrConfig jfrConfig) {
+        this.jfrConfig = jfrConfig;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        dumpExecutor = BackgroundExecutors.newSingleThreadExecutor("quickperf-jfr-dump", 1);
+        updateRecording();
+    }
+
+    /**
+     * Starts, updates or stops the continuous recording following the configuration, which can be changed through
+     * JMX. Synchronizes only if the recording has to change.
+     */
+    public void updateRecording() {
+        Recording currentRecording = recording;
+        boolean enabled = jfrConfig.isAnomalyRecordingEnabled();
+        if (enabled == (currentRecording != null) && (!enabled || isUpToDate())) {
+            return;
+        }
+        synchronized (this) {
+            if (!jfrConfig.isAnomalyRecordingEnabled()) {
+                closeRecording();
+            } else if (recording == null || !jfrConfig.getSettings().equals(recordingSettings)) {
+                closeRecording();
+                startRecording();
+            } else {
+                recordingMaxAgeInSeconds = jfrConfig.getRecordingDurationInSeconds();
+                recordingMaxSizeInBytes = jfrConfig.getMaxSizeInMb() * 1024L * 1024L;
+                recording.setMaxAge(Duration.ofSeconds(recordingMaxAgeInSeconds));
+                recording.setMaxSize(recordingMaxSizeInBytes);
+            }
+        }
+    }
+
+    private boolean isUpToDate() {
+        return jfrConfig.getSettings().equals(recordingSettings)
+            && jfrConfig.getRecordingDurationInSeconds() == recordingMaxAgeInSeconds
+            && jfrConfig.getMaxSizeInMb() * 1024L * 1024L == recordingMaxSizeInBytes;
+    }
+
+    private void startRecording() {
+        try {
+            Configuration configuration = Configuration.getConfiguration(jfrConfig.getSettings());
+            Recording newRecording = new Recording(configuration);
+            newRecording.setName("QuickPerf - anomalous calls");
+            newRecording.setToDisk(true);
+            recordingMaxAgeInSeconds = jfrConfig.getRecordingDurationInSeconds();
+            recordingMaxSizeInBytes = jfrConfig.getMaxSizeInMb() * 1024L * 1024L;
+            newRecording.setMaxAge(Duration.ofSeconds(recordingMaxAgeInSeconds));
+            newRecording.setMaxSize(recordingMaxSizeInBytes);
+            newRecording.start();
+            recordingSettings = jfrConfig.getSettings();
+            recording = newRecording;
+        } catch (IOException | ParseException | RuntimeException e) {
+            logger.warn("Unable to start the JFR recording, the recording of the anomalous calls is disabled", e);
+            jfrConfig.setAnomalyRecordingEnabled(false);
+        }
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            recordingSettings = null;
+        }
+    }
+
+    /**
+     * @return the path of the file the last seconds of recording will be dumped to, or <code>null</code> if no dump
+     * was requested
+     */
+    public Path dumpRecordingIfAllowed(String endpoint) {
+        Recording currentRecording = recording;
+        if (currentRecording == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        long nextAllowedDump = nextAllowedDumpInMs.get();
+        if (now < nextAllowedDump) {
+            return null;
+        }
+        long minIntervalInMs = jfrConfig.getMinIntervalInSeconds() * 1000L;
+        if (!nextAllowedDumpInMs.compareAndSet(nextAllowedDump, now + minIntervalInMs)) {
+            return null;
+        }
+        Path folder = Paths.get(jfrConfig.getFolderPath());
+        Path recordingPath = folder.resolve(buildFileName(endpoint, now));
+        try {
+            dumpExecutor.execute(() -> dump(currentRecording, folder, recordingPath));
+            return recordingPath;
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private void dump(Recording currentRecording, Path folder, Path recordingPath) {
+        try {
+            Files.createDirectories(folder);
+            deleteOldestRecordings(folder, jfrConfig.getMaxFiles() - 1);
+            currentRecording.dump(recordingPath);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to dump the JFR recording to " + recordingPath, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        dumpExecutor.shutdownNow();
+        synchronized (this) {
+            closeRecording();
+        }
+    }
+
+    private String buildFileName(String endpoint, long timestamp) {
+        String endpointPart = endpoint.replaceAll("[^A-Za-z0-9]+", "_");
+        if (endpointPart.length() > 64) {
+            endpointPart = endpointPart.substring(0, 64);
+        }
+        return FILE_PREFIX + timestamp + "-" + endpointPart + FILE_EXTENSION;
+    }
+
+    private void deleteOldestRecordings(Path folder, int keptFileNumber) throws IOException {
+        List<Path> recordings;
+        try (Stream<Path> files = Files.list(folder)) {
+            recordings = files.filter(file -> isRecording(file.getFileName().toString()))
+                              .sorted((f1, f2) -> f2.getFileName().compareTo(f1.getFileName()))
+                              .collect(Collectors.toList());
+        }
+        for (int i = Math.max(keptFileNumber, 0); i < recordings.size(); i++) {
+            Files.deleteIfExists(recordings.get(i));
+        }
+    }
+
+    private boolean isRecording(String fileName) {
+        return fileName.startsWith(FILE_PREFIX) && fileName.endsWith(FILE_EXTENSION);
+    }
+
+}
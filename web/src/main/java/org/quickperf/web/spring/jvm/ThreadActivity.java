@@ -0,0 +1,58 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.jvm;
+
+/**
+ * Thread activity measured during an HTTP call. A negative value means that the measure is not available on the JVM.
+ */
+public class ThreadActivity {
+
+    private final long cpuTimeInNs;
+
+    private final long blockedCount;
+
+    private final long blockedTimeInMs;
+
+    private final long waitedCount;
+
+    private final long waitedTimeInMs;
+
+    public ThreadActivity(long cpuTimeInNs, long blockedCount, long blockedTimeInMs, long waitedCount, long waitedTimeInMs) {
+        this.cpuTimeInNs = cpuTimeInNs;
+        this.blockedCount = blockedCount;
+        this.blockedTimeInMs = blockedTimeInMs;
+        this.waitedCount = waitedCount;
+        this.waitedTimeInMs = waitedTimeInMs;
+    }
+
+    public long getCpuTimeInNs() {
+        return cpuTimeInNs;
+    }
+
+    public long getBlockedCount() {
+        return blockedCount;
+    }
+
+    public long getBlockedTimeInMs() {
+        return blockedTimeInMs;
+    }
+
+    public long getWaitedCount() {
+        return waitedCount;
+    }
+
+    public long getWaitedTimeInMs() {
+        return waitedTimeInMs;
+    }
+
+}
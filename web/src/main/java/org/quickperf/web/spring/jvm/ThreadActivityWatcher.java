@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.jvm;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the CPU time, the blocked time and the waited time of the current thread
+ * since the last reset().
+ *
+ * Blocked and waited times are only available if thread contention monitoring is enabled
+ * on the JVM. Otherwise, only the blocked and waited counts are measured.
+ */
+public class ThreadActivityWatcher {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final long tid;
+
+    private long cpuTimeInNsAtStart;
+
+    private long blockedCountAtStart;
+
+    private long blockedTimeInMsAtStart;
+
+    private long waitedCountAtStart;
+
+    private long waitedTimeInMsAtStart;
+
+    public ThreadActivityWatcher() {
+        this.tid = Thread.currentThread().getId();
+    }
+
+    public static boolean isCpuTimeSupported() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+    }
+
+    public static boolean isContentionMonitoringSupported() {
+        return THREAD_MX_BEAN.isThreadContentionMonitoringSupported();
+    }
+
+    public static boolean isContentionMonitoringEnabled() {
+        return isContentionMonitoringSupported() && THREAD_MX_BEAN.isThreadContentionMonitoringEnabled();
+    }
+
+    public static void enableContentionMonitoring() {
+        if (isContentionMonitoringSupported() && !THREAD_MX_BEAN.isThreadContentionMonitoringEnabled()) {
+            THREAD_MX_BEAN.setThreadContentionMonitoringEnabled(true);
+        }
+    }
+
+    public void reset() {
+        checkThreadSafety();
+        cpuTimeInNsAtStart = currentThreadCpuTime();
+        ThreadInfo threadInfo = THREAD_MX_BEAN.getThreadInfo(tid);
+        if (threadInfo != null) {
+            blockedCountAtStart = threadInfo.getBlockedCount();
+            blockedTimeInMsAtStart = threadInfo.getBlockedTime();
+            waitedCountAtStart = threadInfo.getWaitedCount();
+            waitedTimeInMsAtStart = threadInfo.getWaitedTime();
+        }
+    }
+
+    /**
+     * Calculates the thread activity since the last reset().
+     */
+    public ThreadActivity calculateActivity() {
+        checkThreadSafety();
+        long cpuTimeInNs = cpuTimeInNsAtStart < 0 ? -1 : currentThreadCpuTime() - cpuTimeInNsAtStart;
+        ThreadInfo threadInfo = THREAD_MX_BEAN.getThreadInfo(tid);
+        if (threadInfo == null) {
+            return new ThreadActivity(cpuTimeInNs, -1, -1, -1, -1);
+        }
+        long blockedCount = threadInfo.getBlockedCount() - blockedCountAtStart;
+        long waitedCount = threadInfo.getWaitedCount() - waitedCountAtStart;
+        long blockedTimeInMs = elapsedOrUnavailable(threadInfo.getBlockedTime(), blockedTimeInMsAtStart);
+        long waitedTimeInMs = elapsedOrUnavailable(threadInfo.getWaitedTime(), waitedTimeInMsAtStart);
+        return new ThreadActivity(cpuTimeInNs, blockedCount, blockedTimeInMs, waitedCount, waitedTimeInMs);
+    }
+
+    // -1 is returned by ThreadInfo when contention monitoring is disabled
+    private long elapsedOrUnavailable(long currentTimeInMs, long timeInMsAtStart) {
+        if (currentTimeInMs < 0 || timeInMsAtStart < 0) {
+            return -1;
+        }
+        return currentTimeInMs - timeInMsAtStart;
+    }
+
+    private long currentThreadCpuTime() {
+        if (!isCpuTimeSupported()) {
+            return -1;
+        }
+        return THREAD_MX_BEAN.getCurrentThreadCpuTime();
+    }
+
+    private void checkThreadSafety() {
+        if (tid != Thread.currentThread().getId()) {
+            throw new IllegalStateException(
+                    "ThreadActivityWatcher must not be used over more than 1 thread.");
+        }
+    }
+
+}
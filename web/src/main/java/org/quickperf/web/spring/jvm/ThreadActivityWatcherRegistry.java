@@ -0,0 +1,35 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.jvm;
+
+public class ThreadActivityWatcherRegistry {
+
+    public static final ThreadActivityWatcherRegistry INSTANCE = new ThreadActivityWatcherRegistry();
+
+    private ThreadActivityWatcherRegistry() { }
+
+    private static final ThreadLocal<ThreadActivityWatcher> THREAD_ACTIVITY_WATCHER = new ThreadLocal<>();
+
+    public void register(ThreadActivityWatcher threadActivityWatcher) {
+        THREAD_ACTIVITY_WATCHER.set(threadActivityWatcher);
+    }
+
+    public void unregister() {
+        THREAD_ACTIVITY_WATCHER.remove();
+    }
+
+    public ThreadActivityWatcher get() {
+        return THREAD_ACTIVITY_WATCHER.get();
+    }
+
+}
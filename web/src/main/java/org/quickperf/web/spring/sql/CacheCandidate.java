@@ -0,0 +1,58 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+/**
+ * A SELECT executed with the same parameter values by many HTTP calls.
+ */
+public class CacheCandidate {
+
+    private final String sql;
+
+    private final long paramHash;
+
+    private final long executionCount;
+
+    private final long totalTimeInMs;
+
+    private final long executionsPerMinute;
+
+    CacheCandidate(String sql, long paramHash, long executionCount, long totalTimeInMs, long executionsPerMinute) {
+        this.sql = sql;
+        this.paramHash = paramHash;
+        this.executionCount = executionCount;
+        this.totalTimeInMs = totalTimeInMs;
+        this.executionsPerMinute = executionsPerMinute;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getParamHash() {
+        return paramHash;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    public long getTotalTimeInMs() {
+        return totalTimeInMs;
+    }
+
+    public long getExecutionsPerMinute() {
+        return executionsPerMinute;
+    }
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jakewharton.fliptables.FlipTable;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quickperf.web.spring.HashUtils;
+import org.quickperf.web.spring.config.DatabaseConfig;
+import org.quickperf.web.spring.events.EventSink;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the SELECT statements executed with the same parameter values by many HTTP calls: their result could be
+ * cached.
+ *
+ * Executions are counted per (SQL text, parameter values hash) in count-min sketches, so that the memory does not depend
+ * on the number of distinct parameter values. The most executed ones are kept as heavy hitters. Each report interval,
+ * the heavy hitters are reported and the counting restarts.
+ */
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=Cache candidates",
+        description="QuickPerf Live MBeans")
+public class CacheCandidateDetector implements InitializingBean, DisposableBean {
+
+    private static final int SKETCH_WIDTH = 4096;
+
+    private static final String[] HEADERS = {"SQL", "Param hash", "Executions", "Executions/min", "Total time (ms)"};
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final DatabaseConfig databaseConfig;
+
+    private final EventSink eventSink;
+
+    private final CountMinSketch executionCounts = new CountMinSketch(SKETCH_WIDTH);
+
+    private final CountMinSketch executionTimesInMs = new CountMinSketch(SKETCH_WIDTH);
+
+    private final ConcurrentMap<Long, HeavyHitter> heavyHittersByKey = new ConcurrentHashMap<>();
+
+    private volatile long admissionThreshold;
+
+    private volatile long windowStartInMs = System.currentTimeMillis();
+
+    private volatile List<CacheCandidate> lastReportedCandidates = Collections.emptyList();
+
+    private ScheduledExecutorService scheduler;
+
+    public CacheCandidateDetector(DatabaseConfig databaseConfig, EventSink eventSink) {
+        this.databaseConfig = databaseConfig;
+        this.eventSink = eventSink;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quickperf-cache-candidates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalInSeconds = Math.max(databaseConfig.getCacheCandidateReportIntervalInSeconds(), 1);
+        scheduler.scheduleAtFixedRate(this::reportWindow, intervalInSeconds, intervalInSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    public void record(QueryInfo query, long elapsedTimeInMs) {
+        // Not keyed on the fingerprint: it would merge the SELECT differing by their literal values
+        String sql = query.getQuery();
+        long paramHash = paramHashOf(query);
+        long key = HashUtils.fnv1a64(sql) * 0x9E3779B97F4A7C15L + paramHash;
+        executionCounts.add(key, 1);
+        executionTimesInMs.add(key, elapsedTimeInMs);
+        if (heavyHittersByKey.containsKey(key)) {
+            return;
+        }
+        long executionCount = executionCounts.estimate(key);
+        if (executionCount >= databaseConfig.getCacheCandidateMinExecutionCount()
+                && executionCount > admissionThreshold) {
+            admit(key, new HeavyHitter(sql, paramHash), executionCount);
+        }
+    }
+
+    // Independent of the order in which the parameters are set
+    private static long paramHashOf(QueryInfo query) {
+        long paramHash = 0;
+        for (List<ParameterSetOperation> parameterSetOperations : query.getParametersList()) {
+            for (ParameterSetOperation parameterSetOperation : parameterSetOperations) {
+                Object[] args = parameterSetOperation.getArgs();
+                long argsHash = Arrays.deepHashCode(new Object[]{args}) * 0xBF58476D1CE4E5B9L;
+                paramHash += argsHash ^ (argsHash >>> 29);
+            }
+        }
+        return paramHash;
+    }
+
+    private synchronized void admit(long key, HeavyHitter heavyHitter, long executionCount) {
+        if (heavyHittersByKey.size() >= databaseConfig.getCacheCandidateMaxCount()) {
+            Long leastExecutedKey = null;
+            long leastExecutionCount = Long.MAX_VALUE;
+            for (Long heavyHitterKey : heavyHittersByKey.keySet()) {
+                long heavyHitterCount = executionCounts.estimate(heavyHitterKey);
+                if (heavyHitterCount < leastExecutionCount) {
+                    leastExecutedKey = heavyHitterKey;
+                    leastExecutionCount = heavyHitterCount;
+                }
+            }
+            admissionThreshold = leastExecutionCount;
+            if (leastExecutedKey == null || executionCount <= leastExecutionCount) {
+                return;
+            }
+            heavyHittersByKey.remove(leastExecutedKey);
+        }
+        heavyHittersByKey.putIfAbsent(key, heavyHitter);
+    }
+
+    private void reportWindow() {
+        try {
+            if (!databaseConfig.isCacheCandidateDetected()) {
+                return;
+            }
+            List<CacheCandidate> candidates = findCandidates();
+            restartWindow();
+            lastReportedCandidates = candidates;
+            if (!candidates.isEmpty()) {
+                logCandidates(candidates);
+            }
+        } catch (Exception e) {
+            logger.warn("Unable to report the cache candidates", e);
+        }
+    }
+
+    private List<CacheCandidate> findCandidates() {
+        long windowDurationInMs = Math.max(System.currentTimeMillis() - windowStartInMs, 1);
+        List<CacheCandidate> candidates = new ArrayList<>();
+        for (Map.Entry<Long, HeavyHitter> heavyHitterEntry : heavyHittersByKey.entrySet()) {
+            long key = heavyHitterEntry.getKey();
+            long executionCount = executionCounts.estimate(key);
+            if (executionCount >= databaseConfig.getCacheCandidateMinExecutionCount()) {
+                HeavyHitter heavyHitter = heavyHitterEntry.getValue();
+                long executionsPerMinute = executionCount * 60_000 / windowDurationInMs;
+                candidates.add(new CacheCandidate(heavyHitter.sql, heavyHitter.paramHash, executionCount
+                                                , executionTimesInMs.estimate(key), executionsPerMinute));
+            }
+        }
+        candidates.sort(Comparator.comparingLong(CacheCandidate::getTotalTimeInMs).reversed()
+                                  .thenComparing(Comparator.comparingLong(CacheCandidate::getExecutionCount).reversed()));
+        return candidates;
+    }
+
+    private synchronized void restartWindow() {
+        executionCounts.clear();
+        executionTimesInMs.clear();
+        heavyHittersByKey.clear();
+        admissionThreshold = 0;
+        windowStartInMs = System.currentTimeMillis();
+    }
+
+    private void logCandidates(List<CacheCandidate> candidates) throws Exception {
+        List<Map<String, Object>> candidatesData = new ArrayList<>();
+        for (CacheCandidate candidate : candidates) {
+            Map<String, Object> candidateData = new LinkedHashMap<>();
+            candidateData.put("sql", candidate.getSql());
+            candidateData.put("fingerprint", SqlFingerprint.of(candidate.getSql()));
+            candidateData.put("param_hash", candidate.getParamHash());
+            candidateData.put("execution_count", candidate.getExecutionCount());
+            candidateData.put("executions_per_minute", candidate.getExecutionsPerMinute());
+            candidateData.put("total_time_ms", candidate.getTotalTimeInMs());
+            candidatesData.add(candidateData);
+        }
+        Map<String, Object> cacheCandidatesData = new LinkedHashMap<>();
+        cacheCandidatesData.put("timestamp", System.currentTimeMillis());
+        cacheCandidatesData.put("type", "CACHE_CANDIDATES");
+        cacheCandidatesData.put("interval_s", databaseConfig.getCacheCandidateReportIntervalInSeconds());
+        cacheCandidatesData.put("candidates", candidatesData);
+
+        eventSink.warn("org.quickperf.cachecandidate", objectMapper.writeValueAsString(cacheCandidatesData));
+    }
+
+    @ManagedOperation(description = "Cache candidates of the last report interval")
+    public String report() {
+        return format(lastReportedCandidates);
+    }
+
+    @ManagedOperation(description = "Cache candidates of the current report interval")
+    public String currentReport() {
+        return format(findCandidates());
+    }
+
+    private String format(List<CacheCandidate> candidates) {
+        if (candidates.isEmpty()) {
+            return "No cache candidate";
+        }
+        String[][] lines = new String[candidates.size()][];
+        for (int i = 0; i < candidates.size(); i++) {
+            CacheCandidate candidate = candidates.get(i);
+            lines[i] = new String[]{candidate.getSql()
+                                  , Long.toHexString(candidate.getParamHash())
+                                  , String.valueOf(candidate.getExecutionCount())
+                                  , String.valueOf(candidate.getExecutionsPerMinute())
+                                  , String.valueOf(candidate.getTotalTimeInMs())};
+        }
+        return FlipTable.of(HEADERS, lines);
+    }
+
+    private static class HeavyHitter {
+
+        private final String sql;
+
+        private final long paramHash;
+
+        private HeavyHitter(String sql, long paramHash) {
+            this.sql = sql;
+            this.paramHash = paramHash;
+        }
+
+    }
+
+}
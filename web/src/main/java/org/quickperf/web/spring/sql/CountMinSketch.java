@@ -0,0 +1,65 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free count-min sketch: approximate sums of values per key, in a fixed memory.
+ *
+ * An estimate is never lower than the actual sum. It may be higher when keys collide in all the rows.
+ */
+public class CountMinSketch {
+
+    private static final long[] ROW_SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL
+                                           , 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int width;
+
+    private final AtomicLongArray counters;
+
+    /**
+     * @param width number of counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int width) {
+        this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.counters = new AtomicLongArray(ROW_SEEDS.length * this.width);
+    }
+
+    public void add(long key, long value) {
+        for (int row = 0; row < ROW_SEEDS.length; row++) {
+            counters.addAndGet(indexOf(key, row), value);
+        }
+    }
+
+    public long estimate(long key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < ROW_SEEDS.length; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(key, row)));
+        }
+        return estimate;
+    }
+
+    private int indexOf(long key, int row) {
+        long hash = (key ^ ROW_SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 31;
+        return row * width + (int) (hash & (width - 1));
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+}
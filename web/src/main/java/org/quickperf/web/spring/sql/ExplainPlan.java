@@ -0,0 +1,164 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Summary of the execution plan of a query: the tables read by a full scan, the indexes used and the largest number
+ * of rows estimated by the database for a step of the plan.
+ *
+ * The plan is parsed from the text returned by <code>EXPLAIN</code> (H2, HSQLDB, PostgreSQL) or from the rows
+ * returned by <code>EXPLAIN</code> (MySQL, MariaDB).
+ */
+public class ExplainPlan {
+
+    static final long UNKNOWN_ROW_COUNT = -1;
+
+    private static final int MAX_PLAN_LENGTH = 2000;
+
+    // H2: /* PUBLIC.USERS.tableScan */
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\*\\s*([\\w.\"]+)\\.tableScan");
+
+    // H2: /* PUBLIC.FK_INDEX_1: USER_ID = ?1 */
+    private static final Pattern H2_INDEX = Pattern.compile("/\\*\\s*([\\w.\"]+):");
+
+    private static final Pattern POSTGRESQL_SEQ_SCAN = Pattern.compile("Seq Scan on (\\S+)");
+
+    private static final Pattern POSTGRESQL_INDEX =
+            Pattern.compile("(?:Index Scan|Index Only Scan|Index Scan Backward|Index Only Scan Backward) using (\\S+)"
+                          + "|Bitmap Index Scan on (\\S+)");
+
+    private static final Pattern POSTGRESQL_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private static final Pattern HSQLDB_TABLE = Pattern.compile("^\\s*table=(\\S+)");
+
+    private static final Pattern HSQLDB_INDEX = Pattern.compile("index=(\\w+)");
+
+    private static final Pattern HSQLDB_CARDINALITY = Pattern.compile("^\\s*cardinality=(\\d+)");
+
+    private final List<String> fullScanTables;
+
+    private final List<String> usedIndexes;
+
+    private final long estimatedRowCount;
+
+    private final String plan;
+
+    ExplainPlan(Collection<String> fullScanTables, Collection<String> usedIndexes, long estimatedRowCount
+              , String plan) {
+        this.fullScanTables = new ArrayList<>(fullScanTables);
+        this.usedIndexes = new ArrayList<>(usedIndexes);
+        this.estimatedRowCount = estimatedRowCount;
+        this.plan = plan.length() > MAX_PLAN_LENGTH ? plan.substring(0, MAX_PLAN_LENGTH) + "..." : plan;
+    }
+
+    static ExplainPlan parse(String plan) {
+        Set<String> fullScanTables = new LinkedHashSet<>();
+        Set<String> usedIndexes = new LinkedHashSet<>();
+        long estimatedRowCount = UNKNOWN_ROW_COUNT;
+
+        addAllMatches(H2_TABLE_SCAN, plan, fullScanTables);
+        Matcher h2IndexMatcher = H2_INDEX.matcher(plan);
+        while (h2IndexMatcher.find()) {
+            usedIndexes.add(h2IndexMatcher.group(1));
+        }
+
+        addAllMatches(POSTGRESQL_SEQ_SCAN, plan, fullScanTables);
+        Matcher postgreSqlIndexMatcher = POSTGRESQL_INDEX.matcher(plan);
+        while (postgreSqlIndexMatcher.find()) {
+            String index = postgreSqlIndexMatcher.group(1) != null ? postgreSqlIndexMatcher.group(1)
+                                                                    : postgreSqlIndexMatcher.group(2);
+            usedIndexes.add(index);
+        }
+        Matcher postgreSqlRowsMatcher = POSTGRESQL_ROWS.matcher(plan);
+        while (postgreSqlRowsMatcher.find()) {
+            estimatedRowCount = Math.max(estimatedRowCount, Long.parseLong(postgreSqlRowsMatcher.group(1)));
+        }
+
+        estimatedRowCount = Math.max(estimatedRowCount
+                                   , parseHsqldbLines(plan, fullScanTables, usedIndexes));
+
+        return new ExplainPlan(fullScanTables, usedIndexes, estimatedRowCount, plan);
+    }
+
+    // A range variable is described by "table=", "cardinality=" and "access=" lines, then by its join condition
+    private static long parseHsqldbLines(String plan, Set<String> fullScanTables, Set<String> usedIndexes) {
+        long estimatedRowCount = UNKNOWN_ROW_COUNT;
+        String table = null;
+        boolean indexAccess = false;
+        for (String line : plan.split("\n")) {
+            Matcher tableMatcher = HSQLDB_TABLE.matcher(line);
+            if (tableMatcher.find()) {
+                table = tableMatcher.group(1);
+                indexAccess = false;
+                continue;
+            }
+            Matcher cardinalityMatcher = HSQLDB_CARDINALITY.matcher(line);
+            if (cardinalityMatcher.find()) {
+                estimatedRowCount = Math.max(estimatedRowCount, Long.parseLong(cardinalityMatcher.group(1)));
+            } else if (table != null && line.contains("access=FULL SCAN")) {
+                fullScanTables.add(table);
+            } else if (table != null && line.contains("access=INDEX PRED")) {
+                indexAccess = true;
+            } else if (indexAccess) {
+                Matcher indexMatcher = HSQLDB_INDEX.matcher(line);
+                if (indexMatcher.find()) {
+                    usedIndexes.add(indexMatcher.group(1));
+                    indexAccess = false;
+                }
+            }
+        }
+        return estimatedRowCount;
+    }
+
+    private static void addAllMatches(Pattern pattern, String plan, Set<String> matches) {
+        Matcher matcher = pattern.matcher(plan);
+        while (matcher.find()) {
+            matches.add(matcher.group(1));
+        }
+    }
+
+    public List<String> getFullScanTables() {
+        return fullScanTables;
+    }
+
+    public List<String> getUsedIndexes() {
+        return usedIndexes;
+    }
+
+    /**
+     * @return the largest number of rows estimated for a step of the plan, or -1 if the plan does not tell it
+     */
+    public long getEstimatedRowCount() {
+        return estimatedRowCount;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public Map<String, Object> toEventData() {
+        Map<String, Object> planData = new LinkedHashMap<>();
+        planData.put("full_scan_tables", fullScanTables);
+        planData.put("used_indexes", usedIndexes);
+        if (estimatedRowCount != UNKNOWN_ROW_COUNT) {
+            planData.put("estimated_rows", estimatedRowCount);
+        }
+        planData.put("plan", plan);
+        return planData;
+    }
+
+}
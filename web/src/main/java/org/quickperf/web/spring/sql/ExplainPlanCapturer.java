@@ -0,0 +1,343 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jakewharton.fliptables.FlipTable;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quickperf.web.spring.BackgroundExecutors;
+import org.quickperf.web.spring.config.DatabaseConfig;
+import org.quickperf.web.spring.events.EventSink;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures in the background the execution plan of the slow queries.
+ *
+ * The HTTP call detecting a slow query only submits it: <code>EXPLAIN</code> is executed by a single low-priority
+ * thread, on its own connection, with the parameter values of the slow execution. The connection comes from the
+ * datasource that executed the query, unwrapped from the QuickPerf proxies so that the <code>EXPLAIN</code> statements
+ * are not seen by the SQL listeners. A query fingerprint is explained
+ * at most once per cooldown period, the number of plans captured per minute is limited and the submissions exceeding
+ * a small queue are dropped. The plan is logged when captured and attached to the next slow query events of the same
+ * fingerprint.
+ *
+ * Only SELECT statements are explained, and only on H2, HSQLDB, PostgreSQL, MySQL and MariaDB.
+ */
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=Explain plans",
+        description="QuickPerf Live MBeans")
+public class ExplainPlanCapturer implements InitializingBean, DisposableBean {
+
+    private static final int QUEUE_CAPACITY = 16;
+
+    private static final int MAX_FINGERPRINTS = 1024;
+
+    private static final int MAX_PLAN_LINES = 1000;
+
+    private static final String[] HEADERS = {"SQL", "Full scans", "Indexes", "Estimated rows"};
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final DatabaseConfig databaseConfig;
+
+    private final ObjectProvider<DataSource> dataSourceProvider;
+
+    private final BeanFactory beanFactory;
+
+    private final EventSink eventSink;
+
+    private final ConcurrentMap<String, Long> lastSubmissionInMsByFingerprint = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ExplainPlan> planByFingerprint = new ConcurrentHashMap<>();
+
+    private final AtomicLong nextAllowedSubmissionInMs = new AtomicLong();
+
+    // Only used by the worker thread
+    private final Map<DataSource, String> explainPrefixByDataSource = new IdentityHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    public ExplainPlanCapturer(DatabaseConfig databaseConfig, ObjectProvider<DataSource> dataSourceProvider,
+                               BeanFactory beanFactory, EventSink eventSink) {
+        this.databaseConfig = databaseConfig;
+        this.dataSourceProvider = dataSourceProvider;
+        this.beanFactory = beanFactory;
+        this.eventSink = eventSink;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = BackgroundExecutors.newSingleThreadExecutor("quickperf-explain-plans", QUEUE_CAPACITY);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return the plan captured for this fingerprint, or <code>null</code> if it has not been captured yet
+     */
+    public ExplainPlan findPlan(String fingerprint) {
+        return planByFingerprint.get(fingerprint);
+    }
+
+    /**
+     * @param dataSourceName name of the datasource bean having executed the query, empty if unknown
+     * @return <code>true</code> if the query will be explained
+     */
+    public boolean submit(String endpoint, String fingerprint, String dataSourceName, QueryInfo query) {
+        if (!databaseConfig.isExplainPlanCaptured() || !isSelect(query.getQuery())) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        if (!isCooledDown(fingerprint, now) || !acquireRate(now)) {
+            return false;
+        }
+        Long previousSubmission = lastSubmissionInMsByFingerprint.put(fingerprint, now);
+        List<ParameterSetOperation> parameterSetOperations = copyFirstParameterSet(query);
+        try {
+            String sql = query.getQuery();
+            executor.execute(() -> capture(endpoint, fingerprint, dataSourceName, sql, parameterSetOperations));
+            return true;
+        } catch (RejectedExecutionException e) {
+            // The fingerprint can be submitted again once the queue has room. The rate is kept consumed: a full queue
+            // is a reason to submit less.
+            if (previousSubmission == null) {
+                lastSubmissionInMsByFingerprint.remove(fingerprint, now);
+            } else {
+                lastSubmissionInMsByFingerprint.replace(fingerprint, now, previousSubmission);
+            }
+            return false;
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        String trimmedSql = sql.trim();
+        return trimmedSql.regionMatches(true, 0, "select", 0, "select".length());
+    }
+
+    private boolean isCooledDown(String fingerprint, long now) {
+        long cooldownInMs = databaseConfig.getExplainPlanCooldownInSeconds() * 1000L;
+        Long lastSubmission = lastSubmissionInMsByFingerprint.get(fingerprint);
+        if (lastSubmission != null) {
+            return now - lastSubmission >= cooldownInMs;
+        }
+        if (lastSubmissionInMsByFingerprint.size() >= MAX_FINGERPRINTS) {
+            lastSubmissionInMsByFingerprint.values().removeIf(submission -> now - submission >= cooldownInMs);
+            return lastSubmissionInMsByFingerprint.size() < MAX_FINGERPRINTS;
+        }
+        return true;
+    }
+
+    private boolean acquireRate(long now) {
+        long nextAllowedSubmission = nextAllowedSubmissionInMs.get();
+        if (now < nextAllowedSubmission) {
+            return false;
+        }
+        long minIntervalInMs = 60_000L / Math.max(databaseConfig.getExplainPlanMaxPerMinute(), 1);
+        return nextAllowedSubmissionInMs.compareAndSet(nextAllowedSubmission, now + minIntervalInMs);
+    }
+
+    private static List<ParameterSetOperation> copyFirstParameterSet(QueryInfo query) {
+        List<List<ParameterSetOperation>> parametersList = query.getParametersList();
+        if (parametersList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(parametersList.get(0));
+    }
+
+    private void capture(String endpoint, String fingerprint, String dataSourceName, String sql
+                       , List<ParameterSetOperation> parameterSetOperations) {
+        DataSource dataSource = findRawDataSource(dataSourceName);
+        if (dataSource == null) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            String prefix = findExplainPrefix(dataSource, connection);
+            if (prefix == null) {
+                return;
+            }
+            ExplainPlan explainPlan = explain(connection, prefix + sql, parameterSetOperations);
+            if (planByFingerprint.size() < MAX_FINGERPRINTS || planByFingerprint.containsKey(fingerprint)) {
+                planByFingerprint.put(fingerprint, explainPlan);
+            }
+            logPlan(endpoint, fingerprint, sql, explainPlan);
+        } catch (Exception e) {
+            logger.debug("Unable to explain " + sql, e);
+        }
+    }
+
+    private DataSource findRawDataSource(String dataSourceName) {
+        DataSource dataSource = dataSourceName.isEmpty() || !beanFactory.containsBean(dataSourceName)
+                              ? dataSourceProvider.getIfUnique()
+                              : beanFactory.getBean(dataSourceName, DataSource.class);
+        if (dataSource == null) {
+            return null;
+        }
+        // The datasource beans are wrapped by a Spring proxy delegating to a datasource-proxy ProxyDataSource
+        Object target = AopProxyUtils.getSingletonTarget(dataSource);
+        if (target instanceof DataSource) {
+            dataSource = (DataSource) target;
+        }
+        while (dataSource instanceof ProxyDataSource) {
+            dataSource = ((ProxyDataSource) dataSource).getDataSource();
+        }
+        return dataSource;
+    }
+
+    private String findExplainPrefix(DataSource dataSource, Connection connection) throws SQLException {
+        String explainPrefix = explainPrefixByDataSource.get(dataSource);
+        if (explainPrefix == null) {
+            String databaseName = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            if (databaseName.contains("hsql")) {
+                explainPrefix = "EXPLAIN PLAN FOR ";
+            } else if (databaseName.contains("h2") || databaseName.contains("postgresql")
+                    || databaseName.contains("mysql") || databaseName.contains("mariadb")) {
+                explainPrefix = "EXPLAIN ";
+            } else {
+                logger.info("Execution plans are not captured for " + databaseName);
+                explainPrefix = "";
+            }
+            explainPrefixByDataSource.put(dataSource, explainPrefix);
+        }
+        return explainPrefix.isEmpty() ? null : explainPrefix;
+    }
+
+    private ExplainPlan explain(Connection connection, String explainSql
+                              , List<ParameterSetOperation> parameterSetOperations) throws Exception {
+        boolean readOnly = connection.isReadOnly();
+        connection.setReadOnly(true);
+        try (PreparedStatement explainStatement = connection.prepareStatement(explainSql)) {
+            explainStatement.setQueryTimeout(databaseConfig.getExplainPlanTimeoutInSeconds());
+            explainStatement.setMaxRows(MAX_PLAN_LINES);
+            for (ParameterSetOperation parameterSetOperation : parameterSetOperations) {
+                parameterSetOperation.getMethod().invoke(explainStatement, parameterSetOperation.getArgs());
+            }
+            try (ResultSet planRows = explainStatement.executeQuery()) {
+                if (hasColumn(planRows.getMetaData(), "type") && hasColumn(planRows.getMetaData(), "rows")) {
+                    return readMySqlPlan(planRows);
+                }
+                StringBuilder plan = new StringBuilder();
+                while (planRows.next()) {
+                    plan.append(planRows.getString(1)).append('\n');
+                }
+                return ExplainPlan.parse(plan.toString().trim());
+            }
+        } finally {
+            // The connection goes back to the pool of the application
+            connection.setReadOnly(readOnly);
+        }
+    }
+
+    private static boolean hasColumn(ResultSetMetaData metaData, String columnLabel) throws SQLException {
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            if (columnLabel.equalsIgnoreCase(metaData.getColumnLabel(column))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // One row per table: "ALL" access type is a full scan, "key" is the index used
+    private static ExplainPlan readMySqlPlan(ResultSet planRows) throws SQLException {
+        Set<String> fullScanTables = new LinkedHashSet<>();
+        Set<String> usedIndexes = new LinkedHashSet<>();
+        long estimatedRowCount = ExplainPlan.UNKNOWN_ROW_COUNT;
+        StringBuilder plan = new StringBuilder();
+        while (planRows.next()) {
+            String table = planRows.getString("table");
+            String accessType = planRows.getString("type");
+            String key = planRows.getString("key");
+            long rows = planRows.getLong("rows");
+            if ("ALL".equals(accessType)) {
+                fullScanTables.add(table);
+            }
+            if (key != null) {
+                usedIndexes.add(key);
+            }
+            estimatedRowCount = Math.max(estimatedRowCount, rows);
+            plan.append("table=").append(table)
+                .append(" type=").append(accessType)
+                .append(" key=").append(key)
+                .append(" rows=").append(rows).append('\n');
+        }
+        return new ExplainPlan(fullScanTables, usedIndexes, estimatedRowCount, plan.toString().trim());
+    }
+
+    private void logPlan(String endpoint, String fingerprint, String sql, ExplainPlan explainPlan) throws Exception {
+        Map<String, Object> planCapturedData = new LinkedHashMap<>();
+        planCapturedData.put("timestamp", System.currentTimeMillis());
+        planCapturedData.put("type", "SLOW_QUERY_PLAN_CAPTURED");
+        planCapturedData.put("endpoint", endpoint);
+        planCapturedData.put("fingerprint", fingerprint);
+        planCapturedData.put("sql", sql);
+        planCapturedData.put("plan", explainPlan.toEventData());
+
+        eventSink.warn("org.quickperf.slowquery", objectMapper.writeValueAsString(planCapturedData));
+    }
+
+    @ManagedAttribute
+    public int getCapturedPlanCount() {
+        return planByFingerprint.size();
+    }
+
+    @ManagedOperation(description = "Execution plans captured for the slow queries")
+    public String report() {
+        if (planByFingerprint.isEmpty()) {
+            return "No execution plan captured";
+        }
+        List<String[]> lines = new ArrayList<>();
+        for (Map.Entry<String, ExplainPlan> fingerprintPlan : new TreeMap<>(planByFingerprint).entrySet()) {
+            ExplainPlan explainPlan = fingerprintPlan.getValue();
+            long estimatedRowCount = explainPlan.getEstimatedRowCount();
+            lines.add(new String[]{fingerprintPlan.getKey()
+                                 , String.join(", ", explainPlan.getFullScanTables())
+                                 , String.join(", ", explainPlan.getUsedIndexes())
+                                 , estimatedRowCount == ExplainPlan.UNKNOWN_ROW_COUNT ? ""
+                                                                                      : String.valueOf(estimatedRowCount)});
+        }
+        return FlipTable.of(HEADERS, lines.toArray(new String[0][]));
+    }
+
+    @ManagedOperation
+    public void reset() {
+        planByFingerprint.clear();
+        lastSubmissionInMsByFingerprint.clear();
+    }
+
+}
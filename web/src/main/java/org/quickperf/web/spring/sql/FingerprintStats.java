@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class FingerprintStats {
+
+    private final String fingerprint;
+
+    // Replaced as a whole, so that a reader never sees the folded count and the evicted stats together
+    private volatile CountError countError;
+
+    private final LongAdder executionCount = new LongAdder();
+
+    private final LongAdder totalTimeInMs = new LongAdder();
+
+    private final LongAdder rowCount = new LongAdder();
+
+    private final LongAdder fetchedRowCount = new LongAdder();
+
+    FingerprintStats(String fingerprint) {
+        this.fingerprint = fingerprint;
+        this.countError = new CountError(0, null);
+    }
+
+    /**
+     * The executions of the evicted stats are the count error of the new ones. They are read from the evicted stats
+     * until the new ones are evicted in turn, so that the executions recorded by the threads still holding the evicted
+     * stats are not lost.
+     */
+    FingerprintStats(String fingerprint, FingerprintStats evicted) {
+        this.fingerprint = fingerprint;
+        evicted.foldCountError();
+        this.countError = new CountError(0, evicted);
+    }
+
+    // Keeps the chain of evicted stats one link long
+    private void foldCountError() {
+        countError = new CountError(getCountError(), null);
+    }
+
+    void record(long timeInMs, long rows) {
+        executionCount.increment();
+        totalTimeInMs.add(timeInMs);
+        rowCount.add(rows);
+    }
+
+    void recordFetchedRows(long rows) {
+        fetchedRowCount.add(rows);
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * @return executions that may belong to fingerprints evicted before this one was tracked
+     */
+    public long getCountError() {
+        CountError currentCountError = countError;
+        FingerprintStats evicted = currentCountError.evicted;
+        return currentCountError.folded + (evicted == null ? 0 : evicted.getExecutionCount());
+    }
+
+    public long getExecutionCount() {
+        return executionCount.sum() + getCountError();
+    }
+
+    public long getTotalTimeInMs() {
+        return totalTimeInMs.sum();
+    }
+
+    public long getRowCount() {
+        return rowCount.sum();
+    }
+
+    /**
+     * Rows read from the result sets counting the fetched rows, only during the HTTP calls processed by QuickPerf.
+     */
+    public long getFetchedRowCount() {
+        return fetchedRowCount.sum();
+    }
+
+    private static class CountError {
+
+        private final long folded;
+
+        private final FingerprintStats evicted;
+
+        private CountError(long folded, FingerprintStats evicted) {
+            this.folded = folded;
+            this.evicted = evicted;
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed number of fingerprint stats, maintained with the Space-Saving algorithm and without lock.
+ *
+ * When a new fingerprint comes and the table is full, it replaces the least executed of a few slots drawn at random,
+ * instead of the least executed of the table: the replacement does not scan the table. With a capacity not greater
+ * than the sample size, all the slots are compared.
+ */
+class FingerprintStatsTable {
+
+    static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private static final int MAX_REPLACEMENT_ATTEMPTS = 4;
+
+    private final int capacity;
+
+    private final AtomicReferenceArray<FingerprintStats> slots;
+
+    private final AtomicInteger usedSlotCount = new AtomicInteger();
+
+    private final ConcurrentMap<String, FingerprintStats> statsByFingerprint = new ConcurrentHashMap<>();
+
+    FingerprintStatsTable(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the stats of the fingerprint, <code>null</code> if the replacement lost all its races with other threads
+     */
+    FingerprintStats findOrTrack(String fingerprint) {
+        FingerprintStats fingerprintStats = statsByFingerprint.get(fingerprint);
+        if (fingerprintStats != null) {
+            return fingerprintStats;
+        }
+        if (usedSlotCount.get() < capacity) {
+            FingerprintStats newStats = new FingerprintStats(fingerprint);
+            FingerprintStats trackedStats = statsByFingerprint.putIfAbsent(fingerprint, newStats);
+            if (trackedStats != null) {
+                return trackedStats;
+            }
+            int slot = usedSlotCount.getAndIncrement();
+            if (slot < capacity) {
+                slots.set(slot, newStats);
+                return newStats;
+            }
+            statsByFingerprint.remove(fingerprint, newStats);
+        }
+        return replaceLeastExecuted(fingerprint);
+    }
+
+    private FingerprintStats replaceLeastExecuted(String fingerprint) {
+        for (int attempt = 0; attempt < MAX_REPLACEMENT_ATTEMPTS; attempt++) {
+            int leastExecutedSlot = findLeastExecutedSlot();
+            FingerprintStats leastExecuted = slots.get(leastExecutedSlot);
+            if (leastExecuted == null) {
+                continue;
+            }
+            FingerprintStats newStats = new FingerprintStats(fingerprint, leastExecuted);
+            FingerprintStats trackedStats = statsByFingerprint.putIfAbsent(fingerprint, newStats);
+            if (trackedStats != null) {
+                return trackedStats;
+            }
+            if (slots.compareAndSet(leastExecutedSlot, leastExecuted, newStats)) {
+                statsByFingerprint.remove(leastExecuted.getFingerprint(), leastExecuted);
+                return newStats;
+            }
+            statsByFingerprint.remove(fingerprint, newStats);
+        }
+        return null;
+    }
+
+    private int findLeastExecutedSlot() {
+        int usedSlots = Math.min(usedSlotCount.get(), capacity);
+        if (usedSlots <= EVICTION_SAMPLE_SIZE) {
+            return findLeastExecutedOfAllSlots(usedSlots);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int leastExecutedSlot = -1;
+        long leastExecutionCount = Long.MAX_VALUE;
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+            int slot = random.nextInt(usedSlots);
+            long executionCount = executionCountOf(slot);
+            if (executionCount < leastExecutionCount) {
+                leastExecutedSlot = slot;
+                leastExecutionCount = executionCount;
+            }
+        }
+        return leastExecutedSlot;
+    }
+
+    private int findLeastExecutedOfAllSlots(int usedSlots) {
+        int leastExecutedSlot = 0;
+        long leastExecutionCount = Long.MAX_VALUE;
+        for (int slot = 0; slot < usedSlots; slot++) {
+            long executionCount = executionCountOf(slot);
+            if (executionCount < leastExecutionCount) {
+                leastExecutedSlot = slot;
+                leastExecutionCount = executionCount;
+            }
+        }
+        return leastExecutedSlot;
+    }
+
+    private long executionCountOf(int slot) {
+        FingerprintStats fingerprintStats = slots.get(slot);
+        return fingerprintStats == null ? Long.MAX_VALUE : fingerprintStats.getExecutionCount();
+    }
+
+    FingerprintStats find(String fingerprint) {
+        return statsByFingerprint.get(fingerprint);
+    }
+
+    List<FingerprintStats> findAll() {
+        List<FingerprintStats> allStats = new ArrayList<>(capacity);
+        for (int slot = 0; slot < capacity; slot++) {
+            FingerprintStats fingerprintStats = slots.get(slot);
+            if (fingerprintStats != null) {
+                allStats.add(fingerprintStats);
+            }
+        }
+        return allStats;
+    }
+
+    int getTrackedCount() {
+        return Math.min(usedSlotCount.get(), capacity);
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+import java.util.List;
+
+/**
+ * A query executed by an endpoint with more <code>IN</code> list sizes than the configured threshold.
+ */
+public class InListExplosion {
+
+    private final String sqlShape;
+
+    private final int endpointVariantCount;
+
+    private final int requestVariantCount;
+
+    private final List<List<Integer>> requestInListSizes;
+
+    InListExplosion(String sqlShape, int endpointVariantCount, int requestVariantCount,
+                    List<List<Integer>> requestInListSizes) {
+        this.sqlShape = sqlShape;
+        this.endpointVariantCount = endpointVariantCount;
+        this.requestVariantCount = requestVariantCount;
+        this.requestInListSizes = requestInListSizes;
+    }
+
+    public String getSqlShape() {
+        return sqlShape;
+    }
+
+    public int getEndpointVariantCount() {
+        return endpointVariantCount;
+    }
+
+    public int getRequestVariantCount() {
+        return requestVariantCount;
+    }
+
+    public List<List<Integer>> getRequestInListSizes() {
+        return requestInListSizes;
+    }
+
+}
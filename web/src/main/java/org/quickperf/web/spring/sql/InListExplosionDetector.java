@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+import com.jakewharton.fliptables.FlipTable;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.quickperf.sql.SqlExecution;
+import org.quickperf.sql.SqlExecutions;
+import org.quickperf.sql.inlist.InListVariants;
+import org.quickperf.web.spring.config.DatabaseConfig;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Finds the queries executed with many <code>IN</code> list sizes, by a single HTTP call or by all the calls of an
+ * endpoint. Each size is a distinct statement for the database: it is parsed and planned on its own, and it takes a
+ * place in the plan cache.
+ *
+ * An explosion is reported by the call executing the query with more sizes than the threshold, and once by the call
+ * making the endpoint cross the threshold. The memory is bounded by tracking a limited number of query shapes per
+ * endpoint and of sizes per query shape.
+ */
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=IN lists",
+        description="QuickPerf Live MBeans")
+public class InListExplosionDetector {
+
+    private static final int MAX_SHAPES_PER_ENDPOINT = 100;
+
+    private static final int MAX_VARIANTS_PER_SHAPE = 1024;
+
+    private static final String[] HEADERS = {"Endpoint", "SQL", "IN list sizes"};
+
+    private final DatabaseConfig databaseConfig;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Set<List<Integer>>>> variantsByShapeByEndpoint =
+            new ConcurrentHashMap<>();
+
+    public InListExplosionDetector(DatabaseConfig databaseConfig) {
+        this.databaseConfig = databaseConfig;
+    }
+
+    public List<InListExplosion> detect(String endpoint, SqlExecutions sqlExecutions) {
+        InListVariants requestVariants = new InListVariants();
+        for (SqlExecution sqlExecution : sqlExecutions) {
+            for (QueryInfo query : sqlExecution.getQueries()) {
+                requestVariants.add(query.getQuery());
+            }
+        }
+        if (requestVariants.getVariantsByShape().isEmpty()) {
+            return Collections.emptyList();
+        }
+        ConcurrentMap<String, Set<List<Integer>>> endpointVariantsByShape =
+                variantsByShapeByEndpoint.computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>());
+        int threshold = databaseConfig.getInListVariantThreshold();
+        List<InListExplosion> explosions = new ArrayList<>();
+        for (Map.Entry<String, Set<List<Integer>>> shapeVariants : requestVariants.getVariantsByShape().entrySet()) {
+            String shape = shapeVariants.getKey();
+            Set<List<Integer>> variants = shapeVariants.getValue();
+            Set<List<Integer>> endpointVariants = findOrCreate(endpointVariantsByShape, shape);
+            int previousEndpointVariantCount = endpointVariants == null ? 0 : endpointVariants.size();
+            if (endpointVariants != null) {
+                for (List<Integer> variant : variants) {
+                    if (endpointVariants.size() >= MAX_VARIANTS_PER_SHAPE) {
+                        break;
+                    }
+                    endpointVariants.add(variant);
+                }
+            }
+            int endpointVariantCount = endpointVariants == null ? variants.size() : endpointVariants.size();
+            boolean endpointCrossesThreshold = previousEndpointVariantCount <= threshold
+                                            && endpointVariantCount > threshold;
+            if (variants.size() > threshold || endpointCrossesThreshold) {
+                explosions.add(new InListExplosion(shape, endpointVariantCount, variants.size()
+                                                 , new ArrayList<>(variants)));
+            }
+        }
+        return explosions;
+    }
+
+    private Set<List<Integer>> findOrCreate(ConcurrentMap<String, Set<List<Integer>>> variantsByShape, String shape) {
+        Set<List<Integer>> variants = variantsByShape.get(shape);
+        if (variants != null || variantsByShape.size() >= MAX_SHAPES_PER_ENDPOINT) {
+            return variants;
+        }
+        return variantsByShape.computeIfAbsent(shape, s -> ConcurrentHashMap.newKeySet());
+    }
+
+    @ManagedOperation(description = "Number of IN list sizes per endpoint and query, for the queries having several")
+    public String report() {
+        List<String[]> lines = new ArrayList<>();
+        SortedMap<String, ConcurrentMap<String, Set<List<Integer>>>> sortedEndpoints =
+                new TreeMap<>(variantsByShapeByEndpoint);
+        for (Map.Entry<String, ConcurrentMap<String, Set<List<Integer>>>> endpoint : sortedEndpoints.entrySet()) {
+            for (Map.Entry<String, Set<List<Integer>>> shapeVariants : endpoint.getValue().entrySet()) {
+                int variantCount = shapeVariants.getValue().size();
+                if (variantCount > 1) {
+                    lines.add(new String[]{endpoint.getKey(), shapeVariants.getKey(), String.valueOf(variantCount)});
+                }
+            }
+        }
+        if (lines.isEmpty()) {
+            return "No query executed with several IN list sizes";
+        }
+        return FlipTable.of(HEADERS, lines.toArray(new String[0][]));
+    }
+
+    @ManagedOperation
+    public void reset() {
+        variantsByShapeByEndpoint.clear();
+    }
+
+}
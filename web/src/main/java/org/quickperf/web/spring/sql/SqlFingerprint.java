@@ -0,0 +1,150 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+/**
+ * Normalized form of a SQL statement, shared by all its executions whatever the parameter values.
+ *
+ * String and number literals are replaced by <code>?</code>, lists of parameters (<code>IN (?, ?, ?)</code>) are
+ * collapsed into a single <code>?</code>, comments are removed and whitespaces are collapsed.
+ *
+ * The fingerprints are cached in a fixed number of slots indexed by the hash code of the SQL: a statement replaces the
+ * one of the same slot. The long statements are not cached, so that the memory held by the cache stays bounded.
+ */
+public class SqlFingerprint {
+
+    private static final int CACHE_SLOT_COUNT = 1024;
+
+    private static final int MAX_CACHED_SQL_LENGTH = 2048;
+
+    // Racy reads and writes of immutable entries: a lost write is only a cache miss
+    private static final CachedFingerprint[] CACHE = new CachedFingerprint[CACHE_SLOT_COUNT];
+
+    private SqlFingerprint() { }
+
+    public static String of(String sql) {
+        if (sql.length() > MAX_CACHED_SQL_LENGTH) {
+            return normalize(sql);
+        }
+        int slot = sql.hashCode() & (CACHE_SLOT_COUNT - 1);
+        CachedFingerprint cachedFingerprint = CACHE[slot];
+        if (cachedFingerprint != null && cachedFingerprint.sql.equals(sql)) {
+            return cachedFingerprint.fingerprint;
+        }
+        String fingerprint = normalize(sql);
+        CACHE[slot] = new CachedFingerprint(sql, fingerprint);
+        return fingerprint;
+    }
+
+    static String normalize(String sql) {
+        StringBuilder fingerprint = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipStringLiteral(sql, i);
+                appendParameter(fingerprint);
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                i = skipUntil(sql, i, "\n");
+                appendSpace(fingerprint);
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                i = skipUntil(sql, i + 2, "*/");
+                appendSpace(fingerprint);
+            } else if (c == '?') {
+                appendParameter(fingerprint);
+                i++;
+            } else if (Character.isDigit(c) && !isPartOfIdentifier(fingerprint)) {
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                appendParameter(fingerprint);
+            } else if (Character.isWhitespace(c)) {
+                appendSpace(fingerprint);
+                i++;
+            } else {
+                fingerprint.append(c);
+                i++;
+            }
+        }
+        return fingerprint.toString().trim();
+    }
+
+    private static int skipStringLiteral(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                boolean escapedQuote = i + 1 < sql.length() && sql.charAt(i + 1) == '\'';
+                if (!escapedQuote) {
+                    return i + 1;
+                }
+                i++;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipUntil(String sql, int start, String end) {
+        int endIndex = sql.indexOf(end, start);
+        return endIndex < 0 ? sql.length() : endIndex + end.length();
+    }
+
+    private static boolean isPartOfIdentifier(StringBuilder fingerprint) {
+        if (fingerprint.length() == 0) {
+            return false;
+        }
+        char previous = fingerprint.charAt(fingerprint.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$' || previous == '"';
+    }
+
+    private static void appendSpace(StringBuilder fingerprint) {
+        int length = fingerprint.length();
+        if (length > 0 && fingerprint.charAt(length - 1) != ' ') {
+            fingerprint.append(' ');
+        }
+    }
+
+    // "?, ?" becomes "?"
+    private static void appendParameter(StringBuilder fingerprint) {
+        int end = fingerprint.length();
+        while (end > 0 && fingerprint.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end > 0 && fingerprint.charAt(end - 1) == ',') {
+            int beforeComma = end - 1;
+            while (beforeComma > 0 && fingerprint.charAt(beforeComma - 1) == ' ') {
+                beforeComma--;
+            }
+            if (beforeComma > 0 && fingerprint.charAt(beforeComma - 1) == '?') {
+                fingerprint.setLength(beforeComma);
+                return;
+            }
+        }
+        fingerprint.append('?');
+    }
+
+    private static class CachedFingerprint {
+
+        private final String sql;
+
+        private final String fingerprint;
+
+        private CachedFingerprint(String sql, String fingerprint) {
+            this.sql = sql;
+            this.fingerprint = fingerprint;
+        }
+
+    }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jakewharton.fliptables.FlipTable;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quickperf.sql.GlobalSqlListener;
+import org.quickperf.sql.GlobalSqlListenerRegistry;
+import org.quickperf.web.spring.config.DatabaseConfig;
+import org.quickperf.web.spring.events.EventSink;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * App-wide top SQL fingerprints by execution count, total time and affected rows, in the spirit of
+ * <code>pg_stat_statements</code>.
+ *
+ * A fixed number of fingerprints is tracked with the Space-Saving algorithm: when a new fingerprint comes and the
+ * table is full, it replaces the least executed of a sample of the tracked ones and inherits its count as error (see
+ * {@link FingerprintStatsTable}). The executions are recorded without lock. Changing the capacity resets the stats.
+ *
+ * The rows fetched by a SELECT are not known when the statement returns: the rows affected by the INSERT, UPDATE
+ * and DELETE statements are counted here, the rows fetched are added by the HTTP calls counting them (row
+ * multiplication detection with a datasource counting the fetched rows), for the fingerprints already tracked.
+ */
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=Top SQL",
+        description="QuickPerf Live MBeans")
+public class TopSqlFingerprints implements GlobalSqlListener, InitializingBean, DisposableBean {
+
+    private static final String[] HEADERS = {"Fingerprint", "Executions", "Count error", "Total time (ms)", "Mean time (ms)", "Rows", "Fetched rows"};
+
+    private static final Comparator<FingerprintStats> BY_EXECUTION_COUNT =
+            Comparator.comparingLong(FingerprintStats::getExecutionCount).reversed();
+
+    private static final Comparator<FingerprintStats> BY_TOTAL_TIME =
+            Comparator.comparingLong(FingerprintStats::getTotalTimeInMs).reversed();
+
+    private static final Comparator<FingerprintStats> BY_ROW_COUNT =
+            Comparator.comparingLong(FingerprintStats::getRowCount).reversed();
+
+    private static final Comparator<FingerprintStats> BY_FETCHED_ROW_COUNT =
+            Comparator.comparingLong(FingerprintStats::getFetchedRowCount).reversed();
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final DatabaseConfig databaseConfig;
+
+    private final EventSink eventSink;
+
+    private volatile FingerprintStatsTable statsTable;
+
+    private ScheduledExecutorService scheduler;
+
+    public TopSqlFingerprints(DatabaseConfig databaseConfig, EventSink eventSink) {
+        this.databaseConfig = databaseConfig;
+        this.eventSink = eventSink;
+        this.statsTable = new FingerprintStatsTable(databaseConfig.getTopSqlCapacity());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        GlobalSqlListenerRegistry.INSTANCE.register(this);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quickperf-top-sql");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalInSeconds = Math.max(databaseConfig.getTopSqlReportIntervalInSeconds(), 1);
+        scheduler.scheduleAtFixedRate(this::logTopFingerprints, intervalInSeconds, intervalInSeconds, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        GlobalSqlListenerRegistry.INSTANCE.unregister(this);
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queries) {
+        if (!databaseConfig.isTopSqlRecorded() || queries.isEmpty()) {
+            return;
+        }
+        long timeInMs = executionInfo.getElapsedTime() / queries.size();
+        Object result = executionInfo.getResult();
+        for (int i = 0; i < queries.size(); i++) {
+            String fingerprint = SqlFingerprint.of(queries.get(i).getQuery());
+            FingerprintStats fingerprintStats = findStatsTable().findOrTrack(fingerprint);
+            if (fingerprintStats != null) {
+                fingerprintStats.record(timeInMs, affectedRows(result, i, queries.size()));
+            }
+        }
+    }
+
+    /**
+     * Adds the rows fetched from the result set of a SELECT, once the result set is closed.
+     */
+    public void recordFetchedRows(String sql, long rowCount) {
+        if (!databaseConfig.isTopSqlRecorded()) {
+            return;
+        }
+        FingerprintStats fingerprintStats = statsTable.find(SqlFingerprint.of(sql));
+        if (fingerprintStats != null) {
+            fingerprintStats.recordFetchedRows(rowCount);
+        }
+    }
+
+    private long affectedRows(Object result, int queryIndex, int queryCount) {
+        if (result instanceof Integer) {
+            return Math.max((Integer) result, 0);
+        }
+        if (result instanceof int[]) {
+            int[] updateCounts = (int[]) result;
+            if (updateCounts.length == queryCount) {
+                return Math.max(updateCounts[queryIndex], 0);
+            }
+            long rows = 0;
+            for (int updateCount : updateCounts) {
+                rows += Math.max(updateCount, 0);
+            }
+            return queryIndex == 0 ? rows : 0;
+        }
+        return 0;
+    }
+
+    private FingerprintStatsTable findStatsTable() {
+        FingerprintStatsTable currentStatsTable = statsTable;
+        int capacity = Math.max(databaseConfig.getTopSqlCapacity(), 1);
+        if (currentStatsTable.getCapacity() == capacity) {
+            return currentStatsTable;
+        }
+        synchronized (this) {
+            if (statsTable.getCapacity() != capacity) {
+                statsTable = new FingerprintStatsTable(capacity);
+            }
+            return statsTable;
+        }
+    }
+
+    public List<FingerprintStats> findTop(Comparator<FingerprintStats> comparator, int maxCount) {
+        List<FingerprintStats> allStats = statsTable.findAll();
+        allStats.sort(comparator);
+        return allStats.subList(0, Math.min(maxCount, allStats.size()));
+    }
+
+    public List<FingerprintStats> findTopByTotalTime(int maxCount) {
+        return findTop(BY_TOTAL_TIME, maxCount);
+    }
+
+    private void logTopFingerprints() {
+        try {
+            if (!databaseConfig.isTopSqlRecorded()) {
+                return;
+            }
+            List<FingerprintStats> topFingerprints = findTopByTotalTime(databaseConfig.getTopSqlReportedCount());
+            if (topFingerprints.isEmpty()) {
+                return;
+            }
+            List<Map<String, Object>> fingerprintsData = new ArrayList<>();
+            for (FingerprintStats fingerprintStats : topFingerprints) {
+                Map<String, Object> fingerprintData = new LinkedHashMap<>();
+                fingerprintData.put("fingerprint", fingerprintStats.getFingerprint());
+                fingerprintData.put("execution_count", fingerprintStats.getExecutionCount());
+                fingerprintData.put("count_error", fingerprintStats.getCountError());
+                fingerprintData.put("total_time_ms", fingerprintStats.getTotalTimeInMs());
+                fingerprintData.put("rows", fingerprintStats.getRowCount());
+                fingerprintData.put("fetched_rows", fingerprintStats.getFetchedRowCount());
+                fingerprintsData.add(fingerprintData);
+            }
+            Map<String, Object> topSqlData = new LinkedHashMap<>();
+            topSqlData.put("timestamp", System.currentTimeMillis());
+            topSqlData.put("type", "TOP_SQL_FINGERPRINTS");
+            topSqlData.put("tracked_count", statsTable.getTrackedCount());
+            topSqlData.put("fingerprints", fingerprintsData);
+
+            eventSink.info("org.quickperf.topsql", objectMapper.writeValueAsString(topSqlData));
+        } catch (Exception e) {
+            logger.warn("Unable to report the top SQL fingerprints", e);
+        }
+    }
+
+    @ManagedAttribute
+    public int getTrackedFingerprintCount() {
+        return statsTable.getTrackedCount();
+    }
+
+    @ManagedOperation
+    public String reportByExecutionCount() {
+        return format(findTop(BY_EXECUTION_COUNT, databaseConfig.getTopSqlReportedCount()));
+    }
+
+    @ManagedOperation
+    public String reportByTotalTime() {
+        return format(findTop(BY_TOTAL_TIME, databaseConfig.getTopSqlReportedCount()));
+    }
+
+    @ManagedOperation
+    public String reportByRows() {
+        return format(findTop(BY_ROW_COUNT, databaseConfig.getTopSqlReportedCount()));
+    }
+
+    @ManagedOperation
+    public String reportByFetchedRows() {
+        return format(findTop(BY_FETCHED_ROW_COUNT, databaseConfig.getTopSqlReportedCount()));
+    }
+
+    private String format(List<FingerprintStats> topFingerprints) {
+        if (topFingerprints.isEmpty()) {
+            return "No SQL execution recorded";
+        }
+        String[][] lines = new String[topFingerprints.size()][];
+        for (int i = 0; i < topFingerprints.size(); i++) {
+            FingerprintStats fingerprintStats = topFingerprints.get(i);
+            long executionCount = fingerprintStats.getExecutionCount();
+            long meanTimeInMs = executionCount == 0 ? 0 : fingerprintStats.getTotalTimeInMs() / executionCount;
+            lines[i] = new String[]{fingerprintStats.getFingerprint()
+                                  , String.valueOf(executionCount)
+                                  , String.valueOf(fingerprintStats.getCountError())
+                                  , String.valueOf(fingerprintStats.getTotalTimeInMs())
+                                  , String.valueOf(meanTimeInMs)
+                                  , String.valueOf(fingerprintStats.getRowCount())
+                                  , String.valueOf(fingerprintStats.getFetchedRowCount())};
+        }
+        return FlipTable.of(HEADERS, lines);
+    }
+
+    @ManagedOperation
+    public void reset() {
+        statsTable = new FingerprintStatsTable(databaseConfig.getTopSqlCapacity());
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.stats;
+
+import org.quickperf.web.spring.config.DatabaseConfig;
+import org.quickperf.web.spring.config.JvmConfig;
+import org.quickperf.web.spring.config.UrlConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.HtmlUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Self-contained HTML page showing the worst endpoints from the in-process aggregates of
+ * {@link EndpointStatsRegistry}, with an on/off toggle for each detector.
+ *
+ * The calls to the dashboard are not measured by QuickPerf Live, see {@link UrlConfig#checkIfExcluded(HttpServletRequest)}.
+ *
+ * The detectors can only be toggled from the local host, or with the token set by the
+ * <code>quickperf.dashboard.token</code> property.
+ */
+@RestController
+@ConditionalOnProperty(value = "quickperf.dashboard.enabled", havingValue = "true")
+public class DashboardController {
+
+    private static final int MAX_ENDPOINT_COUNT_PER_TABLE = 10;
+
+    static final String TOKEN_HEADER = "X-QuickPerf-Token";
+
+    private final Map<String, Detector> detectorsByName = new LinkedHashMap<>();
+
+    private final byte[] token;
+
+    public DashboardController(DatabaseConfig databaseConfig, JvmConfig jvmConfig
+                             , @Value("${quickperf.dashboard.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+        addDetector("n-plus-one", "N+1 selects", databaseConfig::isNPlusOneSelectDetected
+                  , databaseConfig::setNPlusOneSelectDetected);
+        addDetector("sql-execution", "SQL executions", databaseConfig::isSqlExecutionDetected
+                  , databaseConfig::setSqlExecutionDetected);
+        addDetector("sql-execution-time", "Slow SQL executions", databaseConfig::isSqlExecutionTimeDetected
+                  , databaseConfig::setSqlExecutionTimeDetected);
+        addDetector("explain-plan", "Execution plans of slow queries", databaseConfig::isExplainPlanCaptured
+                  , databaseConfig::setExplainPlanCaptured);
+        addDetector("in-list-variants", "IN list variants", databaseConfig::isInListVariantsDetected
+                  , databaseConfig::setInListVariantsDetected);
+        addDetector("pagination", "Pagination", databaseConfig::isPaginationDetected
+                  , databaseConfig::setPaginationDetected);
+        addDetector("row-multiplication", "Row multiplication", databaseConfig::isRowMultiplicationDetected
+                  , databaseConfig::setRowMultiplicationDetected);
+        addDetector("unbatched-write", "Unbatched writes", databaseConfig::isUnbatchedWriteDetected
+                  , databaseConfig::setUnbatchedWriteDetected);
+        addDetector("statement-preparation", "Statement preparations", databaseConfig::isStatementPreparationMeasured
+                  , databaseConfig::setStatementPreparationMeasured);
+        addDetector("cache-candidate", "Cache candidates", databaseConfig::isCacheCandidateDetected
+                  , databaseConfig::setCacheCandidateDetected);
+        addDetector("connection-hold-time", "Connection hold time", databaseConfig::isConnectionHoldTimeMeasured
+                  , databaseConfig::setConnectionHoldTimeMeasured);
+        addDetector("heap-allocation", "Heap allocation", jvmConfig::isHeapAllocationMeasured
+                  , jvmConfig::setHeapAllocationMeasured);
+        addDetector("cpu-time", "CPU time", jvmConfig::isCpuTimeMeasured, jvmConfig::setCpuTimeMeasured);
+        addDetector("thread-contention", "Thread contention", jvmConfig::isThreadContentionMeasured
+                  , jvmConfig::setThreadContentionMeasured);
+        addDetector("gc-pause", "GC pauses", jvmConfig::isGcPauseMeasured, jvmConfig::setGcPauseMeasured);
+        addDetector("response-body-write", "Response body write", jvmConfig::isResponseBodyWriteMeasured
+                  , jvmConfig::setResponseBodyWriteMeasured);
+    }
+
+    private void addDetector(String name, String label, BooleanSupplier enabled, Consumer<Boolean> enabledSetter) {
+        detectorsByName.put(name, new Detector(label, enabled, enabledSetter));
+    }
+
+    @GetMapping(value = UrlConfig.DASHBOARD_PATH, produces = MediaType.TEXT_HTML_VALUE)
+    public String dashboard(HttpServletRequest request) {
+        String detectorsPath = HtmlUtils.htmlEscape(request.getContextPath() + UrlConfig.DASHBOARD_PATH + "/detectors");
+        List<EndpointStats> allStats = new ArrayList<>(EndpointStatsRegistry.INSTANCE.getAll());
+        StringBuilder html = new StringBuilder(16 * 1024);
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>QuickPerf Live</title><style>")
+            .append("body{font-family:sans-serif;margin:2em;color:#222}h2{margin-top:1.5em}")
+            .append("table{border-collapse:collapse}th,td{border:1px solid #ccc;padding:4px 8px}")
+            .append("td.n{text-align:right}button{min-width:4em}")
+            .append("</style></head><body><h1>QuickPerf Live</h1>");
+
+        appendWorstEndpoints(html, allStats, "SQL executions per request", "sql_execution_count"
+                           , MetricStats::getMean, "Mean", "Max");
+        appendWorstEndpoints(html, allStats, "N+1 selects", "n_plus_one_selects"
+                           , MetricStats::getCount, "Occurrences", "Max selects");
+        appendWorstEndpoints(html, allStats, "SQL time per request (ms)", "sql_time_ms"
+                           , stats -> stats.getPercentile(99), "p99", "Max");
+        appendWorstEndpoints(html, allStats, "Heap allocation per request (bytes)", "heap_allocation_bytes"
+                           , MetricStats::getMean, "Mean", "Max");
+        appendWorstEndpoints(html, allStats, "Connection hold time per request (ms)", "connection_hold_time_ms"
+                           , stats -> stats.getPercentile(99), "p99", "Max");
+
+        html.append("<h2>Detectors</h2><table><tr><th>Detector</th><th>Status</th><th></th></tr>");
+        for (Map.Entry<String, Detector> detectorEntry : detectorsByName.entrySet()) {
+            Detector detector = detectorEntry.getValue();
+            boolean enabled = detector.enabled.getAsBoolean();
+            html.append("<tr><td>").append(detector.label)
+                .append("</td><td>").append(enabled ? "on" : "off")
+                .append("</td><td><form method=\"post\" action=\"").append(detectorsPath)
+                .append("\"><input type=\"hidden\" name=\"name\" value=\"").append(detectorEntry.getKey())
+                .append("\"><input type=\"hidden\" name=\"enabled\" value=\"").append(!enabled)
+                .append("\">");
+            if (token.length > 0) {
+                html.append("<input type=\"password\" name=\"token\" placeholder=\"Token\">");
+            }
+            html.append("<button type=\"submit\">").append(enabled ? "Turn off" : "Turn on")
+                .append("</button></form></td></tr>");
+        }
+        html.append("</table></body></html>");
+        return html.toString();
+    }
+
+    private void appendWorstEndpoints(StringBuilder html, List<EndpointStats> allStats, String title
+                                    , String metricName, ToLongFunction<MetricStats> severity
+                                    , String severityHeader, String maxHeader) {
+        html.append("<h2>").append(title).append("</h2>");
+        List<EndpointStats> measuredStats = new ArrayList<>();
+        for (EndpointStats endpointStats : allStats) {
+            if (endpointStats.getMetricStats(metricName) != null) {
+                measuredStats.add(endpointStats);
+            }
+        }
+        if (measuredStats.isEmpty()) {
+            html.append("<p>Not measured</p>");
+            return;
+        }
+        measuredStats.sort(Comparator.comparingLong(
+                (EndpointStats endpointStats) -> severity.applyAsLong(endpointStats.getMetricStats(metricName)))
+                .reversed());
+        html.append("<table><tr><th>Endpoint</th><th>Requests</th><th>").append(severityHeader)
+            .append("</th><th>").append(maxHeader).append("</th></tr>");
+        int endpointCount = Math.min(MAX_ENDPOINT_COUNT_PER_TABLE, measuredStats.size());
+        for (EndpointStats endpointStats : measuredStats.subList(0, endpointCount)) {
+            MetricStats metricStats = endpointStats.getMetricStats(metricName);
+            html.append("<tr><td>").append(HtmlUtils.htmlEscape(endpointStats.getEndpoint()))
+                .append("</td><td class=\"n\">").append(endpointStats.getRequestCount())
+                .append("</td><td class=\"n\">").append(severity.applyAsLong(metricStats))
+                .append("</td><td class=\"n\">").append(metricStats.getMax())
+                .append("</td></tr>");
+        }
+        html.append("</table>");
+    }
+
+    @PostMapping(UrlConfig.DASHBOARD_PATH + "/detectors")
+    public ResponseEntity<String> toggleDetector(@RequestParam("name") String name
+                                               , @RequestParam("enabled") boolean enabled
+                                               , @RequestParam(value = "token", required = false) String formToken
+                                               , @RequestHeader(value = TOKEN_HEADER, required = false) String headerToken
+                                               , HttpServletRequest request) {
+        if (!isAllowedToToggle(request, headerToken != null ? headerToken : formToken)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                                 .body("The detectors can only be toggled from the local host or with the token");
+        }
+        Detector detector = detectorsByName.get(name);
+        if (detector == null) {
+            return ResponseEntity.badRequest().body("Unknown detector: " + HtmlUtils.htmlEscape(name));
+        }
+        detector.enabledSetter.accept(enabled);
+        URI dashboardUri = ServletUriComponentsBuilder.fromCurrentContextPath()
+                                                      .path(UrlConfig.DASHBOARD_PATH)
+                                                      .build().toUri();
+        return ResponseEntity.status(HttpStatus.SEE_OTHER).location(dashboardUri).build();
+    }
+
+    private boolean isAllowedToToggle(HttpServletRequest request, String requestToken) {
+        if (token.length > 0) {
+            return requestToken != null
+                && MessageDigest.isEqual(token, requestToken.getBytes(StandardCharsets.UTF_8));
+        }
+        return isLoopback(request.getRemoteAddr());
+    }
+
+    // The remote address is an IP literal: no DNS lookup
+    private static boolean isLoopback(String remoteAddress) {
+        try {
+            return remoteAddress != null && InetAddress.getByName(remoteAddress).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    private static class Detector {
+
+        private final String label;
+
+        private final BooleanSupplier enabled;
+
+        private final Consumer<Boolean> enabledSetter;
+
+        private Detector(String label, BooleanSupplier enabled, Consumer<Boolean> enabledSetter) {
+            this.label = label;
+            this.enabled = enabled;
+            this.enabledSetter = enabledSetter;
+        }
+
+    }
+
+}
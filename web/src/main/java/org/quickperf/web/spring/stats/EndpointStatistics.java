@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.stats;
+
+import com.jakewharton.fliptables.FlipTable;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=Endpoints",
+        description="QuickPerf Live MBeans")
+public class EndpointStatistics {
+
+    private static final String[] HEADERS = {"Endpoint", "Requests", "Metric", "Count", "Mean", "Max", "Sum"};
+
+    @ManagedAttribute
+    public int getEndpointCount() {
+        return EndpointStatsRegistry.INSTANCE.getAll().size();
+    }
+
+    @ManagedOperation
+    public String report() {
+        Collection<EndpointStats> allStats = EndpointStatsRegistry.INSTANCE.getAll();
+        List<String[]> lines = new ArrayList<>();
+        for (EndpointStats endpointStats : allStats) {
+            String requestCount = String.valueOf(endpointStats.getRequestCount());
+            for (Map.Entry<String, MetricStats> metric : endpointStats.getMetricStatsByName().entrySet()) {
+                MetricStats metricStats = metric.getValue();
+                lines.add(new String[]{endpointStats.getEndpoint(), requestCount, metric.getKey()
+                                     , String.valueOf(metricStats.getCount())
+                                     , String.valueOf(metricStats.getMean())
+                                     , String.valueOf(metricStats.getMax())
+                                     , String.valueOf(metricStats.getSum())});
+            }
+        }
+        if (lines.isEmpty()) {
+            return "No endpoint statistics";
+        }
+        return FlipTable.of(HEADERS, lines.toArray(new String[0][]));
+    }
+
+    @ManagedOperation(description = "Share of the request time spent in stop-the-world GC pauses, per endpoint")
+    public String gcPauseShareReport() {
+        List<String[]> lines = new ArrayList<>();
+        for (EndpointStats endpointStats : EndpointStatsRegistry.INSTANCE.getAll()) {
+            MetricStats requestTime = endpointStats.getMetricStats("request_time_ms");
+            MetricStats gcPauseTime = endpointStats.getMetricStats("gc_pause_time_ms");
+            if (requestTime != null && gcPauseTime != null && requestTime.getSum() > 0) {
+                long gcPauseSharePercent = gcPauseTime.getSum() * 100 / requestTime.getSum();
+                lines.add(new String[]{endpointStats.getEndpoint()
+                                     , String.valueOf(requestTime.getSum())
+                                     , String.valueOf(gcPauseTime.getSum())
+                                     , gcPauseSharePercent + " %"});
+            }
+        }
+        if (lines.isEmpty()) {
+            return "No GC pause measured";
+        }
+        String[] headers = {"Endpoint", "Request time (ms)", "GC pause time (ms)", "GC pause share"};
+        return FlipTable.of(headers, lines.toArray(new String[0][]));
+    }
+
+    @ManagedOperation
+    public void reset() {
+        EndpointStatsRegistry.INSTANCE.clear();
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.stats;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EndpointStats {
+
+    private final String endpoint;
+
+    private final LongAdder requestCount = new LongAdder();
+
+    private final Map<String, MetricStats> metricStatsByName = new ConcurrentSkipListMap<>();
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void incrementRequestCount() {
+        requestCount.increment();
+    }
+
+    void record(String metricName, long value) {
+        metricStatsByName.computeIfAbsent(metricName, name -> new MetricStats())
+                         .record(value);
+    }
+
+    void recordWithDistribution(String metricName, long value) {
+        metricStatsByName.computeIfAbsent(metricName, name -> new MetricStats(true))
+                         .record(value);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    public MetricStats getMetricStats(String metricName) {
+        return metricStatsByName.get(metricName);
+    }
+
+    public Map<String, MetricStats> getMetricStatsByName() {
+        return metricStatsByName;
+    }
+
+}
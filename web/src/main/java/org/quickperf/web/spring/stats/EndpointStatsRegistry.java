@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.stats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-endpoint aggregates of the metrics measured by QuickPerf Live, shared by all the HTTP calls.
+ */
+public class EndpointStatsRegistry {
+
+    public static final EndpointStatsRegistry INSTANCE = new EndpointStatsRegistry();
+
+    private final ConcurrentMap<String, EndpointStats> statsByEndpoint = new ConcurrentHashMap<>();
+
+    private EndpointStatsRegistry() { }
+
+    public void recordRequest(String endpoint) {
+        findOrCreate(endpoint).incrementRequestCount();
+    }
+
+    public void record(String endpoint, String metricName, long value) {
+        findOrCreate(endpoint).record(metricName, value);
+    }
+
+    /**
+     * Records a metric whose distribution is kept, to estimate its percentiles.
+     */
+    public void recordWithDistribution(String endpoint, String metricName, long value) {
+        findOrCreate(endpoint).recordWithDistribution(metricName, value);
+    }
+
+    private EndpointStats findOrCreate(String endpoint) {
+        EndpointStats endpointStats = statsByEndpoint.get(endpoint);
+        if (endpointStats != null) {
+            return endpointStats;
+        }
+        return statsByEndpoint.computeIfAbsent(endpoint, EndpointStats::new);
+    }
+
+    public EndpointStats get(String endpoint) {
+        return statsByEndpoint.get(endpoint);
+    }
+
+    public Collection<EndpointStats> getAll() {
+        List<EndpointStats> allStats = new ArrayList<>(statsByEndpoint.values());
+        allStats.sort((s1, s2) -> s1.getEndpoint().compareTo(s2.getEndpoint()));
+        return allStats;
+    }
+
+    public void clear() {
+        statsByEndpoint.clear();
+    }
+
+}
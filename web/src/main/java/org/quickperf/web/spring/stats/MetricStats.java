@@ -0,0 +1,135 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count, sum and max of a metric, updated without lock by concurrent HTTP calls.
+ *
+ * The distribution of a metric can also be kept, to estimate its percentiles. The values are counted in buckets,
+ * four per power of two, so a percentile is estimated by excess by at most 25 %.
+ */
+public class MetricStats {
+
+    private static final int SUB_BUCKET_BITS = 2;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Long::max, Long.MIN_VALUE);
+
+    private final AtomicLongArray bucketCounts;
+
+    MetricStats() {
+        this(false);
+    }
+
+    MetricStats(boolean distributionKept) {
+        this.bucketCounts = distributionKept ? new AtomicLongArray(BUCKET_COUNT) : null;
+    }
+
+    void record(long value) {
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+        if (bucketCounts != null) {
+            bucketCounts.incrementAndGet(bucketIndexOf(Math.max(value, 0)));
+        }
+    }
+
+    void reset() {
+        count.reset();
+        sum.reset();
+        max.reset();
+        if (bucketCounts != null) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                bucketCounts.set(i, 0);
+            }
+        }
+    }
+
+    static int bucketIndexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return SUB_BUCKET_COUNT + (exponent - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketUpperBoundOf(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        int shift = (bucketIndex - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        long subBucket = SUB_BUCKET_COUNT + (bucketIndex - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    public boolean isDistributionKept() {
+        return bucketCounts != null;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the estimated percentile, or -1 if the distribution of the metric is not kept
+     */
+    public long getPercentile(double percentile) {
+        if (bucketCounts == null) {
+            return -1;
+        }
+        long totalCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            totalCount += bucketCounts.get(i);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(percentile / 100 * totalCount), 1);
+        long cumulatedCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulatedCount += bucketCounts.get(i);
+            if (cumulatedCount >= rank) {
+                return Math.min(bucketUpperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        long currentMax = max.get();
+        return currentMax == Long.MIN_VALUE ? 0 : currentMax;
+    }
+
+    public long getMean() {
+        long currentCount = getCount();
+        return currentCount == 0 ? 0 : getSum() / currentCount;
+    }
+
+}
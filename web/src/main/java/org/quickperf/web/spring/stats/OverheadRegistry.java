@@ -0,0 +1,259 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.stats;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.quickperf.web.spring.config.OverheadConfig;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time and heap allocation spent by QuickPerf itself during the HTTP calls.
+ *
+ * The overhead is compared to the request time over windows of HTTP calls, the calls not processed by QuickPerf
+ * counting with a zero overhead. When it exceeds the budget and the auto-degradation is enabled, QuickPerf stops
+ * capturing call stacks, then processes a sample of the calls only, and is finally disabled. The stack capture step is
+ * skipped when the stack capture is not the main part of the overhead. After a number of windows within half of the
+ * budget, the last step is undone. {@link #resetDegradation()} restores the full processing.
+ *
+ * The detectors all run in the {@link #AFTER_REQUEST} phase: the overhead is attributed by phase, not by detector or
+ * SQL recorder. The degradation is thus global, a level applies to all the detectors.
+ */
+public class OverheadRegistry {
+
+    public static final OverheadRegistry INSTANCE = new OverheadRegistry();
+
+    public static final String BEFORE_REQUEST = "before_request";
+
+    public static final String STACK_CAPTURE = "stack_capture";
+
+    public static final String AFTER_REQUEST = "after_request";
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final ThreadLocal<RequestOverhead> REQUEST_OVERHEAD = new ThreadLocal<>();
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final Map<String, MetricStats> timeInNsByPhase = new ConcurrentSkipListMap<>();
+
+    private final Map<String, MetricStats> allocationInBytesByPhase = new ConcurrentSkipListMap<>();
+
+    private final MetricStats requestTimeInNs = new MetricStats();
+
+    private final MetricStats overheadInNs = new MetricStats();
+
+    private final LongAdder windowRequestCount = new LongAdder();
+
+    private final LongAdder windowRequestTimeInNs = new LongAdder();
+
+    private final LongAdder windowOverheadInNs = new LongAdder();
+
+    private final LongAdder windowStackCaptureInNs = new LongAdder();
+
+    private int windowsWithinHalfBudget;
+
+    private final AtomicLong sampledRequestCount = new AtomicLong();
+
+    private volatile DegradationLevel degradationLevel = DegradationLevel.NONE;
+
+    private volatile String degradationReason = "";
+
+    private OverheadRegistry() { }
+
+    public void startRequest() {
+        REQUEST_OVERHEAD.set(new RequestOverhead());
+    }
+
+    public boolean isMeasured() {
+        return REQUEST_OVERHEAD.get() != null;
+    }
+
+    public static long currentThreadAllocatedBytes() {
+        return THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    public void record(String phase, long startNanoTime, long startAllocatedBytes) {
+        RequestOverhead requestOverhead = REQUEST_OVERHEAD.get();
+        if (requestOverhead == null) {
+            return;
+        }
+        long timeInNs = System.nanoTime() - startNanoTime;
+        requestOverhead.timeInNs += timeInNs;
+        if (STACK_CAPTURE.equals(phase)) {
+            requestOverhead.stackCaptureTimeInNs += timeInNs;
+        }
+        findOrCreate(timeInNsByPhase, phase).record(timeInNs);
+        if (startAllocatedBytes >= 0) {
+            long allocationInBytes = currentThreadAllocatedBytes() - startAllocatedBytes;
+            findOrCreate(allocationInBytesByPhase, phase).record(allocationInBytes);
+        }
+    }
+
+    private MetricStats findOrCreate(Map<String, MetricStats> statsByPhase, String phase) {
+        return statsByPhase.computeIfAbsent(phase, p -> new MetricStats());
+    }
+
+    public void endRequest(long requestTimeInNs, OverheadConfig overheadConfig) {
+        RequestOverhead requestOverhead = REQUEST_OVERHEAD.get();
+        if (requestOverhead == null) {
+            // A request not processed (sampling, degradation, excluded URL) costs nothing, it dilutes the overhead
+            if (!overheadConfig.isOverheadMeasured()) {
+                return;
+            }
+            requestOverhead = new RequestOverhead();
+        } else {
+            REQUEST_OVERHEAD.remove();
+        }
+        this.requestTimeInNs.record(requestTimeInNs);
+        this.overheadInNs.record(requestOverhead.timeInNs);
+        windowRequestTimeInNs.add(requestTimeInNs);
+        windowOverheadInNs.add(requestOverhead.timeInNs);
+        windowStackCaptureInNs.add(requestOverhead.stackCaptureTimeInNs);
+        windowRequestCount.increment();
+        if (windowRequestCount.sum() >= overheadConfig.getEvaluationWindow()) {
+            evaluateBudget(overheadConfig);
+        }
+    }
+
+    private synchronized void evaluateBudget(OverheadConfig overheadConfig) {
+        long requestCount = windowRequestCount.sumThenReset();
+        long requestTime = windowRequestTimeInNs.sumThenReset();
+        long overhead = windowOverheadInNs.sumThenReset();
+        long stackCaptureOverhead = windowStackCaptureInNs.sumThenReset();
+        if (requestCount == 0 || requestTime == 0 || !overheadConfig.isAutoDegradationEnabled()) {
+            return;
+        }
+        long overheadInPercent = overhead * 100 / requestTime;
+        long overheadPerRequestInUs = overhead / requestCount / 1_000;
+        long budgetPerRequestInUs = overheadConfig.getBudgetPerRequestInMicroseconds();
+        String exceededBudget = null;
+        if (overheadInPercent > overheadConfig.getBudgetInPercent()) {
+            exceededBudget = overheadInPercent + " % of the request time (budget: "
+                           + overheadConfig.getBudgetInPercent() + " %)";
+        } else if (budgetPerRequestInUs > 0 && overheadPerRequestInUs > budgetPerRequestInUs) {
+            exceededBudget = overheadPerRequestInUs + " µs per request (budget: " + budgetPerRequestInUs + " µs)";
+        }
+        if (exceededBudget != null) {
+            windowsWithinHalfBudget = 0;
+            degrade(exceededBudget, stackCaptureOverhead * 2 < overhead);
+        } else if (isWithinHalfBudget(overhead, requestTime, requestCount, overheadConfig)
+                && ++windowsWithinHalfBudget >= overheadConfig.getRecoveryWindows()) {
+            windowsWithinHalfBudget = 0;
+            recover();
+        }
+    }
+
+    private void degrade(String exceededBudget, boolean stackCaptureMinorPartOfOverhead) {
+        if (degradationLevel == DegradationLevel.DISABLED) {
+            return;
+        }
+        degradationLevel = degradationLevel.next();
+        // Not capturing the stacks would not bring the overhead back within the budget
+        if (degradationLevel == DegradationLevel.NO_STACK_CAPTURE && stackCaptureMinorPartOfOverhead) {
+            degradationLevel = degradationLevel.next();
+        }
+        degradationReason = "QuickPerf overhead of " + exceededBudget;
+        logger.warn(degradationReason + ", QuickPerf processing degraded to " + degradationLevel);
+    }
+
+    private static boolean isWithinHalfBudget(long overhead, long requestTime, long requestCount,
+                                              OverheadConfig overheadConfig) {
+        long budgetPerRequestInUs = overheadConfig.getBudgetPerRequestInMicroseconds();
+        return overhead * 200 <= requestTime * overheadConfig.getBudgetInPercent()
+            && (budgetPerRequestInUs <= 0 || overhead / requestCount / 1_000 * 2 <= budgetPerRequestInUs);
+    }
+
+    private void recover() {
+        if (degradationLevel == DegradationLevel.NONE) {
+            return;
+        }
+        degradationLevel = degradationLevel.previous();
+        if (degradationLevel == DegradationLevel.NONE) {
+            degradationReason = "";
+        }
+        logger.info("QuickPerf overhead within half of the budget, QuickPerf processing restored to "
+                  + degradationLevel);
+    }
+
+    public boolean isStackCaptureAllowed() {
+        return degradationLevel == DegradationLevel.NONE;
+    }
+
+    public boolean isRequestProcessed(int samplingRate) {
+        DegradationLevel currentLevel = degradationLevel;
+        if (currentLevel == DegradationLevel.DISABLED) {
+            return false;
+        }
+        if (currentLevel == DegradationLevel.SAMPLED) {
+            return sampledRequestCount.incrementAndGet() % Math.max(samplingRate, 1) == 0;
+        }
+        return true;
+    }
+
+    public DegradationLevel getDegradationLevel() {
+        return degradationLevel;
+    }
+
+    public String getDegradationReason() {
+        return degradationReason;
+    }
+
+    public Map<String, MetricStats> getTimeInNsByPhase() {
+        return timeInNsByPhase;
+    }
+
+    public Map<String, MetricStats> getAllocationInBytesByPhase() {
+        return allocationInBytesByPhase;
+    }
+
+    public MetricStats getRequestTimeInNs() {
+        return requestTimeInNs;
+    }
+
+    public MetricStats getOverheadInNs() {
+        return overheadInNs;
+    }
+
+    public synchronized void resetDegradation() {
+        degradationLevel = DegradationLevel.NONE;
+        degradationReason = "";
+        windowRequestCount.reset();
+        windowRequestTimeInNs.reset();
+        windowOverheadInNs.reset();
+        windowStackCaptureInNs.reset();
+        windowsWithinHalfBudget = 0;
+    }
+
+    public void clear() {
+        timeInNsByPhase.clear();
+        allocationInBytesByPhase.clear();
+        requestTimeInNs.reset();
+        overheadInNs.reset();
+    }
+
+    private static class RequestOverhead {
+
+        private long timeInNs;
+
+        private long stackCaptureTimeInNs;
+
+    }
+
+}
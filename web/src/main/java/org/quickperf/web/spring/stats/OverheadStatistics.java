@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.stats;
+
+import com.jakewharton.fliptables.FlipTable;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=Overhead statistics",
+        description="QuickPerf Live MBeans")
+public class OverheadStatistics {
+
+    private static final String[] HEADERS = {"Phase", "Count", "Mean time (µs)", "Max time (µs)", "Mean allocation (bytes)"};
+
+    @ManagedAttribute
+    public String getDegradationLevel() {
+        return OverheadRegistry.INSTANCE.getDegradationLevel().name();
+    }
+
+    @ManagedAttribute
+    public String getDegradationReason() {
+        return OverheadRegistry.INSTANCE.getDegradationReason();
+    }
+
+    @ManagedAttribute
+    public long getMeasuredRequestCount() {
+        return OverheadRegistry.INSTANCE.getRequestTimeInNs().getCount();
+    }
+
+    @ManagedAttribute
+    public long getMeanOverheadPerRequestInMicroseconds() {
+        return OverheadRegistry.INSTANCE.getOverheadInNs().getMean() / 1_000;
+    }
+
+    @ManagedAttribute
+    public long getOverheadInPercent() {
+        long requestTimeInNs = OverheadRegistry.INSTANCE.getRequestTimeInNs().getSum();
+        if (requestTimeInNs == 0) {
+            return 0;
+        }
+        return OverheadRegistry.INSTANCE.getOverheadInNs().getSum() * 100 / requestTimeInNs;
+    }
+
+    @ManagedOperation
+    public String report() {
+        Map<String, MetricStats> allocationInBytesByPhase = OverheadRegistry.INSTANCE.getAllocationInBytesByPhase();
+        List<String[]> lines = new ArrayList<>();
+        for (Map.Entry<String, MetricStats> phase : OverheadRegistry.INSTANCE.getTimeInNsByPhase().entrySet()) {
+            MetricStats timeInNs = phase.getValue();
+            MetricStats allocationInBytes = allocationInBytesByPhase.get(phase.getKey());
+            lines.add(new String[]{phase.getKey()
+                                 , String.valueOf(timeInNs.getCount())
+                                 , String.valueOf(timeInNs.getMean() / 1_000)
+                                 , String.valueOf(timeInNs.getMax() / 1_000)
+                                 , allocationInBytes == null ? "-" : String.valueOf(allocationInBytes.getMean())});
+        }
+        if (lines.isEmpty()) {
+            return "No QuickPerf overhead measured";
+        }
+        return FlipTable.of(HEADERS, lines.toArray(new String[0][]));
+    }
+
+    @ManagedOperation(description = "Restores the full QuickPerf processing after an automatic degradation")
+    public void resetDegradation() {
+        OverheadRegistry.INSTANCE.resetDegradation();
+    }
+
+    @ManagedOperation
+    public void reset() {
+        OverheadRegistry.INSTANCE.clear();
+    }
+
+}
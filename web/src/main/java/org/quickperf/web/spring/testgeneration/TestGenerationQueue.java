@@ -0,0 +1,175 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.testgeneration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.qstd.QuickSqlTestData;
+import org.quickperf.web.spring.Application;
+import org.quickperf.web.spring.BackgroundExecutors;
+import org.quickperf.web.spring.HashUtils;
+import org.quickperf.web.spring.config.TestGenerationConfig;
+import org.quickperf.web.spring.events.EventSink;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the tests in the background, from snapshots of the HTTP calls taken at the end of the calls.
+ *
+ * Generating a test queries the database to build the SQL script and writes files, so it is kept out of the HTTP
+ * calls: a single thread generates the tests and the snapshots exceeding a small queue are dropped. A test is
+ * generated once per route template and response content.
+ */
+@Component
+@ManagedResource(
+        objectName="QuickPerf:category=Test generation queue",
+        description="QuickPerf Live MBeans")
+public class TestGenerationQueue implements InitializingBean, DisposableBean {
+
+    private static final int QUEUE_CAPACITY = 32;
+
+    private static final int MAX_GENERATED_TESTS = 4096;
+
+    private final Log logger = LogFactory.getLog(this.getClass());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final TestGenerationConfig testGenerationConfig;
+
+    private final ObjectProvider<QuickSqlTestData> quickSqlTestDataProvider;
+
+    private final ApplicationContext applicationContext;
+
+    private final EventSink eventSink;
+
+    private final Set<String> submittedKeys = Collections.synchronizedSet(new HashSet<>());
+
+    private final AtomicLong generatedTestCount = new AtomicLong();
+
+    private final AtomicLong droppedSnapshotCount = new AtomicLong();
+
+    private ThreadPoolExecutor executor;
+
+    public TestGenerationQueue(TestGenerationConfig testGenerationConfig,
+                               ObjectProvider<QuickSqlTestData> quickSqlTestDataProvider,
+                               ApplicationContext applicationContext,
+                               EventSink eventSink) {
+        this.testGenerationConfig = testGenerationConfig;
+        this.quickSqlTestDataProvider = quickSqlTestDataProvider;
+        this.applicationContext = applicationContext;
+        this.eventSink = eventSink;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        executor = BackgroundExecutors.newSingleThreadExecutor("quickperf-test-generation", QUEUE_CAPACITY);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The select queries are copied.
+     *
+     * @param routeTemplate the route template of the call (<code>/users/{id}</code>), to deduplicate the tests
+     * @return <code>true</code> if a test will be generated
+     */
+    public boolean submit(String routeTemplate, String relativeHttpUrl, List<QueryInfo> selectQueries,
+                          String contentType, String content) {
+        String key = routeTemplate + " " + Long.toHexString(HashUtils.fnv1a64(content));
+        synchronized (submittedKeys) {
+            if (submittedKeys.contains(key) || submittedKeys.size() >= MAX_GENERATED_TESTS) {
+                return false;
+            }
+            submittedKeys.add(key);
+        }
+        List<QueryInfo> selectQueriesSnapshot = copy(selectQueries);
+        try {
+            executor.execute(() -> generate(relativeHttpUrl, selectQueriesSnapshot, contentType, content));
+            return true;
+        } catch (RejectedExecutionException e) {
+            droppedSnapshotCount.incrementAndGet();
+            submittedKeys.remove(key);
+            return false;
+        }
+    }
+
+    private static List<QueryInfo> copy(List<QueryInfo> queries) {
+        List<QueryInfo> copies = new ArrayList<>(queries.size());
+        for (QueryInfo query : queries) {
+            QueryInfo copy = new QueryInfo(query.getQuery());
+            List<List<ParameterSetOperation>> parametersListCopy = new ArrayList<>();
+            for (List<ParameterSetOperation> parameterSetOperations : query.getParametersList()) {
+                parametersListCopy.add(new ArrayList<>(parameterSetOperations));
+            }
+            copy.setParametersList(parametersListCopy);
+            copies.add(copy);
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    private void generate(String relativeHttpUrl, List<QueryInfo> selectQueries, String contentType, String content) {
+        try {
+            String report = TestGenerator.INSTANCE.generateJUnitTestForGet(selectQueries, relativeHttpUrl
+                    , Application.from(applicationContext), contentType, content, testGenerationConfig
+                    , quickSqlTestDataProvider.getObject(), JUnitVersion.VERSION_5);
+            generatedTestCount.incrementAndGet();
+
+            Map<String, Object> testGenerationData = new LinkedHashMap<>();
+            testGenerationData.put("timestamp", System.currentTimeMillis());
+            testGenerationData.put("type", "TEST_GENERATED");
+            testGenerationData.put("url", relativeHttpUrl);
+            testGenerationData.put("report", report);
+            eventSink.info("org.quickperf.testgeneration", objectMapper.writeValueAsString(testGenerationData));
+        } catch (Exception e) {
+            logger.warn("Unable to generate a test for " + relativeHttpUrl, e);
+        }
+    }
+
+    @ManagedAttribute
+    public long getGeneratedTestCount() {
+        return generatedTestCount.get();
+    }
+
+    @ManagedAttribute
+    public long getDroppedSnapshotCount() {
+        return droppedSnapshotCount.get();
+    }
+
+    @ManagedAttribute
+    public int getQueuedSnapshotCount() {
+        return executor.getQueue().size();
+    }
+
+    @ManagedOperation(description = "Allows the tests already generated to be generated again")
+    public void reset() {
+        submittedKeys.clear();
+    }
+
+}
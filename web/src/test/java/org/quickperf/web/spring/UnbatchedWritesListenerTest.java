@@ -0,0 +1,78 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UnbatchedWritesListenerTest {
+
+    private static final String INSERT_ORDER = "INSERT INTO orders (id) VALUES (?)";
+
+    private static final String INSERT_ORDER_LINE = "INSERT INTO order_line (id, order_id) VALUES (?, ?)";
+
+    @Test public void
+    should_not_flag_as_interleaved_a_run_following_another_fingerprint() {
+
+        // GIVEN
+        UnbatchedWritesListener unbatchedWritesListener = new UnbatchedWritesListener(3);
+
+        // WHEN
+        execute(unbatchedWritesListener, INSERT_ORDER);
+        execute(unbatchedWritesListener, INSERT_ORDER_LINE);
+        execute(unbatchedWritesListener, INSERT_ORDER_LINE);
+        execute(unbatchedWritesListener, INSERT_ORDER_LINE);
+
+        // THEN
+        List<UnbatchedWriteRun> unbatchedWriteRuns = unbatchedWritesListener.getUnbatchedWriteRuns();
+        assertThat(unbatchedWriteRuns).hasSize(1);
+        assertThat(unbatchedWriteRuns.get(0).getSql()).isEqualTo(INSERT_ORDER_LINE);
+        assertThat(unbatchedWriteRuns.get(0).getExecutionCount()).isEqualTo(3);
+        assertThat(unbatchedWriteRuns.get(0).isInterleaved()).isFalse();
+
+    }
+
+    @Test public void
+    should_flag_as_interleaved_a_run_resuming_after_another_fingerprint() {
+
+        // GIVEN
+        UnbatchedWritesListener unbatchedWritesListener = new UnbatchedWritesListener(3);
+
+        // WHEN
+        for (int i = 0; i < 3; i++) {
+            execute(unbatchedWritesListener, INSERT_ORDER);
+            execute(unbatchedWritesListener, INSERT_ORDER_LINE);
+        }
+
+        // THEN
+        List<UnbatchedWriteRun> unbatchedWriteRuns = unbatchedWritesListener.getUnbatchedWriteRuns();
+        assertThat(unbatchedWriteRuns).hasSize(2);
+        assertThat(unbatchedWriteRuns.get(0).isInterleaved()).isTrue();
+        assertThat(unbatchedWriteRuns.get(1).isInterleaved()).isTrue();
+
+    }
+
+    private static void execute(UnbatchedWritesListener unbatchedWritesListener, String sql) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setConnectionId("1");
+        List<QueryInfo> queries = Collections.singletonList(new QueryInfo(sql));
+        unbatchedWritesListener.addQueryExecution(executionInfo, queries, 0);
+    }
+
+}
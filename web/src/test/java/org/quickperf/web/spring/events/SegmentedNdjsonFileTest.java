@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.events;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SegmentedNdjsonFileTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test public void
+    should_rotate_the_active_segment_with_the_executor() throws Exception {
+
+        // GIVEN
+        Path folder = temporaryFolder.getRoot().toPath();
+        List<Runnable> tasks = new ArrayList<>();
+        Executor executor = tasks::add;
+        SegmentedNdjsonFile eventFile = new SegmentedNdjsonFile(folder, 10, 60_000, false, 1_000_000, executor);
+        tasks.clear();
+
+        // WHEN
+        eventFile.append("{\"a\":1}");
+        eventFile.append("{\"b\":2}");
+        eventFile.append("{\"c\":3}");
+        eventFile.flushAndRotateIfDue();
+        List<String> activeLinesBeforeRotation = Files.readAllLines(eventFile.getActiveSegmentPath());
+        for (Runnable task : new ArrayList<>(tasks)) {
+            task.run();
+        }
+        eventFile.append("{\"d\":4}");
+        eventFile.close();
+
+        // THEN
+        assertThat(activeLinesBeforeRotation).containsExactly("{\"a\":1}", "{\"b\":2}", "{\"c\":3}");
+        assertThat(Files.readAllLines(eventFile.getActiveSegmentPath())).containsExactly("{\"d\":4}");
+        List<Path> closedSegments = new ArrayList<>();
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(folder, SegmentedNdjsonFile.CLOSED_SEGMENT_PREFIX + "*")) {
+            segments.forEach(closedSegments::add);
+        }
+        assertThat(closedSegments).hasSize(1);
+        assertThat(new String(Files.readAllBytes(closedSegments.get(0)), StandardCharsets.UTF_8))
+                .isEqualTo("{\"a\":1}\n{\"b\":2}\n{\"c\":3}\n");
+
+    }
+
+    @Test public void
+    should_reopen_the_active_segment_once_closed() throws Exception {
+
+        // GIVEN
+        Path folder = temporaryFolder.getRoot().toPath();
+        SegmentedNdjsonFile eventFile = new SegmentedNdjsonFile(folder, 1_000, 60_000, false, 1_000_000, Runnable::run);
+        eventFile.append("{\"a\":1}");
+        eventFile.close();
+
+        // WHEN
+        eventFile.flushAndRotateIfDue();
+        eventFile.append("{\"b\":2}");
+        eventFile.close();
+
+        // THEN
+        assertThat(Files.readAllLines(eventFile.getActiveSegmentPath())).containsExactly("{\"a\":1}", "{\"b\":2}");
+
+    }
+
+}
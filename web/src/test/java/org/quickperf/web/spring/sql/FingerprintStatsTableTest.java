@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * Copyright 2021-2022 the original author or authors.
+ */
+package org.quickperf.web.spring.sql;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FingerprintStatsTableTest {
+
+    @Test public void
+    should_replace_the_least_executed_fingerprint_and_inherit_its_count_as_error() {
+
+        // GIVEN
+        FingerprintStatsTable statsTable = new FingerprintStatsTable(2);
+        execute(statsTable, "SELECT a", 3);
+        execute(statsTable, "SELECT b", 1);
+
+        // WHEN
+        execute(statsTable, "SELECT c", 1);
+
+        // THEN
+        assertThat(statsTable.find("SELECT b")).isNull();
+        FingerprintStats newStats = statsTable.find("SELECT c");
+        assertThat(newStats.getCountError()).isEqualTo(1);
+        assertThat(newStats.getExecutionCount()).isEqualTo(2);
+        assertThat(statsTable.find("SELECT a").getExecutionCount()).isEqualTo(3);
+        assertThat(statsTable.getTrackedCount()).isEqualTo(2);
+
+    }
+
+    @Test public void
+    should_count_the_executions_recorded_on_evicted_stats_in_the_count_error() {
+
+        // GIVEN
+        FingerprintStatsTable statsTable = new FingerprintStatsTable(1);
+        FingerprintStats evictedStats = statsTable.findOrTrack("SELECT a");
+        evictedStats.record(1, 0);
+
+        // WHEN
+        FingerprintStats newStats = statsTable.findOrTrack("SELECT b");
+        evictedStats.record(1, 0);
+
+        // THEN
+        assertThat(newStats.getCountError()).isEqualTo(2);
+        assertThat(newStats.getExecutionCount()).isEqualTo(2);
+
+    }
+
+    @Test public void
+    should_keep_the_count_error_of_the_evicted_stats_once_evicted_twice() {
+
+        // GIVEN
+        FingerprintStatsTable statsTable = new FingerprintStatsTable(1);
+        execute(statsTable, "SELECT a", 2);
+        execute(statsTable, "SELECT b", 1);
+
+        // WHEN
+        execute(statsTable, "SELECT c", 1);
+
+        // THEN
+        FingerprintStats lastStats = statsTable.find("SELECT c");
+        assertThat(lastStats.getCountError()).isEqualTo(3);
+        assertThat(lastStats.getExecutionCount()).isEqualTo(4);
+
+    }
+
+    @Test public void
+    should_keep_a_frequent_fingerprint_and_never_underestimate_counts_when_fingerprints_churn() {
+
+        // GIVEN
+        int capacity = 4 * FingerprintStatsTable.EVICTION_SAMPLE_SIZE;
+        FingerprintStatsTable statsTable = new FingerprintStatsTable(capacity);
+
+        // WHEN
+        for (int i = 0; i < 10_000; i++) {
+            execute(statsTable, "SELECT frequent", 1);
+            execute(statsTable, "SELECT " + i, 1);
+        }
+
+        // THEN
+        assertThat(statsTable.getTrackedCount()).isEqualTo(capacity);
+        List<FingerprintStats> allStats = statsTable.findAll();
+        assertThat(allStats).hasSize(capacity);
+        FingerprintStats frequentStats = statsTable.find("SELECT frequent");
+        assertThat(frequentStats).isNotNull();
+        assertThat(frequentStats.getExecutionCount()).isGreaterThanOrEqualTo(10_000);
+        long trackedExecutionCount = 0;
+        for (FingerprintStats fingerprintStats : allStats) {
+            assertThat(fingerprintStats.getExecutionCount()).isGreaterThanOrEqualTo(1);
+            trackedExecutionCount += fingerprintStats.getExecutionCount();
+        }
+        assertThat(trackedExecutionCount).isEqualTo(20_000);
+
+    }
+
+    private static void execute(FingerprintStatsTable statsTable, String fingerprint, int executionCount) {
+        for (int i = 0; i < executionCount; i++) {
+            statsTable.findOrTrack(fingerprint).record(1, 0);
+        }
+    }
+
+}